@@ -0,0 +1,79 @@
+package mg.razherana.banking.courant.bench;
+
+import mg.razherana.banking.courant.dto.TransactionCourantDTO;
+import mg.razherana.banking.courant.entities.CompteCourant;
+import mg.razherana.banking.courant.entities.TransactionCourant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Mapping of a page of transactions to {@link TransactionCourantDTO}, as done
+ * by TransactionResource for every listing. Pages of 50 (the default) and 500
+ * (the maximum) transactions.
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+  @Param({ "50", "500" })
+  public int pageSize;
+
+  private List<TransactionCourant> transactions;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(42);
+    List<CompteCourant> comptes = new ArrayList<>();
+    for (int id = 1; id <= 100; id++) {
+      CompteCourant compte = new CompteCourant();
+      compte.setId(id);
+      compte.setTaxe(new BigDecimal("10.00"));
+      compte.setCreatedAt(LocalDateTime.now().minusYears(2));
+      comptes.add(compte);
+    }
+
+    transactions = new ArrayList<>();
+    LocalDateTime date = LocalDateTime.now();
+    for (int i = 1; i <= pageSize; i++) {
+      TransactionCourant transaction = new TransactionCourant();
+      transaction.setId(i);
+      transaction.setSender(comptes.get(random.nextInt(comptes.size())));
+      transaction.setReceiver(comptes.get(random.nextInt(comptes.size())));
+      transaction.setMontant(BigDecimal.valueOf(100 + random.nextInt(10_000), 2));
+      transaction.setDate(date.minusMinutes(i));
+      transactions.add(transaction);
+    }
+  }
+
+  @Benchmark
+  public List<TransactionCourantDTO> mapTransactions() {
+    return transactions.stream()
+        .map(TransactionCourantDTO::new)
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,86 @@
+package mg.razherana.banking.courant.bench;
+
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import mg.razherana.banking.courant.dto.CompteCourantDTO;
+import mg.razherana.banking.courant.entities.CompteCourant;
+import mg.razherana.banking.courant.entities.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON-B serialization of the {@link CompteCourantDTO} list returned by
+ * {@code GET /comptes}, with Johnzon as in TomEE.
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+  @Param({ "100", "10000" })
+  public int comptes;
+
+  private Jsonb jsonb;
+  private List<CompteCourantDTO> compteDTOs;
+  private ByteArrayOutputStream output;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    jsonb = JsonbBuilder.create();
+
+    Random random = new Random(42);
+    compteDTOs = new ArrayList<>();
+    for (int id = 1; id <= comptes; id++) {
+      User user = new User();
+      user.setId(id);
+      user.setName("User " + id);
+      user.setEmail("user" + id + "@banking.mg");
+
+      CompteCourant compte = new CompteCourant();
+      compte.setId(id);
+      compte.setTaxe(new BigDecimal("10.00"));
+      compte.setUser(user);
+      compte.setCreatedAt(LocalDateTime.now().minusDays(random.nextInt(730)));
+      compteDTOs.add(new CompteCourantDTO(compte, BigDecimal.valueOf(random.nextInt(10_000_000), 2)));
+    }
+
+    output = new ByteArrayOutputStream(compteDTOs.size() * 256);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    jsonb.close();
+  }
+
+  @Benchmark
+  public int serializeComptes() {
+    output.reset();
+    jsonb.toJson(compteDTOs, output);
+    return output.size();
+  }
+}
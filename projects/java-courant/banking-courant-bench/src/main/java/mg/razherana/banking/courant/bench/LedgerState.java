@@ -0,0 +1,272 @@
+package mg.razherana.banking.courant.bench;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfiguration;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import com.mysql.cj.jdbc.MysqlDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import mg.razherana.banking.courant.application.compteCourantService.CompteCourantServiceImpl;
+import mg.razherana.banking.courant.application.schemaMigrationService.SchemaMigrationServiceImpl;
+import mg.razherana.banking.courant.application.soldeService.SoldeServiceImpl;
+import mg.razherana.banking.courant.entities.CompteCourant;
+import mg.razherana.banking.courant.entities.SoldeCheckpoint;
+import mg.razherana.banking.courant.entities.TransactionCourant.SpecialAction;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.logging.Logger;
+
+/**
+ * Embedded MariaDB seeded with a synthetic ledger, and the courant services
+ * wired on it without a container.
+ *
+ * <p>
+ * The schema comes from the webapp's own migrations, so the benchmarks run the
+ * production SQL on the partitioned ledger. Services get their
+ * {@code @PersistenceContext}, {@code @EJB} and {@code @Resource} fields set
+ * by reflection; EJB proxies and JTA are not part of what is measured.
+ * </p>
+ *
+ * <p>
+ * The ledger is spread uniformly over the last {@link #MONTHS} months: 10% of
+ * the rows are deposits, 5% tax payments and the rest transfers between
+ * random comptes. With {@code checkpoint=true} every compte also gets a
+ * balance checkpoint at the start of the current month, as the monthly timer
+ * would write it.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+public class LedgerState {
+  private static final Logger LOG = Logger.getLogger(LedgerState.class.getName());
+
+  // Kept referenced so the level set on it is not garbage collected
+  private static final Logger SERVICE_LOG = Logger.getLogger("mg.razherana.banking.courant");
+
+  private static final String DATABASE = "banking_courant_bench";
+  private static final int MONTHS = 24;
+  private static final int BATCH_SIZE = 5_000;
+  private static final BigDecimal TAXE = new BigDecimal("10.00");
+
+  /** Number of transaction_courants rows */
+  @Param({ "100000", "1000000" })
+  public int ledgerSize;
+
+  /** Number of comptes the rows are spread over */
+  @Param({ "1000" })
+  public int comptes;
+
+  /** Whether a balance checkpoint exists at the start of the current month */
+  @Param({ "true", "false" })
+  public boolean checkpoint;
+
+  private DB db;
+  private EntityManagerFactory entityManagerFactory;
+  private EntityManager entityManager;
+
+  private SoldeServiceImpl soldeService;
+  private CompteCourantServiceImpl compteCourantService;
+
+  private CompteCourant compte;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    // The services log every call at INFO
+    SERVICE_LOG.setLevel(java.util.logging.Level.WARNING);
+
+    DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+    config.setPort(0);
+    DBConfiguration configuration = config.build();
+    db = DB.newEmbeddedDB(configuration);
+    db.start();
+    db.createDB(DATABASE);
+
+    String url = configuration.getURL(DATABASE)
+        + "?useSSL=false&serverTimezone=UTC&rewriteBatchedStatements=true";
+    MysqlDataSource dataSource = new MysqlDataSource();
+    dataSource.setURL(url);
+    dataSource.setUser("root");
+    dataSource.setPassword("");
+
+    SchemaMigrationServiceImpl schemaMigrationService = new SchemaMigrationServiceImpl();
+    inject(schemaMigrationService, "dataSource", dataSource);
+    schemaMigrationService.migrate();
+
+    long start = System.nanoTime();
+    try (Connection connection = dataSource.getConnection()) {
+      seed(connection);
+    }
+    LOG.info("Seeded " + ledgerSize + " transactions over " + comptes + " comptes in "
+        + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+    Map<String, Object> properties = new HashMap<>();
+    properties.put("jakarta.persistence.jdbc.driver", "com.mysql.cj.jdbc.Driver");
+    properties.put("jakarta.persistence.jdbc.url", url);
+    properties.put("jakarta.persistence.jdbc.user", "root");
+    properties.put("jakarta.persistence.jdbc.password", "");
+    entityManagerFactory = Persistence.createEntityManagerFactory("benchPU", properties);
+    entityManager = entityManagerFactory.createEntityManager();
+
+    soldeService = new SoldeServiceImpl();
+    inject(soldeService, "entityManager", entityManager);
+    inject(soldeService, "dataSource", dataSource);
+
+    compteCourantService = new CompteCourantServiceImpl();
+    inject(compteCourantService, "entityManager", entityManager);
+    inject(compteCourantService, "soldeService", soldeService);
+
+    if (checkpoint) {
+      try (Connection connection = dataSource.getConnection()) {
+        writeCheckpoints(connection);
+      }
+    }
+
+    // A compte in the middle of the range, with an average share of the ledger
+    compte = entityManager.find(CompteCourant.class, comptes / 2);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    if (entityManager != null) {
+      entityManager.close();
+    }
+    if (entityManagerFactory != null) {
+      entityManagerFactory.close();
+    }
+    if (db != null) {
+      db.stop();
+    }
+  }
+
+  public SoldeServiceImpl getSoldeService() {
+    return soldeService;
+  }
+
+  public CompteCourantServiceImpl getCompteCourantService() {
+    return compteCourantService;
+  }
+
+  public CompteCourant getCompte() {
+    return compte;
+  }
+
+  private void seed(Connection connection) throws SQLException {
+    LocalDateTime since = LocalDate.now().withDayOfMonth(1).minusMonths(MONTHS).atStartOfDay();
+    connection.setAutoCommit(false);
+
+    try (PreparedStatement statement = connection.prepareStatement(
+        "INSERT INTO compte_courants (id, taxe, user_id, created_at) VALUES (?, ?, ?, ?)")) {
+      for (int id = 1; id <= comptes; id++) {
+        statement.setInt(1, id);
+        statement.setBigDecimal(2, TAXE);
+        statement.setInt(3, id);
+        statement.setTimestamp(4, Timestamp.valueOf(since));
+        statement.addBatch();
+      }
+      statement.executeBatch();
+    }
+
+    // Fixed seed: every run benchmarks the same ledger
+    Random random = new Random(42);
+    long spanSeconds = Duration.between(since, LocalDateTime.now()).getSeconds();
+    try (PreparedStatement statement = connection.prepareStatement(
+        "INSERT INTO transaction_courants (special_action, sender_id, receiver_id, montant, date)"
+            + " VALUES (?, ?, ?, ?, ?)")) {
+      for (int i = 1; i <= ledgerSize; i++) {
+        int kind = random.nextInt(100);
+        int sender = 1 + random.nextInt(comptes);
+        int receiver = 1 + random.nextInt(comptes);
+        if (kind < 10) {
+          statement.setNull(1, Types.VARCHAR);
+          statement.setNull(2, Types.INTEGER);
+          statement.setInt(3, receiver);
+          statement.setBigDecimal(4, BigDecimal.valueOf(100 + random.nextInt(100_000), 2));
+        } else if (kind < 15) {
+          statement.setString(1, SpecialAction.TAXE.getDatabaseName());
+          statement.setInt(2, sender);
+          statement.setNull(3, Types.INTEGER);
+          statement.setBigDecimal(4, TAXE);
+        } else {
+          statement.setNull(1, Types.VARCHAR);
+          statement.setInt(2, sender);
+          statement.setInt(3, receiver);
+          statement.setBigDecimal(4, BigDecimal.valueOf(100 + random.nextInt(10_000), 2));
+        }
+        statement.setTimestamp(5, Timestamp.valueOf(since.plusSeconds((long) (random.nextDouble() * spanSeconds))));
+        statement.addBatch();
+        if (i % BATCH_SIZE == 0) {
+          statement.executeBatch();
+          connection.commit();
+        }
+      }
+      statement.executeBatch();
+    }
+
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("INSERT INTO solde_courants (compte_id, solde)"
+          + " SELECT c.id,"
+          + " COALESCE((SELECT SUM(t.montant) FROM transaction_courants t WHERE t.receiver_id = c.id), 0)"
+          + " - COALESCE((SELECT SUM(t.montant) FROM transaction_courants t WHERE t.sender_id = c.id), 0)"
+          + " FROM compte_courants c");
+      statement.execute("ANALYZE TABLE transaction_courants, compte_courants, solde_courants");
+    }
+    connection.commit();
+    connection.setAutoCommit(true);
+  }
+
+  private void writeCheckpoints(Connection connection) throws SQLException {
+    LocalDateTime checkpointDate = LocalDate.now().withDayOfMonth(1).atStartOfDay();
+    List<Integer> compteIds = new ArrayList<>();
+    for (int id = 1; id <= comptes; id++) {
+      compteIds.add(id);
+    }
+
+    // Same snapshots as SoldeCheckpointService.writeCheckpoints
+    Map<Integer, SoldeCheckpoint> snapshots = soldeService.calculateSnapshots(compteIds, checkpointDate);
+    try (PreparedStatement statement = connection.prepareStatement(
+        "INSERT INTO solde_checkpoints (compte_id, checkpoint_date, solde, taxe_payee) VALUES (?, ?, ?, ?)")) {
+      for (SoldeCheckpoint snapshot : snapshots.values()) {
+        statement.setInt(1, snapshot.getCompteId());
+        statement.setTimestamp(2, Timestamp.valueOf(checkpointDate));
+        statement.setBigDecimal(3, snapshot.getSolde());
+        statement.setBigDecimal(4, snapshot.getTaxePayee());
+        statement.addBatch();
+      }
+      statement.executeBatch();
+    }
+  }
+
+  /**
+   * Sets a field the container would inject.
+   */
+  private static void inject(Object target, String name, Object value) throws ReflectiveOperationException {
+    Field field = target.getClass().getDeclaredField(name);
+    field.setAccessible(true);
+    field.set(target, value);
+  }
+}
@@ -0,0 +1,37 @@
+package mg.razherana.banking.courant.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Balance of one compte: the O(1) read of the solde projection used by every
+ * request, and the ledger scan it is reconciled against.
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SoldeBenchmark {
+  @Benchmark
+  public BigDecimal calculateSolde(LedgerState state) {
+    return state.getCompteCourantService().calculateSolde(state.getCompte());
+  }
+
+  @Benchmark
+  public BigDecimal calculateSoldeFromLedger(LedgerState state) {
+    return state.getSoldeService().calculateSoldeFromLedger(state.getCompte());
+  }
+}
@@ -5,16 +5,25 @@ import jakarta.ejb.EJBException;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import mg.razherana.banking.courant.application.asyncExecutorService.AsyncExecutorService;
 import mg.razherana.banking.courant.application.compteCourantService.CompteCourantService;
+import mg.razherana.banking.courant.application.soldeCheckpointService.SoldeCheckpointService;
+import mg.razherana.banking.courant.application.taxeAccrualService.TaxeAccrualService;
+import mg.razherana.banking.courant.application.soldeService.SoldeService;
 import mg.razherana.banking.courant.dto.CompteCourantDTO;
 import mg.razherana.banking.courant.dto.ErrorDTO;
+import mg.razherana.banking.courant.dto.SoldeReconciliationDTO;
+import mg.razherana.banking.courant.dto.TaxStatusDTO;
 import mg.razherana.banking.courant.dto.requests.UpdateTaxeRequest;
 import mg.razherana.banking.courant.entities.CompteCourant;
 import mg.razherana.banking.courant.entities.User;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -24,9 +33,21 @@ import java.util.stream.Collectors;
 public class CompteCourantResource {
   private static final Logger LOG = Logger.getLogger(CompteCourantResource.class.getName());
 
+  @EJB
+  private AsyncExecutorService asyncExecutorService;
+
   @EJB
   private CompteCourantService compteCourantService;
 
+  @EJB
+  private SoldeService soldeService;
+
+  @EJB
+  private SoldeCheckpointService soldeCheckpointService;
+
+  @EJB
+  private TaxeAccrualService taxeAccrualService;
+
   /**
    * Helper method to handle EJBException and extract the underlying cause.
    * Returns true if the exception should be treated as a 400 Bad Request,
@@ -48,390 +69,513 @@ public class CompteCourantResource {
   }
 
   @GET
-  public Response getAllComptes() {
-    try {
-      List<CompteCourant> comptes = compteCourantService.getComptes();
-      List<CompteCourantDTO> compteDTOs = comptes.stream()
-          .map(compte -> {
-            BigDecimal solde = compteCourantService.calculateSolde(compte);
-            return new CompteCourantDTO(compte, solde);
-          })
-          .collect(Collectors.toList());
-      return Response.ok(compteDTOs)
-          .type(MediaType.APPLICATION_JSON)
-          .build();
-    } catch (EJBException e) {
-      int statusCode = isClientError(e) ? 400 : 500;
-      String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
-      String errorMessage = getErrorMessage(e);
-
-      if (isClientError(e)) {
-        LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
-      } else {
-        LOG.severe("EJB error getting all comptes: " + e.getMessage());
+  public CompletionStage<Response> getAllComptes() {
+    return asyncExecutorService.submit(() -> {
+      try {
+        List<CompteCourant> comptes = compteCourantService.getComptes();
+        Map<Integer, BigDecimal> soldes = compteCourantService.calculateSoldes(comptes);
+        List<CompteCourantDTO> compteDTOs = comptes.stream()
+            .map(compte -> new CompteCourantDTO(compte, soldes.get(compte.getId())))
+            .collect(Collectors.toList());
+        return Response.ok(compteDTOs)
+            .type(MediaType.APPLICATION_JSON)
+            .build();
+      } catch (EJBException e) {
+        int statusCode = isClientError(e) ? 400 : 500;
+        String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
+        String errorMessage = getErrorMessage(e);
+
+        if (isClientError(e)) {
+          LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
+        } else {
+          LOG.severe("EJB error getting all comptes: " + e.getMessage());
+        }
+
+        ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/comptes");
+        return Response.status(statusCode)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(error).build();
       }
+    });
+  }
 
-      ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/comptes");
-      return Response.status(statusCode)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(error).build();
-    }
+  /**
+   * Recomputes every balance from the ledger and reports accounts whose
+   * materialized solde drifted. With {@code repair=true} the drifting
+   * projections are overwritten with the ledger balance.
+   */
+  @POST
+  @Path("/soldes/reconcile")
+  public CompletionStage<Response> reconcileSoldes(@QueryParam("repair") @DefaultValue("false") boolean repair) {
+    return asyncExecutorService.submit(() -> {
+      try {
+        SoldeReconciliationDTO report = soldeService.reconcile(repair);
+        return Response.ok(report)
+            .type(MediaType.APPLICATION_JSON)
+            .build();
+      } catch (EJBException e) {
+        int statusCode = isClientError(e) ? 400 : 500;
+        String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
+        String errorMessage = getErrorMessage(e);
+
+        if (isClientError(e)) {
+          LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
+        } else {
+          LOG.severe("EJB error reconciling soldes: " + e.getMessage());
+        }
+
+        ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/comptes/soldes/reconcile");
+        return Response.status(statusCode)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(error).build();
+      }
+    });
   }
 
-  @GET
-  @Path("/{id}")
-  public Response getCompteById(@PathParam("id") Integer id) {
-    try {
-      CompteCourant compte = compteCourantService.findById(id);
-      if (compte == null) {
-        ErrorDTO error = new ErrorDTO("Compte not found", 404, "Not Found", "/comptes/" + id);
-        return Response.status(Response.Status.NOT_FOUND)
+  @POST
+  @Path("/checkpoints/rebuild")
+  public CompletionStage<Response> rebuildCheckpoints(@QueryParam("fromId") Integer fromId,
+      @QueryParam("toId") Integer toId) {
+    return asyncExecutorService.submit(() -> {
+      try {
+        int written = soldeCheckpointService.rebuildCheckpoints(fromId, toId);
+        return Response.ok("{\"fromId\": " + fromId + ", \"toId\": " + toId + ", \"checkpointsWritten\": " + written + "}")
+            .type(MediaType.APPLICATION_JSON)
+            .build();
+      } catch (EJBException e) {
+        int statusCode = isClientError(e) ? 400 : 500;
+        String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
+        String errorMessage = getErrorMessage(e);
+
+        if (isClientError(e)) {
+          LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
+        } else {
+          LOG.severe("EJB error rebuilding solde checkpoints: " + e.getMessage());
+        }
+
+        ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/comptes/checkpoints/rebuild");
+        return Response.status(statusCode)
             .type(MediaType.APPLICATION_JSON)
             .entity(error).build();
       }
-      CompteCourantDTO compteDTO = new CompteCourantDTO(compte, compteCourantService.calculateSolde(compte));
-      return Response.ok(compteDTO)
-          .type(MediaType.APPLICATION_JSON)
-          .build();
-    } catch (EJBException e) {
-      int statusCode = isClientError(e) ? 400 : 500;
-      String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
-      String errorMessage = getErrorMessage(e);
-
-      if (isClientError(e)) {
-        LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
-      } else {
-        LOG.severe("EJB error getting compte by ID: " + e.getMessage());
+    });
+  }
+
+  /**
+   * Runs the tax accrual of a month (format YYYY-MM, current month by default)
+   * for every account not accrued yet. Used to catch up months missed by the
+   * monthly timer; months must be accrued in order.
+   */
+  @POST
+  @Path("/tax-accruals/run")
+  public CompletionStage<Response> runTaxAccrual(@QueryParam("period") String periodStr) {
+    return asyncExecutorService.submit(() -> {
+      LocalDateTime periodStart;
+      try {
+        YearMonth period = periodStr == null || periodStr.trim().isEmpty() ? YearMonth.now() : YearMonth.parse(periodStr);
+        periodStart = period.atDay(1).atStartOfDay();
+      } catch (Exception e) {
+        ErrorDTO error = new ErrorDTO("Invalid period format. Use YYYY-MM", 400, "Bad Request",
+            "/comptes/tax-accruals/run");
+        return Response.status(Response.Status.BAD_REQUEST)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(error).build();
       }
 
-      ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/comptes/" + id);
-      return Response.status(statusCode)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(error).build();
-    } catch (Exception e) {
-      LOG.severe("Error getting compte by ID: " + e.getMessage());
-      ErrorDTO error = new ErrorDTO(e.getMessage(), 500, "Internal Server Error", "/comptes/" + id);
-      return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(error).build();
-    }
+      try {
+        int written = taxeAccrualService.accrue(periodStart);
+        return Response.ok("{\"period\": \"" + YearMonth.from(periodStart) + "\", \"accrualsWritten\": " + written + "}")
+            .type(MediaType.APPLICATION_JSON)
+            .build();
+      } catch (EJBException e) {
+        int statusCode = isClientError(e) ? 400 : 500;
+        String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
+        String errorMessage = getErrorMessage(e);
+
+        if (isClientError(e)) {
+          LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
+        } else {
+          LOG.severe("EJB error running tax accrual: " + e.getMessage());
+        }
+
+        ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/comptes/tax-accruals/run");
+        return Response.status(statusCode)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(error).build();
+      }
+    });
   }
 
   @GET
-  @Path("/user/{userId}")
-  public Response getComptesByUserId(@PathParam("userId") Integer userId) {
-    try {
-      // Use service method to get User (assumes user exists in central service)
-      List<CompteCourant> comptes = compteCourantService.getComptesByUserId(userId);
-
-      List<CompteCourantDTO> compteDTOs = comptes.stream()
-          .map(compte -> {
-            BigDecimal solde = compteCourantService.calculateSolde(compte);
-            return new CompteCourantDTO(compte, solde);
-          })
-          .collect(Collectors.toList());
-      return Response.ok(compteDTOs)
-          .type(MediaType.APPLICATION_JSON)
-          .build();
-    } catch (EJBException e) {
-      int statusCode = isClientError(e) ? 400 : 500;
-      String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
-      String errorMessage = getErrorMessage(e);
-
-      if (isClientError(e)) {
-        LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
-      } else {
-        LOG.severe("EJB error getting comptes by user ID: " + e.getMessage());
+  @Path("/{id}")
+  public CompletionStage<Response> getCompteById(@PathParam("id") Integer id) {
+    return asyncExecutorService.submit(() -> {
+      try {
+        CompteCourant compte = compteCourantService.findById(id);
+        if (compte == null) {
+          ErrorDTO error = new ErrorDTO("Compte not found", 404, "Not Found", "/comptes/" + id);
+          return Response.status(Response.Status.NOT_FOUND)
+              .type(MediaType.APPLICATION_JSON)
+              .entity(error).build();
+        }
+        CompteCourantDTO compteDTO = new CompteCourantDTO(compte, compteCourantService.calculateSolde(compte));
+        return Response.ok(compteDTO)
+            .type(MediaType.APPLICATION_JSON)
+            .build();
+      } catch (EJBException e) {
+        int statusCode = isClientError(e) ? 400 : 500;
+        String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
+        String errorMessage = getErrorMessage(e);
+
+        if (isClientError(e)) {
+          LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
+        } else {
+          LOG.severe("EJB error getting compte by ID: " + e.getMessage());
+        }
+
+        ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/comptes/" + id);
+        return Response.status(statusCode)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(error).build();
+      } catch (Exception e) {
+        LOG.severe("Error getting compte by ID: " + e.getMessage());
+        ErrorDTO error = new ErrorDTO(e.getMessage(), 500, "Internal Server Error", "/comptes/" + id);
+        return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(error).build();
       }
+    });
+  }
 
-      ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/comptes/user/" + userId);
-      return Response.status(statusCode)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(error).build();
-    }
+  @GET
+  @Path("/user/{userId}")
+  public CompletionStage<Response> getComptesByUserId(@PathParam("userId") Integer userId) {
+    return asyncExecutorService.submit(() -> {
+      try {
+        // Use service method to get User (assumes user exists in central service)
+        List<CompteCourant> comptes = compteCourantService.getComptesByUserId(userId);
+
+        Map<Integer, BigDecimal> soldes = compteCourantService.calculateSoldes(comptes);
+        List<CompteCourantDTO> compteDTOs = comptes.stream()
+            .map(compte -> new CompteCourantDTO(compte, soldes.get(compte.getId())))
+            .collect(Collectors.toList());
+        return Response.ok(compteDTOs)
+            .type(MediaType.APPLICATION_JSON)
+            .build();
+      } catch (EJBException e) {
+        int statusCode = isClientError(e) ? 400 : 500;
+        String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
+        String errorMessage = getErrorMessage(e);
+
+        if (isClientError(e)) {
+          LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
+        } else {
+          LOG.severe("EJB error getting comptes by user ID: " + e.getMessage());
+        }
+
+        ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/comptes/user/" + userId);
+        return Response.status(statusCode)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(error).build();
+      }
+    });
   }
 
   @POST
   @Path("/user/{userId}")
-  public Response createCompte(@PathParam("userId") Integer userId,
+  public CompletionStage<Response> createCompte(@PathParam("userId") Integer userId,
       @QueryParam("taxe") @DefaultValue("0") BigDecimal taxe) {
-    try {
-      // Use service method to find user (assumes user exists in central service)
-      User user = compteCourantService.findUser(userId);
-
-      CompteCourant compte = compteCourantService.create(user, taxe);
-      CompteCourantDTO compteDTO = new CompteCourantDTO(compte, compteCourantService.calculateSolde(compte));
-      return Response.status(Response.Status.CREATED)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(compteDTO).build();
-    } catch (EJBException e) {
-      int statusCode = isClientError(e) ? 400 : 500;
-      String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
-      String errorMessage = getErrorMessage(e);
-
-      if (isClientError(e)) {
-        LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
-      } else {
-        LOG.severe("EJB error creating compte: " + e.getMessage());
-      }
+    return asyncExecutorService.submit(() -> {
+      try {
+        // Use service method to find user (assumes user exists in central service)
+        User user = compteCourantService.findUser(userId);
+
+        CompteCourant compte = compteCourantService.create(user, taxe);
+        CompteCourantDTO compteDTO = new CompteCourantDTO(compte, compteCourantService.calculateSolde(compte));
+        return Response.status(Response.Status.CREATED)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(compteDTO).build();
+      } catch (EJBException e) {
+        int statusCode = isClientError(e) ? 400 : 500;
+        String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
+        String errorMessage = getErrorMessage(e);
+
+        if (isClientError(e)) {
+          LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
+        } else {
+          LOG.severe("EJB error creating compte: " + e.getMessage());
+        }
 
-      ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/comptes/user/" + userId);
-      return Response.status(statusCode)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(error).build();
-    }
+        ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/comptes/user/" + userId);
+        return Response.status(statusCode)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(error).build();
+      }
+    });
   }
 
   @DELETE
   @Path("/{id}")
-  public Response deleteCompte(@PathParam("id") Integer id) {
-    try {
-      CompteCourant compte = compteCourantService.findById(id);
-      if (compte == null) {
-        ErrorDTO error = new ErrorDTO("Compte not found", 404, "Not Found", "/comptes/" + id);
-        return Response.status(Response.Status.NOT_FOUND)
+  public CompletionStage<Response> deleteCompte(@PathParam("id") Integer id) {
+    return asyncExecutorService.submit(() -> {
+      try {
+        CompteCourant compte = compteCourantService.findById(id);
+        if (compte == null) {
+          ErrorDTO error = new ErrorDTO("Compte not found", 404, "Not Found", "/comptes/" + id);
+          return Response.status(Response.Status.NOT_FOUND)
+              .type(MediaType.APPLICATION_JSON)
+              .entity(error).build();
+        }
+
+        compteCourantService.delete(id);
+        return Response.noContent().build();
+      } catch (EJBException e) {
+        int statusCode = isClientError(e) ? 400 : 500;
+        String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
+        String errorMessage = getErrorMessage(e);
+
+        if (isClientError(e)) {
+          LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
+        } else {
+          LOG.severe("EJB error deleting compte: " + e.getMessage());
+        }
+
+        ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/comptes/" + id);
+        return Response.status(statusCode)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(error).build();
+      } catch (Exception e) {
+        LOG.severe("Error deleting compte: " + e.getMessage());
+        ErrorDTO error = new ErrorDTO(e.getMessage(), 500, "Internal Server Error", "/comptes/" + id);
+        return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
             .type(MediaType.APPLICATION_JSON)
             .entity(error).build();
       }
-
-      compteCourantService.delete(id);
-      return Response.noContent().build();
-    } catch (EJBException e) {
-      int statusCode = isClientError(e) ? 400 : 500;
-      String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
-      String errorMessage = getErrorMessage(e);
-
-      if (isClientError(e)) {
-        LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
-      } else {
-        LOG.severe("EJB error deleting compte: " + e.getMessage());
-      }
-
-      ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/comptes/" + id);
-      return Response.status(statusCode)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(error).build();
-    } catch (Exception e) {
-      LOG.severe("Error deleting compte: " + e.getMessage());
-      ErrorDTO error = new ErrorDTO(e.getMessage(), 500, "Internal Server Error", "/comptes/" + id);
-      return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(error).build();
-    }
+    });
   }
 
   @GET
   @Path("/{id}/tax-to-pay")
-  public Response getTaxToPay(@PathParam("id") Integer id, @QueryParam("actionDateTime") String actionDateTimeStr) {
-    try {
-      CompteCourant compte = compteCourantService.findById(id);
-      if (compte == null) {
-        ErrorDTO error = new ErrorDTO("Compte not found", 404, "Not Found", "/comptes/" + id + "/tax-to-pay");
-        return Response.status(Response.Status.NOT_FOUND)
-            .type(MediaType.APPLICATION_JSON)
-            .entity(error).build();
-      }
-
-      LocalDateTime actionDateTime;
-      if (actionDateTimeStr == null || actionDateTimeStr.trim().isEmpty()) {
-        actionDateTime = LocalDateTime.now();
-      } else {
-        try {
-          actionDateTime = LocalDateTime.parse(actionDateTimeStr);
-        } catch (Exception e) {
-          ErrorDTO error = new ErrorDTO("Invalid actionDateTime format. Use ISO format: YYYY-MM-DDTHH:MM:SS", 400,
-              "Bad Request", "/comptes/" + id + "/tax-to-pay");
-          return Response.status(Response.Status.BAD_REQUEST)
+  public CompletionStage<Response> getTaxToPay(@PathParam("id") Integer id,
+      @QueryParam("actionDateTime") String actionDateTimeStr) {
+    return asyncExecutorService.submit(() -> {
+      try {
+        CompteCourant compte = compteCourantService.findById(id);
+        if (compte == null) {
+          ErrorDTO error = new ErrorDTO("Compte not found", 404, "Not Found", "/comptes/" + id + "/tax-to-pay");
+          return Response.status(Response.Status.NOT_FOUND)
               .type(MediaType.APPLICATION_JSON)
               .entity(error).build();
         }
-      }
 
-      BigDecimal taxToPay = compteCourantService.getTaxToPay(compte, actionDateTime);
-      return Response.ok("{\"taxToPay\": " + taxToPay + "}")
-          .type(MediaType.APPLICATION_JSON)
-          .build();
-    } catch (EJBException e) {
-      int statusCode = isClientError(e) ? 400 : 500;
-      String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
-      String errorMessage = getErrorMessage(e);
-
-      if (isClientError(e)) {
-        LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
-      } else {
-        LOG.severe("EJB error getting tax to pay: " + e.getMessage());
-      }
+        LocalDateTime actionDateTime;
+        if (actionDateTimeStr == null || actionDateTimeStr.trim().isEmpty()) {
+          actionDateTime = LocalDateTime.now();
+        } else {
+          try {
+            actionDateTime = LocalDateTime.parse(actionDateTimeStr);
+          } catch (Exception e) {
+            ErrorDTO error = new ErrorDTO("Invalid actionDateTime format. Use ISO format: YYYY-MM-DDTHH:MM:SS", 400,
+                "Bad Request", "/comptes/" + id + "/tax-to-pay");
+            return Response.status(Response.Status.BAD_REQUEST)
+                .type(MediaType.APPLICATION_JSON)
+                .entity(error).build();
+          }
+        }
 
-      ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/comptes/" + id + "/tax-to-pay");
-      return Response.status(statusCode)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(error).build();
-    } catch (Exception e) {
-      LOG.severe("Error getting tax to pay: " + e.getMessage());
-      ErrorDTO error = new ErrorDTO(e.getMessage(), 500, "Internal Server Error", "/comptes/" + id + "/tax-to-pay");
-      return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(error).build();
-    }
-  }
+        BigDecimal taxToPay = compteCourantService.getTaxToPay(compte, actionDateTime);
+        return Response.ok("{\"taxToPay\": " + taxToPay + "}")
+            .type(MediaType.APPLICATION_JSON)
+            .build();
+      } catch (EJBException e) {
+        int statusCode = isClientError(e) ? 400 : 500;
+        String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
+        String errorMessage = getErrorMessage(e);
+
+        if (isClientError(e)) {
+          LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
+        } else {
+          LOG.severe("EJB error getting tax to pay: " + e.getMessage());
+        }
 
-  @GET
-  @Path("/{id}/tax-paid")
-  public Response getTaxPaid(@PathParam("id") Integer id, @QueryParam("actionDateTime") String actionDateTimeStr) {
-    try {
-      CompteCourant compte = compteCourantService.findById(id);
-      if (compte == null) {
-        ErrorDTO error = new ErrorDTO("Compte not found", 404, "Not Found", "/comptes/" + id + "/tax-paid");
-        return Response.status(Response.Status.NOT_FOUND)
+        ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/comptes/" + id + "/tax-to-pay");
+        return Response.status(statusCode)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(error).build();
+      } catch (Exception e) {
+        LOG.severe("Error getting tax to pay: " + e.getMessage());
+        ErrorDTO error = new ErrorDTO(e.getMessage(), 500, "Internal Server Error", "/comptes/" + id + "/tax-to-pay");
+        return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
             .type(MediaType.APPLICATION_JSON)
             .entity(error).build();
       }
+    });
+  }
 
-      BigDecimal taxPaid;
-      if (actionDateTimeStr == null || actionDateTimeStr.trim().isEmpty()) {
-        taxPaid = compteCourantService.getTaxPaidTotal(compte);
-      } else {
-        try {
-          LocalDateTime actionDateTime = LocalDateTime.parse(actionDateTimeStr);
-          taxPaid = compteCourantService.getTaxPaidDate(compte, actionDateTime);
-        } catch (Exception e) {
-          ErrorDTO error = new ErrorDTO("Invalid actionDateTime format. Use ISO format: YYYY-MM-DDTHH:MM:SS", 400,
-              "Bad Request", "/comptes/" + id + "/tax-paid");
-          return Response.status(Response.Status.BAD_REQUEST)
+  @GET
+  @Path("/{id}/tax-paid")
+  public CompletionStage<Response> getTaxPaid(@PathParam("id") Integer id,
+      @QueryParam("actionDateTime") String actionDateTimeStr) {
+    return asyncExecutorService.submit(() -> {
+      try {
+        CompteCourant compte = compteCourantService.findById(id);
+        if (compte == null) {
+          ErrorDTO error = new ErrorDTO("Compte not found", 404, "Not Found", "/comptes/" + id + "/tax-paid");
+          return Response.status(Response.Status.NOT_FOUND)
               .type(MediaType.APPLICATION_JSON)
               .entity(error).build();
         }
-      }
 
-      return Response.ok("{\"taxPaid\": " + taxPaid + "}")
-          .type(MediaType.APPLICATION_JSON)
-          .build();
-    } catch (EJBException e) {
-      int statusCode = isClientError(e) ? 400 : 500;
-      String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
-      String errorMessage = getErrorMessage(e);
-
-      if (isClientError(e)) {
-        LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
-      } else {
-        LOG.severe("EJB error getting tax paid: " + e.getMessage());
-      }
+        BigDecimal taxPaid;
+        if (actionDateTimeStr == null || actionDateTimeStr.trim().isEmpty()) {
+          taxPaid = compteCourantService.getTaxPaidTotal(compte);
+        } else {
+          try {
+            LocalDateTime actionDateTime = LocalDateTime.parse(actionDateTimeStr);
+            taxPaid = compteCourantService.getTaxPaidDate(compte, actionDateTime);
+          } catch (Exception e) {
+            ErrorDTO error = new ErrorDTO("Invalid actionDateTime format. Use ISO format: YYYY-MM-DDTHH:MM:SS", 400,
+                "Bad Request", "/comptes/" + id + "/tax-paid");
+            return Response.status(Response.Status.BAD_REQUEST)
+                .type(MediaType.APPLICATION_JSON)
+                .entity(error).build();
+          }
+        }
 
-      ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/comptes/" + id + "/tax-paid");
-      return Response.status(statusCode)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(error).build();
-    } catch (Exception e) {
-      LOG.severe("Error getting tax paid: " + e.getMessage());
-      ErrorDTO error = new ErrorDTO(e.getMessage(), 500, "Internal Server Error", "/comptes/" + id + "/tax-paid");
-      return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(error).build();
-    }
-  }
+        return Response.ok("{\"taxPaid\": " + taxPaid + "}")
+            .type(MediaType.APPLICATION_JSON)
+            .build();
+      } catch (EJBException e) {
+        int statusCode = isClientError(e) ? 400 : 500;
+        String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
+        String errorMessage = getErrorMessage(e);
+
+        if (isClientError(e)) {
+          LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
+        } else {
+          LOG.severe("EJB error getting tax paid: " + e.getMessage());
+        }
 
-  @GET
-  @Path("/{id}/tax-status")
-  public Response getTaxStatus(@PathParam("id") Integer id, @QueryParam("actionDateTime") String actionDateTimeStr) {
-    try {
-      CompteCourant compte = compteCourantService.findById(id);
-      if (compte == null) {
-        ErrorDTO error = new ErrorDTO("Compte not found", 404, "Not Found", "/comptes/" + id + "/tax-status");
-        return Response.status(Response.Status.NOT_FOUND)
+        ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/comptes/" + id + "/tax-paid");
+        return Response.status(statusCode)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(error).build();
+      } catch (Exception e) {
+        LOG.severe("Error getting tax paid: " + e.getMessage());
+        ErrorDTO error = new ErrorDTO(e.getMessage(), 500, "Internal Server Error", "/comptes/" + id + "/tax-paid");
+        return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
             .type(MediaType.APPLICATION_JSON)
             .entity(error).build();
       }
+    });
+  }
 
-      LocalDateTime actionDateTime;
-      if (actionDateTimeStr == null || actionDateTimeStr.trim().isEmpty()) {
-        actionDateTime = LocalDateTime.now();
-      } else {
-        try {
-          actionDateTime = LocalDateTime.parse(actionDateTimeStr);
-        } catch (Exception e) {
-          ErrorDTO error = new ErrorDTO("Invalid actionDateTime format. Use ISO format: YYYY-MM-DDTHH:MM:SS", 400,
-              "Bad Request", "/comptes/" + id + "/tax-status");
-          return Response.status(Response.Status.BAD_REQUEST)
+  @GET
+  @Path("/{id}/tax-status")
+  public CompletionStage<Response> getTaxStatus(@PathParam("id") Integer id,
+      @QueryParam("actionDateTime") String actionDateTimeStr) {
+    return asyncExecutorService.submit(() -> {
+      try {
+        CompteCourant compte = compteCourantService.findById(id);
+        if (compte == null) {
+          ErrorDTO error = new ErrorDTO("Compte not found", 404, "Not Found", "/comptes/" + id + "/tax-status");
+          return Response.status(Response.Status.NOT_FOUND)
               .type(MediaType.APPLICATION_JSON)
               .entity(error).build();
         }
-      }
 
-      boolean isTaxPaid = compteCourantService.isTaxPaid(compte, actionDateTime);
-      BigDecimal taxToPay = compteCourantService.getTaxToPay(compte, actionDateTime);
-      return Response.ok("{\"isPaid\": " + isTaxPaid + ", \"taxToPay\": " + taxToPay + "}")
-          .type(MediaType.APPLICATION_JSON)
-          .build();
-    } catch (EJBException e) {
-      int statusCode = isClientError(e) ? 400 : 500;
-      String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
-      String errorMessage = getErrorMessage(e);
-
-      if (isClientError(e)) {
-        LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
-      } else {
-        LOG.severe("EJB error getting tax status: " + e.getMessage());
-      }
+        LocalDateTime actionDateTime;
+        if (actionDateTimeStr == null || actionDateTimeStr.trim().isEmpty()) {
+          actionDateTime = LocalDateTime.now();
+        } else {
+          try {
+            actionDateTime = LocalDateTime.parse(actionDateTimeStr);
+          } catch (Exception e) {
+            ErrorDTO error = new ErrorDTO("Invalid actionDateTime format. Use ISO format: YYYY-MM-DDTHH:MM:SS", 400,
+                "Bad Request", "/comptes/" + id + "/tax-status");
+            return Response.status(Response.Status.BAD_REQUEST)
+                .type(MediaType.APPLICATION_JSON)
+                .entity(error).build();
+          }
+        }
 
-      ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/comptes/" + id + "/tax-status");
-      return Response.status(statusCode)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(error).build();
-    } catch (Exception e) {
-      LOG.severe("Error getting tax status: " + e.getMessage());
-      ErrorDTO error = new ErrorDTO(e.getMessage(), 500, "Internal Server Error", "/comptes/" + id + "/tax-status");
-      return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(error).build();
-    }
-  }
+        TaxStatusDTO taxStatus = compteCourantService.getTaxStatus(compte, actionDateTime);
+        return Response.ok(taxStatus)
+            .type(MediaType.APPLICATION_JSON)
+            .build();
+      } catch (EJBException e) {
+        int statusCode = isClientError(e) ? 400 : 500;
+        String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
+        String errorMessage = getErrorMessage(e);
+
+        if (isClientError(e)) {
+          LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
+        } else {
+          LOG.severe("EJB error getting tax status: " + e.getMessage());
+        }
 
-  @PUT
-  @Path("/{id}/taxe")
-  public Response updateTaxe(@PathParam("id") Integer id, UpdateTaxeRequest request) {
-    try {
-      CompteCourant compte = compteCourantService.findById(id);
-      if (compte == null) {
-        ErrorDTO error = new ErrorDTO("Compte not found", 404, "Not Found", "/comptes/" + id + "/taxe");
-        return Response.status(Response.Status.NOT_FOUND)
+        ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/comptes/" + id + "/tax-status");
+        return Response.status(statusCode)
             .type(MediaType.APPLICATION_JSON)
             .entity(error).build();
-      }
-
-      if (request == null || request.getTaxe() == null) {
-        ErrorDTO error = new ErrorDTO("Tax amount is required", 400, "Bad Request", "/comptes/" + id + "/taxe");
-        return Response.status(Response.Status.BAD_REQUEST)
+      } catch (Exception e) {
+        LOG.severe("Error getting tax status: " + e.getMessage());
+        ErrorDTO error = new ErrorDTO(e.getMessage(), 500, "Internal Server Error", "/comptes/" + id + "/tax-status");
+        return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
             .type(MediaType.APPLICATION_JSON)
             .entity(error).build();
       }
+    });
+  }
 
-      if (request.getTaxe().compareTo(BigDecimal.ZERO) < 0) {
-        ErrorDTO error = new ErrorDTO("Tax amount must be non-negative", 400, "Bad Request",
-            "/comptes/" + id + "/taxe");
-        return Response.status(Response.Status.BAD_REQUEST)
+  @PUT
+  @Path("/{id}/taxe")
+  public CompletionStage<Response> updateTaxe(@PathParam("id") Integer id, UpdateTaxeRequest request) {
+    return asyncExecutorService.submit(() -> {
+      try {
+        CompteCourant compte = compteCourantService.findById(id);
+        if (compte == null) {
+          ErrorDTO error = new ErrorDTO("Compte not found", 404, "Not Found", "/comptes/" + id + "/taxe");
+          return Response.status(Response.Status.NOT_FOUND)
+              .type(MediaType.APPLICATION_JSON)
+              .entity(error).build();
+        }
+
+        if (request == null || request.getTaxe() == null) {
+          ErrorDTO error = new ErrorDTO("Tax amount is required", 400, "Bad Request", "/comptes/" + id + "/taxe");
+          return Response.status(Response.Status.BAD_REQUEST)
+              .type(MediaType.APPLICATION_JSON)
+              .entity(error).build();
+        }
+
+        if (request.getTaxe().compareTo(BigDecimal.ZERO) < 0) {
+          ErrorDTO error = new ErrorDTO("Tax amount must be non-negative", 400, "Bad Request",
+              "/comptes/" + id + "/taxe");
+          return Response.status(Response.Status.BAD_REQUEST)
+              .type(MediaType.APPLICATION_JSON)
+              .entity(error).build();
+        }
+
+        compteCourantService.updateTaxe(compte, request.getTaxe());
+        return Response.ok("{\"message\": \"Tax updated successfully\", \"newTaxe\": " + request.getTaxe() + "}")
             .type(MediaType.APPLICATION_JSON)
-            .entity(error).build();
-      }
+            .build();
+      } catch (EJBException e) {
+        int statusCode = isClientError(e) ? 400 : 500;
+        String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
+        String errorMessage = getErrorMessage(e);
+
+        if (isClientError(e)) {
+          LOG.warning("Invalid taxe update from EJB: " + e.getCausedByException().getMessage());
+        } else {
+          LOG.severe("EJB error updating taxe: " + e.getMessage());
+        }
 
-      compteCourantService.updateTaxe(compte, request.getTaxe());
-      return Response.ok("{\"message\": \"Tax updated successfully\", \"newTaxe\": " + request.getTaxe() + "}")
-          .type(MediaType.APPLICATION_JSON)
-          .build();
-    } catch (EJBException e) {
-      int statusCode = isClientError(e) ? 400 : 500;
-      String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
-      String errorMessage = getErrorMessage(e);
-
-      if (isClientError(e)) {
-        LOG.warning("Invalid taxe update from EJB: " + e.getCausedByException().getMessage());
-      } else {
-        LOG.severe("EJB error updating taxe: " + e.getMessage());
+        ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/comptes/" + id + "/taxe");
+        return Response.status(statusCode)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(error).build();
       }
-
-      ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/comptes/" + id + "/taxe");
-      return Response.status(statusCode)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(error).build();
-    }
+    });
   }
 }
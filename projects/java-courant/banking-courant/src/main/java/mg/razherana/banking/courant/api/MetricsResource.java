@@ -0,0 +1,22 @@
+package mg.razherana.banking.courant.api;
+
+import jakarta.ejb.EJB;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import mg.razherana.banking.courant.application.userService.UserService;
+
+@Path("/metrics")
+@Produces(MediaType.APPLICATION_JSON)
+public class MetricsResource {
+  @EJB
+  private UserService userService;
+
+  @GET
+  @Path("/user-service")
+  public Response getUserServiceMetrics() {
+    return Response.ok(userService.getMetrics())
+        .type(MediaType.APPLICATION_JSON)
+        .build();
+  }
+}
@@ -0,0 +1,128 @@
+package mg.razherana.banking.courant.api;
+
+import jakarta.ejb.EJB;
+import jakarta.ejb.EJBException;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import mg.razherana.banking.courant.application.taxeCollectionService.TaxeCollectionService;
+import mg.razherana.banking.courant.dto.ErrorDTO;
+import mg.razherana.banking.courant.dto.TaxeCollectionFailureDTO;
+import mg.razherana.banking.courant.dto.TaxeCollectionReportDTO;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * REST API Resource for bulk tax collection runs.
+ *
+ * <p>
+ * Starting or resuming a run returns {@code 202 Accepted} with the run report
+ * immediately; the run executes in the background and its progress is read
+ * from {@code GET /tax-collections/{runId}}.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.application.taxeCollectionService.TaxeCollectionService
+ */
+@Path("/tax-collections")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class TaxeCollectionResource {
+  private static final Logger LOG = Logger.getLogger(TaxeCollectionResource.class.getName());
+
+  @EJB
+  private TaxeCollectionService taxeCollectionService;
+
+  /**
+   * Helper method to handle EJBException and extract the underlying cause.
+   * Returns true if the exception should be treated as a 400 Bad Request,
+   * false if it should be treated as a 500 Internal Server Error.
+   */
+  private boolean isClientError(EJBException ejbException) {
+    return ejbException.getCausedByException() instanceof IllegalArgumentException;
+  }
+
+  /**
+   * Helper method to build the error response of an EJBException.
+   */
+  private Response errorResponse(EJBException e, String action, String path) {
+    int statusCode = isClientError(e) ? 400 : 500;
+    String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
+    String errorMessage = isClientError(e) ? "Invalid data: " + e.getCausedByException().getMessage()
+        : "Internal server error";
+
+    if (isClientError(e)) {
+      LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
+    } else {
+      LOG.severe("EJB error " + action + ": " + e.getMessage());
+    }
+
+    ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, path);
+    return Response.status(statusCode)
+        .type(MediaType.APPLICATION_JSON)
+        .entity(error).build();
+  }
+
+  @POST
+  public Response startCollection() {
+    try {
+      TaxeCollectionReportDTO report = taxeCollectionService.start();
+      taxeCollectionService.executeAsync(report.getRunId());
+      return Response.status(Response.Status.ACCEPTED)
+          .type(MediaType.APPLICATION_JSON)
+          .entity(report).build();
+    } catch (EJBException e) {
+      return errorResponse(e, "starting tax collection", "/tax-collections");
+    }
+  }
+
+  @POST
+  @Path("/{runId}/resume")
+  public Response resumeCollection(@PathParam("runId") Integer runId) {
+    try {
+      TaxeCollectionReportDTO report = taxeCollectionService.resume(runId);
+      taxeCollectionService.executeAsync(runId);
+      return Response.status(Response.Status.ACCEPTED)
+          .type(MediaType.APPLICATION_JSON)
+          .entity(report).build();
+    } catch (EJBException e) {
+      return errorResponse(e, "resuming tax collection", "/tax-collections/" + runId + "/resume");
+    }
+  }
+
+  @GET
+  @Path("/{runId}")
+  public Response getCollection(@PathParam("runId") Integer runId) {
+    try {
+      TaxeCollectionReportDTO report = taxeCollectionService.getReport(runId);
+      if (report == null) {
+        ErrorDTO error = new ErrorDTO("Tax collection run not found", 404, "Not Found", "/tax-collections/" + runId);
+        return Response.status(Response.Status.NOT_FOUND)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(error).build();
+      }
+      return Response.ok(report)
+          .type(MediaType.APPLICATION_JSON)
+          .build();
+    } catch (EJBException e) {
+      return errorResponse(e, "getting tax collection", "/tax-collections/" + runId);
+    }
+  }
+
+  @GET
+  @Path("/{runId}/failures")
+  public Response getFailures(@PathParam("runId") Integer runId, @QueryParam("afterCompteId") Integer afterCompteId,
+      @QueryParam("limit") Integer limit) {
+    try {
+      List<TaxeCollectionFailureDTO> failures = taxeCollectionService.getFailures(runId, afterCompteId, limit);
+      return Response.ok(failures)
+          .type(MediaType.APPLICATION_JSON)
+          .build();
+    } catch (EJBException e) {
+      return errorResponse(e, "getting tax collection failures", "/tax-collections/" + runId + "/failures");
+    }
+  }
+}
@@ -5,22 +5,35 @@ import jakarta.ejb.EJBException;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import mg.razherana.banking.courant.application.asyncExecutorService.AsyncExecutorService;
 import mg.razherana.banking.courant.application.compteCourantService.CompteCourantService;
+import mg.razherana.banking.courant.application.idempotencyService.IdempotencyService;
+import mg.razherana.banking.courant.application.ledgerArchiveService.LedgerArchiveService;
 import mg.razherana.banking.courant.application.transactionService.TransactionService;
+import mg.razherana.banking.courant.dto.DepotBatchResultDTO;
 import mg.razherana.banking.courant.dto.ErrorDTO;
+import mg.razherana.banking.courant.dto.LedgerArchiveReportDTO;
 import mg.razherana.banking.courant.dto.MessageDTO;
 import mg.razherana.banking.courant.dto.TransactionCourantDTO;
+import mg.razherana.banking.courant.dto.TransactionPageDTO;
 import mg.razherana.banking.courant.dto.requests.transactions.DepotRequest;
 import mg.razherana.banking.courant.dto.requests.transactions.RetraitRequest;
+import mg.razherana.banking.courant.dto.requests.transactions.TransactionFilter;
 import mg.razherana.banking.courant.dto.requests.transactions.TransfertRequest;
 import mg.razherana.banking.courant.dto.requests.transactions.PayTaxRequest;
 import mg.razherana.banking.courant.entities.CompteCourant;
+import mg.razherana.banking.courant.entities.IdempotencyKey;
 import mg.razherana.banking.courant.entities.TransactionCourant;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 @Path("/transactions")
 @Produces(MediaType.APPLICATION_JSON)
@@ -28,12 +41,26 @@ import java.util.stream.Collectors;
 public class TransactionResource {
   private static final Logger LOG = Logger.getLogger(TransactionResource.class.getName());
 
+  // Client key making depot, retrait and transfert safe to retry
+  private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+  private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+  private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+  @EJB
+  private AsyncExecutorService asyncExecutorService;
+
   @EJB
   private TransactionService transactionService;
 
   @EJB
   private CompteCourantService compteCourantService;
 
+  @EJB
+  private LedgerArchiveService ledgerArchiveService;
+
+  @EJB
+  private IdempotencyService idempotencyService;
+
   /**
    * Helper method to handle EJBException and extract the underlying cause.
    * Returns true if the exception should be treated as a 400 Bad Request,
@@ -54,98 +81,281 @@ public class TransactionResource {
     }
   }
 
-  @GET
-  public Response getAllTransactions() {
-    try {
-      List<TransactionCourant> transactions = transactionService.getAllTransactions();
-      List<TransactionCourantDTO> transactionDTOs = transactions.stream()
-          .map(TransactionCourantDTO::new)
-          .collect(Collectors.toList());
-      return Response.ok(transactionDTOs)
-          .type(MediaType.APPLICATION_JSON)
-          .build();
-    } catch (EJBException e) {
-      int statusCode = isClientError(e) ? 400 : 500;
-      String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
-      String errorMessage = getErrorMessage(e);
+  /**
+   * Builds the idempotency key of a money-movement request from its
+   * {@code Idempotency-Key} header and the fields identifying the request, or
+   * returns null if the header is absent.
+   */
+  private static IdempotencyKey idempotencyKey(String header, String endpoint, Object... fields) {
+    if (header == null) {
+      return null;
+    }
+    if (header.isBlank() || header.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+      throw new IllegalArgumentException(
+          IDEMPOTENCY_KEY_HEADER + " must be between 1 and " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+    }
 
-      if (isClientError(e)) {
-        LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
-      } else {
-        LOG.severe("EJB error getting all transactions: " + e.getMessage());
+    StringBuilder canonical = new StringBuilder(endpoint);
+    for (Object field : fields) {
+      // 1000 and 1000.00 are the same montant
+      canonical.append('\u001f').append(field instanceof BigDecimal
+          ? ((BigDecimal) field).stripTrailingZeros().toPlainString()
+          : String.valueOf(field));
+    }
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256")
+          .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+      StringBuilder hex = new StringBuilder();
+      for (byte b : digest) {
+        hex.append(String.format("%02x", b));
       }
+      return new IdempotencyKey(header, endpoint, hex.toString(), Response.Status.CREATED.getStatusCode());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
 
-      ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/transactions");
-      return Response.status(statusCode)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(error).build();
-    } catch (Exception e) {
-      LOG.severe("Error getting all transactions: " + e.getMessage());
-      ErrorDTO error = new ErrorDTO(e.getMessage(), 500, "Internal Server Error", "/transactions");
-      return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+  /**
+   * Replays the response of the request that recorded the key, without
+   * running it again, or returns null if the key is unknown. A key reused for
+   * another request is rejected with 422.
+   */
+  private Response replay(IdempotencyKey idempotencyKey, String path) {
+    if (idempotencyKey == null) {
+      return null;
+    }
+    IdempotencyKey stored = idempotencyService.find(idempotencyKey.getKey());
+    if (stored == null) {
+      return null;
+    }
+
+    if (!stored.getEndpoint().equals(idempotencyKey.getEndpoint())
+        || !stored.getRequestHash().equals(idempotencyKey.getRequestHash())) {
+      LOG.warning("Idempotency key " + idempotencyKey.getKey() + " reused for a different request");
+      ErrorDTO error = new ErrorDTO(IDEMPOTENCY_KEY_HEADER + " already used for a different request", 422,
+          "Unprocessable Entity", path);
+      return Response.status(422)
           .type(MediaType.APPLICATION_JSON)
           .entity(error).build();
     }
+
+    Object entity;
+    if ("transfert".equals(stored.getEndpoint())) {
+      entity = new MessageDTO("Transfer completed successfully");
+    } else {
+      TransactionCourant transaction = stored.getTransactionId() != null
+          ? transactionService.findById(stored.getTransactionId())
+          : null;
+      if (transaction == null) {
+        ErrorDTO error = new ErrorDTO("Transaction of this " + IDEMPOTENCY_KEY_HEADER + " no longer exists", 404,
+            "Not Found", path);
+        return Response.status(Response.Status.NOT_FOUND)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(error).build();
+      }
+      entity = new TransactionCourantDTO(transaction);
+    }
+
+    LOG.info("Replaying " + stored.getEndpoint() + " of idempotency key " + stored.getKey());
+    return Response.status(stored.getStatusCode())
+        .type(MediaType.APPLICATION_JSON)
+        .header(IDEMPOTENT_REPLAYED_HEADER, "true")
+        .entity(entity).build();
+  }
+
+  @GET
+  public CompletionStage<Response> getAllTransactions(@QueryParam("compteId") Integer compteId,
+      @QueryParam("specialAction") String specialAction,
+      @QueryParam("from") String from,
+      @QueryParam("to") String to,
+      @QueryParam("cursor") String cursor,
+      @QueryParam("limit") Integer limit) {
+    return asyncExecutorService.submit(
+        () -> listTransactions(compteId, specialAction, from, to, cursor, limit, "/transactions"));
   }
 
   @GET
   @Path("/{id}")
-  public Response getTransactionById(@PathParam("id") Integer id) {
-    try {
-      TransactionCourant transaction = transactionService.findById(id);
-      if (transaction == null) {
-        ErrorDTO error = new ErrorDTO("Transaction not found", 404, "Not Found", "/transactions/" + id);
-        return Response.status(Response.Status.NOT_FOUND)
+  public CompletionStage<Response> getTransactionById(@PathParam("id") Integer id) {
+    return asyncExecutorService.submit(() -> {
+      try {
+        TransactionCourant transaction = transactionService.findById(id);
+        if (transaction == null) {
+          ErrorDTO error = new ErrorDTO("Transaction not found", 404, "Not Found", "/transactions/" + id);
+          return Response.status(Response.Status.NOT_FOUND)
+              .type(MediaType.APPLICATION_JSON)
+              .entity(error).build();
+        }
+        TransactionCourantDTO transactionDTO = new TransactionCourantDTO(transaction);
+        return Response.ok(transactionDTO)
+            .type(MediaType.APPLICATION_JSON)
+            .build();
+      } catch (EJBException e) {
+        int statusCode = isClientError(e) ? 400 : 500;
+        String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
+        String errorMessage = getErrorMessage(e);
+
+        if (isClientError(e)) {
+          LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
+        } else {
+          LOG.severe("EJB error getting transaction by ID: " + e.getMessage());
+        }
+
+        ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/transactions/" + id);
+        return Response.status(statusCode)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(error).build();
+      } catch (Exception e) {
+        LOG.severe("Error getting transaction by ID: " + e.getMessage());
+        ErrorDTO error = new ErrorDTO(e.getMessage(), 500, "Internal Server Error", "/transactions/" + id);
+        return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
             .type(MediaType.APPLICATION_JSON)
             .entity(error).build();
       }
-      TransactionCourantDTO transactionDTO = new TransactionCourantDTO(transaction);
-      return Response.ok(transactionDTO)
-          .type(MediaType.APPLICATION_JSON)
-          .build();
-    } catch (EJBException e) {
-      int statusCode = isClientError(e) ? 400 : 500;
-      String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
-      String errorMessage = getErrorMessage(e);
+    });
+  }
 
-      if (isClientError(e)) {
-        LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
-      } else {
-        LOG.severe("EJB error getting transaction by ID: " + e.getMessage());
+  @GET
+  @Path("/compte/{compteId}")
+  public CompletionStage<Response> getTransactionsByCompte(@PathParam("compteId") Integer compteId,
+      @QueryParam("specialAction") String specialAction,
+      @QueryParam("from") String from,
+      @QueryParam("to") String to,
+      @QueryParam("cursor") String cursor,
+      @QueryParam("limit") Integer limit) {
+    return asyncExecutorService.submit(() -> {
+      String path = "/transactions/compte/" + compteId;
+      try {
+        CompteCourant compte = compteCourantService.findById(compteId);
+        if (compte == null) {
+          ErrorDTO error = new ErrorDTO("Compte not found", 404, "Not Found", path);
+          return Response.status(Response.Status.NOT_FOUND)
+              .type(MediaType.APPLICATION_JSON)
+              .entity(error).build();
+        }
+      } catch (EJBException e) {
+        LOG.severe("EJB error getting transactions by compte: " + e.getMessage());
+        ErrorDTO error = new ErrorDTO(getErrorMessage(e), 500, "Internal Server Error", path);
+        return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(error).build();
       }
 
-      ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/transactions/" + id);
-      return Response.status(statusCode)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(error).build();
-    } catch (Exception e) {
-      LOG.severe("Error getting transaction by ID: " + e.getMessage());
-      ErrorDTO error = new ErrorDTO(e.getMessage(), 500, "Internal Server Error", "/transactions/" + id);
-      return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(error).build();
-    }
+      return listTransactions(compteId, specialAction, from, to, cursor, limit, path);
+    });
   }
 
+  /**
+   * Streams the statement of a compte between two dates as NDJSON (default) or
+   * CSV. Rows are written as they are read from the database, oldest first.
+   */
   @GET
-  @Path("/compte/{compteId}")
-  public Response getTransactionsByCompte(@PathParam("compteId") Integer compteId) {
-    try {
-      CompteCourant compte = compteCourantService.findById(compteId);
-      if (compte == null) {
-        ErrorDTO error = new ErrorDTO("Compte not found", 404, "Not Found", "/transactions/compte/" + compteId);
-        return Response.status(Response.Status.NOT_FOUND)
+  @Path("/compte/{compteId}/export")
+  @Produces({ "application/x-ndjson", "text/csv", MediaType.APPLICATION_JSON })
+  public CompletionStage<Response> exportTransactions(@PathParam("compteId") Integer compteId,
+      @QueryParam("from") String from,
+      @QueryParam("to") String to,
+      @QueryParam("format") @DefaultValue("ndjson") String format) {
+    return asyncExecutorService.submit(() -> {
+      String path = "/transactions/compte/" + compteId + "/export";
+      try {
+        if (!"ndjson".equalsIgnoreCase(format) && !"csv".equalsIgnoreCase(format)) {
+          throw new IllegalArgumentException("Unknown export format: " + format + " (expected ndjson or csv)");
+        }
+        LocalDateTime fromDate = parseDateTime(from, "from");
+        LocalDateTime toDate = parseDateTime(to, "to");
+        if (fromDate != null && toDate != null && !fromDate.isBefore(toDate)) {
+          throw new IllegalArgumentException("from must be before to");
+        }
+
+        CompteCourant compte = compteCourantService.findById(compteId);
+        if (compte == null) {
+          ErrorDTO error = new ErrorDTO("Compte not found", 404, "Not Found", path);
+          return Response.status(Response.Status.NOT_FOUND)
+              .type(MediaType.APPLICATION_JSON)
+              .entity(error).build();
+        }
+
+        boolean csv = "csv".equalsIgnoreCase(format);
+        StreamingOutput stream = output -> transactionService.exportTransactions(
+            compteId, fromDate, toDate, format, output);
+        return Response.ok(stream)
+            .type(csv ? "text/csv" : "application/x-ndjson")
+            .header("Content-Disposition", "attachment; filename=\"compte-" + compteId + "."
+                + (csv ? "csv" : "ndjson") + "\"")
+            .build();
+      } catch (IllegalArgumentException e) {
+        ErrorDTO error = new ErrorDTO(e.getMessage(), 400, "Bad Request", path);
+        return Response.status(Response.Status.BAD_REQUEST)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(error).build();
+      } catch (EJBException e) {
+        LOG.severe("EJB error exporting transactions: " + e.getMessage());
+        ErrorDTO error = new ErrorDTO(getErrorMessage(e), 500, "Internal Server Error", path);
+        return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(error).build();
+      }
+    });
+  }
+
+  /**
+   * Adds the upcoming monthly partitions of the ledger and archives the
+   * closed months older than the retention period.
+   */
+  @POST
+  @Path("/archive")
+  public CompletionStage<Response> archiveTransactions() {
+    return asyncExecutorService.submit(() -> {
+      try {
+        LedgerArchiveReportDTO report = ledgerArchiveService.archive();
+        return Response.ok(report)
+            .type(MediaType.APPLICATION_JSON)
+            .build();
+      } catch (EJBException e) {
+        int statusCode = isClientError(e) ? 400 : 500;
+        String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
+        String errorMessage = getErrorMessage(e);
+
+        if (isClientError(e)) {
+          LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
+        } else {
+          LOG.severe("EJB error archiving transactions: " + e.getMessage());
+        }
+
+        ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/transactions/archive");
+        return Response.status(statusCode)
             .type(MediaType.APPLICATION_JSON)
             .entity(error).build();
       }
+    });
+  }
 
-      List<TransactionCourant> transactions = transactionService.getTransactionsByCompte(compte);
-      List<TransactionCourantDTO> transactionDTOs = transactions.stream()
-          .map(TransactionCourantDTO::new)
-          .collect(Collectors.toList());
-      return Response.ok(transactionDTOs)
+  /**
+   * Builds a page of transactions for the listing endpoints.
+   * Dates use the ISO format YYYY-MM-DDTHH:MM:SS; from is inclusive, to is
+   * exclusive.
+   */
+  private Response listTransactions(Integer compteId, String specialAction, String from, String to,
+      String cursor, Integer limit, String path) {
+    try {
+      TransactionFilter filter = new TransactionFilter();
+      filter.setCompteId(compteId);
+      filter.setSpecialAction(specialAction);
+      filter.setFrom(parseDateTime(from, "from"));
+      filter.setTo(parseDateTime(to, "to"));
+      filter.setCursor(cursor);
+      filter.setLimit(limit);
+
+      TransactionPageDTO page = transactionService.searchTransactions(filter);
+      return Response.ok(page)
           .type(MediaType.APPLICATION_JSON)
           .build();
+    } catch (IllegalArgumentException e) {
+      ErrorDTO error = new ErrorDTO(e.getMessage(), 400, "Bad Request", path);
+      return Response.status(Response.Status.BAD_REQUEST)
+          .type(MediaType.APPLICATION_JSON)
+          .entity(error).build();
     } catch (EJBException e) {
       int statusCode = isClientError(e) ? 400 : 500;
       String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
@@ -154,226 +364,344 @@ public class TransactionResource {
       if (isClientError(e)) {
         LOG.warning("Invalid data from EJB: " + e.getCausedByException().getMessage());
       } else {
-        LOG.severe("EJB error getting transactions by compte: " + e.getMessage());
+        LOG.severe("EJB error listing transactions: " + e.getMessage());
       }
 
-      ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/transactions/compte/" + compteId);
+      ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, path);
       return Response.status(statusCode)
           .type(MediaType.APPLICATION_JSON)
           .entity(error).build();
     } catch (Exception e) {
-      LOG.severe("Error getting transactions by compte: " + e.getMessage());
-      ErrorDTO error = new ErrorDTO(e.getMessage(), 500, "Internal Server Error", "/transactions/compte/" + compteId);
+      LOG.severe("Error listing transactions: " + e.getMessage());
+      ErrorDTO error = new ErrorDTO(e.getMessage(), 500, "Internal Server Error", path);
       return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
           .type(MediaType.APPLICATION_JSON)
           .entity(error).build();
     }
   }
 
+  private static LocalDateTime parseDateTime(String value, String name) {
+    if (value == null || value.trim().isEmpty()) {
+      return null;
+    }
+    try {
+      return LocalDateTime.parse(value);
+    } catch (Exception e) {
+      throw new IllegalArgumentException("Invalid " + name + " format. Use ISO format: YYYY-MM-DDTHH:MM:SS");
+    }
+  }
+
   @POST
   @Path("/depot")
-  public Response depot(DepotRequest request) {
-    try {
-      if (request.getCompteId() == null || request.getMontant() == null) {
-        ErrorDTO error = new ErrorDTO("Compte ID and montant are required", 400, "Bad Request", "/transactions/depot");
+  public CompletionStage<Response> depot(@HeaderParam(IDEMPOTENCY_KEY_HEADER) String idempotencyKeyHeader,
+      DepotRequest request) {
+    return asyncExecutorService.submit(() -> {
+      IdempotencyKey idempotencyKey = null;
+      try {
+        if (request.getCompteId() == null || request.getMontant() == null) {
+          ErrorDTO error = new ErrorDTO("Compte ID and montant are required", 400, "Bad Request", "/transactions/depot");
+          return Response.status(Response.Status.BAD_REQUEST)
+              .type(MediaType.APPLICATION_JSON)
+              .entity(error).build();
+        }
+
+        idempotencyKey = idempotencyKey(idempotencyKeyHeader, "depot",
+            request.getCompteId(), request.getMontant(), request.getDescription());
+        Response replayed = replay(idempotencyKey, "/transactions/depot");
+        if (replayed != null) {
+          return replayed;
+        }
+
+        CompteCourant compte = compteCourantService.findById(request.getCompteId());
+        if (compte == null) {
+          ErrorDTO error = new ErrorDTO("Compte not found", 404, "Not Found", "/transactions/depot");
+          return Response.status(Response.Status.NOT_FOUND)
+              .type(MediaType.APPLICATION_JSON)
+              .entity(error).build();
+        }
+
+        TransactionCourant transaction = transactionService.depot(
+            compte, request.getMontant(), request.getDescription(), idempotencyKey);
+        idempotencyService.remember(idempotencyKey);
+
+        TransactionCourantDTO transactionDTO = new TransactionCourantDTO(transaction);
+        return Response.status(Response.Status.CREATED)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(transactionDTO).build();
+      } catch (IllegalArgumentException e) {
+        ErrorDTO error = new ErrorDTO(e.getMessage(), 400, "Bad Request", "/transactions/depot");
         return Response.status(Response.Status.BAD_REQUEST)
             .type(MediaType.APPLICATION_JSON)
             .entity(error).build();
-      }
-
-      CompteCourant compte = compteCourantService.findById(request.getCompteId());
-      if (compte == null) {
-        ErrorDTO error = new ErrorDTO("Compte not found", 404, "Not Found", "/transactions/depot");
-        return Response.status(Response.Status.NOT_FOUND)
+      } catch (EJBException e) {
+        // A concurrent request with the same key won the race
+        Response replayed = replay(idempotencyKey, "/transactions/depot");
+        if (replayed != null) {
+          return replayed;
+        }
+
+        int statusCode = isClientError(e) ? 400 : 500;
+        String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
+        String errorMessage = getErrorMessage(e);
+
+        if (isClientError(e)) {
+          LOG.warning("Invalid depot data from EJB: " + e.getCausedByException().getMessage());
+        } else {
+          LOG.severe("EJB error processing depot: " + e.getMessage());
+        }
+
+        ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/transactions/depot");
+        return Response.status(statusCode)
             .type(MediaType.APPLICATION_JSON)
             .entity(error).build();
       }
+    });
+  }
 
-      TransactionCourant transaction = transactionService.depot(
-          compte, request.getMontant(), request.getDescription());
-
-      TransactionCourantDTO transactionDTO = new TransactionCourantDTO(transaction);
-      return Response.status(Response.Status.CREATED)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(transactionDTO).build();
-    } catch (EJBException e) {
-      int statusCode = isClientError(e) ? 400 : 500;
-      String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
-      String errorMessage = getErrorMessage(e);
-
-      if (isClientError(e)) {
-        LOG.warning("Invalid depot data from EJB: " + e.getCausedByException().getMessage());
-      } else {
-        LOG.severe("EJB error processing depot: " + e.getMessage());
+  @POST
+  @Path("/depot/batch")
+  public CompletionStage<Response> depotBatch(List<DepotRequest> requests) {
+    return asyncExecutorService.submit(() -> {
+      try {
+        if (requests == null || requests.isEmpty()) {
+          ErrorDTO error = new ErrorDTO("At least one depot is required", 400, "Bad Request", "/transactions/depot/batch");
+          return Response.status(Response.Status.BAD_REQUEST)
+              .type(MediaType.APPLICATION_JSON)
+              .entity(error).build();
+        }
+
+        DepotBatchResultDTO result = transactionService.depotBatch(requests);
+        return Response.ok(result)
+            .type(MediaType.APPLICATION_JSON)
+            .build();
+      } catch (EJBException e) {
+        int statusCode = isClientError(e) ? 400 : 500;
+        String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
+        String errorMessage = getErrorMessage(e);
+
+        if (isClientError(e)) {
+          LOG.warning("Invalid depot batch data from EJB: " + e.getCausedByException().getMessage());
+        } else {
+          LOG.severe("EJB error processing depot batch: " + e.getMessage());
+        }
+
+        ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/transactions/depot/batch");
+        return Response.status(statusCode)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(error).build();
       }
-
-      ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/transactions/depot");
-      return Response.status(statusCode)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(error).build();
-    }
+    });
   }
 
   @POST
   @Path("/retrait")
-  public Response retrait(RetraitRequest request) {
-    try {
-      if (request.getCompteId() == null || request.getMontant() == null) {
-        ErrorDTO error = new ErrorDTO("Compte ID and montant are required", 400, "Bad Request",
-            "/transactions/retrait");
+  public CompletionStage<Response> retrait(@HeaderParam(IDEMPOTENCY_KEY_HEADER) String idempotencyKeyHeader,
+      RetraitRequest request) {
+    return asyncExecutorService.submit(() -> {
+      IdempotencyKey idempotencyKey = null;
+      try {
+        if (request.getCompteId() == null || request.getMontant() == null) {
+          ErrorDTO error = new ErrorDTO("Compte ID and montant are required", 400, "Bad Request",
+              "/transactions/retrait");
+          return Response.status(Response.Status.BAD_REQUEST)
+              .type(MediaType.APPLICATION_JSON)
+              .entity(error).build();
+        }
+
+        idempotencyKey = idempotencyKey(idempotencyKeyHeader, "retrait", request.getCompteId(),
+            request.getMontant(), request.getDescription(), request.getActionDateTime());
+        Response replayed = replay(idempotencyKey, "/transactions/retrait");
+        if (replayed != null) {
+          return replayed;
+        }
+
+        CompteCourant compte = compteCourantService.findById(request.getCompteId());
+        if (compte == null) {
+          ErrorDTO error = new ErrorDTO("Compte not found", 404, "Not Found", "/transactions/retrait");
+          return Response.status(Response.Status.NOT_FOUND)
+              .type(MediaType.APPLICATION_JSON)
+              .entity(error).build();
+        }
+
+        // Default to current time if actionDateTime is not provided
+        LocalDateTime actionDateTime = request.getActionDateTime() != null ? request.getActionDateTime()
+            : LocalDateTime.now();
+
+        TransactionCourant transaction = transactionService.retrait(
+            compte, request.getMontant(), request.getDescription(), actionDateTime, idempotencyKey);
+        idempotencyService.remember(idempotencyKey);
+
+        TransactionCourantDTO transactionDTO = new TransactionCourantDTO(transaction);
+        return Response.status(Response.Status.CREATED)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(transactionDTO).build();
+      } catch (IllegalArgumentException e) {
+        ErrorDTO error = new ErrorDTO(e.getMessage(), 400, "Bad Request", "/transactions/retrait");
         return Response.status(Response.Status.BAD_REQUEST)
             .type(MediaType.APPLICATION_JSON)
             .entity(error).build();
-      }
-
-      CompteCourant compte = compteCourantService.findById(request.getCompteId());
-      if (compte == null) {
-        ErrorDTO error = new ErrorDTO("Compte not found", 404, "Not Found", "/transactions/retrait");
-        return Response.status(Response.Status.NOT_FOUND)
+      } catch (EJBException e) {
+        // A concurrent request with the same key won the race
+        Response replayed = replay(idempotencyKey, "/transactions/retrait");
+        if (replayed != null) {
+          return replayed;
+        }
+
+        int statusCode = isClientError(e) ? 400 : 500;
+        String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
+        String errorMessage = getErrorMessage(e);
+
+        if (isClientError(e)) {
+          LOG.warning("Invalid retrait data from EJB: " + e.getCausedByException().getMessage());
+        } else {
+          LOG.severe("EJB error processing retrait: " + e.getMessage());
+        }
+
+        ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/transactions/retrait");
+        return Response.status(statusCode)
             .type(MediaType.APPLICATION_JSON)
             .entity(error).build();
       }
-
-      // Default to current time if actionDateTime is not provided
-      LocalDateTime actionDateTime = request.getActionDateTime() != null ? request.getActionDateTime()
-          : LocalDateTime.now();
-
-      TransactionCourant transaction = transactionService.retrait(
-          compte, request.getMontant(), request.getDescription(), actionDateTime);
-
-      TransactionCourantDTO transactionDTO = new TransactionCourantDTO(transaction);
-      return Response.status(Response.Status.CREATED)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(transactionDTO).build();
-    } catch (EJBException e) {
-      int statusCode = isClientError(e) ? 400 : 500;
-      String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
-      String errorMessage = getErrorMessage(e);
-
-      if (isClientError(e)) {
-        LOG.warning("Invalid retrait data from EJB: " + e.getCausedByException().getMessage());
-      } else {
-        LOG.severe("EJB error processing retrait: " + e.getMessage());
-      }
-
-      ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/transactions/retrait");
-      return Response.status(statusCode)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(error).build();
-    }
+    });
   }
 
   @POST
   @Path("/transfert")
-  public Response transfert(TransfertRequest request) {
-    try {
-      if (request.getCompteSourceId() == null ||
-          request.getCompteDestinationId() == null ||
-          request.getMontant() == null) {
-        ErrorDTO error = new ErrorDTO("Source account ID, destination account ID, and montant are required", 400,
-            "Bad Request", "/transactions/transfert");
-        return Response.status(Response.Status.BAD_REQUEST)
+  public CompletionStage<Response> transfert(@HeaderParam(IDEMPOTENCY_KEY_HEADER) String idempotencyKeyHeader,
+      TransfertRequest request) {
+    return asyncExecutorService.submit(() -> {
+      IdempotencyKey idempotencyKey = null;
+      try {
+        if (request.getCompteSourceId() == null ||
+            request.getCompteDestinationId() == null ||
+            request.getMontant() == null) {
+          ErrorDTO error = new ErrorDTO("Source account ID, destination account ID, and montant are required", 400,
+              "Bad Request", "/transactions/transfert");
+          return Response.status(Response.Status.BAD_REQUEST)
+              .type(MediaType.APPLICATION_JSON)
+              .entity(error).build();
+        }
+
+        idempotencyKey = idempotencyKey(idempotencyKeyHeader, "transfert", request.getCompteSourceId(),
+            request.getCompteDestinationId(), request.getMontant(), request.getDescription(),
+            request.getActionDateTime());
+        Response replayed = replay(idempotencyKey, "/transactions/transfert");
+        if (replayed != null) {
+          return replayed;
+        }
+
+        CompteCourant compteSource = compteCourantService.findById(request.getCompteSourceId());
+        if (compteSource == null) {
+          ErrorDTO error = new ErrorDTO("Source compte not found", 404, "Not Found", "/transactions/transfert");
+          return Response.status(Response.Status.NOT_FOUND)
+              .type(MediaType.APPLICATION_JSON)
+              .entity(error).build();
+        }
+
+        CompteCourant compteDestination = compteCourantService.findById(request.getCompteDestinationId());
+        if (compteDestination == null) {
+          ErrorDTO error = new ErrorDTO("Destination compte not found", 404, "Not Found", "/transactions/transfert");
+          return Response.status(Response.Status.NOT_FOUND)
+              .type(MediaType.APPLICATION_JSON)
+              .entity(error).build();
+        }
+
+        // Default to current time if actionDateTime is not provided
+        LocalDateTime actionDateTime = request.getActionDateTime() != null ? request.getActionDateTime()
+            : LocalDateTime.now();
+
+        transactionService.transfert(compteSource, compteDestination,
+            request.getMontant(), request.getDescription(), actionDateTime, idempotencyKey);
+        idempotencyService.remember(idempotencyKey);
+
+        MessageDTO message = new MessageDTO("Transfer completed successfully");
+        return Response.status(Response.Status.CREATED)
             .type(MediaType.APPLICATION_JSON)
-            .entity(error).build();
-      }
-
-      CompteCourant compteSource = compteCourantService.findById(request.getCompteSourceId());
-      if (compteSource == null) {
-        ErrorDTO error = new ErrorDTO("Source compte not found", 404, "Not Found", "/transactions/transfert");
-        return Response.status(Response.Status.NOT_FOUND)
+            .entity(message).build();
+      } catch (IllegalArgumentException e) {
+        ErrorDTO error = new ErrorDTO(e.getMessage(), 400, "Bad Request", "/transactions/transfert");
+        return Response.status(Response.Status.BAD_REQUEST)
             .type(MediaType.APPLICATION_JSON)
             .entity(error).build();
-      }
-
-      CompteCourant compteDestination = compteCourantService.findById(request.getCompteDestinationId());
-      if (compteDestination == null) {
-        ErrorDTO error = new ErrorDTO("Destination compte not found", 404, "Not Found", "/transactions/transfert");
-        return Response.status(Response.Status.NOT_FOUND)
+      } catch (EJBException e) {
+        // A concurrent request with the same key won the race
+        Response replayed = replay(idempotencyKey, "/transactions/transfert");
+        if (replayed != null) {
+          return replayed;
+        }
+
+        int statusCode = isClientError(e) ? 400 : 500;
+        String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
+        String errorMessage = getErrorMessage(e);
+
+        if (isClientError(e)) {
+          LOG.warning("Invalid transfert data from EJB: " + e.getCausedByException().getMessage());
+        } else {
+          LOG.severe("EJB error processing transfert: " + e.getMessage());
+        }
+
+        ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/transactions/transfert");
+        return Response.status(statusCode)
             .type(MediaType.APPLICATION_JSON)
             .entity(error).build();
       }
-
-      // Default to current time if actionDateTime is not provided
-      LocalDateTime actionDateTime = request.getActionDateTime() != null ? request.getActionDateTime()
-          : LocalDateTime.now();
-
-      transactionService.transfert(compteSource, compteDestination,
-          request.getMontant(), request.getDescription(), actionDateTime);
-
-      MessageDTO message = new MessageDTO("Transfer completed successfully");
-      return Response.status(Response.Status.CREATED)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(message).build();
-    } catch (EJBException e) {
-      int statusCode = isClientError(e) ? 400 : 500;
-      String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
-      String errorMessage = getErrorMessage(e);
-
-      if (isClientError(e)) {
-        LOG.warning("Invalid transfert data from EJB: " + e.getCausedByException().getMessage());
-      } else {
-        LOG.severe("EJB error processing transfert: " + e.getMessage());
-      }
-
-      ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/transactions/transfert");
-      return Response.status(statusCode)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(error).build();
-    }
+    });
   }
 
   @POST
   @Path("/pay-tax")
-  public Response payTax(PayTaxRequest request) {
-    try {
-      if (request.getCompteId() == null) {
-        ErrorDTO error = new ErrorDTO("Compte ID is required", 400, "Bad Request", "/transactions/pay-tax");
-        return Response.status(Response.Status.BAD_REQUEST)
+  public CompletionStage<Response> payTax(PayTaxRequest request) {
+    return asyncExecutorService.submit(() -> {
+      try {
+        if (request.getCompteId() == null) {
+          ErrorDTO error = new ErrorDTO("Compte ID is required", 400, "Bad Request", "/transactions/pay-tax");
+          return Response.status(Response.Status.BAD_REQUEST)
+              .type(MediaType.APPLICATION_JSON)
+              .entity(error).build();
+        }
+
+        CompteCourant compte = compteCourantService.findById(request.getCompteId());
+        if (compte == null) {
+          ErrorDTO error = new ErrorDTO("Compte not found", 404, "Not Found", "/transactions/pay-tax");
+          return Response.status(Response.Status.NOT_FOUND)
+              .type(MediaType.APPLICATION_JSON)
+              .entity(error).build();
+        }
+
+        // Default to current time if actionDateTime is not provided
+        LocalDateTime actionDateTime = request.getActionDateTime() != null ? request.getActionDateTime()
+            : LocalDateTime.now();
+
+        TransactionCourant transaction = transactionService.payTax(
+            compte, request.getDescription(), actionDateTime);
+
+        if (transaction == null) {
+          MessageDTO message = new MessageDTO("No tax to pay");
+          return Response.ok(message)
+              .type(MediaType.APPLICATION_JSON)
+              .build();
+        }
+
+        TransactionCourantDTO transactionDTO = new TransactionCourantDTO(transaction);
+        return Response.status(Response.Status.CREATED)
             .type(MediaType.APPLICATION_JSON)
-            .entity(error).build();
-      }
-
-      CompteCourant compte = compteCourantService.findById(request.getCompteId());
-      if (compte == null) {
-        ErrorDTO error = new ErrorDTO("Compte not found", 404, "Not Found", "/transactions/pay-tax");
-        return Response.status(Response.Status.NOT_FOUND)
+            .entity(transactionDTO).build();
+      } catch (EJBException e) {
+        int statusCode = isClientError(e) ? 400 : 500;
+        String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
+        String errorMessage = getErrorMessage(e);
+
+        if (isClientError(e)) {
+          LOG.warning("Invalid pay tax data from EJB: " + e.getCausedByException().getMessage());
+        } else {
+          LOG.severe("EJB error processing tax payment: " + e.getMessage());
+        }
+
+        ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/transactions/pay-tax");
+        return Response.status(statusCode)
             .type(MediaType.APPLICATION_JSON)
             .entity(error).build();
       }
-
-      // Default to current time if actionDateTime is not provided
-      LocalDateTime actionDateTime = request.getActionDateTime() != null ? request.getActionDateTime()
-          : LocalDateTime.now();
-
-      TransactionCourant transaction = transactionService.payTax(
-          compte, request.getDescription(), actionDateTime);
-
-      if (transaction == null) {
-        MessageDTO message = new MessageDTO("No tax to pay");
-        return Response.ok(message)
-            .type(MediaType.APPLICATION_JSON)
-            .build();
-      }
-
-      TransactionCourantDTO transactionDTO = new TransactionCourantDTO(transaction);
-      return Response.status(Response.Status.CREATED)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(transactionDTO).build();
-    } catch (EJBException e) {
-      int statusCode = isClientError(e) ? 400 : 500;
-      String statusText = isClientError(e) ? "Bad Request" : "Internal Server Error";
-      String errorMessage = getErrorMessage(e);
-
-      if (isClientError(e)) {
-        LOG.warning("Invalid pay tax data from EJB: " + e.getCausedByException().getMessage());
-      } else {
-        LOG.severe("EJB error processing tax payment: " + e.getMessage());
-      }
-
-      ErrorDTO error = new ErrorDTO(errorMessage, statusCode, statusText, "/transactions/pay-tax");
-      return Response.status(statusCode)
-          .type(MediaType.APPLICATION_JSON)
-          .entity(error).build();
-    }
+    });
   }
 }
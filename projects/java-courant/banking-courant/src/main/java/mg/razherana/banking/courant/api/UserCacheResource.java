@@ -0,0 +1,40 @@
+package mg.razherana.banking.courant.api;
+
+import jakarta.ejb.EJB;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import mg.razherana.banking.courant.application.userService.UserService;
+
+/**
+ * Invalidation hook for the local user cache.
+ *
+ * <p>
+ * Called by java-interface after a user is updated or deleted so the next
+ * lookup of that user goes back to the user service.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.application.userService.UserService
+ */
+@Path("/users-cache")
+@Produces(MediaType.APPLICATION_JSON)
+public class UserCacheResource {
+  @EJB
+  private UserService userService;
+
+  @DELETE
+  @Path("/{userId}")
+  public Response invalidateUser(@PathParam("userId") Integer userId) {
+    userService.invalidate(userId);
+    return Response.noContent().build();
+  }
+
+  @DELETE
+  public Response invalidateAll() {
+    userService.invalidateAll();
+    return Response.noContent().build();
+  }
+}
@@ -0,0 +1,44 @@
+package mg.razherana.banking.courant.application.asyncExecutorService;
+
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Executor of the asynchronous REST endpoints.
+ *
+ * <p>
+ * Endpoints hand their work to this service and return a
+ * {@link CompletionStage}, so the HTTP container thread is released while the
+ * request waits on the database. On Java 21 and later each request runs on its
+ * own virtual thread; on older runtimes it runs on the container's
+ * {@code bankingAsyncExecutor} managed executor, whose threads and queue are
+ * bounded in {@code META-INF/resources.xml}. Requests it cannot queue are
+ * answered with a 503. The database concurrency stays capped by the datasource
+ * pool either way.
+ * </p>
+ * <ul>
+ * <li>{@code banking.async.enabled} (default true): when false, requests run
+ * on the container thread as before</li>
+ * </ul>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ */
+public interface AsyncExecutorService {
+  /**
+   * Runs a task off the container thread.
+   *
+   * @param <T>  the result type
+   * @param task the task, which must not rely on a caller transaction
+   * @return a stage completed with the task result or its exception
+   */
+  public <T> CompletionStage<T> submit(Supplier<T> task);
+
+  /**
+   * Tells whether tasks run on virtual threads.
+   *
+   * @return true on Java 21 and later when the executor is enabled
+   */
+  public boolean isVirtual();
+}
@@ -0,0 +1,138 @@
+package mg.razherana.banking.courant.application.asyncExecutorService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Implementation of {@link AsyncExecutorService}.
+ *
+ * <p>
+ * The project compiles for Java 17, so the virtual-thread executor is looked
+ * up by reflection and only used when the runtime provides it. Tasks run with
+ * the context class loader of the submitting request, which the container
+ * needs to resolve the application classes from EJB calls. On older runtimes
+ * tasks go to the container's {@code bankingAsyncExecutor} managed executor
+ * (see {@code META-INF/resources.xml}), which propagates the naming, security
+ * and class loader context itself and rejects tasks once its bounded queue is
+ * full.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class AsyncExecutorServiceImpl implements AsyncExecutorService {
+  private static final Logger LOG = Logger.getLogger(AsyncExecutorService.class.getName());
+
+  @Resource(name = "bankingAsyncExecutor")
+  private ManagedExecutorService managedExecutor;
+
+  private ExecutorService virtualExecutor;
+  private boolean enabled;
+
+  @PostConstruct
+  public void init() {
+    enabled = Boolean.parseBoolean(System.getProperty("banking.async.enabled", "true"));
+    if (!enabled) {
+      LOG.info("Asynchronous endpoints disabled, requests run on the container threads");
+      return;
+    }
+
+    virtualExecutor = newVirtualThreadExecutor();
+    if (virtualExecutor != null) {
+      LOG.info("Asynchronous endpoints run on virtual threads");
+    } else {
+      LOG.info("Virtual threads unavailable, asynchronous endpoints run on the bankingAsyncExecutor managed executor");
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    // The managed executor belongs to the container
+    if (virtualExecutor == null) {
+      return;
+    }
+    virtualExecutor.shutdown();
+    try {
+      if (!virtualExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+        virtualExecutor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      virtualExecutor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public <T> CompletionStage<T> submit(Supplier<T> task) {
+    if (!enabled) {
+      try {
+        return CompletableFuture.completedFuture(task.get());
+      } catch (RuntimeException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    }
+
+    if (virtualExecutor == null) {
+      try {
+        return CompletableFuture.supplyAsync(task, managedExecutor);
+      } catch (RejectedExecutionException e) {
+        // Queue full: returned, not thrown, so the container does not wrap it
+        // in an EJBException; answered with a 503 by
+        // RejectedExecutionExceptionMapper
+        LOG.warning("Asynchronous executor saturated, request rejected");
+        return CompletableFuture.failedFuture(e);
+      }
+    }
+
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    return CompletableFuture.supplyAsync(() -> {
+      Thread thread = Thread.currentThread();
+      ClassLoader previous = thread.getContextClassLoader();
+      thread.setContextClassLoader(classLoader);
+      try {
+        return task.get();
+      } finally {
+        thread.setContextClassLoader(previous);
+      }
+    }, virtualExecutor);
+  }
+
+  @Override
+  public boolean isVirtual() {
+    return virtualExecutor != null;
+  }
+
+  /**
+   * Creates {@code Executors.newVirtualThreadPerTaskExecutor()} when the
+   * runtime has it.
+   *
+   * @return the executor, or null before Java 21
+   */
+  private static ExecutorService newVirtualThreadExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+      return null;
+    }
+  }
+}
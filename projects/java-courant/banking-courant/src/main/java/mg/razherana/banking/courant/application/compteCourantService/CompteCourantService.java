@@ -1,28 +1,30 @@
 package mg.razherana.banking.courant.application.compteCourantService;
 
+import mg.razherana.banking.courant.dto.TaxStatusDTO;
 import mg.razherana.banking.courant.entities.CompteCourant;
 import mg.razherana.banking.courant.entities.User;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service class for managing current account (Compte Courant) operations.
  * 
  * <p>
  * This service provides business logic for current account management including
- * creation, balance calculation, tax management, and account operations. The
- * service
- * implements the core banking business rule where account balances are
- * calculated
- * dynamically by summing all related transactions.
+ * creation, balance calculation, tax management, and account operations.
+ * Account balances are read from a materialized projection maintained by
+ * {@link mg.razherana.banking.courant.application.soldeService.SoldeService}
+ * alongside every ledger insert; the ledger remains the source of truth.
  * </p>
  * 
  * <p>
  * <strong>Key Features:</strong>
  * </p>
  * <ul>
- * <li>Dynamic balance calculation (no stored balance field)</li>
+ * <li>O(1) balance reads from the solde projection</li>
  * <li>Monthly tax calculation and validation</li>
  * <li>Transaction-based account operations</li>
  * <li>Tax payment enforcement before withdrawals/transfers</li>
@@ -62,11 +64,17 @@ public interface CompteCourantService {
   public List<CompteCourant> getComptesByUserId(Integer userId);
 
   /**
-   * Calculate the balance (solde) of a compte courant by summing transactions
+   * Get the balance (solde) of a compte courant from the materialized projection
    * Balance = (sum of received amounts) - (sum of sent amounts)
    */
   public BigDecimal calculateSolde(CompteCourant compte);
 
+  /**
+   * Get the balances of several comptes courants in one round-trip
+   * Returns a map of compte ID to balance
+   */
+  public Map<Integer, BigDecimal> calculateSoldes(Collection<CompteCourant> comptes);
+
   public void updateTaxe(CompteCourant compte, BigDecimal nouvelleTaxe);
 
   public void delete(Integer id);
@@ -84,4 +92,20 @@ public interface CompteCourantService {
   // Sum up with old unpaid taxes if any in previous months
   // This is always superior or equal to 0
   public BigDecimal getTaxToPay(CompteCourant compte, LocalDateTime actionDateTime);
+
+  /**
+   * Compute the taxes due, paid and remaining at actionDateTime with a single
+   * aggregate query. Callers needing both "is it paid" and "how much" should
+   * use this instead of isTaxPaid followed by getTaxToPay.
+   * Taxes due are the cumulative total of the latest monthly accrual (see
+   * TaxeAccrualService), so past months keep the taxe they were accrued with.
+   */
+  public TaxStatusDTO getTaxStatus(CompteCourant compte, LocalDateTime actionDateTime);
+
+  /**
+   * Compute the tax status of several comptes at actionDateTime with one
+   * grouped query per chunk of comptes, instead of one query per compte
+   * Returns a map of compte ID to tax status
+   */
+  public Map<Integer, TaxStatusDTO> getTaxStatuses(Collection<CompteCourant> comptes, LocalDateTime actionDateTime);
 }
@@ -1,28 +1,30 @@
 package mg.razherana.banking.courant.application.compteCourantService;
 
+import jakarta.ejb.EJB;
 import jakarta.ejb.Stateless;
 import jakarta.ejb.TransactionAttribute;
 import jakarta.ejb.TransactionAttributeType;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
-import jakarta.ws.rs.client.Client;
-import jakarta.ws.rs.client.ClientBuilder;
-import jakarta.ws.rs.client.WebTarget;
-import jakarta.ws.rs.core.MediaType;
-import jakarta.ws.rs.core.Response;
-import jakarta.json.Json;
-import jakarta.json.JsonObject;
-import jakarta.json.JsonReader;
-import java.io.StringReader;
 
+import mg.razherana.banking.courant.application.soldeService.SoldeService;
+import mg.razherana.banking.courant.application.taxeAccrualService.TaxeAccrualService;
+import mg.razherana.banking.courant.application.userService.UserService;
+import mg.razherana.banking.courant.dto.TaxStatusDTO;
 import mg.razherana.banking.courant.entities.CompteCourant;
 import mg.razherana.banking.courant.entities.User;
 import mg.razherana.banking.courant.entities.TransactionCourant.SpecialAction;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 /**
@@ -30,18 +32,17 @@ import java.util.logging.Logger;
  * 
  * <p>
  * This service provides business logic for current account management including
- * creation, balance calculation, tax management, and account operations. The
- * service
- * implements the core banking business rule where account balances are
- * calculated
- * dynamically by summing all related transactions.
+ * creation, balance calculation, tax management, and account operations.
+ * Account balances are read from a materialized projection maintained by
+ * {@link mg.razherana.banking.courant.application.soldeService.SoldeService}
+ * alongside every ledger insert; the ledger remains the source of truth.
  * </p>
  * 
  * <p>
  * <strong>Key Features:</strong>
  * </p>
  * <ul>
- * <li>Dynamic balance calculation (no stored balance field)</li>
+ * <li>O(1) balance reads from the solde projection</li>
  * <li>Monthly tax calculation and validation</li>
  * <li>Transaction-based account operations</li>
  * <li>Tax payment enforcement before withdrawals/transfers</li>
@@ -64,14 +65,23 @@ import java.util.logging.Logger;
 public class CompteCourantServiceImpl implements CompteCourantService {
   private static final Logger LOG = Logger.getLogger(CompteCourantService.class.getName());
 
-  // Hardcoded URL for java-interface REST API
-  private static final String USER_SERVICE_BASE_URL = "http://127.0.0.2:8080/api";
+  // Maximum number of comptes per IN list
+  private static final int IN_LIST_SIZE = 1000;
 
   @PersistenceContext(unitName = "userPU")
   private EntityManager entityManager;
 
+  @EJB
+  private SoldeService soldeService;
+
+  @EJB
+  private UserService userService;
+
+  @EJB
+  private TaxeAccrualService taxeAccrualService;
+
   /**
-   * Find a user by ID using REST API call to java-interface.
+   * Find a user by ID using the shared java-interface REST client.
    * 
    * @param userId the user ID
    * @return User object with the specified ID
@@ -79,46 +89,11 @@ public class CompteCourantServiceImpl implements CompteCourantService {
    */
   @Override
   public User findUser(Integer userId) {
-    LOG.info("Finding user by ID: " + userId);
-    if (userId == null) {
-      throw new IllegalArgumentException("User ID cannot be null");
-    }
-
-    Client client = ClientBuilder.newClient();
-    try {
-      WebTarget target = client.target(USER_SERVICE_BASE_URL + "/users/" + userId);
-      Response response = target.request(MediaType.APPLICATION_JSON).get();
-
-      if (response.getStatus() == 200) {
-        // java-interface returns UserDTO, so we need to parse it and map to our User
-        // entity
-        String jsonResponse = response.readEntity(String.class);
-        LOG.info("Received JSON response: " + jsonResponse);
-
-        // Parse the UserDTO JSON response
-        JsonReader jsonReader = Json.createReader(new StringReader(jsonResponse));
-        JsonObject userDto = jsonReader.readObject();
-        jsonReader.close();
-
-        // Map UserDTO fields to User entity
-        User user = new User();
-        user.setId(userDto.getInt("id"));
-        user.setName(userDto.getString("name"));
-        user.setEmail(userDto.getString("email"));
-        user.setPassword(""); // Password not returned by UserDTO for security
-
-        LOG.info("Successfully retrieved and mapped user from REST API: " + user.getId());
-        return user;
-      } else {
-        LOG.warning("User with ID " + userId + " not found. Response status: " + response.getStatus());
-        throw new IllegalArgumentException("User with ID " + userId + " not found");
-      }
-    } catch (Exception e) {
-      LOG.severe("Error calling REST UserService: " + e.getMessage());
-      throw new IllegalArgumentException(e.getMessage());
-    } finally {
-      client.close();
+    User user = userService.findUser(userId);
+    if (user == null) {
+      throw new IllegalArgumentException("User with ID " + userId + " not found");
     }
+    return user;
   }
 
   @TransactionAttribute(TransactionAttributeType.REQUIRED)
@@ -136,6 +111,8 @@ public class CompteCourantServiceImpl implements CompteCourantService {
 
     entityManager.persist(compte);
     entityManager.flush();
+    soldeService.initialize(compte);
+    taxeAccrualService.accrueCreation(compte);
     LOG.info("Compte courant created successfully with ID: " + compte.getId());
     return compte;
   }
@@ -183,32 +160,29 @@ public class CompteCourantServiceImpl implements CompteCourantService {
   }
 
   /**
-   * Calculate the balance (solde) of a compte courant by summing transactions
-   * Balance = (sum of received amounts) - (sum of sent amounts)
+   * Get the balance (solde) of a compte courant from the materialized
+   * projection. The projection is kept equal to
+   * (sum of received amounts) - (sum of sent amounts) by the transaction
+   * service.
    */
   @Override
   public BigDecimal calculateSolde(CompteCourant compte) {
     LOG.info("Calculating solde for compte ID: " + compte.getId());
-
-    // Sum of incoming transactions (where this compte is receiver)
-    TypedQuery<BigDecimal> incomingQuery = entityManager.createQuery(
-        "SELECT COALESCE(SUM(t.montant), 0) FROM TransactionCourant t WHERE t.receiver = :compte",
-        BigDecimal.class);
-    incomingQuery.setParameter("compte", compte);
-    BigDecimal incoming = incomingQuery.getSingleResult();
-
-    // Sum of outgoing transactions (where this compte is sender)
-    TypedQuery<BigDecimal> outgoingQuery = entityManager.createQuery(
-        "SELECT COALESCE(SUM(t.montant), 0) FROM TransactionCourant t WHERE t.sender = :compte",
-        BigDecimal.class);
-    outgoingQuery.setParameter("compte", compte);
-    BigDecimal outgoing = outgoingQuery.getSingleResult();
-
-    BigDecimal solde = incoming.subtract(outgoing);
-    LOG.info("Calculated solde: " + solde + " (incoming: " + incoming + ", outgoing: " + outgoing + ")");
+    BigDecimal solde = soldeService.getSolde(compte);
+    LOG.info("Calculated solde: " + solde);
     return solde;
   }
 
+  /**
+   * Get the balances of several comptes courants with a single query on the
+   * solde projection instead of one lookup per compte.
+   */
+  @Override
+  public Map<Integer, BigDecimal> calculateSoldes(Collection<CompteCourant> comptes) {
+    LOG.info("Calculating soldes for " + comptes.size() + " comptes");
+    return soldeService.getSoldes(comptes);
+  }
+
   @TransactionAttribute(TransactionAttributeType.REQUIRED)
   @Override
   public void updateTaxe(CompteCourant compte, BigDecimal nouvelleTaxe) {
@@ -236,6 +210,12 @@ public class CompteCourantServiceImpl implements CompteCourantService {
 
     CompteCourant compte = entityManager.find(CompteCourant.class, id);
     if (compte != null) {
+      // The partitioned ledger has no foreign keys to cascade the delete
+      for (String table : new String[] { "transaction_courants", "transaction_courants_archive" }) {
+        entityManager.createNativeQuery("DELETE FROM " + table + " WHERE sender_id = ?1 OR receiver_id = ?1")
+            .setParameter(1, id)
+            .executeUpdate();
+      }
       entityManager.remove(compte);
       entityManager.flush();
       LOG.info("Compte courant deleted successfully");
@@ -250,14 +230,7 @@ public class CompteCourantServiceImpl implements CompteCourantService {
       throw new IllegalArgumentException("Compte cannot be null");
     }
 
-    TypedQuery<BigDecimal> query = entityManager.createQuery(
-        "SELECT COALESCE(SUM(t.montant), 0) FROM TransactionCourant t WHERE t.sender = :compte AND t.specialAction = :action",
-        BigDecimal.class);
-
-    query.setParameter("compte", compte);
-    query.setParameter("action", SpecialAction.TAXE.getDatabaseName());
-
-    return query.getSingleResult();
+    return getTaxPaid(compte, null);
   }
 
   @Override
@@ -270,20 +243,52 @@ public class CompteCourantServiceImpl implements CompteCourantService {
       throw new IllegalArgumentException("Action date cannot be null");
     }
 
-    TypedQuery<BigDecimal> query = entityManager.createQuery(
-        "SELECT COALESCE(SUM(t.montant), 0) FROM TransactionCourant t WHERE t.sender = :compte AND t.specialAction = :action AND t.date <= :actionDateTime",
-        BigDecimal.class);
+    return getTaxPaid(compte, actionDateTime);
+  }
 
-    query.setParameter("compte", compte);
-    query.setParameter("action", SpecialAction.TAXE.getDatabaseName());
-    query.setParameter("actionDateTime", actionDateTime);
+  private BigDecimal getTaxPaid(CompteCourant compte, LocalDateTime actionDateTime) {
+    return toBigDecimal(getTaxTotals(compte, actionDateTime)[0]);
+  }
+
+  /**
+   * Tax totals up to {@code actionDateTime} (inclusive, or ever when null), read
+   * in one round-trip:
+   * <ol>
+   * <li>taxes paid: the latest checkpoint before that date plus the taxes paid
+   * since it</li>
+   * <li>period start of the latest tax accrual before that date, or null</li>
+   * <li>cumulative taxes due of that accrual, or null</li>
+   * </ol>
+   */
+  private Object[] getTaxTotals(CompteCourant compte, LocalDateTime actionDateTime) {
+    String sql = "SELECT COALESCE(MAX(cp.taxe_payee), 0) + COALESCE(SUM(t.montant), 0),"
+        + " MAX(a.period_start), MAX(a.cumul)"
+        + " FROM (SELECT ?1 AS compte_id) c"
+        + " LEFT JOIN taxe_accruals a ON a.compte_id = c.compte_id AND a.period_start = ("
+        + " SELECT MAX(a2.period_start) FROM taxe_accruals a2 WHERE a2.compte_id = c.compte_id"
+        + (actionDateTime != null ? " AND a2.period_start <= ?3" : "")
+        + ")"
+        + " LEFT JOIN solde_checkpoints cp ON cp.compte_id = c.compte_id AND cp.checkpoint_date = ("
+        + " SELECT MAX(cp2.checkpoint_date) FROM solde_checkpoints cp2 WHERE cp2.compte_id = c.compte_id"
+        + (actionDateTime != null ? " AND cp2.checkpoint_date <= ?3" : "")
+        + ")"
+        + " LEFT JOIN transaction_courants t ON t.sender_id = c.compte_id AND t.special_action = ?2"
+        + " AND (cp.checkpoint_date IS NULL OR t.date >= cp.checkpoint_date)"
+        + (actionDateTime != null ? " AND t.date <= ?3" : "");
+
+    Query query = entityManager.createNativeQuery(sql);
+    query.setParameter(1, compte.getId());
+    query.setParameter(2, SpecialAction.TAXE.getDatabaseName());
+    if (actionDateTime != null) {
+      query.setParameter(3, actionDateTime);
+    }
 
-    return query.getSingleResult();
+    return (Object[]) query.getSingleResult();
   }
 
   @Override
   public boolean isTaxPaid(CompteCourant compte, LocalDateTime actionDateTime) {
-    return getTaxToPay(compte, actionDateTime).compareTo(BigDecimal.ZERO) == 0;
+    return getTaxStatus(compte, actionDateTime).getIsPaid();
   }
 
   // Taxes to pay for the month of the actionDateTime
@@ -292,28 +297,120 @@ public class CompteCourantServiceImpl implements CompteCourantService {
   // This is always superior or equal to 0
   @Override
   public BigDecimal getTaxToPay(CompteCourant compte, LocalDateTime actionDateTime) {
+    return getTaxStatus(compte, actionDateTime).getTaxToPay();
+  }
+
+  @Override
+  public TaxStatusDTO getTaxStatus(CompteCourant compte, LocalDateTime actionDateTime) {
     if (compte == null) {
       throw new IllegalArgumentException("Compte cannot be null");
     }
 
-    BigDecimal singleTaxe = compte.getTaxe();
-
-    // Now get the number of months since account creation to datetime
     LocalDateTime creationDateTime = compte.getCreatedAt();
     if (creationDateTime == null || actionDateTime == null) {
       throw new IllegalArgumentException("Creation date and action date cannot be null");
     }
 
-    int monthsBetween = (actionDateTime.getYear() - creationDateTime.getYear()) * 12
-        + actionDateTime.getMonthValue() - creationDateTime.getMonthValue();
+    Object[] totals = getTaxTotals(compte, actionDateTime);
+    BigDecimal taxPaid = toBigDecimal(totals[0]);
+    BigDecimal totalTaxToPay = taxDue(compte, toLocalDateTime(totals[1]), (BigDecimal) totals[2], actionDateTime);
 
-    // Include the current month by adding 1
-    int totalMonths = monthsBetween + 1;
+    return new TaxStatusDTO(compte.getId(), actionDateTime, totalTaxToPay, taxPaid);
+  }
+
+  /**
+   * Tax status of several comptes with one grouped query per 1000 comptes,
+   * using the same rules as {@link #getTaxStatus}.
+   */
+  @Override
+  public Map<Integer, TaxStatusDTO> getTaxStatuses(Collection<CompteCourant> comptes, LocalDateTime actionDateTime) {
+    if (comptes == null) {
+      throw new IllegalArgumentException("Comptes cannot be null");
+    }
+    if (actionDateTime == null) {
+      throw new IllegalArgumentException("Action date cannot be null");
+    }
+
+    List<CompteCourant> list = new ArrayList<>(comptes);
+    Map<Integer, TaxStatusDTO> statuses = new HashMap<>();
+    for (int from = 0; from < list.size(); from += IN_LIST_SIZE) {
+      List<CompteCourant> chunk = list.subList(from, Math.min(from + IN_LIST_SIZE, list.size()));
+      Map<Integer, CompteCourant> byId = new HashMap<>();
+      StringBuilder placeholders = new StringBuilder();
+      for (int i = 0; i < chunk.size(); i++) {
+        CompteCourant compte = chunk.get(i);
+        if (compte.getCreatedAt() == null) {
+          throw new IllegalArgumentException("Creation date of compte " + compte.getId() + " cannot be null");
+        }
+        byId.put(compte.getId(), compte);
+        placeholders.append(i > 0 ? ", " : "").append('?').append(i + 3);
+      }
+
+      Query query = entityManager.createNativeQuery(
+          "SELECT c.id, a.period_start, a.cumul, COALESCE(cp.taxe_payee, 0) + COALESCE(SUM(t.montant), 0)"
+              + " FROM compte_courants c"
+              + " LEFT JOIN taxe_accruals a ON a.compte_id = c.id AND a.period_start = ("
+              + " SELECT MAX(a2.period_start) FROM taxe_accruals a2 WHERE a2.compte_id = c.id"
+              + " AND a2.period_start <= ?1)"
+              + " LEFT JOIN solde_checkpoints cp ON cp.compte_id = c.id AND cp.checkpoint_date = ("
+              + " SELECT MAX(cp2.checkpoint_date) FROM solde_checkpoints cp2 WHERE cp2.compte_id = c.id"
+              + " AND cp2.checkpoint_date <= ?1)"
+              + " LEFT JOIN transaction_courants t ON t.sender_id = c.id AND t.special_action = ?2"
+              + " AND (cp.checkpoint_date IS NULL OR t.date >= cp.checkpoint_date) AND t.date <= ?1"
+              + " WHERE c.id IN (" + placeholders + ")"
+              + " GROUP BY c.id, a.period_start, a.cumul, cp.taxe_payee");
+      query.setParameter(1, actionDateTime);
+      query.setParameter(2, SpecialAction.TAXE.getDatabaseName());
+      for (int i = 0; i < chunk.size(); i++) {
+        query.setParameter(i + 3, chunk.get(i).getId());
+      }
+
+      @SuppressWarnings("unchecked")
+      List<Object[]> rows = query.getResultList();
+      for (Object[] row : rows) {
+        CompteCourant compte = byId.get(((Number) row[0]).intValue());
+        BigDecimal taxDue = taxDue(compte, toLocalDateTime(row[1]), (BigDecimal) row[2], actionDateTime);
+        statuses.put(compte.getId(), new TaxStatusDTO(compte.getId(), actionDateTime, taxDue, toBigDecimal(row[3])));
+      }
+    }
+    return statuses;
+  }
+
+  /**
+   * Taxes due at actionDateTime from the latest accrual before it (null if
+   * none).
+   */
+  private static BigDecimal taxDue(CompteCourant compte, LocalDateTime accruedUntil, BigDecimal accruedCumul,
+      LocalDateTime actionDateTime) {
+    BigDecimal singleTaxe = compte.getTaxe();
+    if (accruedUntil != null) {
+      // Sum of the accruals up to the latest one, plus the current taxe for
+      // the months not accrued yet (between midnight and the monthly timer)
+      int pendingMonths = monthsBetween(accruedUntil, actionDateTime);
+      return accruedCumul.add(singleTaxe.multiply(BigDecimal.valueOf(pendingMonths)));
+    }
 
-    BigDecimal totalTaxToPay = singleTaxe.multiply(BigDecimal.valueOf(totalMonths));
+    // No accrual yet: every month since account creation at the current taxe,
+    // including the current month
+    int totalMonths = monthsBetween(compte.getCreatedAt(), actionDateTime) + 1;
+    return singleTaxe.multiply(BigDecimal.valueOf(totalMonths));
+  }
 
-    BigDecimal taxPaid = getTaxPaidDate(compte, actionDateTime);
+  private static int monthsBetween(LocalDateTime from, LocalDateTime to) {
+    return (to.getYear() - from.getYear()) * 12 + to.getMonthValue() - from.getMonthValue();
+  }
 
-    return totalTaxToPay.subtract(taxPaid).max(BigDecimal.ZERO);
+  private static BigDecimal toBigDecimal(Object value) {
+    if (value == null) {
+      return BigDecimal.ZERO;
+    }
+    return value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+  }
+
+  private static LocalDateTime toLocalDateTime(Object value) {
+    if (value == null) {
+      return null;
+    }
+    return value instanceof Timestamp ? ((Timestamp) value).toLocalDateTime() : (LocalDateTime) value;
   }
 }
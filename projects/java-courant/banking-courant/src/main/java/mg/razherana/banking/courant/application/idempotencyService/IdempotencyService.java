@@ -0,0 +1,67 @@
+package mg.razherana.banking.courant.application.idempotencyService;
+
+import mg.razherana.banking.courant.entities.IdempotencyKey;
+
+/**
+ * Key store of the {@code Idempotency-Key} header of money-movement requests.
+ *
+ * <p>
+ * Keys are recorded in {@code idempotency_keys} inside the transaction of the
+ * movement they produce, so the primary key on the client key guarantees that
+ * a movement runs at most once per key: a concurrent retry blocks on the
+ * insert until the first request commits and then fails. Recorded keys are
+ * also kept in a bounded in-memory map, so most retries are answered without
+ * a database round-trip.
+ * </p>
+ *
+ * <p>
+ * Keys live {@code banking.idempotency.ttl-hours} hours (24 by default) and
+ * are purged hourly; at most {@code banking.idempotency.cache-size} keys
+ * (100000 by default) are kept in memory.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.entities.IdempotencyKey
+ */
+public interface IdempotencyService {
+  /**
+   * Finds a recorded key that has not expired, from memory first, then from
+   * the database.
+   *
+   * @param key the client key
+   * @return the recorded key, or null if unknown or expired
+   */
+  public IdempotencyKey find(String key);
+
+  /**
+   * Records a key in the caller's transaction. Must be called before the
+   * movement is written so that a concurrent duplicate fails early.
+   *
+   * @param idempotencyKey the key to record
+   * @throws jakarta.ejb.EJBException if the key is already recorded
+   */
+  public void record(IdempotencyKey idempotencyKey);
+
+  /**
+   * Keeps a key in memory once the transaction that recorded it committed.
+   *
+   * @param idempotencyKey the committed key
+   */
+  public void remember(IdempotencyKey idempotencyKey);
+
+  /**
+   * Deletes the expired keys.
+   *
+   * @return the number of keys deleted
+   */
+  public int purgeExpired();
+
+  /**
+   * Deletes one chunk of expired keys in a single transaction.
+   *
+   * @return the number of keys deleted
+   */
+  public int purgeExpiredChunk();
+}
@@ -0,0 +1,198 @@
+package mg.razherana.banking.courant.application.idempotencyService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.SessionContext;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import mg.razherana.banking.courant.entities.IdempotencyKey;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Implementation of {@link IdempotencyService} with an access-ordered
+ * {@link LinkedHashMap} in front of the {@code idempotency_keys} table.
+ *
+ * <p>
+ * Only committed keys enter the map, and a committed key never changes, so
+ * the map cannot disagree with the database; it only forgets entries early.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class IdempotencyServiceImpl implements IdempotencyService {
+  private static final Logger LOG = Logger.getLogger(IdempotencyService.class.getName());
+
+  // Number of expired keys deleted per transaction
+  private static final int PURGE_CHUNK_SIZE = 10_000;
+
+  @PersistenceContext(unitName = "userPU")
+  private EntityManager entityManager;
+
+  @Resource
+  private SessionContext sessionContext;
+
+  private long ttlHours;
+  private int cacheMaxSize;
+  private Map<String, CachedKey> cache;
+
+  @PostConstruct
+  public void init() {
+    ttlHours = Long.getLong("banking.idempotency.ttl-hours", 24);
+    cacheMaxSize = Integer.getInteger("banking.idempotency.cache-size", 100_000);
+    cache = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, CachedKey> eldest) {
+        return size() > cacheMaxSize;
+      }
+    };
+  }
+
+  @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+  @Override
+  public IdempotencyKey find(String key) {
+    if (key == null) {
+      throw new IllegalArgumentException("Idempotency key cannot be null");
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    synchronized (cache) {
+      CachedKey cached = cache.get(key);
+      if (cached != null) {
+        if (cached.expiresAt.isAfter(now)) {
+          return cached.toIdempotencyKey(key);
+        }
+        cache.remove(key);
+      }
+    }
+
+    IdempotencyKey stored = entityManager.find(IdempotencyKey.class, key);
+    if (stored == null || !stored.getExpiresAt().isAfter(now)) {
+      return null;
+    }
+    remember(stored);
+    return stored;
+  }
+
+  @TransactionAttribute(TransactionAttributeType.MANDATORY)
+  @Override
+  public void record(IdempotencyKey idempotencyKey) {
+    if (idempotencyKey == null || idempotencyKey.getKey() == null) {
+      throw new IllegalArgumentException("Idempotency key cannot be null");
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    // An expired key not purged yet can be reused
+    entityManager.createQuery("DELETE FROM IdempotencyKey k WHERE k.key = :key AND k.expiresAt <= :now")
+        .setParameter("key", idempotencyKey.getKey())
+        .setParameter("now", now)
+        .executeUpdate();
+
+    idempotencyKey.setCreatedAt(now);
+    idempotencyKey.setExpiresAt(now.plusHours(ttlHours));
+    entityManager.persist(idempotencyKey);
+    // Inserted right away: a concurrent request with the same key waits here
+    // until this transaction ends, then fails on the primary key
+    entityManager.flush();
+  }
+
+  @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+  @Override
+  public void remember(IdempotencyKey idempotencyKey) {
+    if (idempotencyKey == null || idempotencyKey.getKey() == null || idempotencyKey.getExpiresAt() == null) {
+      return;
+    }
+    CachedKey entry = new CachedKey(idempotencyKey);
+    synchronized (cache) {
+      cache.put(idempotencyKey.getKey(), entry);
+    }
+  }
+
+  /**
+   * Purges the expired keys every hour.
+   */
+  @Schedule(hour = "*", minute = "15", persistent = false)
+  @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+  public void scheduledPurge() {
+    try {
+      purgeExpired();
+    } catch (Exception e) {
+      LOG.severe("Idempotency key purge failed: " + e.getMessage());
+    }
+  }
+
+  @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+  @Override
+  public int purgeExpired() {
+    IdempotencyService self = sessionContext.getBusinessObject(IdempotencyService.class);
+    int purged = 0;
+    int chunk;
+    do {
+      // Each chunk runs in its own transaction through the business interface
+      chunk = self.purgeExpiredChunk();
+      purged += chunk;
+    } while (chunk == PURGE_CHUNK_SIZE);
+
+    LocalDateTime now = LocalDateTime.now();
+    synchronized (cache) {
+      cache.values().removeIf(cached -> !cached.expiresAt.isAfter(now));
+    }
+
+    if (purged > 0) {
+      LOG.info(purged + " expired idempotency keys purged");
+    }
+    return purged;
+  }
+
+  @TransactionAttribute(TransactionAttributeType.REQUIRED)
+  @Override
+  public int purgeExpiredChunk() {
+    return entityManager.createNativeQuery("DELETE FROM idempotency_keys WHERE expires_at <= ?1 LIMIT ?2")
+        .setParameter(1, LocalDateTime.now())
+        .setParameter(2, PURGE_CHUNK_SIZE)
+        .executeUpdate();
+  }
+
+  /**
+   * In-memory copy of a committed key, without the key itself; every hit
+   * gets its own {@link IdempotencyKey} instance.
+   */
+  private static final class CachedKey {
+    private final String endpoint;
+    private final String requestHash;
+    private final Integer statusCode;
+    private final Integer transactionId;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime expiresAt;
+
+    private CachedKey(IdempotencyKey idempotencyKey) {
+      this.endpoint = idempotencyKey.getEndpoint();
+      this.requestHash = idempotencyKey.getRequestHash();
+      this.statusCode = idempotencyKey.getStatusCode();
+      this.transactionId = idempotencyKey.getTransactionId();
+      this.createdAt = idempotencyKey.getCreatedAt();
+      this.expiresAt = idempotencyKey.getExpiresAt();
+    }
+
+    private IdempotencyKey toIdempotencyKey(String key) {
+      IdempotencyKey idempotencyKey = new IdempotencyKey(key, endpoint, requestHash, statusCode);
+      idempotencyKey.setTransactionId(transactionId);
+      idempotencyKey.setCreatedAt(createdAt);
+      idempotencyKey.setExpiresAt(expiresAt);
+      return idempotencyKey;
+    }
+  }
+}
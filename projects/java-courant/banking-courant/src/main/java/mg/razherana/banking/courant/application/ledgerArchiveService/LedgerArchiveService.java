@@ -0,0 +1,64 @@
+package mg.razherana.banking.courant.application.ledgerArchiveService;
+
+import mg.razherana.banking.courant.dto.LedgerArchiveReportDTO;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service maintaining the monthly partitions of {@code transaction_courants}
+ * and its cold archive.
+ *
+ * <p>
+ * The ledger is RANGE partitioned by month on {@code date}. The partitions of
+ * the upcoming months are added at startup and on the first day of every
+ * month. Closed months older than the retention period
+ * ({@code banking.ledger.archive.retention-months}, 12 by default) are copied
+ * into {@code transaction_courants_archive}, verified, and their partition is
+ * dropped. A month is archived only once every account it touches has a
+ * balance checkpoint at or after its end, so balances and taxes, which start
+ * from the latest checkpoint, never need archived rows.
+ * </p>
+ *
+ * <p>
+ * Archiving runs monthly when the {@code banking.ledger.archive.scheduled}
+ * system property is true, or on demand. Transactions dated before the
+ * archive horizon are only read by exports and checkpoint rebuilds; as-of
+ * balance and tax queries must stay after the horizon.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.entities.TransactionCourant
+ * @see mg.razherana.banking.courant.application.soldeCheckpointService.SoldeCheckpointService
+ */
+public interface LedgerArchiveService {
+  /**
+   * Adds the partitions of every month up to
+   * {@code banking.ledger.partitions.months-ahead} months ahead (3 by
+   * default).
+   *
+   * @return the names of the partitions added
+   */
+  public List<String> ensurePartitions();
+
+  /**
+   * Adds the upcoming partitions, then archives every closed month older than
+   * the retention period, oldest first, stopping at the first month not fully
+   * covered by checkpoints.
+   *
+   * @return the report of the run
+   * @throws IllegalArgumentException if another instance is archiving
+   */
+  public LedgerArchiveReportDTO archive();
+
+  /**
+   * Gets the archive horizon: transactions dated before it are in
+   * {@code transaction_courants_archive}, the others in
+   * {@code transaction_courants}.
+   *
+   * @return the first day of the month following the latest archived month,
+   *         or null if nothing was archived
+   */
+  public LocalDateTime getArchiveHorizon();
+}
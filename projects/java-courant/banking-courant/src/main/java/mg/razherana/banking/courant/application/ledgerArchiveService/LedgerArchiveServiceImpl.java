@@ -0,0 +1,369 @@
+package mg.razherana.banking.courant.application.ledgerArchiveService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.DependsOn;
+import jakarta.ejb.EJBException;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import mg.razherana.banking.courant.dto.LedgerArchiveReportDTO;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of {@link LedgerArchiveService} over plain JDBC.
+ *
+ * <p>
+ * Partition DDL is not transactional, so every statement runs in auto-commit
+ * outside of any JTA transaction, under a MySQL named lock shared by all
+ * instances. Each step of a month's archiving is idempotent: the copy skips
+ * rows already archived, and a month recorded in
+ * {@code ledger_archive_periods} only has its partition dropped, so an
+ * interrupted run is simply run again. The month is recorded before its
+ * partition is dropped so that readers splitting on the horizon never see a
+ * row twice.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ */
+@Singleton
+@Startup
+@DependsOn("SchemaMigrationServiceImpl")
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class LedgerArchiveServiceImpl implements LedgerArchiveService {
+  private static final Logger LOG = Logger.getLogger(LedgerArchiveService.class.getName());
+
+  private static final String MAX_PARTITION = "p_max";
+  private static final Pattern MONTH_PARTITION = Pattern.compile("p(\\d{4})(\\d{2})");
+
+  private static final String LOCK_NAME = "banking_courant_ledger_archive";
+
+  @Resource(name = "mysqlDatabase")
+  private DataSource dataSource;
+
+  private int monthsAhead;
+  private int retentionMonths;
+
+  @PostConstruct
+  public void init() {
+    monthsAhead = Integer.getInteger("banking.ledger.partitions.months-ahead", 3);
+    retentionMonths = Integer.getInteger("banking.ledger.archive.retention-months", 12);
+    if (retentionMonths < 1) {
+      throw new IllegalStateException("banking.ledger.archive.retention-months must be at least 1");
+    }
+
+    // A missing partition only costs pruning (rows fall into p_max), so a
+    // failure here must not fail the deployment
+    try {
+      ensurePartitions();
+    } catch (RuntimeException e) {
+      LOG.severe("Could not add ledger partitions at startup: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Monthly maintenance, after the checkpoints of the month that just ended
+   * are written. Archives closed months when
+   * {@code -Dbanking.ledger.archive.scheduled=true}.
+   */
+  @Schedule(dayOfMonth = "1", hour = "1", minute = "0", persistent = false)
+  public void scheduledMaintenance() {
+    try {
+      if (Boolean.getBoolean("banking.ledger.archive.scheduled")) {
+        archive();
+      } else {
+        ensurePartitions();
+      }
+    } catch (Exception e) {
+      LOG.severe("Scheduled ledger maintenance failed: " + e.getMessage());
+    }
+  }
+
+  @Override
+  public List<String> ensurePartitions() {
+    try (Connection connection = dataSource.getConnection()) {
+      lock(connection);
+      try {
+        return ensurePartitions(connection);
+      } finally {
+        unlock(connection);
+      }
+    } catch (SQLException e) {
+      throw new EJBException("Failed to add ledger partitions", e);
+    }
+  }
+
+  @Override
+  public LedgerArchiveReportDTO archive() {
+    long start = System.nanoTime();
+    LedgerArchiveReportDTO report = new LedgerArchiveReportDTO();
+    YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+    LOG.info("Archiving ledger months before " + cutoff);
+
+    try (Connection connection = dataSource.getConnection()) {
+      lock(connection);
+      try {
+        report.getPartitionsCreated().addAll(ensurePartitions(connection));
+
+        for (String partition : loadPartitions(connection)) {
+          YearMonth month = parseMonth(partition);
+          if (month == null) {
+            continue;
+          }
+          if (!month.isBefore(cutoff)) {
+            break;
+          }
+
+          LocalDateTime periodStart = month.atDay(1).atStartOfDay();
+          LocalDateTime periodEnd = month.plusMonths(1).atDay(1).atStartOfDay();
+          if (!isArchived(connection, periodStart)) {
+            long uncovered = countUncovered(connection, partition, periodEnd);
+            if (uncovered > 0) {
+              report.setBlockedBy(uncovered + " transactions of " + month
+                  + " belong to comptes without a checkpoint at " + periodEnd);
+              LOG.warning("Ledger archive stopped at " + month + ": " + report.getBlockedBy());
+              break;
+            }
+
+            long rows = copyToArchive(connection, partition, periodStart, periodEnd);
+            report.setRowsArchived(report.getRowsArchived() + rows);
+            report.getPeriodsArchived().add(periodStart);
+          }
+          dropPartition(connection, partition);
+          LOG.info("Ledger month " + month + " archived");
+        }
+
+        report.setArchiveHorizon(readHorizon(connection));
+      } finally {
+        unlock(connection);
+      }
+    } catch (SQLException e) {
+      LOG.severe("Ledger archive failed: " + e.getMessage());
+      throw new EJBException("Ledger archive failed", e);
+    }
+
+    report.setElapsedMs((System.nanoTime() - start) / 1_000_000);
+    LOG.info("Ledger archive done: " + report.getPeriodsArchived().size() + " months, "
+        + report.getRowsArchived() + " transactions in " + report.getElapsedMs() + " ms");
+    return report;
+  }
+
+  @Override
+  public LocalDateTime getArchiveHorizon() {
+    try (Connection connection = dataSource.getConnection()) {
+      return readHorizon(connection);
+    } catch (SQLException e) {
+      throw new EJBException("Failed to read the ledger archive horizon", e);
+    }
+  }
+
+  private List<String> ensurePartitions(Connection connection) throws SQLException {
+    List<String> partitions = loadPartitions(connection);
+    List<String> created = new ArrayList<>();
+    if (partitions.isEmpty()) {
+      LOG.warning("transaction_courants is not partitioned, skipping partition maintenance");
+      return created;
+    }
+
+    YearMonth last = null;
+    for (String partition : partitions) {
+      YearMonth month = parseMonth(partition);
+      if (month != null) {
+        last = month;
+      }
+    }
+    YearMonth target = YearMonth.now().plusMonths(monthsAhead);
+    YearMonth next = last != null ? last.plusMonths(1) : YearMonth.now();
+
+    StringBuilder definitions = new StringBuilder();
+    for (YearMonth month = next; !month.isAfter(target); month = month.plusMonths(1)) {
+      String name = String.format("p%04d%02d", month.getYear(), month.getMonthValue());
+      definitions.append("PARTITION `").append(name).append("` VALUES LESS THAN ('")
+          .append(month.plusMonths(1).atDay(1)).append("'), ");
+      created.add(name);
+    }
+    if (created.isEmpty()) {
+      return created;
+    }
+
+    // Splitting p_max only moves the rows dated beyond the last month, if any
+    String sql = partitions.contains(MAX_PARTITION)
+        ? "ALTER TABLE transaction_courants REORGANIZE PARTITION `" + MAX_PARTITION + "` INTO (" + definitions
+            + "PARTITION `" + MAX_PARTITION + "` VALUES LESS THAN (MAXVALUE))"
+        : "ALTER TABLE transaction_courants ADD PARTITION ("
+            + definitions.substring(0, definitions.length() - 2) + ")";
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(sql);
+    }
+    LOG.info("Added ledger partitions " + created);
+    return created;
+  }
+
+  /**
+   * Partition names of transaction_courants in range order, empty if the
+   * table is not partitioned.
+   */
+  private static List<String> loadPartitions(Connection connection) throws SQLException {
+    List<String> partitions = new ArrayList<>();
+    try (Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(
+            "SELECT PARTITION_NAME FROM information_schema.PARTITIONS"
+                + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'transaction_courants'"
+                + " AND PARTITION_NAME IS NOT NULL ORDER BY PARTITION_ORDINAL_POSITION")) {
+      while (resultSet.next()) {
+        partitions.add(resultSet.getString(1));
+      }
+    }
+    return partitions;
+  }
+
+  /**
+   * Month of a pYYYYMM partition, or null for any other partition.
+   */
+  private static YearMonth parseMonth(String partition) {
+    Matcher matcher = MONTH_PARTITION.matcher(partition);
+    if (!matcher.matches()) {
+      return null;
+    }
+    return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+  }
+
+  private static boolean isArchived(Connection connection, LocalDateTime periodStart) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(
+        "SELECT 1 FROM ledger_archive_periods WHERE period_start = ?")) {
+      statement.setTimestamp(1, Timestamp.valueOf(periodStart));
+      try (ResultSet resultSet = statement.executeQuery()) {
+        return resultSet.next();
+      }
+    }
+  }
+
+  /**
+   * Number of transactions of the partition whose sender or receiver has no
+   * checkpoint at or after the end of the month.
+   */
+  private static long countUncovered(Connection connection, String partition, LocalDateTime periodEnd)
+      throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(
+        "SELECT COUNT(*) FROM transaction_courants PARTITION (`" + partition + "`) t"
+            + " WHERE (t.sender_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM solde_checkpoints cp"
+            + " WHERE cp.compte_id = t.sender_id AND cp.checkpoint_date >= ?))"
+            + " OR (t.receiver_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM solde_checkpoints cp"
+            + " WHERE cp.compte_id = t.receiver_id AND cp.checkpoint_date >= ?))")) {
+      statement.setTimestamp(1, Timestamp.valueOf(periodEnd));
+      statement.setTimestamp(2, Timestamp.valueOf(periodEnd));
+      try (ResultSet resultSet = statement.executeQuery()) {
+        resultSet.next();
+        return resultSet.getLong(1);
+      }
+    }
+  }
+
+  /**
+   * Copies a month into the archive, checks that the archive holds the same
+   * row count and total as the partition, and records the month.
+   */
+  private static long copyToArchive(Connection connection, String partition, LocalDateTime periodStart,
+      LocalDateTime periodEnd) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.executeUpdate("INSERT IGNORE INTO transaction_courants_archive"
+          + " (id, special_action, sender_id, receiver_id, montant, date)"
+          + " SELECT id, special_action, sender_id, receiver_id, montant, date"
+          + " FROM transaction_courants PARTITION (`" + partition + "`)");
+    }
+
+    long rows;
+    BigDecimal total;
+    try (Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery("SELECT COUNT(*), COALESCE(SUM(montant), 0)"
+            + " FROM transaction_courants PARTITION (`" + partition + "`)")) {
+      resultSet.next();
+      rows = resultSet.getLong(1);
+      total = resultSet.getBigDecimal(2);
+    }
+
+    long archivedRows;
+    BigDecimal archivedTotal;
+    try (PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*), COALESCE(SUM(montant), 0)"
+        + " FROM transaction_courants_archive WHERE date >= ? AND date < ?")) {
+      statement.setTimestamp(1, Timestamp.valueOf(periodStart));
+      statement.setTimestamp(2, Timestamp.valueOf(periodEnd));
+      try (ResultSet resultSet = statement.executeQuery()) {
+        resultSet.next();
+        archivedRows = resultSet.getLong(1);
+        archivedTotal = resultSet.getBigDecimal(2);
+      }
+    }
+
+    if (rows != archivedRows || total.compareTo(archivedTotal) != 0) {
+      throw new SQLException("Archive of partition " + partition + " does not match: " + rows + " rows / " + total
+          + " live, " + archivedRows + " rows / " + archivedTotal + " archived");
+    }
+
+    try (PreparedStatement statement = connection.prepareStatement(
+        "INSERT INTO ledger_archive_periods (period_start, row_count, montant_total, archived_at)"
+            + " VALUES (?, ?, ?, ?)")) {
+      statement.setTimestamp(1, Timestamp.valueOf(periodStart));
+      statement.setLong(2, rows);
+      statement.setBigDecimal(3, total);
+      statement.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+      statement.executeUpdate();
+    }
+    return rows;
+  }
+
+  private static void dropPartition(Connection connection, String partition) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("ALTER TABLE transaction_courants DROP PARTITION `" + partition + "`");
+    }
+  }
+
+  private static LocalDateTime readHorizon(Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery("SELECT MAX(period_start) FROM ledger_archive_periods")) {
+      resultSet.next();
+      Timestamp latest = resultSet.getTimestamp(1);
+      return latest != null ? latest.toLocalDateTime().plusMonths(1) : null;
+    }
+  }
+
+  private static void lock(Connection connection) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+      statement.setString(1, LOCK_NAME);
+      try (ResultSet resultSet = statement.executeQuery()) {
+        if (!resultSet.next() || resultSet.getInt(1) != 1) {
+          throw new IllegalArgumentException("Ledger maintenance is already running");
+        }
+      }
+    }
+  }
+
+  private static void unlock(Connection connection) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+      statement.setString(1, LOCK_NAME);
+      statement.executeQuery().close();
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package mg.razherana.banking.courant.application.schemaMigrationService;
+
+import java.util.List;
+
+/**
+ * Service applying the versioned schema migrations of banking-courant.
+ *
+ * <p>
+ * Migrations are SQL scripts shipped in {@code db/migration} on the
+ * classpath, named {@code V<version>__<description>.sql} and applied once, in
+ * version order, at application startup. Applied versions are recorded in the
+ * {@code schema_migrations} table with the checksum of their script; a
+ * script changed after being applied is reported but not re-run. Set the
+ * {@code banking.schema.migrate} system property to false to skip migrations.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ */
+public interface SchemaMigrationService {
+  /**
+   * Applies every pending migration.
+   *
+   * @return the versions applied by this call
+   */
+  public List<Integer> migrate();
+
+  /**
+   * Gets the versions recorded in {@code schema_migrations}.
+   *
+   * @return the applied versions, in ascending order
+   */
+  public List<Integer> getAppliedVersions();
+}
@@ -0,0 +1,242 @@
+package mg.razherana.banking.courant.application.schemaMigrationService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import jakarta.ejb.EJBException;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Startup implementation of {@link SchemaMigrationService} over plain JDBC.
+ *
+ * <p>
+ * DDL is not transactional in MySQL, so each statement runs in auto-commit
+ * outside of any JTA transaction and a migration is recorded only once all of
+ * its statements succeeded. A MySQL named lock keeps several instances
+ * starting at the same time from applying the same migration twice. A failed
+ * migration fails the deployment rather than running on a partial schema.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ */
+@Singleton
+@Startup
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class SchemaMigrationServiceImpl implements SchemaMigrationService {
+  private static final Logger LOG = Logger.getLogger(SchemaMigrationService.class.getName());
+
+  private static final String MIGRATION_PATH = "db/migration/";
+
+  // Every migration script, in version order
+  private static final String[] MIGRATIONS = {
+      "V1__baseline.sql",
+      "V2__ledger_indexes.sql",
+      "V3__transaction_partitions.sql",
+      "V4__idempotency_keys.sql",
+  };
+
+  private static final Pattern MIGRATION_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+  private static final String LOCK_NAME = "banking_courant_schema_migration";
+  private static final int LOCK_TIMEOUT_SECONDS = 60;
+
+  @Resource(name = "mysqlDatabase")
+  private DataSource dataSource;
+
+  @PostConstruct
+  public void init() {
+    if (!Boolean.parseBoolean(System.getProperty("banking.schema.migrate", "true"))) {
+      LOG.info("Schema migrations disabled");
+      return;
+    }
+    migrate();
+  }
+
+  @Override
+  public List<Integer> migrate() {
+    List<Integer> applied = new ArrayList<>();
+    try (Connection connection = dataSource.getConnection()) {
+      lock(connection);
+      try {
+        createHistoryTable(connection);
+        Map<Integer, String> checksums = loadChecksums(connection);
+
+        for (String script : MIGRATIONS) {
+          Matcher matcher = MIGRATION_NAME.matcher(script);
+          if (!matcher.matches()) {
+            throw new IllegalStateException("Invalid migration name: " + script);
+          }
+          int version = Integer.parseInt(matcher.group(1));
+          String description = matcher.group(2).replace('_', ' ');
+          String sql = readScript(script);
+          String checksum = checksum(sql);
+
+          if (checksums.containsKey(version)) {
+            if (!checksum.equals(checksums.get(version))) {
+              LOG.warning("Migration " + script + " changed after being applied; it is not re-run");
+            }
+            continue;
+          }
+
+          long start = System.nanoTime();
+          try (Statement statement = connection.createStatement()) {
+            for (String sqlStatement : splitStatements(sql)) {
+              statement.execute(sqlStatement);
+            }
+          }
+          long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+          record(connection, version, description, checksum, elapsedMs);
+          applied.add(version);
+          LOG.info("Applied migration " + script + " in " + elapsedMs + " ms");
+        }
+      } finally {
+        unlock(connection);
+      }
+    } catch (SQLException | IOException e) {
+      LOG.severe("Schema migration failed: " + e.getMessage());
+      throw new EJBException("Schema migration failed", e);
+    }
+
+    LOG.info("Schema up to date, " + applied.size() + " migrations applied");
+    return applied;
+  }
+
+  @Override
+  public List<Integer> getAppliedVersions() {
+    try (Connection connection = dataSource.getConnection()) {
+      return new ArrayList<>(loadChecksums(connection).keySet());
+    } catch (SQLException e) {
+      throw new EJBException("Failed to read schema_migrations", e);
+    }
+  }
+
+  private static void lock(Connection connection) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+      statement.setString(1, LOCK_NAME);
+      statement.setInt(2, LOCK_TIMEOUT_SECONDS);
+      try (ResultSet resultSet = statement.executeQuery()) {
+        if (!resultSet.next() || resultSet.getInt(1) != 1) {
+          throw new SQLException("Could not acquire the schema migration lock");
+        }
+      }
+    }
+  }
+
+  private static void unlock(Connection connection) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+      statement.setString(1, LOCK_NAME);
+      statement.executeQuery().close();
+    }
+  }
+
+  private static void createHistoryTable(Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("CREATE TABLE IF NOT EXISTS `schema_migrations` ("
+          + " `version` INT NOT NULL,"
+          + " `description` VARCHAR(255) NOT NULL,"
+          + " `checksum` VARCHAR(64) NOT NULL,"
+          + " `execution_ms` BIGINT NOT NULL,"
+          + " `applied_at` DATETIME NOT NULL,"
+          + " PRIMARY KEY (`version`))");
+    }
+  }
+
+  private static Map<Integer, String> loadChecksums(Connection connection) throws SQLException {
+    Map<Integer, String> checksums = new HashMap<>();
+    try (Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(
+            "SELECT version, checksum FROM schema_migrations ORDER BY version")) {
+      while (resultSet.next()) {
+        checksums.put(resultSet.getInt(1), resultSet.getString(2));
+      }
+    }
+    return checksums;
+  }
+
+  private static void record(Connection connection, int version, String description, String checksum,
+      long elapsedMs) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(
+        "INSERT INTO schema_migrations (version, description, checksum, execution_ms, applied_at)"
+            + " VALUES (?, ?, ?, ?, ?)")) {
+      statement.setInt(1, version);
+      statement.setString(2, description);
+      statement.setString(3, checksum);
+      statement.setLong(4, elapsedMs);
+      statement.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
+      statement.executeUpdate();
+    }
+  }
+
+  private static String readScript(String script) throws IOException {
+    try (InputStream input = SchemaMigrationServiceImpl.class.getClassLoader()
+        .getResourceAsStream(MIGRATION_PATH + script)) {
+      if (input == null) {
+        throw new IOException("Migration script not found: " + MIGRATION_PATH + script);
+      }
+      return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  /**
+   * Splits a script on semicolons ending a line, skipping {@code --} comment
+   * lines. Scripts must not use semicolons inside string literals at line ends.
+   */
+  private static List<String> splitStatements(String sql) {
+    List<String> statements = new ArrayList<>();
+    StringBuilder current = new StringBuilder();
+    for (String line : sql.split("\r?\n")) {
+      String trimmed = line.trim();
+      if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+        continue;
+      }
+      current.append(line).append('\n');
+      if (trimmed.endsWith(";")) {
+        String statement = current.toString().trim();
+        statements.add(statement.substring(0, statement.length() - 1));
+        current.setLength(0);
+      }
+    }
+    if (current.toString().trim().length() > 0) {
+      statements.add(current.toString().trim());
+    }
+    return statements;
+  }
+
+  private static String checksum(String sql) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(sql.getBytes(StandardCharsets.UTF_8));
+      StringBuilder hex = new StringBuilder();
+      for (byte b : digest) {
+        hex.append(String.format("%02x", b));
+      }
+      return hex.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package mg.razherana.banking.courant.application.soldeCheckpointService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service writing the monthly balance checkpoints of current accounts.
+ *
+ * <p>
+ * A checkpoint dated on the first day of a month summarizes the balance and
+ * the taxes paid from every transaction dated before it, so ledger
+ * computations only need to sum the transactions of the current period.
+ * Checkpoints are written by a monthly timer and can be rebuilt from the full
+ * ledger for a range of accounts.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.entities.SoldeCheckpoint
+ * @see mg.razherana.banking.courant.application.soldeService.SoldeService
+ */
+public interface SoldeCheckpointService {
+  /**
+   * Writes the checkpoint dated {@code checkpointDate} for every account
+   * created before it, chunk by chunk, each chunk in its own transaction.
+   * Existing checkpoints at that date are replaced.
+   *
+   * @param checkpointDate the first day of a month at midnight
+   * @return the number of checkpoints written
+   */
+  public int writeCheckpoints(LocalDateTime checkpointDate);
+
+  /**
+   * Writes the checkpoint dated {@code checkpointDate} for the given accounts
+   * in a single transaction, from their previous checkpoint plus the
+   * transactions dated since.
+   *
+   * @param compteIds      the account IDs
+   * @param checkpointDate the first day of a month at midnight
+   * @return the number of checkpoints written
+   */
+  public int writeCheckpointChunk(List<Integer> compteIds, LocalDateTime checkpointDate);
+
+  /**
+   * Deletes and recomputes from the full ledger every monthly checkpoint of
+   * the accounts whose ID is within the given range, up to the current month.
+   *
+   * @param fromCompteId the first account ID (inclusive), or null for no lower
+   *                     bound
+   * @param toCompteId   the last account ID (inclusive), or null for no upper
+   *                     bound
+   * @return the number of checkpoints written
+   */
+  public int rebuildCheckpoints(Integer fromCompteId, Integer toCompteId);
+
+  /**
+   * Rebuilds every monthly checkpoint dated up to {@code until} of the given
+   * accounts in a single transaction.
+   *
+   * @param compteIds the account IDs
+   * @param until     the last checkpoint date (first day of a month)
+   * @return the number of checkpoints written
+   */
+  public int rebuildCheckpointChunk(List<Integer> compteIds, LocalDateTime until);
+}
@@ -0,0 +1,284 @@
+package mg.razherana.banking.courant.application.soldeCheckpointService;
+
+import jakarta.annotation.Resource;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.SessionContext;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import mg.razherana.banking.courant.application.ledgerArchiveService.LedgerArchiveService;
+import mg.razherana.banking.courant.application.soldeService.SoldeService;
+import mg.razherana.banking.courant.entities.SoldeCheckpoint;
+import mg.razherana.banking.courant.entities.TransactionCourant.SpecialAction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+/**
+ * Implementation of {@link SoldeCheckpointService} backed by the
+ * {@code solde_checkpoints} table.
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.entities.SoldeCheckpoint
+ */
+@Stateless
+public class SoldeCheckpointServiceImpl implements SoldeCheckpointService {
+  private static final Logger LOG = Logger.getLogger(SoldeCheckpointService.class.getName());
+
+  // Number of accounts checkpointed per transaction
+  private static final int CHUNK_SIZE = 500;
+
+  @PersistenceContext(unitName = "userPU")
+  private EntityManager entityManager;
+
+  @EJB
+  private SoldeService soldeService;
+
+  @EJB
+  private LedgerArchiveService ledgerArchiveService;
+
+  @Resource
+  private SessionContext sessionContext;
+
+  /**
+   * Writes the checkpoint of the month that just ended. Runs half an hour after
+   * midnight so that transactions dated before midnight are committed.
+   */
+  @Schedule(dayOfMonth = "1", hour = "0", minute = "30", persistent = false)
+  @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+  public void monthlyCheckpoint() {
+    LocalDateTime checkpointDate = LocalDate.now().withDayOfMonth(1).atStartOfDay();
+    try {
+      writeCheckpoints(checkpointDate);
+    } catch (Exception e) {
+      LOG.severe("Monthly solde checkpoint " + checkpointDate + " failed: " + e.getMessage());
+    }
+  }
+
+  @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+  @Override
+  public int writeCheckpoints(LocalDateTime checkpointDate) {
+    validateCheckpointDate(checkpointDate);
+    LOG.info("Writing solde checkpoints at " + checkpointDate);
+    SoldeCheckpointService self = sessionContext.getBusinessObject(SoldeCheckpointService.class);
+
+    int written = 0;
+    Integer lastId = 0;
+    while (true) {
+      List<Integer> compteIds = entityManager.createQuery(
+          "SELECT c.id FROM CompteCourant c WHERE c.id > :lastId AND c.createdAt < :checkpointDate ORDER BY c.id",
+          Integer.class)
+          .setParameter("lastId", lastId)
+          .setParameter("checkpointDate", checkpointDate)
+          .setMaxResults(CHUNK_SIZE)
+          .getResultList();
+
+      if (compteIds.isEmpty()) {
+        break;
+      }
+
+      // Each chunk runs in its own transaction through the business interface
+      written += self.writeCheckpointChunk(compteIds, checkpointDate);
+      lastId = compteIds.get(compteIds.size() - 1);
+    }
+
+    LOG.info(written + " solde checkpoints written at " + checkpointDate);
+    return written;
+  }
+
+  @TransactionAttribute(TransactionAttributeType.REQUIRED)
+  @Override
+  public int writeCheckpointChunk(List<Integer> compteIds, LocalDateTime checkpointDate) {
+    validateCheckpointDate(checkpointDate);
+    if (compteIds == null || compteIds.isEmpty()) {
+      return 0;
+    }
+
+    entityManager.createQuery(
+        "DELETE FROM SoldeCheckpoint cp WHERE cp.compteId IN :compteIds AND cp.checkpointDate = :checkpointDate")
+        .setParameter("compteIds", compteIds)
+        .setParameter("checkpointDate", checkpointDate)
+        .executeUpdate();
+
+    Map<Integer, SoldeCheckpoint> snapshots = soldeService.calculateSnapshots(compteIds, checkpointDate);
+    for (SoldeCheckpoint snapshot : snapshots.values()) {
+      entityManager.persist(snapshot);
+    }
+    entityManager.flush();
+    entityManager.clear();
+
+    return snapshots.size();
+  }
+
+  @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+  @Override
+  public int rebuildCheckpoints(Integer fromCompteId, Integer toCompteId) {
+    if (fromCompteId != null && toCompteId != null && fromCompteId > toCompteId) {
+      throw new IllegalArgumentException("fromId cannot be greater than toId");
+    }
+
+    LocalDateTime until = LocalDate.now().withDayOfMonth(1).atStartOfDay();
+    LOG.info("Rebuilding solde checkpoints for comptes " + fromCompteId + " to " + toCompteId + " until " + until);
+    SoldeCheckpointService self = sessionContext.getBusinessObject(SoldeCheckpointService.class);
+
+    int written = 0;
+    Integer lastId = fromCompteId != null ? fromCompteId - 1 : 0;
+    while (true) {
+      TypedQuery<Integer> query = entityManager.createQuery(
+          "SELECT c.id FROM CompteCourant c WHERE c.id > :lastId"
+              + (toCompteId != null ? " AND c.id <= :toId" : "")
+              + " ORDER BY c.id",
+          Integer.class);
+      query.setParameter("lastId", lastId);
+      if (toCompteId != null) {
+        query.setParameter("toId", toCompteId);
+      }
+      List<Integer> compteIds = query.setMaxResults(CHUNK_SIZE).getResultList();
+
+      if (compteIds.isEmpty()) {
+        break;
+      }
+
+      written += self.rebuildCheckpointChunk(compteIds, until);
+      lastId = compteIds.get(compteIds.size() - 1);
+    }
+
+    LOG.info(written + " solde checkpoints rebuilt");
+    return written;
+  }
+
+  @TransactionAttribute(TransactionAttributeType.REQUIRED)
+  @Override
+  public int rebuildCheckpointChunk(List<Integer> compteIds, LocalDateTime until) {
+    validateCheckpointDate(until);
+    if (compteIds == null || compteIds.isEmpty()) {
+      return 0;
+    }
+
+    entityManager.createQuery("DELETE FROM SoldeCheckpoint cp WHERE cp.compteId IN :compteIds")
+        .setParameter("compteIds", compteIds)
+        .executeUpdate();
+
+    List<Object[]> comptes = entityManager.createQuery(
+        "SELECT c.id, c.createdAt FROM CompteCourant c WHERE c.id IN :compteIds", Object[].class)
+        .setParameter("compteIds", compteIds)
+        .getResultList();
+
+    // The full ledger is the archived months followed by the live partitions
+    LocalDateTime horizon = ledgerArchiveService.getArchiveHorizon();
+    int n = compteIds.size();
+    String ledger = horizon == null ? "transaction_courants"
+        : "(SELECT sender_id, receiver_id, montant, date, special_action FROM transaction_courants_archive"
+            + " WHERE date < ?" + (2 * n + 4)
+            + " UNION ALL SELECT sender_id, receiver_id, montant, date, special_action FROM transaction_courants"
+            + " WHERE date >= ?" + (2 * n + 4) + ")";
+
+    // Monthly balance and tax movements of the whole chunk in one grouped scan
+    Query query = entityManager.createNativeQuery(
+        "SELECT x.compte_id, x.y, x.m, SUM(x.solde), SUM(x.taxe) FROM ("
+            + " SELECT t.receiver_id AS compte_id, YEAR(t.date) AS y, MONTH(t.date) AS m,"
+            + " t.montant AS solde, 0 AS taxe FROM " + ledger + " t"
+            + " WHERE t.receiver_id IN (" + placeholders(1, n) + ") AND t.date < ?" + (n + 1)
+            + " UNION ALL"
+            + " SELECT t.sender_id, YEAR(t.date), MONTH(t.date), -t.montant,"
+            + " CASE WHEN t.special_action = ?" + (n + 2) + " THEN t.montant ELSE 0 END"
+            + " FROM " + ledger + " t"
+            + " WHERE t.sender_id IN (" + placeholders(n + 3, n) + ") AND t.date < ?" + (2 * n + 3)
+            + ") x GROUP BY x.compte_id, x.y, x.m");
+    for (int i = 0; i < n; i++) {
+      query.setParameter(i + 1, compteIds.get(i));
+      query.setParameter(n + 3 + i, compteIds.get(i));
+    }
+    query.setParameter(n + 1, until);
+    query.setParameter(n + 2, SpecialAction.TAXE.getDatabaseName());
+    query.setParameter(2 * n + 3, until);
+    if (horizon != null) {
+      query.setParameter(2 * n + 4, horizon);
+    }
+
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = query.getResultList();
+    Map<Integer, TreeMap<YearMonth, BigDecimal[]>> movements = new HashMap<>();
+    for (Object[] row : rows) {
+      YearMonth month = YearMonth.of(((Number) row[1]).intValue(), ((Number) row[2]).intValue());
+      movements.computeIfAbsent(((Number) row[0]).intValue(), id -> new TreeMap<>())
+          .put(month, new BigDecimal[] { toBigDecimal(row[3]), toBigDecimal(row[4]) });
+    }
+
+    YearMonth lastMonth = YearMonth.from(until).minusMonths(1);
+    int written = 0;
+    for (Object[] compte : comptes) {
+      Integer compteId = (Integer) compte[0];
+      LocalDateTime createdAt = (LocalDateTime) compte[1];
+      TreeMap<YearMonth, BigDecimal[]> monthly = movements.getOrDefault(compteId, new TreeMap<>());
+
+      YearMonth month = createdAt != null ? YearMonth.from(createdAt) : null;
+      if (!monthly.isEmpty() && (month == null || monthly.firstKey().isBefore(month))) {
+        month = monthly.firstKey();
+      }
+      if (month == null) {
+        continue;
+      }
+
+      // One checkpoint per month, at the start of the following month
+      BigDecimal solde = BigDecimal.ZERO;
+      BigDecimal taxePayee = BigDecimal.ZERO;
+      for (; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+        BigDecimal[] movement = monthly.get(month);
+        if (movement != null) {
+          solde = solde.add(movement[0]);
+          taxePayee = taxePayee.add(movement[1]);
+        }
+        entityManager.persist(new SoldeCheckpoint(compteId,
+            month.plusMonths(1).atDay(1).atStartOfDay(), solde, taxePayee));
+        written++;
+      }
+    }
+    entityManager.flush();
+    entityManager.clear();
+
+    return written;
+  }
+
+  private static void validateCheckpointDate(LocalDateTime checkpointDate) {
+    if (checkpointDate == null) {
+      throw new IllegalArgumentException("Checkpoint date cannot be null");
+    }
+    if (checkpointDate.getDayOfMonth() != 1 || !checkpointDate.toLocalTime().equals(LocalTime.MIDNIGHT)) {
+      throw new IllegalArgumentException("Checkpoint date must be the first day of a month at midnight");
+    }
+  }
+
+  private static BigDecimal toBigDecimal(Object value) {
+    if (value == null) {
+      return BigDecimal.ZERO;
+    }
+    return value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+  }
+
+  private static String placeholders(int firstPosition, int count) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append('?').append(firstPosition + i);
+    }
+    return sb.toString();
+  }
+}
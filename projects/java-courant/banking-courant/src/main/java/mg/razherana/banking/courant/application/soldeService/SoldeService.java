@@ -0,0 +1,139 @@
+package mg.razherana.banking.courant.application.soldeService;
+
+import mg.razherana.banking.courant.dto.SoldeReconciliationDTO;
+import mg.razherana.banking.courant.entities.CompteCourant;
+import mg.razherana.banking.courant.entities.SoldeCheckpoint;
+import mg.razherana.banking.courant.entities.TransactionCourant;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service maintaining the materialized balance (solde) of current accounts.
+ *
+ * <p>
+ * Every ledger insert must be followed by {@link #apply(TransactionCourant)}
+ * inside the same JTA transaction, so the projection commits or rolls back
+ * together with the {@link TransactionCourant} row. Balance reads then become
+ * a primary key lookup regardless of the account history length.
+ * </p>
+ *
+ * <p>
+ * The ledger stays the source of truth: {@link #calculateSoldeFromLedger}
+ * recomputes a balance from {@code transaction_courants} and
+ * {@link #reconcile(boolean)} reports (and optionally repairs) accounts whose
+ * projection drifted from it.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.entities.SoldeCourant
+ * @see mg.razherana.banking.courant.application.transactionService.TransactionService
+ * @see mg.razherana.banking.courant.application.compteCourantService.CompteCourantService
+ */
+public interface SoldeService {
+  /**
+   * Creates the balance projection of a newly created account with a zero
+   * balance.
+   *
+   * @param compte the persisted account
+   */
+  public void initialize(CompteCourant compte);
+
+  /**
+   * Gets the materialized balance of an account. Accounts created before the
+   * projection existed are initialized from the ledger on first read.
+   *
+   * @param compte the account
+   * @return the current balance
+   */
+  public BigDecimal getSolde(CompteCourant compte);
+
+  /**
+   * Gets the materialized balances of several accounts with a single query on
+   * the projection. Accounts without a projection row are resolved with one
+   * grouped query over the ledger and initialized.
+   *
+   * @param comptes the accounts
+   * @return the balances indexed by account ID
+   */
+  public Map<Integer, BigDecimal> getSoldes(Collection<CompteCourant> comptes);
+
+  /**
+   * Applies a persisted ledger transaction to the balance projection of its
+   * sender (debit) and receiver (credit). Must run in the transaction that
+   * inserted {@code transaction}.
+   *
+   * @param transaction the flushed ledger transaction
+   */
+  public void apply(TransactionCourant transaction);
+
+  /**
+   * Adds a balance delta to several accounts with one JDBC batch, in
+   * ascending account ID order. Used by bulk postings that insert ledger rows
+   * outside of JPA; must run in the transaction that inserted them.
+   *
+   * @param deltas the balance deltas indexed by account ID
+   */
+  public void applyDeltas(Map<Integer, BigDecimal> deltas);
+
+  /**
+   * Recomputes the balance of an account from the ledger: its latest
+   * checkpoint plus the transactions dated since.
+   * Balance = (sum of received amounts) - (sum of sent amounts)
+   *
+   * @param compte the account
+   * @return the balance according to transaction_courants
+   */
+  public BigDecimal calculateSoldeFromLedger(CompteCourant compte);
+
+  /**
+   * Recomputes the balances of several accounts from the ledger with a single
+   * grouped query over their latest checkpoints and the transactions dated
+   * since.
+   *
+   * @param compteIds the account IDs
+   * @return the balances indexed by account ID (zero for accounts without
+   *         transactions)
+   */
+  public Map<Integer, BigDecimal> calculateSoldesFromLedger(Collection<Integer> compteIds);
+
+  /**
+   * Computes the balance and cumulative taxes paid of several accounts from
+   * all transactions dated strictly before {@code asOf}, starting from the
+   * latest checkpoint not after {@code asOf}. The returned checkpoints are not
+   * persisted.
+   *
+   * @param compteIds the account IDs
+   * @param asOf      exclusive upper bound of the transactions, or null for
+   *                  the whole ledger
+   * @return the snapshots indexed by account ID
+   */
+  public Map<Integer, SoldeCheckpoint> calculateSnapshots(Collection<Integer> compteIds, LocalDateTime asOf);
+
+  /**
+   * Compares every projected balance with the ledger, chunk by chunk, each
+   * chunk in its own transaction.
+   *
+   * @param repair whether drifting projections are overwritten with the ledger
+   *               balance
+   * @return the reconciliation report
+   */
+  public SoldeReconciliationDTO reconcile(boolean repair);
+
+  /**
+   * Reconciles the given accounts in a single transaction. The projection rows
+   * are locked before the ledger is read so concurrent postings cannot be
+   * reported as drift. Balances are summed over the archived and live ledger
+   * without the checkpoints, so a wrong checkpoint shows up as drift instead
+   * of being written back on repair.
+   *
+   * @param compteIds the account IDs to reconcile
+   * @param repair    whether drifting projections are repaired
+   * @return the chunk report
+   */
+  public SoldeReconciliationDTO reconcileChunk(List<Integer> compteIds, boolean repair);
+}
@@ -0,0 +1,472 @@
+package mg.razherana.banking.courant.application.soldeService;
+
+import jakarta.annotation.Resource;
+import jakarta.ejb.EJB;
+import jakarta.ejb.EJBException;
+import jakarta.ejb.SessionContext;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import mg.razherana.banking.courant.application.ledgerArchiveService.LedgerArchiveService;
+import mg.razherana.banking.courant.dto.SoldeDriftDTO;
+import mg.razherana.banking.courant.dto.SoldeReconciliationDTO;
+import mg.razherana.banking.courant.entities.CompteCourant;
+import mg.razherana.banking.courant.entities.SoldeCheckpoint;
+import mg.razherana.banking.courant.entities.SoldeCourant;
+import mg.razherana.banking.courant.entities.TransactionCourant;
+import mg.razherana.banking.courant.entities.TransactionCourant.SpecialAction;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.logging.Logger;
+
+/**
+ * Implementation of {@link SoldeService} backed by the {@code solde_courants}
+ * table.
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.entities.SoldeCourant
+ */
+@Stateless
+public class SoldeServiceImpl implements SoldeService {
+  private static final Logger LOG = Logger.getLogger(SoldeService.class.getName());
+
+  // Number of accounts reconciled per transaction
+  private static final int RECONCILE_CHUNK_SIZE = 500;
+
+  // Maximum number of IDs bound in a single IN list
+  private static final int IN_LIST_SIZE = 1000;
+
+  @PersistenceContext(unitName = "userPU")
+  private EntityManager entityManager;
+
+  @Resource
+  private SessionContext sessionContext;
+
+  @Resource(name = "mysqlDatabase")
+  private DataSource dataSource;
+
+  @EJB
+  private LedgerArchiveService ledgerArchiveService;
+
+  @TransactionAttribute(TransactionAttributeType.REQUIRED)
+  @Override
+  public void initialize(CompteCourant compte) {
+    if (compte == null || compte.getId() == null) {
+      throw new IllegalArgumentException("Compte and Compte ID cannot be null");
+    }
+
+    entityManager.persist(new SoldeCourant(compte.getId(), BigDecimal.ZERO));
+    entityManager.flush();
+  }
+
+  @Override
+  public BigDecimal getSolde(CompteCourant compte) {
+    if (compte == null || compte.getId() == null) {
+      throw new IllegalArgumentException("Compte and Compte ID cannot be null");
+    }
+
+    List<BigDecimal> soldes = entityManager.createQuery(
+        "SELECT s.solde FROM SoldeCourant s WHERE s.compteId = :compteId", BigDecimal.class)
+        .setParameter("compteId", compte.getId())
+        .getResultList();
+
+    if (!soldes.isEmpty()) {
+      return soldes.get(0);
+    }
+
+    // Account created before the projection existed
+    LOG.info("No solde projection for compte " + compte.getId() + ", initializing from ledger");
+    BigDecimal solde = calculateSoldeFromLedger(compte);
+    insertIfAbsent(compte.getId(), solde);
+    return solde;
+  }
+
+  @Override
+  public Map<Integer, BigDecimal> getSoldes(Collection<CompteCourant> comptes) {
+    if (comptes == null) {
+      throw new IllegalArgumentException("Comptes cannot be null");
+    }
+
+    List<Integer> compteIds = comptes.stream()
+        .map(CompteCourant::getId)
+        .distinct()
+        .collect(Collectors.toList());
+
+    Map<Integer, BigDecimal> soldes = new HashMap<>();
+    for (List<Integer> chunk : chunks(compteIds)) {
+      List<Object[]> rows = entityManager.createQuery(
+          "SELECT s.compteId, s.solde FROM SoldeCourant s WHERE s.compteId IN :compteIds", Object[].class)
+          .setParameter("compteIds", chunk)
+          .getResultList();
+      for (Object[] row : rows) {
+        soldes.put((Integer) row[0], (BigDecimal) row[1]);
+      }
+    }
+
+    // Comptes created before the projection existed
+    List<Integer> missing = compteIds.stream()
+        .filter(id -> !soldes.containsKey(id))
+        .collect(Collectors.toList());
+    if (!missing.isEmpty()) {
+      LOG.info("No solde projection for " + missing.size() + " comptes, initializing from ledger");
+      Map<Integer, BigDecimal> ledgerSoldes = calculateSoldesFromLedger(missing);
+      for (Map.Entry<Integer, BigDecimal> entry : ledgerSoldes.entrySet()) {
+        insertIfAbsent(entry.getKey(), entry.getValue());
+      }
+      soldes.putAll(ledgerSoldes);
+    }
+
+    return soldes;
+  }
+
+  @TransactionAttribute(TransactionAttributeType.MANDATORY)
+  @Override
+  public void apply(TransactionCourant transaction) {
+    if (transaction == null || transaction.getMontant() == null) {
+      throw new IllegalArgumentException("Transaction and montant cannot be null");
+    }
+
+    CompteCourant receiver = transaction.getReceiver();
+    CompteCourant sender = transaction.getSender();
+
+    // Projection rows are always locked in ascending compte ID order, like
+    // reconcileChunk, so concurrent postings and reconciliations cannot deadlock
+    if (receiver != null && sender != null && sender.getId() < receiver.getId()) {
+      adjust(sender, transaction.getMontant().negate());
+      adjust(receiver, transaction.getMontant());
+      return;
+    }
+    if (receiver != null) {
+      adjust(receiver, transaction.getMontant());
+    }
+    if (sender != null) {
+      adjust(sender, transaction.getMontant().negate());
+    }
+  }
+
+  @TransactionAttribute(TransactionAttributeType.MANDATORY)
+  @Override
+  public void applyDeltas(Map<Integer, BigDecimal> deltas) {
+    if (deltas == null) {
+      throw new IllegalArgumentException("Deltas cannot be null");
+    }
+
+    List<Integer> compteIds = new ArrayList<>(new TreeMap<>(deltas).keySet());
+    List<Integer> missing = new ArrayList<>();
+    LocalDateTime now = LocalDateTime.now();
+
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement(
+            "UPDATE solde_courants SET solde = solde + ?, updated_at = ? WHERE compte_id = ?")) {
+      for (List<Integer> chunk : chunks(compteIds)) {
+        for (Integer compteId : chunk) {
+          statement.setBigDecimal(1, deltas.get(compteId));
+          statement.setTimestamp(2, Timestamp.valueOf(now));
+          statement.setInt(3, compteId);
+          statement.addBatch();
+        }
+
+        int[] counts = statement.executeBatch();
+        for (int i = 0; i < counts.length; i++) {
+          if (counts[i] == 0) {
+            missing.add(chunk.get(i));
+          }
+        }
+      }
+    } catch (SQLException e) {
+      throw new EJBException("Failed to update solde projections", e);
+    }
+
+    // Comptes created before the projection existed: the ledger already
+    // contains the rows inserted by the caller
+    if (!missing.isEmpty()) {
+      Map<Integer, BigDecimal> ledgerSoldes = calculateSoldesFromLedger(missing);
+      for (Integer compteId : missing) {
+        if (insertIfAbsent(compteId, ledgerSoldes.get(compteId)) == 0) {
+          updateSolde(compteId, deltas.get(compteId));
+        }
+      }
+    }
+  }
+
+  @Override
+  public BigDecimal calculateSoldeFromLedger(CompteCourant compte) {
+    LOG.info("Calculating ledger solde for compte ID: " + compte.getId());
+    return calculateSoldesFromLedger(List.of(compte.getId())).get(compte.getId());
+  }
+
+  @Override
+  public Map<Integer, BigDecimal> calculateSoldesFromLedger(Collection<Integer> compteIds) {
+    Map<Integer, BigDecimal> soldes = new HashMap<>();
+    for (SoldeCheckpoint snapshot : calculateSnapshots(compteIds, null).values()) {
+      soldes.put(snapshot.getCompteId(), snapshot.getSolde());
+    }
+    return soldes;
+  }
+
+  @Override
+  public Map<Integer, SoldeCheckpoint> calculateSnapshots(Collection<Integer> compteIds, LocalDateTime asOf) {
+    if (compteIds == null) {
+      throw new IllegalArgumentException("Compte IDs cannot be null");
+    }
+
+    Map<Integer, SoldeCheckpoint> snapshots = new HashMap<>();
+    for (List<Integer> chunk : chunks(new ArrayList<>(compteIds))) {
+      for (Integer compteId : chunk) {
+        snapshots.put(compteId, new SoldeCheckpoint(compteId, asOf, BigDecimal.ZERO, BigDecimal.ZERO));
+      }
+
+      // Latest checkpoint of each compte plus the credits and debits dated on
+      // or after it, for the whole chunk in one grouped scan
+      List<Object> params = new ArrayList<>();
+      String latest = "SELECT cp.compte_id, cp.checkpoint_date, cp.solde, cp.taxe_payee"
+          + " FROM solde_checkpoints cp JOIN ("
+          + " SELECT c.compte_id, MAX(c.checkpoint_date) AS checkpoint_date FROM solde_checkpoints c"
+          + " WHERE c.compte_id IN (" + bindAll(params, chunk) + ")"
+          + (asOf != null ? " AND c.checkpoint_date <= " + bind(params, asOf) : "")
+          + " GROUP BY c.compte_id"
+          + ") m ON m.compte_id = cp.compte_id AND m.checkpoint_date = cp.checkpoint_date";
+      String sql = "WITH latest AS (" + latest + ")"
+          + " SELECT x.compte_id, SUM(x.solde), SUM(x.taxe) FROM ("
+          + " SELECT l.compte_id AS compte_id, l.solde AS solde, l.taxe_payee AS taxe FROM latest l"
+          + " UNION ALL"
+          + " SELECT t.receiver_id, t.montant, 0 FROM transaction_courants t"
+          + " LEFT JOIN latest l ON l.compte_id = t.receiver_id"
+          + " WHERE t.receiver_id IN (" + bindAll(params, chunk) + ")"
+          + " AND (l.checkpoint_date IS NULL OR t.date >= l.checkpoint_date)"
+          + (asOf != null ? " AND t.date < " + bind(params, asOf) : "")
+          + " UNION ALL"
+          + " SELECT t.sender_id, -t.montant,"
+          + " CASE WHEN t.special_action = " + bind(params, SpecialAction.TAXE.getDatabaseName())
+          + " THEN t.montant ELSE 0 END FROM transaction_courants t"
+          + " LEFT JOIN latest l ON l.compte_id = t.sender_id"
+          + " WHERE t.sender_id IN (" + bindAll(params, chunk) + ")"
+          + " AND (l.checkpoint_date IS NULL OR t.date >= l.checkpoint_date)"
+          + (asOf != null ? " AND t.date < " + bind(params, asOf) : "")
+          + ") x GROUP BY x.compte_id";
+
+      Query query = entityManager.createNativeQuery(sql);
+      for (int i = 0; i < params.size(); i++) {
+        query.setParameter(i + 1, params.get(i));
+      }
+
+      @SuppressWarnings("unchecked")
+      List<Object[]> rows = query.getResultList();
+      for (Object[] row : rows) {
+        SoldeCheckpoint snapshot = snapshots.get(((Number) row[0]).intValue());
+        snapshot.setSolde(toBigDecimal(row[1]));
+        snapshot.setTaxePayee(toBigDecimal(row[2]));
+      }
+    }
+
+    return snapshots;
+  }
+
+  @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+  @Override
+  public SoldeReconciliationDTO reconcile(boolean repair) {
+    LOG.info("Reconciling solde projections (repair=" + repair + ")");
+    SoldeService self = sessionContext.getBusinessObject(SoldeService.class);
+    SoldeReconciliationDTO report = new SoldeReconciliationDTO(repair);
+
+    Integer lastId = 0;
+    while (true) {
+      List<Integer> compteIds = entityManager.createQuery(
+          "SELECT c.id FROM CompteCourant c WHERE c.id > :lastId ORDER BY c.id", Integer.class)
+          .setParameter("lastId", lastId)
+          .setMaxResults(RECONCILE_CHUNK_SIZE)
+          .getResultList();
+
+      if (compteIds.isEmpty()) {
+        break;
+      }
+
+      // Each chunk runs in its own transaction through the business interface
+      report.merge(self.reconcileChunk(compteIds, repair));
+      lastId = compteIds.get(compteIds.size() - 1);
+    }
+
+    LOG.info("Reconciliation done: " + report.getComptesChecked() + " comptes checked, "
+        + report.getDriftCount() + " drifts");
+    return report;
+  }
+
+  @TransactionAttribute(TransactionAttributeType.REQUIRED)
+  @Override
+  public SoldeReconciliationDTO reconcileChunk(List<Integer> compteIds, boolean repair) {
+    SoldeReconciliationDTO report = new SoldeReconciliationDTO(repair);
+    if (compteIds == null || compteIds.isEmpty()) {
+      return report;
+    }
+
+    // Lock the projection rows first: postings for these comptes block on the
+    // projection update until we commit, so the ledger read below is stable
+    List<SoldeCourant> projections = entityManager.createQuery(
+        "SELECT s FROM SoldeCourant s WHERE s.compteId IN :compteIds ORDER BY s.compteId", SoldeCourant.class)
+        .setParameter("compteIds", compteIds)
+        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+        .getResultList();
+
+    Map<Integer, SoldeCourant> projectionsById = new HashMap<>();
+    for (SoldeCourant projection : projections) {
+      projectionsById.put(projection.getCompteId(), projection);
+    }
+
+    // Recomputed from every ledger row, not from the checkpoints, so drift
+    // baked into a checkpoint is reported too
+    Map<Integer, BigDecimal> ledgerSoldes = recomputeSoldesFromLedger(compteIds);
+
+    for (Integer compteId : compteIds) {
+      BigDecimal ledgerSolde = ledgerSoldes.get(compteId);
+      SoldeCourant projection = projectionsById.get(compteId);
+      BigDecimal projectedSolde = projection != null ? projection.getSolde() : null;
+
+      if (projectedSolde == null || projectedSolde.compareTo(ledgerSolde) != 0) {
+        LOG.warning("Solde drift for compte " + compteId + ": projected " + projectedSolde
+            + ", ledger " + ledgerSolde);
+
+        if (repair) {
+          if (projection != null) {
+            projection.setSolde(ledgerSolde);
+            projection.setUpdatedAt(LocalDateTime.now());
+          } else {
+            insertIfAbsent(compteId, ledgerSolde);
+          }
+        }
+        report.getDrifts().add(new SoldeDriftDTO(compteId, projectedSolde, ledgerSolde, repair));
+      }
+    }
+
+    report.setComptesChecked(compteIds.size());
+    return report;
+  }
+
+  /**
+   * Balances of the given comptes summed over the whole ledger, the archived
+   * months followed by the live partitions, ignoring the checkpoints.
+   */
+  private Map<Integer, BigDecimal> recomputeSoldesFromLedger(List<Integer> compteIds) {
+    LocalDateTime horizon = ledgerArchiveService.getArchiveHorizon();
+
+    Map<Integer, BigDecimal> soldes = new HashMap<>();
+    for (List<Integer> chunk : chunks(compteIds)) {
+      for (Integer compteId : chunk) {
+        soldes.put(compteId, BigDecimal.ZERO);
+      }
+
+      List<Object> params = new ArrayList<>();
+      String ledger = horizon == null ? "transaction_courants"
+          : "(SELECT sender_id, receiver_id, montant FROM transaction_courants_archive WHERE date < "
+              + bind(params, horizon)
+              + " UNION ALL SELECT sender_id, receiver_id, montant FROM transaction_courants WHERE date >= "
+              + bind(params, horizon) + ")";
+      String sql = "SELECT x.compte_id, SUM(x.solde) FROM ("
+          + " SELECT t.receiver_id AS compte_id, t.montant AS solde FROM " + ledger + " t"
+          + " WHERE t.receiver_id IN (" + bindAll(params, chunk) + ")"
+          + " UNION ALL"
+          + " SELECT t.sender_id, -t.montant FROM " + ledger + " t"
+          + " WHERE t.sender_id IN (" + bindAll(params, chunk) + ")"
+          + ") x GROUP BY x.compte_id";
+
+      Query query = entityManager.createNativeQuery(sql);
+      for (int i = 0; i < params.size(); i++) {
+        query.setParameter(i + 1, params.get(i));
+      }
+
+      @SuppressWarnings("unchecked")
+      List<Object[]> rows = query.getResultList();
+      for (Object[] row : rows) {
+        soldes.put(((Number) row[0]).intValue(), toBigDecimal(row[1]));
+      }
+    }
+    return soldes;
+  }
+
+  /**
+   * Adds {@code delta} to the projected balance of a compte. If the compte has
+   * no projection yet, it is initialized from the ledger, which already
+   * contains the flushed transaction.
+   */
+  private void adjust(CompteCourant compte, BigDecimal delta) {
+    if (updateSolde(compte.getId(), delta) > 0) {
+      return;
+    }
+
+    BigDecimal solde = calculateSoldeFromLedger(compte);
+    if (insertIfAbsent(compte.getId(), solde) == 0) {
+      // Initialized concurrently by a transaction that could not see ours
+      updateSolde(compte.getId(), delta);
+    }
+  }
+
+  private int updateSolde(Integer compteId, BigDecimal delta) {
+    return entityManager.createQuery(
+        "UPDATE SoldeCourant s SET s.solde = s.solde + :delta, s.updatedAt = :now WHERE s.compteId = :compteId")
+        .setParameter("delta", delta)
+        .setParameter("now", LocalDateTime.now())
+        .setParameter("compteId", compteId)
+        .executeUpdate();
+  }
+
+  private int insertIfAbsent(Integer compteId, BigDecimal solde) {
+    return entityManager.createNativeQuery(
+        "INSERT IGNORE INTO solde_courants (compte_id, solde, updated_at) VALUES (?1, ?2, ?3)")
+        .setParameter(1, compteId)
+        .setParameter(2, solde)
+        .setParameter(3, LocalDateTime.now())
+        .executeUpdate();
+  }
+
+  private static List<List<Integer>> chunks(List<Integer> ids) {
+    List<List<Integer>> chunks = new ArrayList<>();
+    for (int i = 0; i < ids.size(); i += IN_LIST_SIZE) {
+      chunks.add(ids.subList(i, Math.min(i + IN_LIST_SIZE, ids.size())));
+    }
+    return chunks;
+  }
+
+  /**
+   * Appends a positional parameter and returns its placeholder.
+   */
+  private static String bind(List<Object> params, Object value) {
+    params.add(value);
+    return "?" + params.size();
+  }
+
+  private static String bindAll(List<Object> params, List<?> values) {
+    StringBuilder sb = new StringBuilder();
+    for (Object value : values) {
+      if (sb.length() > 0) {
+        sb.append(", ");
+      }
+      sb.append(bind(params, value));
+    }
+    return sb.toString();
+  }
+
+  private static BigDecimal toBigDecimal(Object value) {
+    if (value == null) {
+      return BigDecimal.ZERO;
+    }
+    return value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+  }
+}
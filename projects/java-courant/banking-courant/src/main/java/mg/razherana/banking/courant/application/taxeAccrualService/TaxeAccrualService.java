@@ -0,0 +1,58 @@
+package mg.razherana.banking.courant.application.taxeAccrualService;
+
+import mg.razherana.banking.courant.entities.CompteCourant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service writing the monthly tax accruals of current accounts.
+ *
+ * <p>
+ * At each month boundary a timer writes one accrual per account with the taxe
+ * in force, so the taxes due at a date are the cumulative total of the latest
+ * accrual instead of the number of months since creation times the current
+ * taxe. Accounts also get the accrual of their creation month when they are
+ * created.
+ * </p>
+ *
+ * <p>
+ * Months must be accrued in order: the cumulative total of a new accrual is
+ * based on the latest earlier one. Accounts without any accrual start from
+ * their creation month at their current taxe.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.entities.TaxeAccrual
+ * @see mg.razherana.banking.courant.application.compteCourantService.CompteCourantService#getTaxStatus
+ */
+public interface TaxeAccrualService {
+  /**
+   * Writes the accrual of the creation month of a new account, in the
+   * caller's transaction.
+   *
+   * @param compte the persisted account
+   */
+  public void accrueCreation(CompteCourant compte);
+
+  /**
+   * Writes the accrual of {@code periodStart} for every account created before
+   * the end of that month and not accrued yet, chunk by chunk, each chunk in
+   * its own transaction.
+   *
+   * @param periodStart the first day of a month at midnight
+   * @return the number of accruals written
+   */
+  public int accrue(LocalDateTime periodStart);
+
+  /**
+   * Writes the accrual of {@code periodStart} for the given accounts with a
+   * single INSERT ... SELECT in one transaction.
+   *
+   * @param compteIds   the account IDs
+   * @param periodStart the first day of a month at midnight
+   * @return the number of accruals written
+   */
+  public int accrueChunk(List<Integer> compteIds, LocalDateTime periodStart);
+}
@@ -0,0 +1,150 @@
+package mg.razherana.banking.courant.application.taxeAccrualService;
+
+import jakarta.annotation.Resource;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.SessionContext;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import mg.razherana.banking.courant.entities.CompteCourant;
+import mg.razherana.banking.courant.entities.TaxeAccrual;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Implementation of {@link TaxeAccrualService} backed by the
+ * {@code taxe_accruals} table.
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.entities.TaxeAccrual
+ */
+@Stateless
+public class TaxeAccrualServiceImpl implements TaxeAccrualService {
+  private static final Logger LOG = Logger.getLogger(TaxeAccrualService.class.getName());
+
+  // Number of accounts accrued per transaction
+  private static final int CHUNK_SIZE = 1000;
+
+  @PersistenceContext(unitName = "userPU")
+  private EntityManager entityManager;
+
+  @Resource
+  private SessionContext sessionContext;
+
+  /**
+   * Accrues the month that just started, a few minutes after midnight.
+   */
+  @Schedule(dayOfMonth = "1", hour = "0", minute = "5", persistent = false)
+  @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+  public void monthlyAccrual() {
+    LocalDateTime periodStart = LocalDate.now().withDayOfMonth(1).atStartOfDay();
+    try {
+      accrue(periodStart);
+    } catch (Exception e) {
+      LOG.severe("Monthly tax accrual " + periodStart + " failed: " + e.getMessage());
+    }
+  }
+
+  @TransactionAttribute(TransactionAttributeType.MANDATORY)
+  @Override
+  public void accrueCreation(CompteCourant compte) {
+    if (compte == null || compte.getId() == null || compte.getCreatedAt() == null) {
+      throw new IllegalArgumentException("Compte must be persisted with a creation date");
+    }
+
+    LocalDateTime periodStart = compte.getCreatedAt().toLocalDate().withDayOfMonth(1).atStartOfDay();
+    entityManager.persist(new TaxeAccrual(compte.getId(), periodStart, compte.getTaxe(), compte.getTaxe()));
+  }
+
+  @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+  @Override
+  public int accrue(LocalDateTime periodStart) {
+    validatePeriodStart(periodStart);
+    LOG.info("Accruing taxes for " + periodStart);
+    TaxeAccrualService self = sessionContext.getBusinessObject(TaxeAccrualService.class);
+
+    int written = 0;
+    Integer lastId = 0;
+    while (true) {
+      List<Integer> compteIds = entityManager.createQuery(
+          "SELECT c.id FROM CompteCourant c WHERE c.id > :lastId AND c.createdAt < :periodEnd ORDER BY c.id",
+          Integer.class)
+          .setParameter("lastId", lastId)
+          .setParameter("periodEnd", periodStart.plusMonths(1))
+          .setMaxResults(CHUNK_SIZE)
+          .getResultList();
+
+      if (compteIds.isEmpty()) {
+        break;
+      }
+
+      // Each chunk runs in its own transaction through the business interface
+      written += self.accrueChunk(compteIds, periodStart);
+      lastId = compteIds.get(compteIds.size() - 1);
+    }
+
+    LOG.info(written + " tax accruals written for " + periodStart);
+    return written;
+  }
+
+  @TransactionAttribute(TransactionAttributeType.REQUIRED)
+  @Override
+  public int accrueChunk(List<Integer> compteIds, LocalDateTime periodStart) {
+    validatePeriodStart(periodStart);
+    if (compteIds == null || compteIds.isEmpty()) {
+      return 0;
+    }
+
+    // The new cumul continues the latest earlier accrual, adding the current
+    // taxe for any month skipped since; accounts without accruals start from
+    // their creation month
+    Query query = entityManager.createNativeQuery(
+        "INSERT INTO taxe_accruals (compte_id, period_start, montant, cumul, created_at)"
+            + " SELECT c.id, ?1, c.taxe,"
+            + " COALESCE(p.cumul + c.taxe * (PERIOD_DIFF(?2, EXTRACT(YEAR_MONTH FROM p.period_start)) - 1),"
+            + " c.taxe * GREATEST(PERIOD_DIFF(?2, EXTRACT(YEAR_MONTH FROM c.created_at)), 0)) + c.taxe,"
+            + " NOW()"
+            + " FROM compte_courants c"
+            + " LEFT JOIN taxe_accruals p ON p.compte_id = c.id AND p.period_start = ("
+            + " SELECT MAX(a.period_start) FROM taxe_accruals a WHERE a.compte_id = c.id AND a.period_start < ?1)"
+            + " WHERE c.id IN (" + placeholders(4, compteIds.size()) + ") AND c.created_at < ?3"
+            + " AND NOT EXISTS (SELECT 1 FROM taxe_accruals x WHERE x.compte_id = c.id AND x.period_start = ?1)");
+    query.setParameter(1, periodStart);
+    query.setParameter(2, periodStart.getYear() * 100 + periodStart.getMonthValue());
+    query.setParameter(3, periodStart.plusMonths(1));
+    for (int i = 0; i < compteIds.size(); i++) {
+      query.setParameter(4 + i, compteIds.get(i));
+    }
+
+    return query.executeUpdate();
+  }
+
+  private static void validatePeriodStart(LocalDateTime periodStart) {
+    if (periodStart == null) {
+      throw new IllegalArgumentException("Period start cannot be null");
+    }
+    if (periodStart.getDayOfMonth() != 1 || !periodStart.toLocalTime().equals(LocalTime.MIDNIGHT)) {
+      throw new IllegalArgumentException("Period start must be the first day of a month at midnight");
+    }
+  }
+
+  private static String placeholders(int firstPosition, int count) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append('?').append(firstPosition + i);
+    }
+    return sb.toString();
+  }
+}
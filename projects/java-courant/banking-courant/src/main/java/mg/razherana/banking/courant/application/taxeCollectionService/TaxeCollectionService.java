@@ -0,0 +1,117 @@
+package mg.razherana.banking.courant.application.taxeCollectionService;
+
+import mg.razherana.banking.courant.dto.TaxeCollectionFailureDTO;
+import mg.razherana.banking.courant.dto.TaxeCollectionReportDTO;
+import java.util.List;
+
+/**
+ * Service collecting the taxes owed by every current account in bulk.
+ *
+ * <p>
+ * A run walks the accounts in ascending ID order by chunks. Each chunk locks
+ * its accounts, computes the taxes owed with one grouped query, inserts the
+ * TAXE transactions with a JDBC batch and commits them together with the run
+ * progress. Accounts whose balance does not cover the taxes owed are recorded
+ * as failures and left untouched.
+ * </p>
+ *
+ * <p>
+ * Runs are started by an administrator (and executed asynchronously) or by a
+ * month-end timer when the {@code banking.tax-collection.scheduled} system
+ * property is true. A failed or interrupted run resumes after its last
+ * committed chunk.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.entities.TaxeCollectionRun
+ * @see mg.razherana.banking.courant.application.compteCourantService.CompteCourantService#getTaxStatuses
+ */
+public interface TaxeCollectionService {
+  /**
+   * Creates a new run computing taxes at the current date. Start and resume
+   * requests are serialized by a database lock; a RUNNING run without
+   * progress for {@code banking.tax-collection.stale-hours} (6 by default) is
+   * marked as failed instead of blocking the new run.
+   *
+   * @return the report of the new run
+   * @throws IllegalArgumentException if another run is in progress
+   */
+  public TaxeCollectionReportDTO start();
+
+  /**
+   * Marks a failed or interrupted run as running again so it can be
+   * executed from its checkpoint. A run still RUNNING can only be resumed
+   * once it is stale.
+   *
+   * @param runId the run ID
+   * @return the report of the run
+   * @throws IllegalArgumentException if the run does not exist, is completed,
+   *                                  or if it or another run is in progress
+   */
+  public TaxeCollectionReportDTO resume(Integer runId);
+
+  /**
+   * Creates a run ({@code runId} null) or reopens one in a single
+   * transaction. Internal: called by {@link #start()} and
+   * {@link #resume(Integer)} under the tax collection lock.
+   *
+   * @param runId the run to reopen, or null for a new run
+   * @return the report of the run
+   */
+  public TaxeCollectionReportDTO openRun(Integer runId);
+
+  /**
+   * Executes a run in the background.
+   *
+   * @param runId the run ID
+   */
+  public void executeAsync(Integer runId);
+
+  /**
+   * Executes a run from its checkpoint until every account is processed or a
+   * chunk fails.
+   *
+   * @param runId the run ID
+   * @return the final report of the run
+   */
+  public TaxeCollectionReportDTO execute(Integer runId);
+
+  /**
+   * Collects the taxes of the next chunk of accounts after the checkpoint of
+   * the locked run, in a single transaction, and records the progress of the
+   * run.
+   *
+   * @param runId the run ID
+   * @return the number of accounts processed, 0 once every account is
+   */
+  public int collectChunk(Integer runId);
+
+  /**
+   * Records the end of a run.
+   *
+   * @param runId  the run ID
+   * @param status COMPLETED or FAILED
+   * @param error  the error of a failed run, or null
+   */
+  public void finish(Integer runId, String status, String error);
+
+  /**
+   * Gets the progress of a run.
+   *
+   * @param runId the run ID
+   * @return the report, or null if the run does not exist
+   */
+  public TaxeCollectionReportDTO getReport(Integer runId);
+
+  /**
+   * Lists the accounts of a run that could not pay, ordered by account ID.
+   *
+   * @param runId         the run ID
+   * @param afterCompteId only return accounts with a greater ID, or null
+   * @param limit         maximum number of failures (default 100, max 1000)
+   * @return the failures
+   */
+  public List<TaxeCollectionFailureDTO> getFailures(Integer runId, Integer afterCompteId, Integer limit);
+}
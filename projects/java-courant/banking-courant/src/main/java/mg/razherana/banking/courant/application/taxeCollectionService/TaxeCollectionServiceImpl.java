@@ -0,0 +1,401 @@
+package mg.razherana.banking.courant.application.taxeCollectionService;
+
+import jakarta.annotation.Resource;
+import jakarta.ejb.Asynchronous;
+import jakarta.ejb.EJB;
+import jakarta.ejb.EJBException;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.SessionContext;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import mg.razherana.banking.courant.application.compteCourantService.CompteCourantService;
+import mg.razherana.banking.courant.application.soldeService.SoldeService;
+import mg.razherana.banking.courant.dto.TaxStatusDTO;
+import mg.razherana.banking.courant.dto.TaxeCollectionFailureDTO;
+import mg.razherana.banking.courant.dto.TaxeCollectionReportDTO;
+import mg.razherana.banking.courant.entities.CompteCourant;
+import mg.razherana.banking.courant.entities.TaxeCollectionFailure;
+import mg.razherana.banking.courant.entities.TaxeCollectionRun;
+import mg.razherana.banking.courant.entities.TransactionCourant.SpecialAction;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of {@link TaxeCollectionService} with per-chunk commits.
+ *
+ * <p>
+ * Chunk accounts are locked in ascending ID order, like transfers, so a run
+ * never deadlocks with concurrent withdrawals and cannot collect a tax that a
+ * client is paying at the same time.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.entities.TaxeCollectionRun
+ */
+@Stateless
+public class TaxeCollectionServiceImpl implements TaxeCollectionService {
+  private static final Logger LOG = Logger.getLogger(TaxeCollectionService.class.getName());
+
+  // Number of accounts collected per transaction (and per JDBC batch)
+  private static final int CHUNK_SIZE = 1000;
+
+  private static final String LOCK_NAME = "banking_courant_tax_collection";
+  private static final int LOCK_TIMEOUT_SECONDS = 10;
+
+  private static final int DEFAULT_FAILURES_LIMIT = 100;
+  private static final int MAX_FAILURES_LIMIT = 1000;
+
+  @PersistenceContext(unitName = "userPU")
+  private EntityManager entityManager;
+
+  @EJB
+  private CompteCourantService compteCourantService;
+
+  @EJB
+  private SoldeService soldeService;
+
+  @Resource
+  private SessionContext sessionContext;
+
+  @Resource(name = "mysqlDatabase")
+  private DataSource dataSource;
+
+  /**
+   * Month-end collection, enabled with {@code -Dbanking.tax-collection.scheduled=true}.
+   */
+  @Schedule(dayOfMonth = "Last", hour = "22", minute = "0", persistent = false)
+  @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+  public void scheduledCollection() {
+    if (!Boolean.getBoolean("banking.tax-collection.scheduled")) {
+      return;
+    }
+    try {
+      TaxeCollectionService self = sessionContext.getBusinessObject(TaxeCollectionService.class);
+      self.execute(self.start().getRunId());
+    } catch (Exception e) {
+      LOG.severe("Scheduled tax collection failed: " + e.getMessage());
+    }
+  }
+
+  @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+  @Override
+  public TaxeCollectionReportDTO start() {
+    return openRunLocked(null);
+  }
+
+  @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+  @Override
+  public TaxeCollectionReportDTO resume(Integer runId) {
+    if (runId == null) {
+      throw new IllegalArgumentException("Run ID cannot be null");
+    }
+    return openRunLocked(runId);
+  }
+
+  /**
+   * Opens a run while holding the tax collection lock, released only once the
+   * run is committed, so concurrent start and resume requests are serialized
+   * and see each other's RUNNING run.
+   */
+  private TaxeCollectionReportDTO openRunLocked(Integer runId) {
+    TaxeCollectionService self = sessionContext.getBusinessObject(TaxeCollectionService.class);
+    try (Connection connection = dataSource.getConnection()) {
+      lock(connection);
+      try {
+        return self.openRun(runId);
+      } catch (EJBException e) {
+        // Keep a rejected start or resume a client error for the caller
+        if (e.getCausedByException() instanceof IllegalArgumentException) {
+          throw (IllegalArgumentException) e.getCausedByException();
+        }
+        throw e;
+      } finally {
+        unlock(connection);
+      }
+    } catch (SQLException e) {
+      throw new EJBException("Failed to lock tax collection runs", e);
+    }
+  }
+
+  @TransactionAttribute(TransactionAttributeType.REQUIRED)
+  @Override
+  public TaxeCollectionReportDTO openRun(Integer runId) {
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime staleBefore = now.minusHours(Long.getLong("banking.tax-collection.stale-hours", 6));
+
+    TaxeCollectionRun run = null;
+    if (runId != null) {
+      run = entityManager.find(TaxeCollectionRun.class, runId, LockModeType.PESSIMISTIC_WRITE);
+      if (run == null) {
+        throw new IllegalArgumentException("Tax collection run not found: " + runId);
+      }
+      if (TaxeCollectionRun.COMPLETED.equals(run.getStatus())) {
+        throw new IllegalArgumentException("Tax collection run " + runId + " is already completed");
+      }
+    }
+
+    // A RUNNING run without progress for stale-hours lost its executor
+    List<TaxeCollectionRun> running = entityManager.createQuery(
+        "SELECT r FROM TaxeCollectionRun r WHERE r.status = :status ORDER BY r.id", TaxeCollectionRun.class)
+        .setParameter("status", TaxeCollectionRun.RUNNING)
+        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+        .getResultList();
+    for (TaxeCollectionRun other : running) {
+      if (other.getUpdatedAt().isAfter(staleBefore)) {
+        throw new IllegalArgumentException(other.getId().equals(runId)
+            ? "Tax collection run " + runId + " is already running"
+            : "A tax collection run is already in progress");
+      }
+      if (!other.getId().equals(runId)) {
+        LOG.warning("Tax collection run " + other.getId() + " is stale since " + other.getUpdatedAt()
+            + ", marking it as failed");
+        other.setStatus(TaxeCollectionRun.FAILED);
+        other.setError("Stale: no progress since " + other.getUpdatedAt());
+        other.setUpdatedAt(now);
+        other.setFinishedAt(now);
+      }
+    }
+
+    if (run == null) {
+      run = new TaxeCollectionRun(now);
+      entityManager.persist(run);
+      entityManager.flush();
+      LOG.info("Tax collection run " + run.getId() + " started at " + run.getActionDateTime());
+      return new TaxeCollectionReportDTO(run);
+    }
+
+    run.setStatus(TaxeCollectionRun.RUNNING);
+    run.setError(null);
+    run.setFinishedAt(null);
+    run.setUpdatedAt(now);
+    entityManager.flush();
+    LOG.info("Tax collection run " + runId + " resumed after compte " + run.getLastCompteId());
+    return new TaxeCollectionReportDTO(run);
+  }
+
+  @Asynchronous
+  @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+  @Override
+  public void executeAsync(Integer runId) {
+    try {
+      execute(runId);
+    } catch (Exception e) {
+      LOG.severe("Tax collection run " + runId + " failed: " + e.getMessage());
+    }
+  }
+
+  @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+  @Override
+  public TaxeCollectionReportDTO execute(Integer runId) {
+    TaxeCollectionRun run = findRun(runId);
+    if (!TaxeCollectionRun.RUNNING.equals(run.getStatus())) {
+      throw new IllegalArgumentException("Tax collection run " + runId + " is not running");
+    }
+
+    TaxeCollectionService self = sessionContext.getBusinessObject(TaxeCollectionService.class);
+    while (true) {
+      // Each chunk commits its taxes with the run checkpoint, and starts
+      // from the checkpoint it locked, so two executors of the same run never
+      // collect the same chunk
+      try {
+        if (self.collectChunk(runId) == 0) {
+          break;
+        }
+      } catch (Exception e) {
+        LOG.severe("Tax collection run " + runId + " failed: " + e.getMessage());
+        self.finish(runId, TaxeCollectionRun.FAILED, e.getMessage());
+        return getReport(runId);
+      }
+    }
+
+    self.finish(runId, TaxeCollectionRun.COMPLETED, null);
+    TaxeCollectionReportDTO report = getReport(runId);
+    LOG.info("Tax collection run " + runId + " completed: " + report.getProcessed() + " comptes, "
+        + report.getCollected() + " collected, " + report.getInsufficient() + " insufficient, "
+        + String.format("%.1f", report.getComptesPerSecond()) + " comptes/s");
+    return report;
+  }
+
+  @TransactionAttribute(TransactionAttributeType.REQUIRED)
+  @Override
+  public int collectChunk(Integer runId) {
+    long start = System.nanoTime();
+    TaxeCollectionRun run = entityManager.find(TaxeCollectionRun.class, runId, LockModeType.PESSIMISTIC_WRITE);
+    if (run == null || !TaxeCollectionRun.RUNNING.equals(run.getStatus())) {
+      throw new IllegalArgumentException("Tax collection run " + runId + " is not running");
+    }
+
+    List<Integer> compteIds = entityManager.createQuery(
+        "SELECT c.id FROM CompteCourant c WHERE c.id > :lastId ORDER BY c.id", Integer.class)
+        .setParameter("lastId", run.getLastCompteId())
+        .setMaxResults(CHUNK_SIZE)
+        .getResultList();
+    if (compteIds.isEmpty()) {
+      return 0;
+    }
+    LocalDateTime actionDateTime = run.getActionDateTime();
+
+    // Lock the chunk in ascending ID order, as transfers do
+    List<CompteCourant> comptes = entityManager.createQuery(
+        "SELECT c FROM CompteCourant c WHERE c.id IN :ids ORDER BY c.id", CompteCourant.class)
+        .setParameter("ids", compteIds)
+        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+        .getResultList();
+
+    Map<Integer, TaxStatusDTO> statuses = compteCourantService.getTaxStatuses(comptes, actionDateTime);
+    Map<Integer, BigDecimal> soldes = compteCourantService.calculateSoldes(comptes);
+
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    Map<Integer, BigDecimal> deltas = new HashMap<>();
+    int collected = 0;
+    int insufficient = 0;
+    BigDecimal montantCollected = BigDecimal.ZERO;
+
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement taxes = connection.prepareStatement(
+            "INSERT INTO transaction_courants (special_action, sender_id, receiver_id, montant, date)"
+                + " VALUES (?, ?, NULL, ?, ?)");
+        PreparedStatement failures = connection.prepareStatement(
+            "INSERT INTO taxe_collection_failures (run_id, compte_id, montant_du, solde, created_at)"
+                + " VALUES (?, ?, ?, ?, ?)")) {
+      for (CompteCourant compte : comptes) {
+        TaxStatusDTO status = statuses.get(compte.getId());
+        if (status == null || status.getIsPaid()) {
+          continue;
+        }
+
+        BigDecimal montant = status.getTaxToPay();
+        BigDecimal solde = soldes.getOrDefault(compte.getId(), BigDecimal.ZERO);
+        if (solde.compareTo(montant) < 0) {
+          failures.setInt(1, runId);
+          failures.setInt(2, compte.getId());
+          failures.setBigDecimal(3, montant);
+          failures.setBigDecimal(4, solde);
+          failures.setTimestamp(5, now);
+          failures.addBatch();
+          insufficient++;
+          continue;
+        }
+
+        taxes.setString(1, SpecialAction.TAXE.getDatabaseName());
+        taxes.setInt(2, compte.getId());
+        taxes.setBigDecimal(3, montant);
+        taxes.setTimestamp(4, now);
+        taxes.addBatch();
+        deltas.put(compte.getId(), montant.negate());
+        montantCollected = montantCollected.add(montant);
+        collected++;
+      }
+
+      if (collected > 0) {
+        taxes.executeBatch();
+      }
+      if (insufficient > 0) {
+        failures.executeBatch();
+      }
+    } catch (SQLException e) {
+      throw new EJBException("Failed to insert tax collection chunk", e);
+    }
+
+    soldeService.applyDeltas(deltas);
+
+    run.setLastCompteId(compteIds.get(compteIds.size() - 1));
+    run.setProcessed(run.getProcessed() + comptes.size());
+    run.setCollected(run.getCollected() + collected);
+    run.setInsufficient(run.getInsufficient() + insufficient);
+    run.setMontantCollected(run.getMontantCollected().add(montantCollected));
+    run.setElapsedMs(run.getElapsedMs() + (System.nanoTime() - start) / 1_000_000);
+    run.setUpdatedAt(LocalDateTime.now());
+    entityManager.flush();
+    entityManager.clear();
+    return compteIds.size();
+  }
+
+  @TransactionAttribute(TransactionAttributeType.REQUIRED)
+  @Override
+  public void finish(Integer runId, String status, String error) {
+    TaxeCollectionRun run = findRun(runId);
+    run.setStatus(status);
+    run.setError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+    run.setUpdatedAt(LocalDateTime.now());
+    run.setFinishedAt(run.getUpdatedAt());
+  }
+
+  @Override
+  public TaxeCollectionReportDTO getReport(Integer runId) {
+    if (runId == null) {
+      throw new IllegalArgumentException("Run ID cannot be null");
+    }
+    TaxeCollectionRun run = entityManager.find(TaxeCollectionRun.class, runId);
+    return run != null ? new TaxeCollectionReportDTO(run) : null;
+  }
+
+  @Override
+  public List<TaxeCollectionFailureDTO> getFailures(Integer runId, Integer afterCompteId, Integer limit) {
+    findRun(runId);
+    int pageSize = limit != null ? limit : DEFAULT_FAILURES_LIMIT;
+    if (pageSize < 1 || pageSize > MAX_FAILURES_LIMIT) {
+      throw new IllegalArgumentException("Limit must be between 1 and " + MAX_FAILURES_LIMIT);
+    }
+
+    return entityManager.createQuery(
+        "SELECT f FROM TaxeCollectionFailure f WHERE f.runId = :runId AND f.compteId > :afterCompteId"
+            + " ORDER BY f.compteId",
+        TaxeCollectionFailure.class)
+        .setParameter("runId", runId)
+        .setParameter("afterCompteId", afterCompteId != null ? afterCompteId : 0)
+        .setMaxResults(pageSize)
+        .getResultList()
+        .stream()
+        .map(TaxeCollectionFailureDTO::new)
+        .collect(Collectors.toList());
+  }
+
+  private static void lock(Connection connection) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+      statement.setString(1, LOCK_NAME);
+      statement.setInt(2, LOCK_TIMEOUT_SECONDS);
+      try (ResultSet resultSet = statement.executeQuery()) {
+        if (!resultSet.next() || resultSet.getInt(1) != 1) {
+          throw new IllegalArgumentException("Another tax collection run is being started or resumed");
+        }
+      }
+    }
+  }
+
+  private static void unlock(Connection connection) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+      statement.setString(1, LOCK_NAME);
+      statement.executeQuery().close();
+    }
+  }
+
+  private TaxeCollectionRun findRun(Integer runId) {
+    if (runId == null) {
+      throw new IllegalArgumentException("Run ID cannot be null");
+    }
+    TaxeCollectionRun run = entityManager.find(TaxeCollectionRun.class, runId);
+    if (run == null) {
+      throw new IllegalArgumentException("Tax collection run not found: " + runId);
+    }
+    return run;
+  }
+}
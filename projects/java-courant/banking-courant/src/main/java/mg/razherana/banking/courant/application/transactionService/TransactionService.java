@@ -1,26 +1,79 @@
 package mg.razherana.banking.courant.application.transactionService;
 
+import mg.razherana.banking.courant.dto.DepotBatchItemDTO;
+import mg.razherana.banking.courant.dto.DepotBatchResultDTO;
+import mg.razherana.banking.courant.dto.TransactionPageDTO;
+import mg.razherana.banking.courant.dto.requests.transactions.DepotRequest;
+import mg.razherana.banking.courant.dto.requests.transactions.TransactionFilter;
 import mg.razherana.banking.courant.entities.CompteCourant;
+import mg.razherana.banking.courant.entities.IdempotencyKey;
 import mg.razherana.banking.courant.entities.TransactionCourant;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
 public interface TransactionService {
-  public TransactionCourant depot(CompteCourant compte, BigDecimal montant, String description);
+  /**
+   * Deposits an amount. When {@code idempotencyKey} is not null it is
+   * recorded in the same transaction, before anything is written.
+   */
+  public TransactionCourant depot(CompteCourant compte, BigDecimal montant, String description,
+      IdempotencyKey idempotencyKey);
 
+  /**
+   * Deposits a list of amounts. Every request is validated up front; valid
+   * deposits are inserted with JDBC batching, a few thousand per transaction.
+   * Returns one result per request, in submission order.
+   */
+  public DepotBatchResultDTO depotBatch(List<DepotRequest> requests);
+
+  /**
+   * Inserts already validated deposits in a single transaction and marks them
+   * as created. Internal: only exposed so {@link #depotBatch} can run each
+   * chunk in its own transaction; it performs no validation and rejects any
+   * call made outside of {@link #depotBatch}.
+   *
+   * @throws IllegalStateException if not called by {@link #depotBatch}
+   */
+  public void depotBatchChunk(List<DepotBatchItemDTO> items);
+
+  /**
+   * Withdraws an amount after the tax and balance checks. When
+   * {@code idempotencyKey} is not null it is recorded in the same transaction,
+   * before the checks.
+   */
   public TransactionCourant retrait(CompteCourant compte, BigDecimal montant, String description,
-      LocalDateTime actionDateTime);
+      LocalDateTime actionDateTime, IdempotencyKey idempotencyKey);
 
   public TransactionCourant payTax(CompteCourant compte, String description,
       LocalDateTime actionDateTime);
 
+  /**
+   * Transfers an amount after the tax and balance checks of the source
+   * compte. When {@code idempotencyKey} is not null it is recorded in the same
+   * transaction, before the checks.
+   */
   public void transfert(CompteCourant compteSource, CompteCourant compteDestination,
-      BigDecimal montant, String description, LocalDateTime actionDateTime);
+      BigDecimal montant, String description, LocalDateTime actionDateTime, IdempotencyKey idempotencyKey);
 
-  public List<TransactionCourant> getTransactionsByCompte(CompteCourant compte);
+  /**
+   * Lists transactions matching the filter, most recent first, one page at a
+   * time (keyset pagination on date then ID).
+   * Default page size is 50, maximum 500. Once the live partitions are
+   * exhausted the listing carries on into the archived months.
+   */
+  public TransactionPageDTO searchTransactions(TransactionFilter filter);
 
-  public List<TransactionCourant> getAllTransactions();
+  /**
+   * Streams every transaction of a compte dated in [from, to), oldest first,
+   * to {@code output} as NDJSON ("ndjson") or CSV ("csv") through a
+   * forward-only cursor, so memory use does not depend on the row count.
+   * Archived months are included. Returns the number of rows written.
+   */
+  public long exportTransactions(Integer compteId, LocalDateTime from, LocalDateTime to, String format,
+      OutputStream output) throws IOException;
 
   public TransactionCourant findById(Integer id);
 }
@@ -1,35 +1,120 @@
 package mg.razherana.banking.courant.application.transactionService;
 
+import jakarta.annotation.Resource;
 import jakarta.ejb.EJB;
+import jakarta.ejb.EJBException;
+import jakarta.ejb.SessionContext;
 import jakarta.ejb.Stateless;
 import jakarta.ejb.TransactionAttribute;
 import jakarta.ejb.TransactionAttributeType;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
 import mg.razherana.banking.courant.application.compteCourantService.CompteCourantService;
+import mg.razherana.banking.courant.application.idempotencyService.IdempotencyService;
+import mg.razherana.banking.courant.application.ledgerArchiveService.LedgerArchiveService;
+import mg.razherana.banking.courant.application.soldeService.SoldeService;
+import mg.razherana.banking.courant.dto.DepotBatchItemDTO;
+import mg.razherana.banking.courant.dto.DepotBatchResultDTO;
+import mg.razherana.banking.courant.dto.TaxStatusDTO;
+import mg.razherana.banking.courant.dto.TransactionCourantDTO;
+import mg.razherana.banking.courant.dto.TransactionPageDTO;
+import mg.razherana.banking.courant.dto.requests.transactions.DepotRequest;
+import mg.razherana.banking.courant.dto.requests.transactions.TransactionFilter;
 import mg.razherana.banking.courant.entities.CompteCourant;
+import mg.razherana.banking.courant.entities.IdempotencyKey;
 import mg.razherana.banking.courant.entities.TransactionCourant;
 import mg.razherana.banking.courant.entities.TransactionCourant.SpecialAction;
 
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.logging.Logger;
 
 @Stateless
 public class TransactionServiceImpl implements TransactionService {
   private static final Logger LOG = Logger.getLogger(TransactionService.class.getName());
 
+  // Maximum number of depots accepted by depotBatch
+  private static final int MAX_BATCH_SIZE = 100_000;
+
+  // Number of depots inserted per transaction
+  private static final int BATCH_CHUNK_SIZE = 5_000;
+
+  // Number of rows sent per JDBC batch
+  private static final int JDBC_BATCH_SIZE = 1_000;
+
+  // Set while depotBatch runs on this thread: depotBatchChunk is only exposed
+  // on the business interface for the per-chunk transactions
+  private static final ThreadLocal<Boolean> IN_DEPOT_BATCH = new ThreadLocal<>();
+
+  // Page sizes of transaction listings
+  private static final int DEFAULT_PAGE_SIZE = 50;
+  private static final int MAX_PAGE_SIZE = 500;
+
+  // Maximum number of IDs bound in a single IN list
+  private static final int IN_LIST_SIZE = 1000;
+
   @PersistenceContext(unitName = "userPU")
   private EntityManager entityManager;
 
   @EJB
   private CompteCourantService compteCourantService;
 
+  @EJB
+  private SoldeService soldeService;
+
+  @EJB
+  private LedgerArchiveService ledgerArchiveService;
+
+  @EJB
+  private IdempotencyService idempotencyService;
+
+  @Resource
+  private SessionContext sessionContext;
+
+  @Resource(name = "mysqlDatabase")
+  private DataSource dataSource;
+
+  /**
+   * Locks the compte row (SELECT ... FOR UPDATE) until the end of the current
+   * transaction. Every balance-checked write locks its comptes before reading
+   * the balance, so concurrent withdrawals on the same compte are serialized
+   * and cannot both pass the "Solde insuffisant" check.
+   */
+  private CompteCourant lock(CompteCourant compte) {
+    CompteCourant locked = entityManager.find(CompteCourant.class, compte.getId(), LockModeType.PESSIMISTIC_WRITE);
+    if (locked == null) {
+      throw new IllegalArgumentException("Compte not found: " + compte.getId());
+    }
+    return locked;
+  }
+
   private void checkTaxesAndThrow(CompteCourant compte, LocalDateTime actionDateTime) {
-    if (!compteCourantService.isTaxPaid(compte, actionDateTime)) {
-      var amount = compteCourantService.getTaxToPay(compte, actionDateTime);
+    TaxStatusDTO taxStatus = compteCourantService.getTaxStatus(compte, actionDateTime);
+    if (!taxStatus.getIsPaid()) {
+      var amount = taxStatus.getTaxToPay();
 
       LOG.warning("Compte " + compte.getId() + " has unpaid taxes, amount: " + amount);
 
@@ -40,13 +125,18 @@ public class TransactionServiceImpl implements TransactionService {
 
   @TransactionAttribute(TransactionAttributeType.REQUIRED)
   @Override
-  public TransactionCourant depot(CompteCourant compte, BigDecimal montant, String description) {
+  public TransactionCourant depot(CompteCourant compte, BigDecimal montant, String description,
+      IdempotencyKey idempotencyKey) {
     LOG.info("Processing depot of " + montant + " for compte " + compte.getId());
 
     if (montant == null || montant.compareTo(BigDecimal.ZERO) <= 0) {
       throw new IllegalArgumentException("Montant must be positive");
     }
 
+    if (idempotencyKey != null) {
+      idempotencyService.record(idempotencyKey);
+    }
+
     TransactionCourant transaction = new TransactionCourant();
     transaction.setSender(null); // System/external source
     transaction.setSpecialAction(SpecialAction.DEPOSIT.getDatabaseName());
@@ -56,20 +146,159 @@ public class TransactionServiceImpl implements TransactionService {
 
     entityManager.persist(transaction);
     entityManager.flush();
+    soldeService.apply(transaction);
+    if (idempotencyKey != null) {
+      idempotencyKey.setTransactionId(transaction.getId());
+    }
     LOG.info("Depot processed successfully");
     return transaction;
   }
 
+  @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+  @Override
+  public DepotBatchResultDTO depotBatch(List<DepotRequest> requests) {
+    if (requests == null || requests.isEmpty()) {
+      throw new IllegalArgumentException("Depot list cannot be empty");
+    }
+    if (requests.size() > MAX_BATCH_SIZE) {
+      throw new IllegalArgumentException("Depot list cannot exceed " + MAX_BATCH_SIZE + " items");
+    }
+
+    LOG.info("Processing batch of " + requests.size() + " depots");
+    List<DepotBatchItemDTO> items = new ArrayList<>(requests.size());
+    Set<Integer> compteIds = new HashSet<>();
+    for (int i = 0; i < requests.size(); i++) {
+      DepotRequest request = requests.get(i);
+      DepotBatchItemDTO item = request == null ? new DepotBatchItemDTO(i, null, null)
+          : new DepotBatchItemDTO(i, request.getCompteId(), request.getMontant());
+      items.add(item);
+
+      if (item.getCompteId() == null || item.getMontant() == null) {
+        item.reject("Compte ID and montant are required");
+      } else if (item.getMontant().compareTo(BigDecimal.ZERO) <= 0) {
+        item.reject("Montant must be positive");
+      } else {
+        compteIds.add(item.getCompteId());
+      }
+    }
+
+    // Existence of every referenced compte, one IN query per thousand IDs
+    Set<Integer> existing = new HashSet<>();
+    List<Integer> ids = new ArrayList<>(compteIds);
+    for (int i = 0; i < ids.size(); i += IN_LIST_SIZE) {
+      existing.addAll(entityManager.createQuery(
+          "SELECT c.id FROM CompteCourant c WHERE c.id IN :ids", Integer.class)
+          .setParameter("ids", ids.subList(i, Math.min(i + IN_LIST_SIZE, ids.size())))
+          .getResultList());
+    }
+
+    List<DepotBatchItemDTO> valid = new ArrayList<>();
+    for (DepotBatchItemDTO item : items) {
+      if (item.getStatus() != null) {
+        continue;
+      }
+      if (!existing.contains(item.getCompteId())) {
+        item.reject("Compte not found");
+      } else {
+        valid.add(item);
+      }
+    }
+
+    // Each chunk runs in its own transaction through the business interface;
+    // a failing chunk does not roll back the chunks already committed
+    TransactionService self = sessionContext.getBusinessObject(TransactionService.class);
+    IN_DEPOT_BATCH.set(Boolean.TRUE);
+    try {
+      for (int i = 0; i < valid.size(); i += BATCH_CHUNK_SIZE) {
+        List<DepotBatchItemDTO> chunk = valid.subList(i, Math.min(i + BATCH_CHUNK_SIZE, valid.size()));
+        try {
+          self.depotBatchChunk(chunk);
+        } catch (EJBException e) {
+          LOG.severe("Depot batch chunk of " + chunk.size() + " items failed: " + e.getMessage());
+          for (DepotBatchItemDTO item : chunk) {
+            item.setStatus(DepotBatchItemDTO.FAILED);
+            item.setTransactionId(null);
+            item.setDate(null);
+            item.setError("Internal server error");
+          }
+        }
+      }
+    } finally {
+      IN_DEPOT_BATCH.remove();
+    }
+
+    DepotBatchResultDTO result = new DepotBatchResultDTO(items);
+    LOG.info("Depot batch processed: " + result.getCreated() + " created, " + result.getRejected()
+        + " rejected, " + result.getFailed() + " failed");
+    return result;
+  }
+
+  @TransactionAttribute(TransactionAttributeType.REQUIRED)
+  @Override
+  public void depotBatchChunk(List<DepotBatchItemDTO> items) {
+    if (!Boolean.TRUE.equals(IN_DEPOT_BATCH.get())) {
+      throw new IllegalStateException("depotBatchChunk can only be called by depotBatch");
+    }
+    if (items == null || items.isEmpty()) {
+      return;
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    Map<Integer, BigDecimal> deltas = new HashMap<>();
+
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement(
+            "INSERT INTO transaction_courants (special_action, sender_id, receiver_id, montant, date)"
+                + " VALUES (?, NULL, ?, ?, ?)",
+            Statement.RETURN_GENERATED_KEYS)) {
+      for (int i = 0; i < items.size(); i += JDBC_BATCH_SIZE) {
+        List<DepotBatchItemDTO> batch = items.subList(i, Math.min(i + JDBC_BATCH_SIZE, items.size()));
+        for (DepotBatchItemDTO item : batch) {
+          statement.setString(1, SpecialAction.DEPOSIT.getDatabaseName());
+          statement.setInt(2, item.getCompteId());
+          statement.setBigDecimal(3, item.getMontant());
+          statement.setTimestamp(4, Timestamp.valueOf(now));
+          statement.addBatch();
+          deltas.merge(item.getCompteId(), item.getMontant(), BigDecimal::add);
+        }
+        statement.executeBatch();
+
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+          for (DepotBatchItemDTO item : batch) {
+            if (!keys.next()) {
+              throw new EJBException("Missing generated key for depot batch item " + item.getIndex());
+            }
+            item.setStatus(DepotBatchItemDTO.CREATED);
+            item.setTransactionId(keys.getInt(1));
+            item.setDate(now);
+          }
+        }
+      }
+    } catch (SQLException e) {
+      throw new EJBException("Failed to insert depot batch", e);
+    }
+
+    soldeService.applyDeltas(deltas);
+  }
+
   @TransactionAttribute(TransactionAttributeType.REQUIRED)
   @Override
   public TransactionCourant retrait(CompteCourant compte, BigDecimal montant, String description,
-      LocalDateTime actionDateTime) {
+      LocalDateTime actionDateTime, IdempotencyKey idempotencyKey) {
     LOG.info("Processing retrait of " + montant + " for compte " + compte.getId());
 
     if (montant == null || montant.compareTo(BigDecimal.ZERO) <= 0) {
       throw new IllegalArgumentException("Montant must be positive");
     }
 
+    // Recorded before the compte lock so that a concurrent retry fails
+    // without waiting for the lock
+    if (idempotencyKey != null) {
+      idempotencyService.record(idempotencyKey);
+    }
+
+    compte = lock(compte);
+
     // Check if compte has payed taxes for the current month
     checkTaxesAndThrow(compte, actionDateTime);
 
@@ -89,6 +318,10 @@ public class TransactionServiceImpl implements TransactionService {
 
     entityManager.persist(transaction);
     entityManager.flush();
+    soldeService.apply(transaction);
+    if (idempotencyKey != null) {
+      idempotencyKey.setTransactionId(transaction.getId());
+    }
     LOG.info("Retrait processed successfully");
     return transaction;
   }
@@ -97,11 +330,15 @@ public class TransactionServiceImpl implements TransactionService {
   @Override
   public TransactionCourant payTax(CompteCourant compte, String description,
       LocalDateTime actionDateTime) {
-    BigDecimal montant = compteCourantService.getTaxToPay(compte, actionDateTime);
+    // Locked first so that concurrent payments cannot pay the same month twice
+    compte = lock(compte);
+
+    TaxStatusDTO taxStatus = compteCourantService.getTaxStatus(compte, actionDateTime);
+    BigDecimal montant = taxStatus.getTaxToPay();
 
     LOG.info("Processing tax payment of " + montant + " for compte " + compte.getId());
 
-    if (montant.equals(BigDecimal.ZERO)) {
+    if (taxStatus.getIsPaid()) {
       LOG.info("No tax to pay for compte " + compte.getId());
       return null; // No tax to pay
     }
@@ -126,6 +363,7 @@ public class TransactionServiceImpl implements TransactionService {
 
     entityManager.persist(transaction);
     entityManager.flush();
+    soldeService.apply(transaction);
     LOG.info("Tax payment processed successfully");
     return transaction;
   }
@@ -133,7 +371,7 @@ public class TransactionServiceImpl implements TransactionService {
   @TransactionAttribute(TransactionAttributeType.REQUIRED)
   @Override
   public void transfert(CompteCourant compteSource, CompteCourant compteDestination,
-      BigDecimal montant, String description, LocalDateTime actionDateTime) {
+      BigDecimal montant, String description, LocalDateTime actionDateTime, IdempotencyKey idempotencyKey) {
     LOG.info("Processing transfert of " + montant + " from compte " + compteSource.getId()
         + " to compte " + compteDestination.getId());
 
@@ -144,6 +382,23 @@ public class TransactionServiceImpl implements TransactionService {
       throw new IllegalArgumentException("Montant must be positive");
     }
 
+    if (idempotencyKey != null) {
+      idempotencyService.record(idempotencyKey);
+    }
+
+    // Lock both comptes in ascending ID order so that opposite transferts
+    // between the same comptes cannot deadlock
+    if (compteSource.getId().equals(compteDestination.getId())) {
+      compteSource = lock(compteSource);
+      compteDestination = compteSource;
+    } else if (compteSource.getId() < compteDestination.getId()) {
+      compteSource = lock(compteSource);
+      compteDestination = lock(compteDestination);
+    } else {
+      compteDestination = lock(compteDestination);
+      compteSource = lock(compteSource);
+    }
+
     // Check if source compte has payed taxes for the current month
     checkTaxesAndThrow(compteSource, actionDateTime);
 
@@ -162,28 +417,342 @@ public class TransactionServiceImpl implements TransactionService {
 
     entityManager.persist(transaction);
     entityManager.flush();
+    soldeService.apply(transaction);
+    if (idempotencyKey != null) {
+      idempotencyKey.setTransactionId(transaction.getId());
+    }
     LOG.info("Transfert processed successfully");
   }
 
   @Override
-  public List<TransactionCourant> getTransactionsByCompte(CompteCourant compte) {
-    LOG.info("Getting transactions for compte " + compte.getId());
-    TypedQuery<TransactionCourant> query = entityManager.createQuery(
-        "SELECT t FROM TransactionCourant t WHERE t.sender = :compte OR t.receiver = :compte ORDER BY t.date DESC",
-        TransactionCourant.class);
-    query.setParameter("compte", compte);
+  public TransactionPageDTO searchTransactions(TransactionFilter filter) {
+    if (filter == null) {
+      filter = new TransactionFilter();
+    }
+
+    int limit = filter.getLimit() != null ? filter.getLimit() : DEFAULT_PAGE_SIZE;
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+    }
+    if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().isBefore(filter.getTo())) {
+      throw new IllegalArgumentException("from must be before to");
+    }
+
+    String specialAction = null;
+    boolean transfertOnly = false;
+    if (filter.getSpecialAction() != null && !filter.getSpecialAction().isBlank()) {
+      specialAction = parseSpecialAction(filter.getSpecialAction());
+      transfertOnly = specialAction == null;
+    }
+
+    LocalDateTime cursorDate = null;
+    Integer cursorId = null;
+    if (filter.getCursor() != null && !filter.getCursor().isBlank()) {
+      try {
+        String[] parts = new String(Base64.getUrlDecoder().decode(filter.getCursor()), StandardCharsets.UTF_8)
+            .split("\\|");
+        cursorDate = LocalDateTime.parse(parts[0]);
+        cursorId = Integer.valueOf(parts[1]);
+      } catch (RuntimeException e) {
+        throw new IllegalArgumentException("Invalid cursor");
+      }
+    }
+
+    // Upper bound of the first window: the page starts before it
+    LocalDateTime windowEnd = filter.getTo();
+    if (cursorDate != null) {
+      LocalDateTime cursorMonthEnd = startOfMonth(cursorDate).plusMonths(1);
+      windowEnd = windowEnd == null || cursorMonthEnd.isBefore(windowEnd) ? cursorMonthEnd : windowEnd;
+    }
+
+    // Walk back in month-aligned windows, each query pruned to the partitions
+    // of its window, doubling the window until the page is full or the oldest
+    // live transaction is reached
+    LocalDateTime windowStart = startOfMonth(windowEnd != null ? windowEnd.minusNanos(1) : LocalDateTime.now());
+    LocalDateTime oldest = null;
+    boolean oldestLoaded = false;
+    int months = 1;
+    List<TransactionCourant> transactions = new ArrayList<>();
+    while (true) {
+      boolean last = filter.getFrom() != null && !windowStart.isAfter(filter.getFrom());
+      LocalDateTime lowerBound = last ? filter.getFrom() : windowStart;
+      transactions.addAll(findWindow(filter.getCompteId(), specialAction, transfertOnly, lowerBound, windowEnd,
+          cursorDate, cursorId, limit + 1 - transactions.size()));
+      if (transactions.size() > limit || last) {
+        break;
+      }
+
+      if (!oldestLoaded) {
+        oldest = entityManager.createQuery("SELECT MIN(t.date) FROM TransactionCourant t", LocalDateTime.class)
+            .getSingleResult();
+        oldestLoaded = true;
+      }
+      if (oldest == null || !windowStart.isAfter(oldest)) {
+        break;
+      }
+
+      windowEnd = windowStart;
+      months *= 2;
+      windowStart = windowStart.minusMonths(months);
+    }
+
+    List<TransactionCourantDTO> items = transactions.stream()
+        .map(TransactionCourantDTO::new)
+        .collect(Collectors.toList());
+
+    // Closed months moved to the archive are all older than the live
+    // partitions, so the page carries on into the archive once the live rows
+    // are exhausted, in the same keyset order
+    if (items.size() <= limit) {
+      LocalDateTime horizon = ledgerArchiveService.getArchiveHorizon();
+      if (horizon != null && (filter.getFrom() == null || filter.getFrom().isBefore(horizon))) {
+        LocalDateTime archiveEnd = filter.getTo() == null || horizon.isBefore(filter.getTo())
+            ? horizon
+            : filter.getTo();
+        items.addAll(findArchived(filter.getCompteId(), specialAction, transfertOnly, filter.getFrom(), archiveEnd,
+            cursorDate, cursorId, limit + 1 - items.size()));
+      }
+    }
+
+    // One extra row tells whether a next page exists
+    String nextCursor = null;
+    if (items.size() > limit) {
+      items = new ArrayList<>(items.subList(0, limit));
+      TransactionCourantDTO last = items.get(limit - 1);
+      nextCursor = Base64.getUrlEncoder().withoutPadding()
+          .encodeToString((last.getDate() + "|" + last.getId()).getBytes(StandardCharsets.UTF_8));
+    }
 
-    return query.getResultList();
+    return new TransactionPageDTO(items, nextCursor, limit);
   }
 
+  /**
+   * Archived transactions matching the filter dated in [from, to), most recent
+   * first. A null from leaves the range open towards the past.
+   */
+  private List<TransactionCourantDTO> findArchived(Integer compteId, String specialAction, boolean transfertOnly,
+      LocalDateTime from, LocalDateTime to, LocalDateTime cursorDate, Integer cursorId, int maxResults) {
+    StringBuilder sql = new StringBuilder(
+        "SELECT t.id, t.sender_id, t.receiver_id, t.montant, t.date, t.special_action"
+            + " FROM transaction_courants_archive t WHERE t.date < ?");
+    if (from != null) {
+      sql.append(" AND t.date >= ?");
+    }
+    if (compteId != null) {
+      sql.append(" AND (t.sender_id = ? OR t.receiver_id = ?)");
+    }
+    if (specialAction != null) {
+      sql.append(" AND t.special_action = ?");
+    } else if (transfertOnly) {
+      sql.append(" AND t.special_action IS NULL");
+    }
+    if (cursorDate != null) {
+      sql.append(" AND (t.date < ? OR (t.date = ? AND t.id < ?))");
+    }
+    sql.append(" ORDER BY t.date DESC, t.id DESC LIMIT ?");
+
+    List<TransactionCourantDTO> items = new ArrayList<>();
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+      int position = 1;
+      statement.setTimestamp(position++, Timestamp.valueOf(to));
+      if (from != null) {
+        statement.setTimestamp(position++, Timestamp.valueOf(from));
+      }
+      if (compteId != null) {
+        statement.setInt(position++, compteId);
+        statement.setInt(position++, compteId);
+      }
+      if (specialAction != null) {
+        statement.setString(position++, specialAction);
+      }
+      if (cursorDate != null) {
+        statement.setTimestamp(position++, Timestamp.valueOf(cursorDate));
+        statement.setTimestamp(position++, Timestamp.valueOf(cursorDate));
+        statement.setInt(position++, cursorId);
+      }
+      statement.setInt(position, maxResults);
+
+      try (ResultSet resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          TransactionCourantDTO item = new TransactionCourantDTO();
+          item.setId(resultSet.getInt(1));
+          item.setSenderId(resultSet.getObject(2, Integer.class));
+          item.setReceiverId(resultSet.getObject(3, Integer.class));
+          item.setMontant(resultSet.getBigDecimal(4));
+          item.setDate(resultSet.getTimestamp(5).toLocalDateTime());
+          item.setSpecialAction(resultSet.getString(6));
+          items.add(item);
+        }
+      }
+    } catch (SQLException e) {
+      throw new EJBException("Failed to read archived transactions", e);
+    }
+    return items;
+  }
+
+  /**
+   * Transactions matching the filter dated in [windowStart, windowEnd), most
+   * recent first. A null windowEnd leaves the window open towards the future.
+   */
+  private List<TransactionCourant> findWindow(Integer compteId, String specialAction, boolean transfertOnly,
+      LocalDateTime windowStart, LocalDateTime windowEnd, LocalDateTime cursorDate, Integer cursorId,
+      int maxResults) {
+    StringBuilder jpql = new StringBuilder("SELECT t FROM TransactionCourant t WHERE t.date >= :windowStart");
+    if (windowEnd != null) {
+      jpql.append(" AND t.date < :windowEnd");
+    }
+    if (compteId != null) {
+      jpql.append(" AND (t.sender.id = :compteId OR t.receiver.id = :compteId)");
+    }
+    if (specialAction != null) {
+      jpql.append(" AND t.specialAction = :specialAction");
+    } else if (transfertOnly) {
+      jpql.append(" AND t.specialAction IS NULL");
+    }
+    if (cursorDate != null) {
+      // Seek past the last row of the previous page instead of using OFFSET
+      jpql.append(" AND (t.date < :cursorDate OR (t.date = :cursorDate AND t.id < :cursorId))");
+    }
+    jpql.append(" ORDER BY t.date DESC, t.id DESC");
+
+    TypedQuery<TransactionCourant> query = entityManager.createQuery(jpql.toString(), TransactionCourant.class);
+    query.setParameter("windowStart", windowStart);
+    if (windowEnd != null) {
+      query.setParameter("windowEnd", windowEnd);
+    }
+    if (compteId != null) {
+      query.setParameter("compteId", compteId);
+    }
+    if (specialAction != null) {
+      query.setParameter("specialAction", specialAction);
+    }
+    if (cursorDate != null) {
+      query.setParameter("cursorDate", cursorDate);
+      query.setParameter("cursorId", cursorId);
+    }
+    return query.setMaxResults(maxResults).getResultList();
+  }
+
+  private static LocalDateTime startOfMonth(LocalDateTime dateTime) {
+    return dateTime.toLocalDate().withDayOfMonth(1).atStartOfDay();
+  }
+
+  /**
+   * Maps a specialAction filter value to its database name, or null for
+   * plain transfers.
+   */
+  private static String parseSpecialAction(String value) {
+    if ("transfert".equalsIgnoreCase(value)) {
+      return null;
+    }
+    for (SpecialAction action : SpecialAction.values()) {
+      if (action.getDatabaseName().equalsIgnoreCase(value) || action.name().equalsIgnoreCase(value)) {
+        return action.getDatabaseName();
+      }
+    }
+    throw new IllegalArgumentException("Unknown specialAction: " + value
+        + " (expected deposit, withdrawal, taxe or transfert)");
+  }
+
+  @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
   @Override
-  public List<TransactionCourant> getAllTransactions() {
-    LOG.info("Getting all transactions");
-    TypedQuery<TransactionCourant> query = entityManager.createQuery(
-        "SELECT t FROM TransactionCourant t ORDER BY t.date DESC",
-        TransactionCourant.class);
+  public long exportTransactions(Integer compteId, LocalDateTime from, LocalDateTime to, String format,
+      OutputStream output) throws IOException {
+    if (compteId == null) {
+      throw new IllegalArgumentException("Compte ID cannot be null");
+    }
+    boolean csv = "csv".equalsIgnoreCase(format);
+    if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+      throw new IllegalArgumentException("Unknown export format: " + format + " (expected ndjson or csv)");
+    }
+    if (from != null && to != null && !from.isBefore(to)) {
+      throw new IllegalArgumentException("from must be before to");
+    }
+
+    LOG.info("Exporting transactions of compte " + compteId + " from " + from + " to " + to + " as " + format);
+
+    // Archived months first, then the live partitions: both ranges are
+    // ordered and disjoint, so no sort is needed across them
+    LocalDateTime horizon = ledgerArchiveService.getArchiveHorizon();
 
-    return query.getResultList();
+    // Runs outside of any JTA transaction: a multi-million-row export must not
+    // hit the transaction timeout
+    long rows = 0;
+    Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+    if (csv) {
+      writer.write("id,senderId,receiverId,montant,date,specialAction\n");
+    }
+    try (Connection connection = dataSource.getConnection()) {
+      if (horizon != null && (from == null || from.isBefore(horizon))) {
+        rows += exportRange(connection, "transaction_courants_archive", compteId, from,
+            to == null || horizon.isBefore(to) ? horizon : to, csv, writer);
+      }
+      if (to == null || horizon == null || horizon.isBefore(to)) {
+        rows += exportRange(connection, "transaction_courants", compteId,
+            horizon == null || (from != null && from.isAfter(horizon)) ? from : horizon, to, csv, writer);
+      }
+    } catch (SQLException e) {
+      throw new EJBException("Failed to export transactions of compte " + compteId, e);
+    }
+    writer.flush();
+
+    LOG.info("Exported " + rows + " transactions of compte " + compteId);
+    return rows;
+  }
+
+  /**
+   * Writes the transactions of a compte dated in [from, to) of one ledger
+   * table, oldest first, through a forward-only cursor.
+   */
+  private static long exportRange(Connection connection, String table, Integer compteId, LocalDateTime from,
+      LocalDateTime to, boolean csv, Writer writer) throws SQLException, IOException {
+    String sql = "SELECT t.id, t.sender_id, t.receiver_id, t.montant, t.date, t.special_action"
+        + " FROM " + table + " t WHERE (t.sender_id = ? OR t.receiver_id = ?)"
+        + (from != null ? " AND t.date >= ?" : "")
+        + (to != null ? " AND t.date < ?" : "")
+        + " ORDER BY t.date, t.id";
+
+    long rows = 0;
+    try (PreparedStatement statement = connection.prepareStatement(sql,
+        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+      // MySQL Connector/J streams rows one by one instead of buffering the
+      // whole result set
+      statement.setFetchSize(Integer.MIN_VALUE);
+
+      int position = 1;
+      statement.setInt(position++, compteId);
+      statement.setInt(position++, compteId);
+      if (from != null) {
+        statement.setTimestamp(position++, Timestamp.valueOf(from));
+      }
+      if (to != null) {
+        statement.setTimestamp(position++, Timestamp.valueOf(to));
+      }
+
+      try (ResultSet resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          int id = resultSet.getInt(1);
+          Integer senderId = resultSet.getObject(2, Integer.class);
+          Integer receiverId = resultSet.getObject(3, Integer.class);
+          BigDecimal montant = resultSet.getBigDecimal(4);
+          LocalDateTime date = resultSet.getTimestamp(5).toLocalDateTime();
+          String specialAction = resultSet.getString(6);
+
+          if (csv) {
+            writer.write(id + "," + (senderId != null ? senderId : "") + "," + (receiverId != null ? receiverId : "")
+                + "," + montant.toPlainString() + "," + date + "," + (specialAction != null ? specialAction : "")
+                + "\n");
+          } else {
+            writer.write("{\"id\":" + id + ",\"senderId\":" + senderId + ",\"receiverId\":" + receiverId
+                + ",\"montant\":" + montant.toPlainString() + ",\"date\":\"" + date + "\",\"specialAction\":"
+                + (specialAction != null ? "\"" + specialAction + "\"" : "null") + "}\n");
+          }
+          rows++;
+        }
+      }
+    }
+    return rows;
   }
 
   @Override
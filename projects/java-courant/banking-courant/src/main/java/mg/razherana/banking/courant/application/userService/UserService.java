@@ -0,0 +1,70 @@
+package mg.razherana.banking.courant.application.userService;
+
+import mg.razherana.banking.courant.dto.UserServiceMetricsDTO;
+import mg.razherana.banking.courant.entities.User;
+
+/**
+ * Client of the remote user service (java-interface).
+ *
+ * <p>
+ * A single JAX-RS client is shared by the whole application so HTTP
+ * connections to the user service are kept alive and reused between calls.
+ * The base URL and timeouts are read from system properties at startup:
+ * </p>
+ * <ul>
+ * <li>{@code banking.user-service.url} (default
+ * {@code http://127.0.0.2:8080/api})</li>
+ * <li>{@code banking.user-service.connect-timeout-ms} (default 2000)</li>
+ * <li>{@code banking.user-service.read-timeout-ms} (default 5000)</li>
+ * </ul>
+ *
+ * <p>
+ * Lookups go through a bounded in-memory cache so hot users are resolved
+ * without leaving the JVM. Found users are kept for a TTL, users answered with
+ * 404 for a shorter one, and the least recently used entries are evicted once
+ * the cache is full. Failed calls are never cached. java-interface calls
+ * {@link #invalidate(Integer)} through {@code DELETE /users-cache/{userId}}
+ * when a user is updated or deleted.
+ * </p>
+ * <ul>
+ * <li>{@code banking.user-cache.max-size} (default 10000)</li>
+ * <li>{@code banking.user-cache.ttl-seconds} (default 300)</li>
+ * <li>{@code banking.user-cache.negative-ttl-seconds} (default 30)</li>
+ * </ul>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.entities.User
+ */
+public interface UserService {
+  /**
+   * Fetches a user from the user service.
+   *
+   * @param userId the user ID
+   * @return the user, or null if the user service answered 404
+   * @throws IllegalArgumentException if userId is null or the user service
+   *                                  cannot be reached
+   */
+  public User findUser(Integer userId);
+
+  /**
+   * Drops a user from the cache so the next lookup asks the user service.
+   *
+   * @param userId the user ID
+   * @throws IllegalArgumentException if userId is null
+   */
+  public void invalidate(Integer userId);
+
+  /**
+   * Drops every cached user.
+   */
+  public void invalidateAll();
+
+  /**
+   * Gets the call counts and latencies of the user service since startup.
+   *
+   * @return the client metrics
+   */
+  public UserServiceMetricsDTO getMetrics();
+}
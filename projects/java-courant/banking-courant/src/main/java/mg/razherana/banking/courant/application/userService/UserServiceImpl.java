@@ -0,0 +1,277 @@
+package mg.razherana.banking.courant.application.userService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import mg.razherana.banking.courant.dto.UserServiceMetricsDTO;
+import mg.razherana.banking.courant.entities.User;
+
+import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Implementation of {@link UserService} sharing one JAX-RS client.
+ *
+ * <p>
+ * JAX-RS clients are thread-safe and expensive to create, so the client is
+ * built once at startup and closed on shutdown. Every response is fully read
+ * and closed so its connection goes back to the keep-alive pool.
+ * </p>
+ *
+ * <p>
+ * The user cache is an access-ordered {@link LinkedHashMap} guarded by its own
+ * monitor; remote calls are made outside of it. An invalidation counter keeps
+ * a lookup that was in flight during an invalidation from caching the stale
+ * answer it got.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class UserServiceImpl implements UserService {
+  private static final Logger LOG = Logger.getLogger(UserService.class.getName());
+
+  private static final String DEFAULT_BASE_URL = "http://127.0.0.2:8080/api";
+
+  private String baseUrl;
+  private long connectTimeoutMs;
+  private long readTimeoutMs;
+
+  private Client client;
+  private WebTarget usersTarget;
+
+  // User cache
+  private int cacheMaxSize;
+  private long cacheTtlNanos;
+  private long cacheNegativeTtlNanos;
+  private Map<Integer, CachedUser> cache;
+  private final AtomicLong invalidations = new AtomicLong();
+
+  // Cache metrics
+  private final LongAdder cacheHits = new LongAdder();
+  private final LongAdder cacheMisses = new LongAdder();
+
+  // Call metrics
+  private final LongAdder calls = new LongAdder();
+  private final LongAdder found = new LongAdder();
+  private final LongAdder notFound = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder totalLatencyNanos = new LongAdder();
+  private final LongAccumulator maxLatencyNanos = new LongAccumulator(Long::max, 0);
+
+  @PostConstruct
+  public void init() {
+    baseUrl = System.getProperty("banking.user-service.url", DEFAULT_BASE_URL);
+    connectTimeoutMs = Long.getLong("banking.user-service.connect-timeout-ms", 2000);
+    readTimeoutMs = Long.getLong("banking.user-service.read-timeout-ms", 5000);
+
+    client = ClientBuilder.newBuilder()
+        .connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS)
+        .readTimeout(readTimeoutMs, TimeUnit.MILLISECONDS)
+        .build();
+    usersTarget = client.target(baseUrl).path("users");
+
+    cacheMaxSize = Integer.getInteger("banking.user-cache.max-size", 10_000);
+    cacheTtlNanos = TimeUnit.SECONDS.toNanos(Long.getLong("banking.user-cache.ttl-seconds", 300));
+    cacheNegativeTtlNanos = TimeUnit.SECONDS.toNanos(Long.getLong("banking.user-cache.negative-ttl-seconds", 30));
+    cache = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, CachedUser> eldest) {
+        return size() > cacheMaxSize;
+      }
+    };
+
+    LOG.info("User service client initialized: " + baseUrl + " (connect timeout " + connectTimeoutMs
+        + " ms, read timeout " + readTimeoutMs + " ms, cache size " + cacheMaxSize + ")");
+  }
+
+  @PreDestroy
+  public void close() {
+    if (client != null) {
+      client.close();
+    }
+  }
+
+  @Override
+  public User findUser(Integer userId) {
+    LOG.info("Finding user by ID: " + userId);
+    if (userId == null) {
+      throw new IllegalArgumentException("User ID cannot be null");
+    }
+
+    long now = System.nanoTime();
+    CachedUser cached;
+    synchronized (cache) {
+      cached = cache.get(userId);
+      if (cached != null && now - cached.expiresAt >= 0) {
+        cache.remove(userId);
+        cached = null;
+      }
+    }
+    if (cached != null) {
+      cacheHits.increment();
+      return cached.toUser();
+    }
+    cacheMisses.increment();
+
+    long invalidationsBefore = invalidations.get();
+    User user = fetchUser(userId);
+    CachedUser entry = new CachedUser(user,
+        System.nanoTime() + (user != null ? cacheTtlNanos : cacheNegativeTtlNanos));
+    synchronized (cache) {
+      // Skip caching if the user was invalidated while we were fetching it
+      if (invalidations.get() == invalidationsBefore) {
+        cache.put(userId, entry);
+      }
+    }
+    return user;
+  }
+
+  @Override
+  public void invalidate(Integer userId) {
+    if (userId == null) {
+      throw new IllegalArgumentException("User ID cannot be null");
+    }
+    synchronized (cache) {
+      invalidations.incrementAndGet();
+      cache.remove(userId);
+    }
+    LOG.info("User " + userId + " invalidated from cache");
+  }
+
+  @Override
+  public void invalidateAll() {
+    synchronized (cache) {
+      invalidations.incrementAndGet();
+      cache.clear();
+    }
+    LOG.info("User cache cleared");
+  }
+
+  /**
+   * Calls the user service, returning null on 404.
+   */
+  private User fetchUser(Integer userId) {
+    long start = System.nanoTime();
+    calls.increment();
+    try {
+      String jsonResponse;
+      int status;
+      Response response = usersTarget.path(String.valueOf(userId))
+          .request(MediaType.APPLICATION_JSON)
+          .get();
+      try {
+        status = response.getStatus();
+        // Always consume the body so the connection can be reused
+        jsonResponse = response.readEntity(String.class);
+      } finally {
+        response.close();
+      }
+
+      if (status == 200) {
+        // java-interface returns UserDTO, so we need to parse it and map to our User
+        // entity
+        JsonObject userDto;
+        try (JsonReader jsonReader = Json.createReader(new StringReader(jsonResponse))) {
+          userDto = jsonReader.readObject();
+        }
+
+        // Map UserDTO fields to User entity
+        User user = new User();
+        user.setId(userDto.getInt("id"));
+        user.setName(userDto.getString("name"));
+        user.setEmail(userDto.getString("email"));
+        user.setPassword(""); // Password not returned by UserDTO for security
+
+        found.increment();
+        LOG.info("Successfully retrieved and mapped user from REST API: " + user.getId());
+        return user;
+      }
+
+      if (status == 404) {
+        notFound.increment();
+        LOG.warning("User with ID " + userId + " not found");
+        return null;
+      }
+
+      throw new IllegalStateException("User service responded with status " + status);
+    } catch (Exception e) {
+      failures.increment();
+      LOG.severe("Error calling REST UserService: " + e.getMessage());
+      throw new IllegalArgumentException(e.getMessage());
+    } finally {
+      long latency = System.nanoTime() - start;
+      totalLatencyNanos.add(latency);
+      maxLatencyNanos.accumulate(latency);
+      LOG.fine("User service call for user " + userId + " took " + TimeUnit.NANOSECONDS.toMillis(latency) + " ms");
+    }
+  }
+
+  @Override
+  public UserServiceMetricsDTO getMetrics() {
+    long callCount = calls.sum();
+    double averageLatencyMs = callCount == 0 ? 0 : totalLatencyNanos.sum() / (callCount * 1_000_000.0);
+    int cacheSize;
+    synchronized (cache) {
+      cacheSize = cache.size();
+    }
+    return new UserServiceMetricsDTO(baseUrl, connectTimeoutMs, readTimeoutMs, callCount, found.sum(),
+        notFound.sum(), failures.sum(), averageLatencyMs, maxLatencyNanos.get() / 1_000_000.0,
+        cacheHits.sum(), cacheMisses.sum(), cacheSize);
+  }
+
+  /**
+   * Cached answer of the user service; {@code exists} is false for a 404.
+   * Only the fields returned by UserDTO are kept, and every hit gets its own
+   * {@link User} instance.
+   */
+  private static final class CachedUser {
+    private final boolean exists;
+    private final Integer id;
+    private final String name;
+    private final String email;
+    private final long expiresAt;
+
+    private CachedUser(User user, long expiresAt) {
+      this.exists = user != null;
+      this.id = exists ? user.getId() : null;
+      this.name = exists ? user.getName() : null;
+      this.email = exists ? user.getEmail() : null;
+      this.expiresAt = expiresAt;
+    }
+
+    private User toUser() {
+      if (!exists) {
+        return null;
+      }
+      User user = new User();
+      user.setId(id);
+      user.setName(name);
+      user.setEmail(email);
+      user.setPassword("");
+      return user;
+    }
+  }
+}
@@ -14,8 +14,8 @@ import java.time.LocalDateTime;
  * </p>
  * 
  * <p>
- * The balance (solde) is calculated dynamically by summing all transactions
- * and is not stored in the database.
+ * The balance (solde) is not a column of the account: it is read from the
+ * materialized balance projection maintained alongside the transactions.
  * </p>
  * 
  * @author Banking System
@@ -0,0 +1,133 @@
+package mg.razherana.banking.courant.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for the result of one deposit of a batch.
+ *
+ * <p>
+ * Items keep the position of their request in the submitted list. An item is
+ * {@code CREATED} with its transaction ID, {@code REJECTED} when its request
+ * failed validation, or {@code FAILED} when the chunk it belonged to could not
+ * be written.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.dto.DepotBatchResultDTO
+ * @see mg.razherana.banking.courant.dto.requests.transactions.DepotRequest
+ */
+public class DepotBatchItemDTO {
+  public static final String CREATED = "CREATED";
+  public static final String REJECTED = "REJECTED";
+  public static final String FAILED = "FAILED";
+
+  /** Position of the request in the batch */
+  private int index;
+
+  /** ID of the account receiving the deposit */
+  private Integer compteId;
+
+  /** Amount of the deposit */
+  private BigDecimal montant;
+
+  /** CREATED, REJECTED or FAILED */
+  private String status;
+
+  /** ID of the created transaction (null unless CREATED) */
+  private Integer transactionId;
+
+  /** Timestamp of the created transaction (null unless CREATED) */
+  private LocalDateTime date;
+
+  /** Reason of the rejection or failure */
+  private String error;
+
+  /**
+   * Default constructor.
+   */
+  public DepotBatchItemDTO() {
+  }
+
+  /**
+   * Constructor for a pending batch item.
+   *
+   * @param index    the position of the request in the batch
+   * @param compteId the account ID
+   * @param montant  the amount
+   */
+  public DepotBatchItemDTO(int index, Integer compteId, BigDecimal montant) {
+    this.index = index;
+    this.compteId = compteId;
+    this.montant = montant;
+  }
+
+  /**
+   * Marks this item as rejected.
+   *
+   * @param error the rejection reason
+   */
+  public void reject(String error) {
+    this.status = REJECTED;
+    this.error = error;
+  }
+
+  // Getters and setters
+  public int getIndex() {
+    return index;
+  }
+
+  public void setIndex(int index) {
+    this.index = index;
+  }
+
+  public Integer getCompteId() {
+    return compteId;
+  }
+
+  public void setCompteId(Integer compteId) {
+    this.compteId = compteId;
+  }
+
+  public BigDecimal getMontant() {
+    return montant;
+  }
+
+  public void setMontant(BigDecimal montant) {
+    this.montant = montant;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public Integer getTransactionId() {
+    return transactionId;
+  }
+
+  public void setTransactionId(Integer transactionId) {
+    this.transactionId = transactionId;
+  }
+
+  public LocalDateTime getDate() {
+    return date;
+  }
+
+  public void setDate(LocalDateTime date) {
+    this.date = date;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public void setError(String error) {
+    this.error = error;
+  }
+}
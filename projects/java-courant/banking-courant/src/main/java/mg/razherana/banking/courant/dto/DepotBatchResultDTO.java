@@ -0,0 +1,67 @@
+package mg.razherana.banking.courant.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for the result of a batch deposit.
+ *
+ * <p>
+ * Lists one {@link DepotBatchItemDTO} per submitted request, in submission
+ * order, with the counts of created, rejected and failed deposits.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.dto.DepotBatchItemDTO
+ * @see mg.razherana.banking.courant.application.transactionService.TransactionService
+ */
+public class DepotBatchResultDTO {
+  /** Results of every submitted deposit, in submission order */
+  private List<DepotBatchItemDTO> items = new ArrayList<>();
+
+  /**
+   * Default constructor.
+   */
+  public DepotBatchResultDTO() {
+  }
+
+  /**
+   * Constructor from the batch items.
+   *
+   * @param items the results of every submitted deposit
+   */
+  public DepotBatchResultDTO(List<DepotBatchItemDTO> items) {
+    this.items = items;
+  }
+
+  private int count(String status) {
+    return (int) items.stream().filter(item -> status.equals(item.getStatus())).count();
+  }
+
+  // Getters and setters
+  public int getTotal() {
+    return items.size();
+  }
+
+  public int getCreated() {
+    return count(DepotBatchItemDTO.CREATED);
+  }
+
+  public int getRejected() {
+    return count(DepotBatchItemDTO.REJECTED);
+  }
+
+  public int getFailed() {
+    return count(DepotBatchItemDTO.FAILED);
+  }
+
+  public List<DepotBatchItemDTO> getItems() {
+    return items;
+  }
+
+  public void setItems(List<DepotBatchItemDTO> items) {
+    this.items = items;
+  }
+}
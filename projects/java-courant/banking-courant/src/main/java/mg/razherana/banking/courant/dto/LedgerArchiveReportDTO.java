@@ -0,0 +1,97 @@
+package mg.razherana.banking.courant.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for the result of a ledger maintenance run.
+ *
+ * <p>
+ * A run adds the monthly partitions of the upcoming months to
+ * {@code transaction_courants}, then moves the closed months covered by
+ * balance checkpoints into {@code transaction_courants_archive}.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.application.ledgerArchiveService.LedgerArchiveService
+ */
+public class LedgerArchiveReportDTO {
+  /** Names of the partitions added by this run */
+  private List<String> partitionsCreated = new ArrayList<>();
+
+  /** First day of each month archived by this run, oldest first */
+  private List<LocalDateTime> periodsArchived = new ArrayList<>();
+
+  /** Number of transactions moved to the archive */
+  private long rowsArchived;
+
+  /**
+   * Transactions dated before the horizon are in the archive, or null if
+   * nothing was ever archived
+   */
+  private LocalDateTime archiveHorizon;
+
+  /** Why archiving stopped before the retention cutoff, or null */
+  private String blockedBy;
+
+  /** Duration of the run */
+  private long elapsedMs;
+
+  /**
+   * Default constructor.
+   */
+  public LedgerArchiveReportDTO() {
+  }
+
+  // Getters and setters
+  public List<String> getPartitionsCreated() {
+    return partitionsCreated;
+  }
+
+  public void setPartitionsCreated(List<String> partitionsCreated) {
+    this.partitionsCreated = partitionsCreated;
+  }
+
+  public List<LocalDateTime> getPeriodsArchived() {
+    return periodsArchived;
+  }
+
+  public void setPeriodsArchived(List<LocalDateTime> periodsArchived) {
+    this.periodsArchived = periodsArchived;
+  }
+
+  public long getRowsArchived() {
+    return rowsArchived;
+  }
+
+  public void setRowsArchived(long rowsArchived) {
+    this.rowsArchived = rowsArchived;
+  }
+
+  public LocalDateTime getArchiveHorizon() {
+    return archiveHorizon;
+  }
+
+  public void setArchiveHorizon(LocalDateTime archiveHorizon) {
+    this.archiveHorizon = archiveHorizon;
+  }
+
+  public String getBlockedBy() {
+    return blockedBy;
+  }
+
+  public void setBlockedBy(String blockedBy) {
+    this.blockedBy = blockedBy;
+  }
+
+  public long getElapsedMs() {
+    return elapsedMs;
+  }
+
+  public void setElapsedMs(long elapsedMs) {
+    this.elapsedMs = elapsedMs;
+  }
+}
@@ -0,0 +1,93 @@
+package mg.razherana.banking.courant.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object describing a difference between the materialized
+ * balance of an account and the balance recomputed from the ledger.
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.dto.SoldeReconciliationDTO
+ * @see mg.razherana.banking.courant.application.soldeService.SoldeService
+ */
+public class SoldeDriftDTO {
+  /** ID of the account */
+  private Integer compteId;
+
+  /** Balance stored in the projection (null if the row was missing) */
+  private BigDecimal projectedSolde;
+
+  /** Balance recomputed from transaction_courants */
+  private BigDecimal ledgerSolde;
+
+  /** ledgerSolde - projectedSolde */
+  private BigDecimal drift;
+
+  /** Whether the projection was overwritten with the ledger balance */
+  private boolean repaired;
+
+  /**
+   * Default constructor.
+   */
+  public SoldeDriftDTO() {
+  }
+
+  /**
+   * Constructor with drift information.
+   *
+   * @param compteId       the account ID
+   * @param projectedSolde the projected balance, or null if missing
+   * @param ledgerSolde    the balance recomputed from the ledger
+   * @param repaired       whether the projection was repaired
+   */
+  public SoldeDriftDTO(Integer compteId, BigDecimal projectedSolde, BigDecimal ledgerSolde, boolean repaired) {
+    this.compteId = compteId;
+    this.projectedSolde = projectedSolde;
+    this.ledgerSolde = ledgerSolde;
+    this.drift = projectedSolde == null ? ledgerSolde : ledgerSolde.subtract(projectedSolde);
+    this.repaired = repaired;
+  }
+
+  // Getters and setters
+  public Integer getCompteId() {
+    return compteId;
+  }
+
+  public void setCompteId(Integer compteId) {
+    this.compteId = compteId;
+  }
+
+  public BigDecimal getProjectedSolde() {
+    return projectedSolde;
+  }
+
+  public void setProjectedSolde(BigDecimal projectedSolde) {
+    this.projectedSolde = projectedSolde;
+  }
+
+  public BigDecimal getLedgerSolde() {
+    return ledgerSolde;
+  }
+
+  public void setLedgerSolde(BigDecimal ledgerSolde) {
+    this.ledgerSolde = ledgerSolde;
+  }
+
+  public BigDecimal getDrift() {
+    return drift;
+  }
+
+  public void setDrift(BigDecimal drift) {
+    this.drift = drift;
+  }
+
+  public boolean isRepaired() {
+    return repaired;
+  }
+
+  public void setRepaired(boolean repaired) {
+    this.repaired = repaired;
+  }
+}
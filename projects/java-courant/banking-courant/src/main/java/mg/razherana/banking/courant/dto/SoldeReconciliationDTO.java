@@ -0,0 +1,84 @@
+package mg.razherana.banking.courant.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for the result of a balance reconciliation run.
+ *
+ * <p>
+ * A reconciliation recomputes every account balance from the ledger and
+ * compares it with the materialized projection. Only accounts whose balances
+ * differ are listed in {@code drifts}.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.dto.SoldeDriftDTO
+ * @see mg.razherana.banking.courant.application.soldeService.SoldeService
+ */
+public class SoldeReconciliationDTO {
+  /** Number of accounts checked */
+  private int comptesChecked;
+
+  /** Whether drifting projections were repaired */
+  private boolean repair;
+
+  /** Accounts whose projection differs from the ledger */
+  private List<SoldeDriftDTO> drifts = new ArrayList<>();
+
+  /**
+   * Default constructor.
+   */
+  public SoldeReconciliationDTO() {
+  }
+
+  /**
+   * Constructor for an empty reconciliation report.
+   *
+   * @param repair whether drifting projections are repaired
+   */
+  public SoldeReconciliationDTO(boolean repair) {
+    this.repair = repair;
+  }
+
+  /**
+   * Merges the result of a reconciliation chunk into this report.
+   *
+   * @param chunk the chunk report to merge
+   */
+  public void merge(SoldeReconciliationDTO chunk) {
+    this.comptesChecked += chunk.getComptesChecked();
+    this.drifts.addAll(chunk.getDrifts());
+  }
+
+  // Getters and setters
+  public int getComptesChecked() {
+    return comptesChecked;
+  }
+
+  public void setComptesChecked(int comptesChecked) {
+    this.comptesChecked = comptesChecked;
+  }
+
+  public boolean isRepair() {
+    return repair;
+  }
+
+  public void setRepair(boolean repair) {
+    this.repair = repair;
+  }
+
+  public List<SoldeDriftDTO> getDrifts() {
+    return drifts;
+  }
+
+  public void setDrifts(List<SoldeDriftDTO> drifts) {
+    this.drifts = drifts;
+  }
+
+  public int getDriftCount() {
+    return drifts.size();
+  }
+}
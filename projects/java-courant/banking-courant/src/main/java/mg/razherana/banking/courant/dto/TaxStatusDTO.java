@@ -0,0 +1,113 @@
+package mg.razherana.banking.courant.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object describing the tax situation of an account at a given
+ * date.
+ *
+ * <p>
+ * Computed once per request by
+ * {@link mg.razherana.banking.courant.application.compteCourantService.CompteCourantService#getTaxStatus}
+ * and shared by the tax-status endpoint and the tax checks made before
+ * withdrawals, transfers and tax payments.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.application.compteCourantService.CompteCourantService
+ */
+public class TaxStatusDTO {
+  /** ID of the account */
+  private Integer compteId;
+
+  /** Date the status was computed for */
+  private LocalDateTime actionDateTime;
+
+  /** Taxes due since the account creation, including the current month */
+  private BigDecimal taxDue;
+
+  /** Taxes paid up to actionDateTime */
+  private BigDecimal taxPaid;
+
+  /** Remaining amount to pay, never negative */
+  private BigDecimal taxToPay;
+
+  /** Whether nothing remains to pay */
+  private boolean isPaid;
+
+  /**
+   * Default constructor.
+   */
+  public TaxStatusDTO() {
+  }
+
+  /**
+   * Constructor computing the remaining amount from the dues and payments.
+   *
+   * @param compteId       the account ID
+   * @param actionDateTime the date of the status
+   * @param taxDue         the taxes due up to that date
+   * @param taxPaid        the taxes paid up to that date
+   */
+  public TaxStatusDTO(Integer compteId, LocalDateTime actionDateTime, BigDecimal taxDue, BigDecimal taxPaid) {
+    this.compteId = compteId;
+    this.actionDateTime = actionDateTime;
+    this.taxDue = taxDue;
+    this.taxPaid = taxPaid;
+    this.taxToPay = taxDue.subtract(taxPaid).max(BigDecimal.ZERO);
+    this.isPaid = taxToPay.signum() == 0;
+  }
+
+  // Getters and setters
+  public Integer getCompteId() {
+    return compteId;
+  }
+
+  public void setCompteId(Integer compteId) {
+    this.compteId = compteId;
+  }
+
+  public LocalDateTime getActionDateTime() {
+    return actionDateTime;
+  }
+
+  public void setActionDateTime(LocalDateTime actionDateTime) {
+    this.actionDateTime = actionDateTime;
+  }
+
+  public BigDecimal getTaxDue() {
+    return taxDue;
+  }
+
+  public void setTaxDue(BigDecimal taxDue) {
+    this.taxDue = taxDue;
+  }
+
+  public BigDecimal getTaxPaid() {
+    return taxPaid;
+  }
+
+  public void setTaxPaid(BigDecimal taxPaid) {
+    this.taxPaid = taxPaid;
+  }
+
+  public BigDecimal getTaxToPay() {
+    return taxToPay;
+  }
+
+  public void setTaxToPay(BigDecimal taxToPay) {
+    this.taxToPay = taxToPay;
+  }
+
+  // Named getIsPaid so the JSON property stays "isPaid"
+  public boolean getIsPaid() {
+    return isPaid;
+  }
+
+  public void setIsPaid(boolean isPaid) {
+    this.isPaid = isPaid;
+  }
+}
@@ -0,0 +1,60 @@
+package mg.razherana.banking.courant.dto;
+
+import mg.razherana.banking.courant.entities.TaxeCollectionFailure;
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for an account skipped by a bulk tax collection.
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.entities.TaxeCollectionFailure
+ */
+public class TaxeCollectionFailureDTO {
+  private Integer compteId;
+  private BigDecimal montantDu;
+  private BigDecimal solde;
+
+  /**
+   * Default constructor.
+   */
+  public TaxeCollectionFailureDTO() {
+  }
+
+  /**
+   * Constructor from a collection failure.
+   *
+   * @param failure the collection failure
+   */
+  public TaxeCollectionFailureDTO(TaxeCollectionFailure failure) {
+    this.compteId = failure.getCompteId();
+    this.montantDu = failure.getMontantDu();
+    this.solde = failure.getSolde();
+  }
+
+  // Getters and setters
+  public Integer getCompteId() {
+    return compteId;
+  }
+
+  public void setCompteId(Integer compteId) {
+    this.compteId = compteId;
+  }
+
+  public BigDecimal getMontantDu() {
+    return montantDu;
+  }
+
+  public void setMontantDu(BigDecimal montantDu) {
+    this.montantDu = montantDu;
+  }
+
+  public BigDecimal getSolde() {
+    return solde;
+  }
+
+  public void setSolde(BigDecimal solde) {
+    this.solde = solde;
+  }
+}
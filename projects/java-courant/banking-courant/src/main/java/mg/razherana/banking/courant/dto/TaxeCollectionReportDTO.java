@@ -0,0 +1,176 @@
+package mg.razherana.banking.courant.dto;
+
+import mg.razherana.banking.courant.entities.TaxeCollectionRun;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object reporting the progress of a bulk tax collection run.
+ *
+ * <p>
+ * Throughput is the number of accounts processed per second of chunk
+ * processing time, summed over every attempt of the run.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.entities.TaxeCollectionRun
+ */
+public class TaxeCollectionReportDTO {
+  private Integer runId;
+  private String status;
+  private LocalDateTime actionDateTime;
+  private Integer lastCompteId;
+  private int processed;
+  private int collected;
+  private BigDecimal montantCollected;
+  private int insufficient;
+  private long elapsedMs;
+  private double comptesPerSecond;
+  private String error;
+  private LocalDateTime startedAt;
+  private LocalDateTime updatedAt;
+  private LocalDateTime finishedAt;
+
+  /**
+   * Default constructor.
+   */
+  public TaxeCollectionReportDTO() {
+  }
+
+  /**
+   * Constructor from a collection run.
+   *
+   * @param run the collection run
+   */
+  public TaxeCollectionReportDTO(TaxeCollectionRun run) {
+    this.runId = run.getId();
+    this.status = run.getStatus();
+    this.actionDateTime = run.getActionDateTime();
+    this.lastCompteId = run.getLastCompteId();
+    this.processed = run.getProcessed();
+    this.collected = run.getCollected();
+    this.montantCollected = run.getMontantCollected();
+    this.insufficient = run.getInsufficient();
+    this.elapsedMs = run.getElapsedMs();
+    this.comptesPerSecond = elapsedMs == 0 ? 0 : processed * 1000.0 / elapsedMs;
+    this.error = run.getError();
+    this.startedAt = run.getStartedAt();
+    this.updatedAt = run.getUpdatedAt();
+    this.finishedAt = run.getFinishedAt();
+  }
+
+  // Getters and setters
+  public Integer getRunId() {
+    return runId;
+  }
+
+  public void setRunId(Integer runId) {
+    this.runId = runId;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public LocalDateTime getActionDateTime() {
+    return actionDateTime;
+  }
+
+  public void setActionDateTime(LocalDateTime actionDateTime) {
+    this.actionDateTime = actionDateTime;
+  }
+
+  public Integer getLastCompteId() {
+    return lastCompteId;
+  }
+
+  public void setLastCompteId(Integer lastCompteId) {
+    this.lastCompteId = lastCompteId;
+  }
+
+  public int getProcessed() {
+    return processed;
+  }
+
+  public void setProcessed(int processed) {
+    this.processed = processed;
+  }
+
+  public int getCollected() {
+    return collected;
+  }
+
+  public void setCollected(int collected) {
+    this.collected = collected;
+  }
+
+  public BigDecimal getMontantCollected() {
+    return montantCollected;
+  }
+
+  public void setMontantCollected(BigDecimal montantCollected) {
+    this.montantCollected = montantCollected;
+  }
+
+  public int getInsufficient() {
+    return insufficient;
+  }
+
+  public void setInsufficient(int insufficient) {
+    this.insufficient = insufficient;
+  }
+
+  public long getElapsedMs() {
+    return elapsedMs;
+  }
+
+  public void setElapsedMs(long elapsedMs) {
+    this.elapsedMs = elapsedMs;
+  }
+
+  public double getComptesPerSecond() {
+    return comptesPerSecond;
+  }
+
+  public void setComptesPerSecond(double comptesPerSecond) {
+    this.comptesPerSecond = comptesPerSecond;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public void setError(String error) {
+    this.error = error;
+  }
+
+  public LocalDateTime getStartedAt() {
+    return startedAt;
+  }
+
+  public void setStartedAt(LocalDateTime startedAt) {
+    this.startedAt = startedAt;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  public LocalDateTime getFinishedAt() {
+    return finishedAt;
+  }
+
+  public void setFinishedAt(LocalDateTime finishedAt) {
+    this.finishedAt = finishedAt;
+  }
+}
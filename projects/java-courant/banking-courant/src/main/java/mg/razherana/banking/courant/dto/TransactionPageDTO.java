@@ -0,0 +1,73 @@
+package mg.razherana.banking.courant.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for a page of transactions.
+ *
+ * <p>
+ * {@code nextCursor} is passed back as the {@code cursor} query parameter to
+ * fetch the following page; it is null on the last page.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.dto.TransactionCourantDTO
+ * @see mg.razherana.banking.courant.dto.requests.transactions.TransactionFilter
+ */
+public class TransactionPageDTO {
+  /** Transactions of the page, most recent first */
+  private List<TransactionCourantDTO> items = new ArrayList<>();
+
+  /** Cursor of the next page, null if this is the last page */
+  private String nextCursor;
+
+  /** Page size used */
+  private int limit;
+
+  /**
+   * Default constructor.
+   */
+  public TransactionPageDTO() {
+  }
+
+  /**
+   * Constructor with all fields.
+   *
+   * @param items      the transactions of the page
+   * @param nextCursor the cursor of the next page, or null
+   * @param limit      the page size used
+   */
+  public TransactionPageDTO(List<TransactionCourantDTO> items, String nextCursor, int limit) {
+    this.items = items;
+    this.nextCursor = nextCursor;
+    this.limit = limit;
+  }
+
+  // Getters and setters
+  public List<TransactionCourantDTO> getItems() {
+    return items;
+  }
+
+  public void setItems(List<TransactionCourantDTO> items) {
+    this.items = items;
+  }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public void setLimit(int limit) {
+    this.limit = limit;
+  }
+}
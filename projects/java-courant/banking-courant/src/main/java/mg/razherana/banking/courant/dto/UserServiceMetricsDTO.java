@@ -0,0 +1,176 @@
+package mg.razherana.banking.courant.dto;
+
+/**
+ * Data Transfer Object for the metrics of the remote user service client.
+ *
+ * <p>
+ * Counts every call made since startup by outcome, with the average and
+ * maximum call latency in milliseconds, and the hit/miss counts of the user
+ * cache in front of it.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.application.userService.UserService
+ */
+public class UserServiceMetricsDTO {
+  /** Base URL of the user service */
+  private String baseUrl;
+
+  /** Connect timeout in milliseconds */
+  private long connectTimeoutMs;
+
+  /** Read timeout in milliseconds */
+  private long readTimeoutMs;
+
+  /** Number of calls made */
+  private long calls;
+
+  /** Calls that returned a user */
+  private long found;
+
+  /** Calls answered with 404 */
+  private long notFound;
+
+  /** Calls that failed (timeouts, connection errors, unexpected statuses) */
+  private long failures;
+
+  /** Average call latency in milliseconds */
+  private double averageLatencyMs;
+
+  /** Maximum call latency in milliseconds */
+  private double maxLatencyMs;
+
+  /** Lookups answered from the cache */
+  private long cacheHits;
+
+  /** Lookups that had to call the user service */
+  private long cacheMisses;
+
+  /** Number of users currently cached (including cached 404s) */
+  private int cacheSize;
+
+  /**
+   * Default constructor.
+   */
+  public UserServiceMetricsDTO() {
+  }
+
+  /**
+   * Constructor with all fields.
+   */
+  public UserServiceMetricsDTO(String baseUrl, long connectTimeoutMs, long readTimeoutMs, long calls, long found,
+      long notFound, long failures, double averageLatencyMs, double maxLatencyMs, long cacheHits, long cacheMisses,
+      int cacheSize) {
+    this.baseUrl = baseUrl;
+    this.connectTimeoutMs = connectTimeoutMs;
+    this.readTimeoutMs = readTimeoutMs;
+    this.calls = calls;
+    this.found = found;
+    this.notFound = notFound;
+    this.failures = failures;
+    this.averageLatencyMs = averageLatencyMs;
+    this.maxLatencyMs = maxLatencyMs;
+    this.cacheHits = cacheHits;
+    this.cacheMisses = cacheMisses;
+    this.cacheSize = cacheSize;
+  }
+
+  // Getters and setters
+  public String getBaseUrl() {
+    return baseUrl;
+  }
+
+  public void setBaseUrl(String baseUrl) {
+    this.baseUrl = baseUrl;
+  }
+
+  public long getConnectTimeoutMs() {
+    return connectTimeoutMs;
+  }
+
+  public void setConnectTimeoutMs(long connectTimeoutMs) {
+    this.connectTimeoutMs = connectTimeoutMs;
+  }
+
+  public long getReadTimeoutMs() {
+    return readTimeoutMs;
+  }
+
+  public void setReadTimeoutMs(long readTimeoutMs) {
+    this.readTimeoutMs = readTimeoutMs;
+  }
+
+  public long getCalls() {
+    return calls;
+  }
+
+  public void setCalls(long calls) {
+    this.calls = calls;
+  }
+
+  public long getFound() {
+    return found;
+  }
+
+  public void setFound(long found) {
+    this.found = found;
+  }
+
+  public long getNotFound() {
+    return notFound;
+  }
+
+  public void setNotFound(long notFound) {
+    this.notFound = notFound;
+  }
+
+  public long getFailures() {
+    return failures;
+  }
+
+  public void setFailures(long failures) {
+    this.failures = failures;
+  }
+
+  public double getAverageLatencyMs() {
+    return averageLatencyMs;
+  }
+
+  public void setAverageLatencyMs(double averageLatencyMs) {
+    this.averageLatencyMs = averageLatencyMs;
+  }
+
+  public double getMaxLatencyMs() {
+    return maxLatencyMs;
+  }
+
+  public void setMaxLatencyMs(double maxLatencyMs) {
+    this.maxLatencyMs = maxLatencyMs;
+  }
+
+  public long getCacheHits() {
+    return cacheHits;
+  }
+
+  public void setCacheHits(long cacheHits) {
+    this.cacheHits = cacheHits;
+  }
+
+  public long getCacheMisses() {
+    return cacheMisses;
+  }
+
+  public void setCacheMisses(long cacheMisses) {
+    this.cacheMisses = cacheMisses;
+  }
+
+  public int getCacheSize() {
+    return cacheSize;
+  }
+
+  public void setCacheSize(int cacheSize) {
+    this.cacheSize = cacheSize;
+  }
+}
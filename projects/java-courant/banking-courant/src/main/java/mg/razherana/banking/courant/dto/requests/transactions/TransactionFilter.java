@@ -0,0 +1,90 @@
+package mg.razherana.banking.courant.dto.requests.transactions;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filter and page position for transaction listings.
+ *
+ * <p>
+ * Listings are ordered from the most recent transaction to the oldest, by date
+ * then ID. {@code cursor} is the opaque {@code nextCursor} of the previous
+ * page; when absent the first page is returned.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.dto.TransactionPageDTO
+ * @see mg.razherana.banking.courant.application.transactionService.TransactionService#searchTransactions(TransactionFilter)
+ */
+public class TransactionFilter {
+  /** Only transactions sent or received by this account (optional) */
+  private Integer compteId;
+
+  /**
+   * Only transactions with this special action: deposit, withdrawal, taxe, or
+   * transfert for plain transfers (optional)
+   */
+  private String specialAction;
+
+  /** Only transactions dated at or after this date (optional) */
+  private LocalDateTime from;
+
+  /** Only transactions dated before this date (optional) */
+  private LocalDateTime to;
+
+  /** Position after which the page starts (optional) */
+  private String cursor;
+
+  /** Maximum number of transactions in the page (optional) */
+  private Integer limit;
+
+  // Getters and setters
+  public Integer getCompteId() {
+    return compteId;
+  }
+
+  public void setCompteId(Integer compteId) {
+    this.compteId = compteId;
+  }
+
+  public String getSpecialAction() {
+    return specialAction;
+  }
+
+  public void setSpecialAction(String specialAction) {
+    this.specialAction = specialAction;
+  }
+
+  public LocalDateTime getFrom() {
+    return from;
+  }
+
+  public void setFrom(LocalDateTime from) {
+    this.from = from;
+  }
+
+  public LocalDateTime getTo() {
+    return to;
+  }
+
+  public void setTo(LocalDateTime to) {
+    this.to = to;
+  }
+
+  public String getCursor() {
+    return cursor;
+  }
+
+  public void setCursor(String cursor) {
+    this.cursor = cursor;
+  }
+
+  public Integer getLimit() {
+    return limit;
+  }
+
+  public void setLimit(Integer limit) {
+    this.limit = limit;
+  }
+}
@@ -26,9 +26,9 @@ import java.time.LocalDateTime;
  * 
  * <p>
  * This entity represents current accounts that belong to users. The account has
- * no stored balance field - the balance is calculated dynamically by summing
- * all
- * transactions where the account is involved as sender or receiver.
+ * no balance field - the balance is the sum of all transactions where the
+ * account is involved as sender or receiver, materialized per account in
+ * {@link mg.razherana.banking.courant.entities.SoldeCourant}.
  * </p>
  * 
  * <p>
@@ -41,6 +41,7 @@ import java.time.LocalDateTime;
  * @since 1.0
  * @see mg.razherana.banking.courant.entities.User
  * @see mg.razherana.banking.courant.entities.TransactionCourant
+ * @see mg.razherana.banking.courant.entities.SoldeCourant
  * @see mg.razherana.banking.courant.application.compteCourantService.CompteCourantService
  * @see mg.razherana.banking.courant.dto.CompteCourantDTO
  */
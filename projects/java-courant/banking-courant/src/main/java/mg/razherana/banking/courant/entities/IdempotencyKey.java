@@ -0,0 +1,229 @@
+package mg.razherana.banking.courant.entities;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency key of a money-movement request.
+ *
+ * <p>
+ * The key is inserted in the same transaction as the
+ * {@link TransactionCourant} it produced, so a committed movement always has
+ * its key and a rolled back one never does. Only what is needed to replay the
+ * response is kept: the endpoint, a hash of the request, the status code and
+ * the ID of the transaction created.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.application.idempotencyService.IdempotencyService
+ */
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyKey {
+  /**
+   * Key sent by the client in the {@code Idempotency-Key} header.
+   */
+  @Id
+  @Column(name = "idem_key", nullable = false, length = 255)
+  private String key;
+
+  /**
+   * Endpoint the key was used on (depot, retrait or transfert).
+   */
+  @Column(name = "endpoint", nullable = false, length = 50)
+  private String endpoint;
+
+  /**
+   * SHA-256 of the request fields, to reject a key reused for another
+   * request.
+   */
+  @Column(name = "request_hash", nullable = false, length = 64)
+  private String requestHash;
+
+  /**
+   * HTTP status code of the original response.
+   */
+  @Column(name = "status_code", nullable = false)
+  private Integer statusCode;
+
+  /**
+   * Identifier of the transaction created by the original request.
+   */
+  @Column(name = "transaction_id", nullable = true)
+  private Integer transactionId;
+
+  /**
+   * Timestamp when the key was recorded.
+   */
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  /**
+   * Timestamp after which the key is forgotten.
+   */
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+
+  /**
+   * Default constructor required by JPA.
+   */
+  public IdempotencyKey() {
+  }
+
+  /**
+   * Creates a key for a request, before it is recorded.
+   *
+   * @param key         the client key
+   * @param endpoint    the endpoint name
+   * @param requestHash the hash of the request fields
+   * @param statusCode  the status code of a successful response
+   */
+  public IdempotencyKey(String key, String endpoint, String requestHash, Integer statusCode) {
+    this.key = key;
+    this.endpoint = endpoint;
+    this.requestHash = requestHash;
+    this.statusCode = statusCode;
+  }
+
+  /**
+   * Gets the client key.
+   *
+   * @return the key
+   */
+  public String getKey() {
+    return key;
+  }
+
+  /**
+   * Sets the client key.
+   *
+   * @param key the key to set
+   */
+  public void setKey(String key) {
+    this.key = key;
+  }
+
+  /**
+   * Gets the endpoint the key was used on.
+   *
+   * @return the endpoint name
+   */
+  public String getEndpoint() {
+    return endpoint;
+  }
+
+  /**
+   * Sets the endpoint the key was used on.
+   *
+   * @param endpoint the endpoint name to set
+   */
+  public void setEndpoint(String endpoint) {
+    this.endpoint = endpoint;
+  }
+
+  /**
+   * Gets the hash of the request fields.
+   *
+   * @return the SHA-256 hex digest
+   */
+  public String getRequestHash() {
+    return requestHash;
+  }
+
+  /**
+   * Sets the hash of the request fields.
+   *
+   * @param requestHash the SHA-256 hex digest to set
+   */
+  public void setRequestHash(String requestHash) {
+    this.requestHash = requestHash;
+  }
+
+  /**
+   * Gets the status code of the original response.
+   *
+   * @return the HTTP status code
+   */
+  public Integer getStatusCode() {
+    return statusCode;
+  }
+
+  /**
+   * Sets the status code of the original response.
+   *
+   * @param statusCode the HTTP status code to set
+   */
+  public void setStatusCode(Integer statusCode) {
+    this.statusCode = statusCode;
+  }
+
+  /**
+   * Gets the identifier of the transaction created.
+   *
+   * @return the transaction ID, or null if not known yet
+   */
+  public Integer getTransactionId() {
+    return transactionId;
+  }
+
+  /**
+   * Sets the identifier of the transaction created.
+   *
+   * @param transactionId the transaction ID to set
+   */
+  public void setTransactionId(Integer transactionId) {
+    this.transactionId = transactionId;
+  }
+
+  /**
+   * Gets the timestamp when the key was recorded.
+   *
+   * @return the creation date and time
+   */
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  /**
+   * Sets the timestamp when the key was recorded.
+   *
+   * @param createdAt the creation date and time to set
+   */
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  /**
+   * Gets the timestamp after which the key is forgotten.
+   *
+   * @return the expiration date and time
+   */
+  public LocalDateTime getExpiresAt() {
+    return expiresAt;
+  }
+
+  /**
+   * Sets the timestamp after which the key is forgotten.
+   *
+   * @param expiresAt the expiration date and time to set
+   */
+  public void setExpiresAt(LocalDateTime expiresAt) {
+    this.expiresAt = expiresAt;
+  }
+
+  /**
+   * Returns a string representation of the key.
+   *
+   * @return a string representation containing key, endpoint and transaction
+   */
+  @Override
+  public String toString() {
+    return "IdempotencyKey{" +
+        "key=" + key +
+        ", endpoint=" + endpoint +
+        ", transactionId=" + transactionId +
+        '}';
+  }
+}
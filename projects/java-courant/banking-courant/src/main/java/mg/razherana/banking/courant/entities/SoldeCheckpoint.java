@@ -0,0 +1,218 @@
+package mg.razherana.banking.courant.entities;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Periodic balance checkpoint of a current account.
+ *
+ * <p>
+ * A checkpoint summarizes every {@link TransactionCourant} of an account dated
+ * strictly before {@code checkpointDate} (the first day of a month). Ledger
+ * computations then only need to sum the transactions dated on or after the
+ * latest checkpoint instead of the whole account history.
+ * </p>
+ *
+ * <p>
+ * Checkpoints are written monthly by a scheduled timer and can be rebuilt from
+ * the ledger for a range of accounts.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.entities.CompteCourant
+ * @see mg.razherana.banking.courant.entities.TransactionCourant
+ * @see mg.razherana.banking.courant.application.soldeCheckpointService.SoldeCheckpointService
+ */
+@Entity
+@Table(name = "solde_checkpoints")
+public class SoldeCheckpoint {
+  /**
+   * Unique identifier for the checkpoint.
+   * Auto-generated using database identity strategy.
+   */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Integer id;
+
+  /**
+   * Identifier of the account this checkpoint belongs to.
+   */
+  @Column(name = "compte_id", nullable = false)
+  private Integer compteId;
+
+  /**
+   * Exclusive upper bound of the transactions covered by this checkpoint.
+   * Always the first day of a month at midnight.
+   */
+  @Column(name = "checkpoint_date", nullable = false)
+  private LocalDateTime checkpointDate;
+
+  /**
+   * Balance of the account from all transactions dated before
+   * {@code checkpointDate}.
+   */
+  @Column(name = "solde", nullable = false, precision = 15, scale = 2)
+  private BigDecimal solde;
+
+  /**
+   * Cumulative amount of taxes paid before {@code checkpointDate}.
+   */
+  @Column(name = "taxe_payee", nullable = false, precision = 15, scale = 2)
+  private BigDecimal taxePayee;
+
+  /**
+   * Timestamp when this checkpoint was written.
+   */
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  /**
+   * Default constructor required by JPA.
+   */
+  public SoldeCheckpoint() {
+  }
+
+  /**
+   * Creates a checkpoint for the given account.
+   *
+   * @param compteId       the account ID
+   * @param checkpointDate the exclusive upper bound of covered transactions
+   * @param solde          the balance at {@code checkpointDate}
+   * @param taxePayee      the cumulative taxes paid at {@code checkpointDate}
+   */
+  public SoldeCheckpoint(Integer compteId, LocalDateTime checkpointDate, BigDecimal solde, BigDecimal taxePayee) {
+    this.compteId = compteId;
+    this.checkpointDate = checkpointDate;
+    this.solde = solde;
+    this.taxePayee = taxePayee;
+    this.createdAt = LocalDateTime.now();
+  }
+
+  /**
+   * Gets the unique identifier of the checkpoint.
+   *
+   * @return the checkpoint ID, or null if not yet persisted
+   */
+  public Integer getId() {
+    return id;
+  }
+
+  /**
+   * Sets the unique identifier of the checkpoint.
+   *
+   * @param id the checkpoint ID to set
+   */
+  public void setId(Integer id) {
+    this.id = id;
+  }
+
+  /**
+   * Gets the identifier of the account.
+   *
+   * @return the account ID
+   */
+  public Integer getCompteId() {
+    return compteId;
+  }
+
+  /**
+   * Sets the identifier of the account.
+   *
+   * @param compteId the account ID to set
+   */
+  public void setCompteId(Integer compteId) {
+    this.compteId = compteId;
+  }
+
+  /**
+   * Gets the exclusive upper bound of the covered transactions.
+   *
+   * @return the checkpoint date
+   */
+  public LocalDateTime getCheckpointDate() {
+    return checkpointDate;
+  }
+
+  /**
+   * Sets the exclusive upper bound of the covered transactions.
+   *
+   * @param checkpointDate the checkpoint date to set
+   */
+  public void setCheckpointDate(LocalDateTime checkpointDate) {
+    this.checkpointDate = checkpointDate;
+  }
+
+  /**
+   * Gets the balance at the checkpoint date.
+   *
+   * @return the balance
+   */
+  public BigDecimal getSolde() {
+    return solde;
+  }
+
+  /**
+   * Sets the balance at the checkpoint date.
+   *
+   * @param solde the balance to set
+   */
+  public void setSolde(BigDecimal solde) {
+    this.solde = solde;
+  }
+
+  /**
+   * Gets the cumulative taxes paid at the checkpoint date.
+   *
+   * @return the taxes paid
+   */
+  public BigDecimal getTaxePayee() {
+    return taxePayee;
+  }
+
+  /**
+   * Sets the cumulative taxes paid at the checkpoint date.
+   *
+   * @param taxePayee the taxes paid to set
+   */
+  public void setTaxePayee(BigDecimal taxePayee) {
+    this.taxePayee = taxePayee;
+  }
+
+  /**
+   * Gets the timestamp when this checkpoint was written.
+   *
+   * @return the creation date and time
+   */
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  /**
+   * Sets the timestamp when this checkpoint was written.
+   *
+   * @param createdAt the creation date and time to set
+   */
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  /**
+   * Returns a string representation of the checkpoint.
+   *
+   * @return a string representation containing account id, date, balance and
+   *         taxes paid
+   */
+  @Override
+  public String toString() {
+    return "SoldeCheckpoint{" +
+        "id=" + id +
+        ", compteId=" + compteId +
+        ", checkpointDate=" + checkpointDate +
+        ", solde=" + solde +
+        ", taxePayee=" + taxePayee +
+        '}';
+  }
+}
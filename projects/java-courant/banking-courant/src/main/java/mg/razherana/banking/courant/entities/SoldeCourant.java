@@ -0,0 +1,139 @@
+package mg.razherana.banking.courant.entities;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Materialized balance (solde) projection of a current account.
+ *
+ * <p>
+ * The ledger ({@link TransactionCourant}) remains the source of truth. This
+ * entity holds one row per account whose {@code solde} is adjusted in the same
+ * JTA transaction as every ledger insert, so reading a balance is a primary
+ * key lookup instead of two aggregate scans over the account history.
+ * </p>
+ *
+ * <p>
+ * Drift between the projection and the ledger can be detected and repaired
+ * through the reconciliation mode of the solde service.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.entities.CompteCourant
+ * @see mg.razherana.banking.courant.entities.TransactionCourant
+ * @see mg.razherana.banking.courant.application.soldeService.SoldeService
+ */
+@Entity
+@Table(name = "solde_courants")
+public class SoldeCourant {
+  /**
+   * Identifier of the account this balance belongs to.
+   * Shares the primary key of the account (one row per account).
+   */
+  @Id
+  @Column(name = "compte_id")
+  private Integer compteId;
+
+  /**
+   * Current balance of the account.
+   * Stored with precision 15 and scale 2, like transaction amounts.
+   */
+  @Column(name = "solde", nullable = false, precision = 15, scale = 2)
+  private BigDecimal solde;
+
+  /**
+   * Timestamp of the last change applied to this balance.
+   */
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+
+  /**
+   * Default constructor required by JPA.
+   */
+  public SoldeCourant() {
+  }
+
+  /**
+   * Creates a balance projection for the given account.
+   *
+   * @param compteId the account ID
+   * @param solde    the initial balance
+   */
+  public SoldeCourant(Integer compteId, BigDecimal solde) {
+    this.compteId = compteId;
+    this.solde = solde;
+    this.updatedAt = LocalDateTime.now();
+  }
+
+  /**
+   * Gets the identifier of the account.
+   *
+   * @return the account ID
+   */
+  public Integer getCompteId() {
+    return compteId;
+  }
+
+  /**
+   * Sets the identifier of the account.
+   *
+   * @param compteId the account ID to set
+   */
+  public void setCompteId(Integer compteId) {
+    this.compteId = compteId;
+  }
+
+  /**
+   * Gets the materialized balance.
+   *
+   * @return the balance
+   */
+  public BigDecimal getSolde() {
+    return solde;
+  }
+
+  /**
+   * Sets the materialized balance.
+   *
+   * @param solde the balance to set
+   */
+  public void setSolde(BigDecimal solde) {
+    this.solde = solde;
+  }
+
+  /**
+   * Gets the timestamp of the last change.
+   *
+   * @return the last update date and time
+   */
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  /**
+   * Sets the timestamp of the last change.
+   *
+   * @param updatedAt the last update date and time to set
+   */
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  /**
+   * Returns a string representation of the balance projection.
+   *
+   * @return a string representation containing account id, balance and update
+   *         date
+   */
+  @Override
+  public String toString() {
+    return "SoldeCourant{" +
+        "compteId=" + compteId +
+        ", solde=" + solde +
+        ", updatedAt=" + updatedAt +
+        '}';
+  }
+}
@@ -0,0 +1,209 @@
+package mg.razherana.banking.courant.entities;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Monthly tax due by a current account.
+ *
+ * <p>
+ * One accrual is written per account and per month, with the monthly taxe in
+ * force at that time. {@code cumul} carries the total of every accrual of the
+ * account up to and including this one, so the taxes due at any date are read
+ * from a single row and later changes of the taxe do not rewrite past months.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.entities.CompteCourant
+ * @see mg.razherana.banking.courant.application.taxeAccrualService.TaxeAccrualService
+ */
+@Entity
+@Table(name = "taxe_accruals")
+public class TaxeAccrual {
+  /**
+   * Unique identifier for the accrual.
+   * Auto-generated using database identity strategy.
+   */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Integer id;
+
+  /**
+   * Identifier of the account this accrual belongs to.
+   */
+  @Column(name = "compte_id", nullable = false)
+  private Integer compteId;
+
+  /**
+   * Month of the accrual, as its first day at midnight.
+   */
+  @Column(name = "period_start", nullable = false)
+  private LocalDateTime periodStart;
+
+  /**
+   * Tax due for this month.
+   */
+  @Column(name = "montant", nullable = false, precision = 10, scale = 2)
+  private BigDecimal montant;
+
+  /**
+   * Total tax due by the account up to and including this month.
+   */
+  @Column(name = "cumul", nullable = false, precision = 15, scale = 2)
+  private BigDecimal cumul;
+
+  /**
+   * Timestamp when this accrual was written.
+   */
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  /**
+   * Default constructor required by JPA.
+   */
+  public TaxeAccrual() {
+  }
+
+  /**
+   * Creates an accrual for the given account.
+   *
+   * @param compteId    the account ID
+   * @param periodStart the first day of the month
+   * @param montant     the tax due for the month
+   * @param cumul       the total tax due up to and including the month
+   */
+  public TaxeAccrual(Integer compteId, LocalDateTime periodStart, BigDecimal montant, BigDecimal cumul) {
+    this.compteId = compteId;
+    this.periodStart = periodStart;
+    this.montant = montant;
+    this.cumul = cumul;
+    this.createdAt = LocalDateTime.now();
+  }
+
+  /**
+   * Gets the unique identifier of the accrual.
+   *
+   * @return the accrual ID, or null if not yet persisted
+   */
+  public Integer getId() {
+    return id;
+  }
+
+  /**
+   * Sets the unique identifier of the accrual.
+   *
+   * @param id the accrual ID to set
+   */
+  public void setId(Integer id) {
+    this.id = id;
+  }
+
+  /**
+   * Gets the identifier of the account.
+   *
+   * @return the account ID
+   */
+  public Integer getCompteId() {
+    return compteId;
+  }
+
+  /**
+   * Sets the identifier of the account.
+   *
+   * @param compteId the account ID to set
+   */
+  public void setCompteId(Integer compteId) {
+    this.compteId = compteId;
+  }
+
+  /**
+   * Gets the month of the accrual.
+   *
+   * @return the first day of the month
+   */
+  public LocalDateTime getPeriodStart() {
+    return periodStart;
+  }
+
+  /**
+   * Sets the month of the accrual.
+   *
+   * @param periodStart the first day of the month to set
+   */
+  public void setPeriodStart(LocalDateTime periodStart) {
+    this.periodStart = periodStart;
+  }
+
+  /**
+   * Gets the tax due for the month.
+   *
+   * @return the monthly tax
+   */
+  public BigDecimal getMontant() {
+    return montant;
+  }
+
+  /**
+   * Sets the tax due for the month.
+   *
+   * @param montant the monthly tax to set
+   */
+  public void setMontant(BigDecimal montant) {
+    this.montant = montant;
+  }
+
+  /**
+   * Gets the total tax due up to and including the month.
+   *
+   * @return the cumulative tax due
+   */
+  public BigDecimal getCumul() {
+    return cumul;
+  }
+
+  /**
+   * Sets the total tax due up to and including the month.
+   *
+   * @param cumul the cumulative tax due to set
+   */
+  public void setCumul(BigDecimal cumul) {
+    this.cumul = cumul;
+  }
+
+  /**
+   * Gets the timestamp when this accrual was written.
+   *
+   * @return the creation date and time
+   */
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  /**
+   * Sets the timestamp when this accrual was written.
+   *
+   * @param createdAt the creation date and time to set
+   */
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  /**
+   * Returns a string representation of the accrual.
+   *
+   * @return a string representation containing account id, month and amounts
+   */
+  @Override
+  public String toString() {
+    return "TaxeAccrual{" +
+        "id=" + id +
+        ", compteId=" + compteId +
+        ", periodStart=" + periodStart +
+        ", montant=" + montant +
+        ", cumul=" + cumul +
+        '}';
+  }
+}
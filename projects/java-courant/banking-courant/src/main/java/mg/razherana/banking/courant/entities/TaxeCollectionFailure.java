@@ -0,0 +1,111 @@
+package mg.razherana.banking.courant.entities;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Account skipped by a bulk tax collection because its balance did not cover
+ * the taxes owed.
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.entities.TaxeCollectionRun
+ */
+@Entity
+@Table(name = "taxe_collection_failures")
+public class TaxeCollectionFailure {
+  /**
+   * Unique identifier for the failure.
+   * Auto-generated using database identity strategy.
+   */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Integer id;
+
+  /**
+   * Identifier of the collection run.
+   */
+  @Column(name = "run_id", nullable = false)
+  private Integer runId;
+
+  /**
+   * Identifier of the account.
+   */
+  @Column(name = "compte_id", nullable = false)
+  private Integer compteId;
+
+  /**
+   * Taxes owed by the account.
+   */
+  @Column(name = "montant_du", nullable = false, precision = 15, scale = 2)
+  private BigDecimal montantDu;
+
+  /**
+   * Balance of the account when it was processed.
+   */
+  @Column(name = "solde", nullable = false, precision = 15, scale = 2)
+  private BigDecimal solde;
+
+  /**
+   * Timestamp when the failure was recorded.
+   */
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  /**
+   * Default constructor required by JPA.
+   */
+  public TaxeCollectionFailure() {
+  }
+
+  // Getters and setters
+  public Integer getId() {
+    return id;
+  }
+
+  public void setId(Integer id) {
+    this.id = id;
+  }
+
+  public Integer getRunId() {
+    return runId;
+  }
+
+  public void setRunId(Integer runId) {
+    this.runId = runId;
+  }
+
+  public Integer getCompteId() {
+    return compteId;
+  }
+
+  public void setCompteId(Integer compteId) {
+    this.compteId = compteId;
+  }
+
+  public BigDecimal getMontantDu() {
+    return montantDu;
+  }
+
+  public void setMontantDu(BigDecimal montantDu) {
+    this.montantDu = montantDu;
+  }
+
+  public BigDecimal getSolde() {
+    return solde;
+  }
+
+  public void setSolde(BigDecimal solde) {
+    this.solde = solde;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+}
@@ -0,0 +1,254 @@
+package mg.razherana.banking.courant.entities;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a bulk tax collection run across all current accounts.
+ *
+ * <p>
+ * Accounts are processed in ascending ID order, one chunk per transaction.
+ * Each chunk commits its TAXE transactions together with the updated
+ * counters and {@code lastCompteId}, so an interrupted or failed run resumes
+ * right after the last committed chunk without charging any account twice.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.courant.entities.TaxeCollectionFailure
+ * @see mg.razherana.banking.courant.application.taxeCollectionService.TaxeCollectionService
+ */
+@Entity
+@Table(name = "taxe_collection_runs")
+public class TaxeCollectionRun {
+  /** Run is in progress (or was interrupted by a shutdown) */
+  public static final String RUNNING = "RUNNING";
+
+  /** Every account has been processed */
+  public static final String COMPLETED = "COMPLETED";
+
+  /** A chunk failed; the run can be resumed */
+  public static final String FAILED = "FAILED";
+
+  /**
+   * Unique identifier for the run.
+   * Auto-generated using database identity strategy.
+   */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Integer id;
+
+  /**
+   * Date the taxes owed are computed at (the start of the run).
+   */
+  @Column(name = "action_date_time", nullable = false)
+  private LocalDateTime actionDateTime;
+
+  /**
+   * RUNNING, COMPLETED or FAILED.
+   */
+  @Column(name = "status", nullable = false, length = 20)
+  private String status;
+
+  /**
+   * ID of the last account of the last committed chunk (resume checkpoint).
+   */
+  @Column(name = "last_compte_id", nullable = false)
+  private Integer lastCompteId = 0;
+
+  /**
+   * Number of accounts processed.
+   */
+  @Column(name = "processed", nullable = false)
+  private int processed;
+
+  /**
+   * Number of TAXE transactions inserted.
+   */
+  @Column(name = "collected", nullable = false)
+  private int collected;
+
+  /**
+   * Total amount of taxes collected.
+   */
+  @Column(name = "montant_collected", nullable = false, precision = 15, scale = 2)
+  private BigDecimal montantCollected = BigDecimal.ZERO;
+
+  /**
+   * Number of accounts whose balance did not cover the taxes owed.
+   */
+  @Column(name = "insufficient", nullable = false)
+  private int insufficient;
+
+  /**
+   * Time spent processing chunks, in milliseconds, over all attempts.
+   */
+  @Column(name = "elapsed_ms", nullable = false)
+  private long elapsedMs;
+
+  /**
+   * Error of the failed chunk, if any.
+   */
+  @Column(name = "error", length = 1000)
+  private String error;
+
+  /**
+   * Timestamp when the run was started.
+   */
+  @Column(name = "started_at", nullable = false)
+  private LocalDateTime startedAt;
+
+  /**
+   * Timestamp of the last committed chunk or status change.
+   */
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+
+  /**
+   * Timestamp when the run completed or failed.
+   */
+  @Column(name = "finished_at")
+  private LocalDateTime finishedAt;
+
+  /**
+   * Default constructor required by JPA.
+   */
+  public TaxeCollectionRun() {
+  }
+
+  /**
+   * Creates a running collection computing taxes at the given date.
+   *
+   * @param actionDateTime the date taxes owed are computed at
+   */
+  public TaxeCollectionRun(LocalDateTime actionDateTime) {
+    this.actionDateTime = actionDateTime;
+    this.status = RUNNING;
+    this.startedAt = LocalDateTime.now();
+    this.updatedAt = startedAt;
+  }
+
+  // Getters and setters
+  public Integer getId() {
+    return id;
+  }
+
+  public void setId(Integer id) {
+    this.id = id;
+  }
+
+  public LocalDateTime getActionDateTime() {
+    return actionDateTime;
+  }
+
+  public void setActionDateTime(LocalDateTime actionDateTime) {
+    this.actionDateTime = actionDateTime;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public Integer getLastCompteId() {
+    return lastCompteId;
+  }
+
+  public void setLastCompteId(Integer lastCompteId) {
+    this.lastCompteId = lastCompteId;
+  }
+
+  public int getProcessed() {
+    return processed;
+  }
+
+  public void setProcessed(int processed) {
+    this.processed = processed;
+  }
+
+  public int getCollected() {
+    return collected;
+  }
+
+  public void setCollected(int collected) {
+    this.collected = collected;
+  }
+
+  public BigDecimal getMontantCollected() {
+    return montantCollected;
+  }
+
+  public void setMontantCollected(BigDecimal montantCollected) {
+    this.montantCollected = montantCollected;
+  }
+
+  public int getInsufficient() {
+    return insufficient;
+  }
+
+  public void setInsufficient(int insufficient) {
+    this.insufficient = insufficient;
+  }
+
+  public long getElapsedMs() {
+    return elapsedMs;
+  }
+
+  public void setElapsedMs(long elapsedMs) {
+    this.elapsedMs = elapsedMs;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public void setError(String error) {
+    this.error = error;
+  }
+
+  public LocalDateTime getStartedAt() {
+    return startedAt;
+  }
+
+  public void setStartedAt(LocalDateTime startedAt) {
+    this.startedAt = startedAt;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  public LocalDateTime getFinishedAt() {
+    return finishedAt;
+  }
+
+  public void setFinishedAt(LocalDateTime finishedAt) {
+    this.finishedAt = finishedAt;
+  }
+
+  /**
+   * Returns a string representation of the run.
+   *
+   * @return a string representation containing id, status and progress
+   */
+  @Override
+  public String toString() {
+    return "TaxeCollectionRun{" +
+        "id=" + id +
+        ", status='" + status + '\'' +
+        ", lastCompteId=" + lastCompteId +
+        ", processed=" + processed +
+        ", collected=" + collected +
+        ", insufficient=" + insufficient +
+        '}';
+  }
+}
@@ -0,0 +1,101 @@
+-- Baseline schema of banking-courant (formerly src/main/db/courant.sql).
+-- Every statement is idempotent so it can run on existing databases.
+
+CREATE TABLE IF NOT EXISTS `compte_courants` (
+    `id` INT NOT NULL AUTO_INCREMENT,
+    -- Montant - par mois
+    `taxe` DECIMAL(10, 2) NOT NULL,
+    `user_id` INT NOT NULL,
+    `created_at` DATETIME DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (`id`)
+);
+
+CREATE TABLE IF NOT EXISTS `transaction_courants` (
+    `id` INT NOT NULL AUTO_INCREMENT,
+    `special_action` VARCHAR(255) NULL,
+    `sender_id` INT NULL,
+    `receiver_id` INT NULL,
+    `montant` DECIMAL(15, 2) NOT NULL,
+    `date` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (`id`),
+    FOREIGN KEY (`sender_id`) REFERENCES `compte_courants` (`id`) ON UPDATE NO ACTION ON DELETE CASCADE,
+    FOREIGN KEY (`receiver_id`) REFERENCES `compte_courants` (`id`) ON UPDATE NO ACTION ON DELETE CASCADE
+);
+
+-- Materialized balance per compte, updated in the same transaction as every
+-- transaction_courants insert
+CREATE TABLE IF NOT EXISTS `solde_courants` (
+    `compte_id` INT NOT NULL,
+    `solde` DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    `updated_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (`compte_id`),
+    FOREIGN KEY (`compte_id`) REFERENCES `compte_courants` (`id`) ON UPDATE NO ACTION ON DELETE CASCADE
+);
+
+-- Initialize the projection of existing comptes from the ledger
+INSERT IGNORE INTO `solde_courants` (`compte_id`, `solde`)
+SELECT c.`id`,
+    COALESCE((SELECT SUM(t.`montant`) FROM `transaction_courants` t WHERE t.`receiver_id` = c.`id`), 0)
+    - COALESCE((SELECT SUM(t.`montant`) FROM `transaction_courants` t WHERE t.`sender_id` = c.`id`), 0)
+FROM `compte_courants` c;
+
+-- Monthly balance checkpoints: each row summarizes the transactions of a
+-- compte dated strictly before checkpoint_date (first day of a month)
+CREATE TABLE IF NOT EXISTS `solde_checkpoints` (
+    `id` INT NOT NULL AUTO_INCREMENT,
+    `compte_id` INT NOT NULL,
+    `checkpoint_date` DATETIME NOT NULL,
+    `solde` DECIMAL(15, 2) NOT NULL,
+    `taxe_payee` DECIMAL(15, 2) NOT NULL,
+    `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_solde_checkpoints_compte_date` (`compte_id`, `checkpoint_date`),
+    FOREIGN KEY (`compte_id`) REFERENCES `compte_courants` (`id`) ON UPDATE NO ACTION ON DELETE CASCADE
+);
+
+-- Monthly tax accruals: one row per compte and month with the taxe in force
+-- at that time; cumul is the total due up to and including that month
+CREATE TABLE IF NOT EXISTS `taxe_accruals` (
+    `id` INT NOT NULL AUTO_INCREMENT,
+    `compte_id` INT NOT NULL,
+    `period_start` DATETIME NOT NULL,
+    `montant` DECIMAL(10, 2) NOT NULL,
+    `cumul` DECIMAL(15, 2) NOT NULL,
+    `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_taxe_accruals_compte_period` (`compte_id`, `period_start`),
+    FOREIGN KEY (`compte_id`) REFERENCES `compte_courants` (`id`) ON UPDATE NO ACTION ON DELETE CASCADE
+);
+
+-- Bulk tax collection runs: last_compte_id is the resume checkpoint,
+-- committed together with each chunk of TAXE transactions
+CREATE TABLE IF NOT EXISTS `taxe_collection_runs` (
+    `id` INT NOT NULL AUTO_INCREMENT,
+    `action_date_time` DATETIME NOT NULL,
+    `status` VARCHAR(20) NOT NULL,
+    `last_compte_id` INT NOT NULL DEFAULT 0,
+    `processed` INT NOT NULL DEFAULT 0,
+    `collected` INT NOT NULL DEFAULT 0,
+    `montant_collected` DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    `insufficient` INT NOT NULL DEFAULT 0,
+    `elapsed_ms` BIGINT NOT NULL DEFAULT 0,
+    `error` VARCHAR(1000) NULL,
+    `started_at` DATETIME NOT NULL,
+    `updated_at` DATETIME NOT NULL,
+    `finished_at` DATETIME NULL,
+    PRIMARY KEY (`id`)
+);
+
+-- Comptes skipped by a collection run because their solde did not cover the
+-- taxes owed
+CREATE TABLE IF NOT EXISTS `taxe_collection_failures` (
+    `id` INT NOT NULL AUTO_INCREMENT,
+    `run_id` INT NOT NULL,
+    `compte_id` INT NOT NULL,
+    `montant_du` DECIMAL(15, 2) NOT NULL,
+    `solde` DECIMAL(15, 2) NOT NULL,
+    `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (`id`),
+    KEY `idx_taxe_collection_failures_run_compte` (`run_id`, `compte_id`),
+    FOREIGN KEY (`run_id`) REFERENCES `taxe_collection_runs` (`id`) ON UPDATE NO ACTION ON DELETE CASCADE
+);
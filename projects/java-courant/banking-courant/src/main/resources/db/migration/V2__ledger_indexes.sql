@@ -0,0 +1,18 @@
+-- Composite indexes for the hot ledger queries. InnoDB secondary indexes
+-- carry the primary key, so (x, `date`) also serves ORDER BY `date`, `id`.
+-- The implicit foreign key indexes on sender_id and receiver_id are dropped
+-- by MySQL once these indexes can enforce the constraints.
+
+-- Taxes paid (getTaxPaidDate, tax status, tax collection):
+-- sender_id = ? AND special_action = 'taxe' AND `date` range, SUM(montant)
+CREATE INDEX `idx_tc_sender_action_date` ON `transaction_courants` (`sender_id`, `special_action`, `date`, `montant`);
+
+-- Debits of the ledger balance (calculateSolde, checkpoints) and sent
+-- transactions of a compte ordered by date (transaction listings, exports)
+CREATE INDEX `idx_tc_sender_date` ON `transaction_courants` (`sender_id`, `date`, `montant`);
+
+-- Credits of the ledger balance and received transactions ordered by date
+CREATE INDEX `idx_tc_receiver_date` ON `transaction_courants` (`receiver_id`, `date`, `montant`);
+
+-- Unfiltered listings ordered by date and monthly checkpoint scans
+CREATE INDEX `idx_tc_date` ON `transaction_courants` (`date`);
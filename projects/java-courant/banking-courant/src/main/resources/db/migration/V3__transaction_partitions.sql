@@ -0,0 +1,63 @@
+-- Monthly RANGE partitioning of transaction_courants and its cold archive.
+-- Partition pYYYYMM holds the transactions dated in that month; p_max catches
+-- anything beyond the last month. LedgerArchiveService adds the partitions of
+-- upcoming months and moves closed months into transaction_courants_archive.
+
+SET SESSION group_concat_max_len = 1000000;
+
+-- Partitioned InnoDB tables cannot have foreign keys: drop them whatever
+-- their generated names. Deleting a compte now deletes its transactions
+-- explicitly (CompteCourantService.delete).
+SET @drop_fks = (
+    SELECT GROUP_CONCAT(CONCAT('DROP FOREIGN KEY `', `CONSTRAINT_NAME`, '`') SEPARATOR ', ')
+    FROM information_schema.`REFERENTIAL_CONSTRAINTS`
+    WHERE `CONSTRAINT_SCHEMA` = DATABASE() AND `TABLE_NAME` = 'transaction_courants'
+);
+SET @sql = IF(@drop_fks IS NULL, 'DO 0', CONCAT('ALTER TABLE `transaction_courants` ', @drop_fks));
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- One partition per month from the oldest transaction to three months ahead.
+-- The partitioning column must be part of every unique key, hence the
+-- primary key on (id, date).
+SET @partitions = (
+    WITH RECURSIVE months (month_start) AS (
+        SELECT CAST(DATE_FORMAT(COALESCE(MIN(`date`), NOW()), '%Y-%m-01') AS DATE) FROM `transaction_courants`
+        UNION ALL
+        SELECT month_start + INTERVAL 1 MONTH FROM months
+        WHERE month_start < CAST(DATE_FORMAT(NOW(), '%Y-%m-01') AS DATE) + INTERVAL 3 MONTH
+    )
+    SELECT GROUP_CONCAT(CONCAT('PARTITION `p', DATE_FORMAT(month_start, '%Y%m'), '` VALUES LESS THAN (''',
+        DATE_FORMAT(month_start + INTERVAL 1 MONTH, '%Y-%m-%d'), ''')') ORDER BY month_start SEPARATOR ', ')
+    FROM months
+);
+SET @sql = CONCAT('ALTER TABLE `transaction_courants` DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `date`)',
+    ' PARTITION BY RANGE COLUMNS (`date`) (', @partitions, ', PARTITION `p_max` VALUES LESS THAN (MAXVALUE))');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Archived transactions of closed months, compressed since they are only
+-- read by exports and checkpoint rebuilds
+CREATE TABLE IF NOT EXISTS `transaction_courants_archive` (
+    `id` INT NOT NULL,
+    `special_action` VARCHAR(255) NULL,
+    `sender_id` INT NULL,
+    `receiver_id` INT NULL,
+    `montant` DECIMAL(15, 2) NOT NULL,
+    `date` DATETIME NOT NULL,
+    PRIMARY KEY (`id`, `date`),
+    KEY `idx_tca_sender_date` (`sender_id`, `date`),
+    KEY `idx_tca_receiver_date` (`receiver_id`, `date`)
+) ROW_FORMAT = COMPRESSED;
+
+-- One row per archived month; the month after the latest one is the archive
+-- horizon: transactions dated before it are read from the archive
+CREATE TABLE IF NOT EXISTS `ledger_archive_periods` (
+    `period_start` DATETIME NOT NULL,
+    `row_count` BIGINT NOT NULL,
+    `montant_total` DECIMAL(20, 2) NOT NULL,
+    `archived_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (`period_start`)
+);
@@ -0,0 +1,13 @@
+-- Idempotency keys of money-movement requests, inserted in the same
+-- transaction as the movement they produced and purged once expired
+CREATE TABLE IF NOT EXISTS `idempotency_keys` (
+    `idem_key` VARCHAR(255) NOT NULL,
+    `endpoint` VARCHAR(50) NOT NULL,
+    `request_hash` CHAR(64) NOT NULL,
+    `status_code` INT NOT NULL,
+    `transaction_id` INT NULL,
+    `created_at` DATETIME NOT NULL,
+    `expires_at` DATETIME NOT NULL,
+    PRIMARY KEY (`idem_key`),
+    KEY `idx_idempotency_keys_expires_at` (`expires_at`)
+);
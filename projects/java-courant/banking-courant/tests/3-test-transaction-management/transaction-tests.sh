@@ -157,5 +157,78 @@ echo ""
 echo ""
 echo ""
 
+# Test 9: Batch deposit with one invalid and one unknown compte
+echo "9. Making a batch deposit (2 valid, 1 invalid montant, 1 non-existent account)..."
+echo "POST $BASE_URL/transactions/depot/batch"
+curl -s -X POST \
+  -H "Content-Type: application/json" \
+  -d '[
+    {"compteId": '$ACCOUNT1_ID', "montant": 500.00, "description": "Salary"},
+    {"compteId": '$ACCOUNT2_ID', "montant": 750.00, "description": "Salary"},
+    {"compteId": '$ACCOUNT2_ID', "montant": -10.00, "description": "Invalid montant"},
+    {"compteId": 9999, "montant": 100.00, "description": "Non-existent account"}
+  ]' \
+  "$BASE_URL/transactions/depot/batch" | jq '{total, created, rejected, failed, items: [.items[] | {index, status, error}]}' 2>/dev/null
+echo "Expected: 2 CREATED, 2 REJECTED"
+echo ""
+echo ""
+
+# Test 10: Keyset pagination and filters
+echo "10. Paging through deposits of account ID $ACCOUNT1_ID, 1 per page..."
+echo "GET $BASE_URL/transactions/compte/$ACCOUNT1_ID?specialAction=deposit&limit=1"
+PAGE1=$(curl -s "$BASE_URL/transactions/compte/$ACCOUNT1_ID?specialAction=deposit&limit=1")
+echo "Page 1: $PAGE1"
+CURSOR=$(echo "$PAGE1" | jq -r '.nextCursor // empty' 2>/dev/null)
+if [ -n "$CURSOR" ]; then
+  echo "Page 2: $(curl -s "$BASE_URL/transactions/compte/$ACCOUNT1_ID?specialAction=deposit&limit=1&cursor=$CURSOR")"
+fi
+echo "Expected: one deposit per page, the second page older than the first"
+echo ""
+echo "Testing 400 - Invalid limit..."
+curl -s "$BASE_URL/transactions?limit=0" | jq '.' 2>/dev/null || curl -s "$BASE_URL/transactions?limit=0"
+echo ""
+echo ""
+
+# Test 11: Streaming statement export
+echo "11. Exporting the statement of account ID $ACCOUNT1_ID..."
+echo "GET $BASE_URL/transactions/compte/$ACCOUNT1_ID/export (NDJSON)"
+curl -s "$BASE_URL/transactions/compte/$ACCOUNT1_ID/export"
+echo "GET $BASE_URL/transactions/compte/$ACCOUNT1_ID/export?format=csv"
+curl -s "$BASE_URL/transactions/compte/$ACCOUNT1_ID/export?format=csv"
+echo "Expected: one line per transaction, oldest first"
+echo ""
+echo ""
+
+# Test 12: Idempotent retries
+IDEMPOTENCY_KEY="retrait-$ACCOUNT1_ID-$(date +%s%N)"
+echo "12. Retrying a withdrawal with Idempotency-Key $IDEMPOTENCY_KEY..."
+echo "POST $BASE_URL/transactions/retrait (twice, same key)"
+for attempt in 1 2; do
+  curl -s -i -X POST \
+    -H "Content-Type: application/json" \
+    -H "Idempotency-Key: $IDEMPOTENCY_KEY" \
+    -d '{
+      "compteId": '$ACCOUNT1_ID',
+      "montant": 10.00,
+      "description": "Retried withdrawal"
+    }' \
+    "$BASE_URL/transactions/retrait" | grep -iE '^HTTP/|^Idempotent-Replayed|"id"'
+  echo ""
+done
+echo "Expected: both 201 with the same transaction id, the second with Idempotent-Replayed: true"
+echo ""
+echo "Testing 422 - Same key, different montant..."
+curl -s -X POST \
+  -H "Content-Type: application/json" \
+  -H "Idempotency-Key: $IDEMPOTENCY_KEY" \
+  -d '{
+    "compteId": '$ACCOUNT1_ID',
+    "montant": 20.00,
+    "description": "Retried withdrawal"
+  }' \
+  "$BASE_URL/transactions/retrait" | jq '.' 2>/dev/null
+echo ""
+echo ""
+
 echo "=== Transaction Management Tests Completed ==="
 echo "Final account balances should reflect all transactions performed"
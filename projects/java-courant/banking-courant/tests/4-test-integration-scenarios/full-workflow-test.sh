@@ -179,13 +179,13 @@ echo ""
 # Step 5: Get transaction history
 echo "📜 Step 5: Transaction summary..."
 echo ""
-echo "Total number of transactions:"
-TRANSACTION_COUNT=$(curl -s -X GET "$BASE_URL/transactions" | jq '. | length' 2>/dev/null)
+echo "Number of transactions on the first page:"
+TRANSACTION_COUNT=$(curl -s -X GET "$BASE_URL/transactions" | jq '.items | length' 2>/dev/null)
 echo "   Count: $TRANSACTION_COUNT transactions"
 echo ""
 
 echo "Father's transaction history:"
-curl -s -X GET "$BASE_URL/transactions/compte/$FATHER_ACCOUNT_ID" | jq '.[] | {type: .type, montant: .montant, description: .description}' 2>/dev/null || echo "   Unable to fetch transaction details"
+curl -s -X GET "$BASE_URL/transactions/compte/$FATHER_ACCOUNT_ID" | jq '.items[] | {specialAction: .specialAction, montant: .montant, date: .date}' 2>/dev/null || echo "   Unable to fetch transaction details"
 echo ""
 
 # Step 6: Validation summary
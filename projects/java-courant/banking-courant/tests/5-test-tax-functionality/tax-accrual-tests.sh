@@ -0,0 +1,135 @@
+#!/bin/bash
+
+# Tax Accrual Tests
+# Checks that taxes due read from the monthly accruals (taxe_accruals) give
+# the same answer as the previous formula, "months since creation times the
+# taxe", while the taxe is unchanged; that catching up missed months through
+# POST /comptes/tax-accruals/run does not change the answer; and that a taxe
+# change only applies to the months accrued after it.
+#
+# Accrues the coming months for every compte of the database: run it against
+# a test database (see clear_comptes.sql).
+BASE_URL="http://localhost:8080/api"
+TEST_NAME="Tax Accrual Tests"
+
+echo "=== $TEST_NAME ==="
+echo "Base URL: $BASE_URL"
+echo ""
+
+FAILED=0
+
+USER_ID=9  # Assume user ID 9 exists in central service
+TAXE=20.00
+NOUVELLE_TAXE=30.00
+
+# Month M+n of the current month M, as YYYY-MM
+month() {
+  date -d "$(date +%Y-%m-01) +$1 month" +%Y-%m
+}
+
+# Middle of month M+n, the actionDateTime of the checks
+mid_month() {
+  echo "$(month "$1")-15T12:00:00"
+}
+
+tax_status() {
+  curl -s "$BASE_URL/comptes/$ACCOUNT_ID/tax-status?actionDateTime=$(mid_month "$1")"
+}
+
+tax_due() {
+  printf "%.2f" "$(tax_status "$1" | jq -r '.taxDue')"
+}
+
+tax_to_pay() {
+  printf "%.2f" "$(curl -s "$BASE_URL/comptes/$ACCOUNT_ID/tax-to-pay?actionDateTime=$(mid_month "$1")" | jq -r '.taxToPay')"
+}
+
+# Previous formula: every month since creation, including the current one,
+# at the current taxe
+formula_tax_due() {
+  printf "%.2f" "$(echo "($1 + 1) * $2" | bc)"
+}
+
+run_accrual() {
+  curl -s -X POST "$BASE_URL/comptes/tax-accruals/run?period=$1"
+}
+
+check() {
+  local description="$1"
+  local actual="$2"
+  local expected="$3"
+  if [ "$actual" == "$expected" ]; then
+    echo "   ✅ $description: $actual"
+  else
+    echo "   ❌ $description: expected $expected, got $actual"
+    FAILED=$((FAILED + 1))
+  fi
+}
+
+echo "1. Creating a compte with taxe $TAXE in $(month 0)..."
+ACCOUNT_ID=$(curl -s -X POST "$BASE_URL/comptes/user/$USER_ID?taxe=$TAXE" | jq -r '.id // empty')
+if [ -z "$ACCOUNT_ID" ]; then
+  echo "❌ Could not create test account"
+  exit 1
+fi
+echo "   Compte: $ACCOUNT_ID"
+for n in 0 1 3; do
+  check "Tax due in $(month $n) (previous formula $(formula_tax_due $n $TAXE))" "$(tax_due $n)" "$(formula_tax_due $n $TAXE)"
+done
+echo ""
+
+echo "2. Paying the taxes of $(month 0)..."
+curl -s -X POST "$BASE_URL/transactions/depot" \
+  -H "Content-Type: application/json" \
+  -d '{"compteId": '"$ACCOUNT_ID"', "montant": 500.00, "description": "Tax accrual test deposit"}' >/dev/null
+curl -s -X POST "$BASE_URL/transactions/pay-tax" \
+  -H "Content-Type: application/json" \
+  -d '{"compteId": '"$ACCOUNT_ID"', "description": "Tax accrual test payment"}' >/dev/null
+check "Tax to pay in $(month 0)" "$(tax_to_pay 0)" "0.00"
+check "Paid in $(month 0)" "$(tax_status 0 | jq -r '.isPaid')" "true"
+check "Tax to pay in $(month 1)" "$(tax_to_pay 1)" "$(printf "%.2f" "$TAXE")"
+echo ""
+
+echo "3. Catching up the missed month $(month 1)..."
+RESULT=$(run_accrual "$(month 1)")
+check "Period accrued" "$(echo "$RESULT" | jq -r '.period')" "$(month 1)"
+check "Accruals written" "$(echo "$RESULT" | jq '.accrualsWritten >= 1')" "true"
+for n in 1 3; do
+  check "Tax due in $(month $n) (previous formula $(formula_tax_due $n $TAXE))" "$(tax_due $n)" "$(formula_tax_due $n $TAXE)"
+done
+check "Re-running $(month 1) writes nothing" "$(run_accrual "$(month 1)" | jq -r '.accrualsWritten')" "0"
+check "Tax due in $(month 1) after the re-run" "$(tax_due 1)" "$(formula_tax_due 1 $TAXE)"
+echo ""
+
+echo "4. Changing the taxe to $NOUVELLE_TAXE..."
+HTTP_CODE=$(curl -s -o /dev/null -w "%{http_code}" -X PUT "$BASE_URL/comptes/$ACCOUNT_ID/taxe" \
+  -H "Content-Type: application/json" \
+  -d '{"taxe": '"$NOUVELLE_TAXE"'}')
+check "Taxe updated" "$HTTP_CODE" "200"
+# Accrued months keep the taxe in force at the time; the previous formula
+# charged them again at the new taxe
+check "Tax due in $(month 1) (accrued at $TAXE)" "$(tax_due 1)" "$(formula_tax_due 1 $TAXE)"
+EXPECTED_M3=$(printf "%.2f" "$(echo "2 * $TAXE + 2 * $NOUVELLE_TAXE" | bc)")
+check "Tax due in $(month 3) (2 months at $TAXE, 2 at $NOUVELLE_TAXE)" "$(tax_due 3)" "$EXPECTED_M3"
+echo ""
+
+echo "5. Catching up $(month 3), the timer having missed $(month 2) and $(month 3)..."
+RESULT=$(run_accrual "$(month 3)")
+check "Accruals written" "$(echo "$RESULT" | jq '.accrualsWritten >= 1')" "true"
+check "Tax due in $(month 2)" "$(tax_due 2)" "$(printf "%.2f" "$(echo "2 * $TAXE + $NOUVELLE_TAXE" | bc)")"
+check "Tax due in $(month 3), unchanged by the catch-up" "$(tax_due 3)" "$EXPECTED_M3"
+STATUS=$(tax_status 3)
+check "Tax status: taxToPay = taxDue - taxPaid" \
+  "$(echo "$STATUS" | jq '(.taxToPay * 100 | round) == ((.taxDue - .taxPaid) * 100 | round)')" "true"
+check "Tax to pay in $(month 3)" "$(tax_to_pay 3)" "$(printf "%.2f" "$(echo "$EXPECTED_M3 - $TAXE" | bc)")"
+echo ""
+
+echo "6. Rejecting an invalid period..."
+check "HTTP status" "$(curl -s -o /dev/null -w "%{http_code}" -X POST "$BASE_URL/comptes/tax-accruals/run?period=2025-13")" "400"
+echo ""
+
+echo "=== Tax Accrual Tests Completed ==="
+if [ $FAILED -ne 0 ]; then
+  echo "⚠️  $FAILED check(s) failed"
+  exit 1
+fi
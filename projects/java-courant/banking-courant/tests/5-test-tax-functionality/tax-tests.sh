@@ -283,6 +283,21 @@ SUCCESS_SEND_RESULT=$(curl -s -X POST "$BASE_URL/transactions/transfert" \
   }')
 echo "    ✅ Transfer after tax payment: $SUCCESS_SEND_RESULT"
 
+echo ""
+echo "13. Testing bulk tax collection run..."
+COLLECTION_RUN=$(curl -s -X POST "$BASE_URL/tax-collections")
+echo "    Started: $COLLECTION_RUN"
+RUN_ID=$(echo "$COLLECTION_RUN" | jq -r '.runId' 2>/dev/null)
+if [ -n "$RUN_ID" ] && [ "$RUN_ID" != "null" ]; then
+  for _ in $(seq 1 30); do
+    COLLECTION_REPORT=$(curl -s "$BASE_URL/tax-collections/$RUN_ID")
+    [ "$(echo "$COLLECTION_REPORT" | jq -r '.status')" != "RUNNING" ] && break
+    sleep 1
+  done
+  echo "    ✅ Report: $COLLECTION_REPORT"
+  echo "    Accounts without enough solde: $(curl -s "$BASE_URL/tax-collections/$RUN_ID/failures")"
+fi
+
 echo ""
 echo "🎉 All tax functionality tests completed!"
 echo "✅ Basic tax operations"
@@ -292,4 +307,5 @@ echo "❌ Blocked operations when tax unpaid"
 echo "✅ Tax amount update via PUT endpoint"
 echo "❌ 1-month tax accumulation scenario - blocked transfer"
 echo "✅ 1-month tax accumulation scenario - successful after payment"
+echo "✅ Bulk tax collection run"
 echo "Check the results above to verify proper tax handling."
\ No newline at end of file
@@ -0,0 +1,113 @@
+#!/bin/bash
+
+# Concurrency Stress Tests
+# Fires hundreds of parallel withdrawals and transfers at the same comptes and
+# checks that no compte is ever overdrawn and that no money is lost.
+BASE_URL="http://localhost:8080/api"
+TEST_NAME="Concurrency Stress Tests"
+
+REQUESTS=${REQUESTS:-200}     # Parallel requests per scenario
+PARALLELISM=${PARALLELISM:-50} # Concurrent curl processes
+INITIAL_DEPOSIT=1000.00
+RETRAIT_AMOUNT=10.00          # 100 retraits exhaust the initial deposit
+
+echo "=== $TEST_NAME ==="
+echo "Base URL: $BASE_URL"
+echo "Requests per scenario: $REQUESTS, parallelism: $PARALLELISM"
+echo ""
+
+FAILED=0
+RESULTS_DIR=$(mktemp -d)
+trap 'rm -rf "$RESULTS_DIR"' EXIT
+
+USER_ID=7  # Assume user ID 7 exists in central service
+
+create_account() {
+  curl -s -X POST "$BASE_URL/comptes/user/$USER_ID?taxe=0" | jq -r '.id // empty'
+}
+
+deposit() {
+  curl -s -X POST "$BASE_URL/transactions/depot" \
+    -H "Content-Type: application/json" \
+    -d '{"compteId": '"$1"', "montant": '"$2"', "description": "Concurrency test deposit"}' >/dev/null
+}
+
+solde() {
+  curl -s "$BASE_URL/comptes/$1" | jq -r '.solde'
+}
+
+check() {
+  local description="$1"
+  local actual="$2"
+  local expected="$3"
+  if [ "$actual" == "$expected" ]; then
+    echo "   ✅ $description: $actual"
+  else
+    echo "   ❌ $description: expected $expected, got $actual"
+    FAILED=$((FAILED + 1))
+  fi
+}
+
+# Scenario 1: parallel withdrawals on a single compte
+echo "1. $REQUESTS parallel retraits of $RETRAIT_AMOUNT on a compte holding $INITIAL_DEPOSIT..."
+ACCOUNT_ID=$(create_account)
+if [ -z "$ACCOUNT_ID" ]; then
+  echo "❌ Could not create test account"
+  exit 1
+fi
+deposit "$ACCOUNT_ID" "$INITIAL_DEPOSIT"
+
+seq 1 "$REQUESTS" | xargs -P "$PARALLELISM" -I{} curl -s -o /dev/null -w "%{http_code}\n" \
+  -X POST "$BASE_URL/transactions/retrait" \
+  -H "Content-Type: application/json" \
+  -d '{"compteId": '"$ACCOUNT_ID"', "montant": '"$RETRAIT_AMOUNT"', "description": "Concurrent retrait {}"}' \
+  > "$RESULTS_DIR/retraits.txt"
+
+SUCCESSES=$(grep -c '^2' "$RESULTS_DIR/retraits.txt")
+REJECTIONS=$(grep -c '^400' "$RESULTS_DIR/retraits.txt")
+ERRORS=$(grep -vc '^2\|^400' "$RESULTS_DIR/retraits.txt")
+EXPECTED_SUCCESSES=$(echo "$INITIAL_DEPOSIT / $RETRAIT_AMOUNT" | bc)
+[ "$EXPECTED_SUCCESSES" -gt "$REQUESTS" ] && EXPECTED_SUCCESSES=$REQUESTS
+
+check "Successful retraits" "$SUCCESSES" "$EXPECTED_SUCCESSES"
+check "Rejected retraits (Solde insuffisant)" "$REJECTIONS" "$((REQUESTS - EXPECTED_SUCCESSES))"
+check "Server errors" "$ERRORS" "0"
+check "Final solde" "$(solde "$ACCOUNT_ID")" \
+  "$(echo "$INITIAL_DEPOSIT - $EXPECTED_SUCCESSES * $RETRAIT_AMOUNT" | bc)"
+echo ""
+
+# Scenario 2: opposite transfers between two comptes (lock ordering)
+echo "2. $REQUESTS parallel transferts in both directions between two comptes..."
+ACCOUNT_A=$(create_account)
+ACCOUNT_B=$(create_account)
+deposit "$ACCOUNT_A" "$INITIAL_DEPOSIT"
+deposit "$ACCOUNT_B" "$INITIAL_DEPOSIT"
+
+seq 1 "$REQUESTS" | xargs -P "$PARALLELISM" -I{} bash -c '
+  if [ $(( {} % 2 )) -eq 0 ]; then SRC='"$ACCOUNT_A"'; DST='"$ACCOUNT_B"'; else SRC='"$ACCOUNT_B"'; DST='"$ACCOUNT_A"'; fi
+  curl -s -o /dev/null -w "%{http_code}\n" -X POST "'"$BASE_URL"'/transactions/transfert" \
+    -H "Content-Type: application/json" \
+    -d "{\"compteSourceId\": $SRC, \"compteDestinationId\": $DST, \"montant\": 25.00, \"description\": \"Concurrent transfert {}\"}"
+' > "$RESULTS_DIR/transferts.txt"
+
+ERRORS=$(grep -vc '^2\|^400' "$RESULTS_DIR/transferts.txt")
+SOLDE_A=$(solde "$ACCOUNT_A")
+SOLDE_B=$(solde "$ACCOUNT_B")
+check "Server errors (deadlocks, timeouts)" "$ERRORS" "0"
+check "Total money of both comptes" "$(echo "$SOLDE_A + $SOLDE_B" | bc)" \
+  "$(echo "2 * $INITIAL_DEPOSIT" | bc)"
+check "Compte A not overdrawn" "$(echo "$SOLDE_A >= 0" | bc)" "1"
+check "Compte B not overdrawn" "$(echo "$SOLDE_B >= 0" | bc)" "1"
+echo ""
+
+# Scenario 3: the projection still matches the ledger
+echo "3. Reconciling solde projections with the ledger..."
+DRIFTS=$(curl -s -X POST "$BASE_URL/comptes/soldes/reconcile" | jq -r '.driftCount')
+check "Drifting comptes" "$DRIFTS" "0"
+echo ""
+
+echo "=== Concurrency Stress Tests Completed ==="
+if [ $FAILED -ne 0 ]; then
+  echo "⚠️  $FAILED check(s) failed"
+  exit 1
+fi
@@ -0,0 +1,134 @@
+#!/bin/bash
+
+# Ledger Index Benchmark
+# Seeds a scratch database with synthetic transaction_courants rows and times
+# the hot ledger queries before and after the V2__ledger_indexes migration.
+# Runs against MySQL directly; the application does not need to be running.
+#
+#   SIZES="1000000 10000000" ./ledger-index-benchmark.sh
+#
+# The scratch database is dropped and recreated for every size.
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+MIGRATIONS_DIR="$SCRIPT_DIR/../../src/main/resources/db/migration"
+TEST_NAME="Ledger Index Benchmark"
+
+MYSQL_HOST=${MYSQL_HOST:-localhost}
+MYSQL_PORT=${MYSQL_PORT:-3306}
+MYSQL_USER=${MYSQL_USER:-razherana}
+MYSQL_PASSWORD=${MYSQL_PASSWORD:-}
+BENCH_DB=${BENCH_DB:-s5_archlog_1_banking_courant_bench}
+
+SIZES=${SIZES:-"1000000 10000000"} # Ledger sizes to benchmark
+COMPTES=${COMPTES:-10000}          # Number of comptes the rows are spread over
+REPEAT=${REPEAT:-5}                # Runs per query, the median is reported
+
+mysql_cmd() {
+  MYSQL_PWD="$MYSQL_PASSWORD" mysql -h "$MYSQL_HOST" -P "$MYSQL_PORT" -u "$MYSQL_USER" --batch --skip-column-names "$@"
+}
+
+echo "=== $TEST_NAME ==="
+echo "Database: $BENCH_DB on $MYSQL_HOST:$MYSQL_PORT"
+echo "Sizes: $SIZES, comptes: $COMPTES, runs per query: $REPEAT"
+echo ""
+
+# Hot queries, on a compte in the middle of the range
+COMPTE_ID=$((COMPTES / 2))
+declare -A QUERIES=(
+  ["solde-credits"]="SELECT COALESCE(SUM(montant), 0) FROM transaction_courants WHERE receiver_id = $COMPTE_ID AND date < NOW()"
+  ["solde-debits"]="SELECT COALESCE(SUM(montant), 0) FROM transaction_courants WHERE sender_id = $COMPTE_ID AND date < NOW()"
+  ["tax-paid"]="SELECT COALESCE(SUM(montant), 0) FROM transaction_courants WHERE sender_id = $COMPTE_ID AND special_action = 'taxe' AND date <= NOW()"
+  ["list-by-compte"]="SELECT id, date, montant FROM transaction_courants WHERE sender_id = $COMPTE_ID OR receiver_id = $COMPTE_ID ORDER BY date DESC, id DESC LIMIT 51"
+  ["list-all"]="SELECT id, date, montant FROM transaction_courants ORDER BY date DESC, id DESC LIMIT 51"
+)
+QUERY_ORDER="solde-credits solde-debits tax-paid list-by-compte list-all"
+
+# Median wall time in ms of REPEAT runs of a query (after one warm-up run)
+time_query() {
+  local sql="$1"
+  local times=()
+  mysql_cmd "$BENCH_DB" -e "$sql" >/dev/null
+  for _ in $(seq 1 "$REPEAT"); do
+    local start end
+    start=$(date +%s%N)
+    mysql_cmd "$BENCH_DB" -e "$sql" >/dev/null
+    end=$(date +%s%N)
+    times+=($(((end - start) / 1000000)))
+  done
+  printf '%s\n' "${times[@]}" | sort -n | sed -n "$(((REPEAT + 1) / 2))p"
+}
+
+seed() {
+  local rows="$1"
+  echo "Seeding $rows transactions over $COMPTES comptes..."
+  mysql_cmd -e "DROP DATABASE IF EXISTS \`$BENCH_DB\`; CREATE DATABASE \`$BENCH_DB\`"
+  mysql_cmd "$BENCH_DB" <"$MIGRATIONS_DIR/V1__baseline.sql"
+
+  # 0..999999 helper sequence built from digits
+  mysql_cmd "$BENCH_DB" -e "
+    CREATE TABLE seq_digits (d INT PRIMARY KEY);
+    INSERT INTO seq_digits VALUES (0),(1),(2),(3),(4),(5),(6),(7),(8),(9);
+    CREATE TABLE seq (n INT PRIMARY KEY);
+    INSERT INTO seq SELECT a.d + 10*b.d + 100*c.d + 1000*d.d + 10000*e.d + 100000*f.d
+      FROM seq_digits a, seq_digits b, seq_digits c, seq_digits d, seq_digits e, seq_digits f;
+    INSERT INTO compte_courants (id, taxe, user_id, created_at)
+      SELECT n + 1, 10.00, 1, '2020-01-01' FROM seq WHERE n < $COMPTES;"
+
+  # Deposits, withdrawals, transfers and taxes spread over five years, one
+  # million rows per statement
+  local offset=0
+  while [ "$offset" -lt "$rows" ]; do
+    local batch=$((rows - offset < 1000000 ? rows - offset : 1000000))
+    mysql_cmd "$BENCH_DB" -e "
+      INSERT INTO transaction_courants (special_action, sender_id, receiver_id, montant, date)
+      SELECT
+        CASE (s.n + $offset) % 4 WHEN 0 THEN 'deposit' WHEN 1 THEN 'withdrawal' WHEN 2 THEN NULL ELSE 'taxe' END,
+        CASE (s.n + $offset) % 4 WHEN 0 THEN NULL ELSE 1 + (s.n * 7919 + $offset) % $COMPTES END,
+        CASE (s.n + $offset) % 4 WHEN 0 THEN 1 + (s.n * 104729 + $offset) % $COMPTES
+          WHEN 2 THEN 1 + (s.n * 104729 + $offset + 1) % $COMPTES ELSE NULL END,
+        1 + (s.n % 500),
+        '2020-01-01' + INTERVAL ((s.n + $offset) % 157680000) SECOND
+      FROM seq s WHERE s.n < $batch;"
+    offset=$((offset + batch))
+    echo "   $offset / $rows"
+  done
+  mysql_cmd "$BENCH_DB" -e "ANALYZE TABLE transaction_courants" >/dev/null
+}
+
+declare -A BEFORE AFTER
+for rows in $SIZES; do
+  seed "$rows"
+
+  echo "Timing queries without indexes..."
+  for name in $QUERY_ORDER; do
+    BEFORE["$rows/$name"]=$(time_query "${QUERIES[$name]}")
+  done
+
+  echo "Applying V2__ledger_indexes.sql..."
+  start=$(date +%s)
+  mysql_cmd "$BENCH_DB" <"$MIGRATIONS_DIR/V2__ledger_indexes.sql"
+  mysql_cmd "$BENCH_DB" -e "ANALYZE TABLE transaction_courants" >/dev/null
+  echo "   Index build took $(($(date +%s) - start)) s"
+
+  echo "Timing queries with indexes..."
+  for name in $QUERY_ORDER; do
+    AFTER["$rows/$name"]=$(time_query "${QUERIES[$name]}")
+  done
+
+  echo "Query plans with indexes:"
+  for name in $QUERY_ORDER; do
+    echo "   $name: $(mysql_cmd "$BENCH_DB" -e "EXPLAIN FORMAT=TREE ${QUERIES[$name]}" | head -1)"
+  done
+  echo ""
+done
+
+echo "Results (median ms over $REPEAT runs, including client round-trip):"
+echo ""
+echo "| rows | query | before | after |"
+echo "| ---- | ----- | ------ | ----- |"
+for rows in $SIZES; do
+  for name in $QUERY_ORDER; do
+    echo "| $rows | $name | ${BEFORE["$rows/$name"]} | ${AFTER["$rows/$name"]} |"
+  done
+done
+
+mysql_cmd -e "DROP DATABASE IF EXISTS \`$BENCH_DB\`"
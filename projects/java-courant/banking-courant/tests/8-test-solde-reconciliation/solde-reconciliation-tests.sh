@@ -0,0 +1,98 @@
+#!/bin/bash
+
+# Solde Reconciliation Tests
+# Checks that the materialized solde (solde_courants) still gives the same
+# answer as the balance recomputed from the ledger, for single comptes, for
+# the per-user listing and through POST /comptes/soldes/reconcile.
+BASE_URL="http://localhost:8080/api"
+TEST_NAME="Solde Reconciliation Tests"
+
+echo "=== $TEST_NAME ==="
+echo "Base URL: $BASE_URL"
+echo ""
+
+FAILED=0
+
+USER_ID=8  # Assume user ID 8 exists in central service
+
+create_account() {
+  curl -s -X POST "$BASE_URL/comptes/user/$USER_ID?taxe=0" | jq -r '.id // empty'
+}
+
+post() {
+  curl -s -o /dev/null -w "%{http_code}" -X POST "$BASE_URL/transactions/$1" \
+    -H "Content-Type: application/json" -d "$2"
+}
+
+solde() {
+  printf "%.2f" "$(curl -s "$BASE_URL/comptes/$1" | jq -r '.solde')"
+}
+
+# Balance recomputed from the ledger export: money received minus money sent
+ledger_solde() {
+  printf "%.2f" "$(curl -s "$BASE_URL/transactions/compte/$1/export?format=ndjson" \
+    | jq -s --argjson id "$1" \
+      '(map(select(.receiverId == $id) | .montant) | add // 0) - (map(select(.senderId == $id) | .montant) | add // 0)')"
+}
+
+check() {
+  local description="$1"
+  local actual="$2"
+  local expected="$3"
+  if [ "$actual" == "$expected" ]; then
+    echo "   ✅ $description: $actual"
+  else
+    echo "   ❌ $description: expected $expected, got $actual"
+    FAILED=$((FAILED + 1))
+  fi
+}
+
+echo "1. Creating two comptes..."
+ACCOUNT_A=$(create_account)
+ACCOUNT_B=$(create_account)
+if [ -z "$ACCOUNT_A" ] || [ -z "$ACCOUNT_B" ]; then
+  echo "❌ Could not create test accounts"
+  exit 1
+fi
+echo "   Comptes: $ACCOUNT_A, $ACCOUNT_B"
+check "Solde of a new compte" "$(solde "$ACCOUNT_A")" "0.00"
+check "Ledger solde of a new compte" "$(ledger_solde "$ACCOUNT_A")" "0.00"
+echo ""
+
+echo "2. Posting depots, retraits and transferts..."
+check "Depot on A" "$(post depot '{"compteId": '"$ACCOUNT_A"', "montant": 1000.00, "description": "Reconciliation depot"}')" "201"
+check "Depot on B" "$(post depot '{"compteId": '"$ACCOUNT_B"', "montant": 250.50, "description": "Reconciliation depot"}')" "201"
+check "Retrait on A" "$(post retrait '{"compteId": '"$ACCOUNT_A"', "montant": 120.25, "description": "Reconciliation retrait"}')" "201"
+check "Transfert A -> B" "$(post transfert '{"compteSourceId": '"$ACCOUNT_A"', "compteDestinationId": '"$ACCOUNT_B"', "montant": 300.00, "description": "Reconciliation transfert"}')" "201"
+check "Transfert B -> A" "$(post transfert '{"compteSourceId": '"$ACCOUNT_B"', "compteDestinationId": '"$ACCOUNT_A"', "montant": 75.10, "description": "Reconciliation transfert"}')" "201"
+check "Rejected retrait on B (Solde insuffisant)" "$(post retrait '{"compteId": '"$ACCOUNT_B"', "montant": 10000.00, "description": "Reconciliation overdraft"}')" "400"
+echo ""
+
+echo "3. Comparing the materialized solde with the ledger..."
+check "Solde of A" "$(solde "$ACCOUNT_A")" "654.85"
+check "Ledger solde of A" "$(ledger_solde "$ACCOUNT_A")" "654.85"
+check "Solde of B" "$(solde "$ACCOUNT_B")" "475.40"
+check "Ledger solde of B" "$(ledger_solde "$ACCOUNT_B")" "475.40"
+
+LISTING=$(curl -s "$BASE_URL/comptes/user/$USER_ID")
+check "Solde of A in the user listing" \
+  "$(printf "%.2f" "$(echo "$LISTING" | jq -r --argjson id "$ACCOUNT_A" '.[] | select(.id == $id) | .solde')")" "654.85"
+check "Solde of B in the user listing" \
+  "$(printf "%.2f" "$(echo "$LISTING" | jq -r --argjson id "$ACCOUNT_B" '.[] | select(.id == $id) | .solde')")" "475.40"
+echo ""
+
+echo "4. Reconciling solde projections with the ledger..."
+REPORT=$(curl -s -X POST "$BASE_URL/comptes/soldes/reconcile")
+check "Drifting comptes" "$(echo "$REPORT" | jq -r '.driftCount')" "0"
+check "Drifts reported for A and B" \
+  "$(echo "$REPORT" | jq --argjson a "$ACCOUNT_A" --argjson b "$ACCOUNT_B" \
+    '[.drifts[] | select(.compteId == $a or .compteId == $b)] | length')" "0"
+check "Comptes checked include A and B" "$(echo "$REPORT" | jq '.comptesChecked >= 2')" "true"
+check "Solde of A unchanged by reconciliation" "$(solde "$ACCOUNT_A")" "654.85"
+echo ""
+
+echo "=== Solde Reconciliation Tests Completed ==="
+if [ $FAILED -ne 0 ]; then
+  echo "⚠️  $FAILED check(s) failed"
+  exit 1
+fi
@@ -0,0 +1,190 @@
+#!/bin/bash
+
+# Ledger Archive Tests
+# Seeds back-dated transactions in a closed month, writes the checkpoints,
+# archives the month with POST /transactions/archive and checks that the
+# balances, the paged listing and the export return the same answers before
+# and after the month moves to transaction_courants_archive.
+#
+# Seeds the back-dated rows and splits the oldest ledger partition with the
+# mysql client (MYSQL_* and COURANT_DB environment variables). Run it against
+# a test database (see clear_comptes.sql): archiving moves every closed month
+# older than banking.ledger.archive.retention-months, not only the seeded one.
+BASE_URL="http://localhost:8080/api"
+TEST_NAME="Ledger Archive Tests"
+
+MYSQL_HOST=${MYSQL_HOST:-localhost}
+MYSQL_PORT=${MYSQL_PORT:-3306}
+MYSQL_USER=${MYSQL_USER:-razherana}
+MYSQL_PASSWORD=${MYSQL_PASSWORD:-}
+COURANT_DB=${COURANT_DB:-s5_archlog_1_banking_courant}
+
+SEED_MONTHS_AGO=${SEED_MONTHS_AGO:-14} # Must exceed banking.ledger.archive.retention-months (12)
+MONTHS_AHEAD=${MONTHS_AHEAD:-3}        # banking.ledger.partitions.months-ahead
+PAGE_SIZE=2
+
+echo "=== $TEST_NAME ==="
+echo "Base URL: $BASE_URL"
+echo "Database: $COURANT_DB on $MYSQL_HOST:$MYSQL_PORT"
+echo ""
+
+FAILED=0
+
+USER_ID=10  # Assume user ID 10 exists in central service
+
+mysql_cmd() {
+  MYSQL_PWD="$MYSQL_PASSWORD" mysql -h "$MYSQL_HOST" -P "$MYSQL_PORT" -u "$MYSQL_USER" --batch --skip-column-names "$COURANT_DB" "$@"
+}
+
+check() {
+  local description="$1"
+  local actual="$2"
+  local expected="$3"
+  if [ "$actual" == "$expected" ]; then
+    echo "   ✅ $description: $actual"
+  else
+    echo "   ❌ $description: expected $expected, got $actual"
+    FAILED=$((FAILED + 1))
+  fi
+}
+
+create_account() {
+  curl -s -X POST "$BASE_URL/comptes/user/$USER_ID?taxe=0" | jq -r '.id // empty'
+}
+
+solde() {
+  printf "%.2f" "$(curl -s "$BASE_URL/comptes/$1" | jq -r '.solde')"
+}
+
+# Every page of the listing of a compte, one "id montant" line per transaction
+listing() {
+  local cursor=""
+  while true; do
+    local page
+    page=$(curl -s -G "$BASE_URL/transactions/compte/$1" --data-urlencode "limit=$PAGE_SIZE" \
+      ${cursor:+--data-urlencode "cursor=$cursor"})
+    echo "$page" | jq -r '.items[] | "\(.id) \(.montant)"'
+    cursor=$(echo "$page" | jq -r '.nextCursor // empty')
+    [ -z "$cursor" ] && break
+  done
+}
+
+export_ndjson() {
+  curl -s "$BASE_URL/transactions/compte/$1/export?format=ndjson" | jq -c '{id, senderId, receiverId, montant, specialAction}'
+}
+
+partition_exists() {
+  mysql_cmd -e "SELECT COUNT(*) FROM information_schema.PARTITIONS WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'transaction_courants' AND PARTITION_NAME = '$1'"
+}
+
+if ! mysql_cmd -e "SELECT 1" >/dev/null 2>&1; then
+  echo "❌ Cannot connect to $COURANT_DB on $MYSQL_HOST:$MYSQL_PORT"
+  exit 1
+fi
+
+SEED_MONTH=$(date -d "$(date +%Y-%m-01) -$SEED_MONTHS_AGO month" +%Y-%m)
+SEED_START="$SEED_MONTH-01"
+SEED_END=$(date -d "$SEED_START +1 month" +%Y-%m-%d)
+SEED_PARTITION="p${SEED_MONTH/-/}"
+AHEAD_PARTITION="p$(date -d "$(date +%Y-%m-01) +$MONTHS_AHEAD month" +%Y%m)"
+
+echo "1. Preparing the partition of $SEED_MONTH..."
+HORIZON=$(mysql_cmd -e "SELECT COALESCE(DATE(MAX(period_start) + INTERVAL 1 MONTH), '1970-01-01') FROM ledger_archive_periods")
+if [[ "$HORIZON" > "$SEED_START" ]]; then
+  echo "❌ $SEED_MONTH is already archived (horizon $HORIZON): reset the database with clear_comptes.sql"
+  exit 1
+fi
+FIRST_PARTITION=$(mysql_cmd -e "SELECT PARTITION_NAME FROM information_schema.PARTITIONS WHERE TABLE_SCHEMA = DATABASE()
+  AND TABLE_NAME = 'transaction_courants' ORDER BY PARTITION_ORDINAL_POSITION LIMIT 1")
+if [ -z "$FIRST_PARTITION" ] || [ "$FIRST_PARTITION" == "NULL" ]; then
+  echo "❌ transaction_courants is not partitioned (V3__transaction_partitions not applied)"
+  exit 1
+fi
+if [ "$(partition_exists "$SEED_PARTITION")" == "0" ]; then
+  if [[ ! "$FIRST_PARTITION" > "$SEED_PARTITION" ]]; then
+    echo "❌ No partition can be split for $SEED_MONTH (oldest partition: $FIRST_PARTITION)"
+    exit 1
+  fi
+  # The oldest partition holds every earlier date: split the seeded month off
+  FIRST_BOUND=$(mysql_cmd -e "SELECT PARTITION_DESCRIPTION FROM information_schema.PARTITIONS WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'transaction_courants' AND PARTITION_NAME = '$FIRST_PARTITION'")
+  mysql_cmd -e "ALTER TABLE transaction_courants REORGANIZE PARTITION \`$FIRST_PARTITION\` INTO (
+    PARTITION \`$SEED_PARTITION\` VALUES LESS THAN ('$SEED_END'),
+    PARTITION \`$FIRST_PARTITION\` VALUES LESS THAN ($FIRST_BOUND))"
+fi
+check "Partition $SEED_PARTITION" "$(partition_exists "$SEED_PARTITION")" "1"
+echo ""
+
+echo "2. Creating two comptes with back-dated transactions in $SEED_MONTH..."
+ACCOUNT_A=$(create_account)
+ACCOUNT_B=$(create_account)
+if [ -z "$ACCOUNT_A" ] || [ -z "$ACCOUNT_B" ]; then
+  echo "❌ Could not create test accounts"
+  exit 1
+fi
+echo "   Comptes: $ACCOUNT_A, $ACCOUNT_B"
+mysql_cmd -e "INSERT INTO transaction_courants (special_action, sender_id, receiver_id, montant, date) VALUES
+  ('deposit', NULL, $ACCOUNT_A, 1000.00, '$SEED_MONTH-05 10:00:00'),
+  (NULL, $ACCOUNT_A, $ACCOUNT_B, 200.00, '$SEED_MONTH-10 10:00:00'),
+  ('withdrawal', $ACCOUNT_B, NULL, 50.00, '$SEED_MONTH-20 10:00:00')"
+curl -s -X POST "$BASE_URL/transactions/depot" \
+  -H "Content-Type: application/json" \
+  -d '{"compteId": '"$ACCOUNT_A"', "montant": 500.00, "description": "Ledger archive test deposit"}' >/dev/null
+
+# Rows inserted behind the application's back: bring the projections in line
+curl -s -o /dev/null -X POST "$BASE_URL/comptes/soldes/reconcile?repair=true"
+check "Solde of A" "$(solde "$ACCOUNT_A")" "1300.00"
+check "Solde of B" "$(solde "$ACCOUNT_B")" "150.00"
+echo ""
+
+echo "3. Recording the answers before archiving..."
+SOLDE_A=$(solde "$ACCOUNT_A")
+SOLDE_B=$(solde "$ACCOUNT_B")
+LISTING_A=$(listing "$ACCOUNT_A")
+LISTING_B=$(listing "$ACCOUNT_B")
+EXPORT_A=$(export_ndjson "$ACCOUNT_A")
+EXPORT_B=$(export_ndjson "$ACCOUNT_B")
+check "Transactions listed for A" "$(echo "$LISTING_A" | grep -c .)" "3"
+check "Transactions exported for B" "$(echo "$EXPORT_B" | grep -c .)" "2"
+echo ""
+
+echo "4. Writing the checkpoints..."
+CHECKPOINTS=$(curl -s -X POST "$BASE_URL/comptes/checkpoints/rebuild?fromId=$ACCOUNT_A&toId=$ACCOUNT_B")
+check "Checkpoints written" "$(echo "$CHECKPOINTS" | jq '.checkpointsWritten >= 2')" "true"
+echo ""
+
+echo "5. Archiving closed months..."
+REPORT=$(curl -s -X POST "$BASE_URL/transactions/archive")
+echo "   Report: $REPORT"
+check "Archive blocked by" "$(echo "$REPORT" | jq -r '.blockedBy // "nothing"')" "nothing"
+check "$SEED_MONTH archived" \
+  "$(echo "$REPORT" | jq --arg m "$SEED_START" '[.periodsArchived[] | select(startswith($m))] | length')" "1"
+check "Archive horizon after $SEED_MONTH" "$(echo "$REPORT" | jq -r --arg e "$SEED_END" '.archiveHorizon >= $e')" "true"
+check "Partition $SEED_PARTITION dropped" "$(partition_exists "$SEED_PARTITION")" "0"
+check "Partition $AHEAD_PARTITION created ahead" "$(partition_exists "$AHEAD_PARTITION")" "1"
+check "Seeded rows in the archive" "$(mysql_cmd -e "SELECT COUNT(*) FROM transaction_courants_archive
+  WHERE (sender_id IN ($ACCOUNT_A, $ACCOUNT_B) OR receiver_id IN ($ACCOUNT_A, $ACCOUNT_B))
+  AND date >= '$SEED_START' AND date < '$SEED_END'")" "3"
+echo ""
+
+echo "6. Comparing the answers after archiving..."
+check "Solde of A" "$(solde "$ACCOUNT_A")" "$SOLDE_A"
+check "Solde of B" "$(solde "$ACCOUNT_B")" "$SOLDE_B"
+check "Paged listing of A unchanged" "$(listing "$ACCOUNT_A" | tr '\n' ' ')" "$(echo "$LISTING_A" | tr '\n' ' ')"
+check "Paged listing of B unchanged" "$(listing "$ACCOUNT_B" | tr '\n' ' ')" "$(echo "$LISTING_B" | tr '\n' ' ')"
+check "Export of A unchanged" "$(export_ndjson "$ACCOUNT_A" | tr '\n' ' ')" "$(echo "$EXPORT_A" | tr '\n' ' ')"
+check "Export of B unchanged" "$(export_ndjson "$ACCOUNT_B" | tr '\n' ' ')" "$(echo "$EXPORT_B" | tr '\n' ' ')"
+check "Drifting comptes (full ledger recomputation)" \
+  "$(curl -s -X POST "$BASE_URL/comptes/soldes/reconcile" | jq -r '.driftCount')" "0"
+echo ""
+
+echo "7. Archiving again..."
+check "Months archived by a second run" "$(curl -s -X POST "$BASE_URL/transactions/archive" | jq '.periodsArchived | length')" "0"
+echo ""
+
+echo "=== Ledger Archive Tests Completed ==="
+if [ $FAILED -ne 0 ]; then
+  echo "⚠️  $FAILED check(s) failed"
+  exit 1
+fi
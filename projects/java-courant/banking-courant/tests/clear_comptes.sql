@@ -1,3 +1,11 @@
 -- Clear existing data (users are managed by java-interface service)
+DELETE FROM idempotency_keys;
 DELETE FROM transaction_courants;
+DELETE FROM transaction_courants_archive;
+DELETE FROM ledger_archive_periods;
+DELETE FROM solde_courants;
+DELETE FROM solde_checkpoints;
+DELETE FROM taxe_accruals;
+DELETE FROM taxe_collection_failures;
+DELETE FROM taxe_collection_runs;
 DELETE FROM compte_courants;
\ No newline at end of file
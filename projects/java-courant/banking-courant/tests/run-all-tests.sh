@@ -73,6 +73,9 @@ echo "1. Account Management Tests"
 echo "2. Transaction Management Tests"
 echo "3. Integration Scenario Tests"
 echo "4. Tax Functionality Tests"
+echo "5. Concurrency Stress Tests"
+echo "6. Solde Reconciliation Tests"
+echo "7. Ledger Archive Tests"
 echo ""
 echo "🚀 Starting test execution..."
 echo ""
@@ -92,6 +95,20 @@ track_result $?
 # Run Test Suite 4: Tax Functionality
 run_test "$TESTS_DIR/5-test-tax-functionality/tax-tests.sh" "Tax Functionality Tests"
 track_result $?
+run_test "$TESTS_DIR/5-test-tax-functionality/tax-accrual-tests.sh" "Tax Accrual Tests"
+track_result $?
+
+# Run Test Suite 5: Concurrency Stress Tests
+run_test "$TESTS_DIR/6-test-concurrency/concurrency-tests.sh" "Concurrency Stress Tests"
+track_result $?
+
+# Run Test Suite 6: Solde Reconciliation
+run_test "$TESTS_DIR/8-test-solde-reconciliation/solde-reconciliation-tests.sh" "Solde Reconciliation Tests"
+track_result $?
+
+# Run Test Suite 7: Ledger Archive
+run_test "$TESTS_DIR/9-test-ledger-archive/ledger-archive-tests.sh" "Ledger Archive Tests"
+track_result $?
 
 # Test Results Summary
 echo "📊 TEST EXECUTION SUMMARY"
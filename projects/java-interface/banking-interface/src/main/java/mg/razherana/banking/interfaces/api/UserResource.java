@@ -1,9 +1,11 @@
 package mg.razherana.banking.interfaces.api;
 
+import mg.razherana.banking.interfaces.application.userServices.UserCacheInvalidator;
 import mg.razherana.banking.interfaces.application.userServices.UserService;
 import mg.razherana.banking.interfaces.dto.UserDTO;
 import mg.razherana.banking.interfaces.dto.ErrorDTO;
 import mg.razherana.banking.interfaces.dto.requests.RegisterRequest;
+import mg.razherana.banking.interfaces.dto.requests.UserBatchRequest;
 import mg.razherana.banking.interfaces.entities.User;
 
 import jakarta.ejb.EJB;
@@ -11,7 +13,9 @@ import jakarta.ejb.EJBException;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -37,6 +41,9 @@ public class UserResource {
   @EJB
   private UserService userService;
 
+  @EJB
+  private UserCacheInvalidator userCacheInvalidator;
+
   /**
    * Helper method to handle EJBException and extract the underlying cause.
    * Returns true if the exception should be treated as a 400 Bad Request,
@@ -119,6 +126,49 @@ public class UserResource {
     }
   }
 
+  /**
+   * Resolve several users with one request.
+   * 
+   * <p>
+   * Body: {@code {"ids": [1, 2, 3]}}. Returns a JSON object keyed by user ID;
+   * IDs that do not exist are simply absent.
+   * </p>
+   */
+  @POST
+  @Path("/batch")
+  public Response getUsersByIds(UserBatchRequest request) {
+    try {
+      if (request == null || request.getIds() == null) {
+        ErrorDTO error = new ErrorDTO("Request body with ids is required", 400, "Bad Request", "/users/batch");
+        return Response.status(Response.Status.BAD_REQUEST)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(error).build();
+      }
+
+      Map<Integer, User> users = userService.findUsersByIds(request.getIds());
+      Map<Integer, UserDTO> userDTOs = new LinkedHashMap<>();
+      users.forEach((id, user) -> userDTOs.put(id, new UserDTO(user)));
+
+      return Response.ok(userDTOs)
+          .type(MediaType.APPLICATION_JSON)
+          .build();
+    } catch (EJBException e) {
+      if (isClientError(e)) {
+        LOG.warning("Client error getting users by IDs: " + getErrorMessage(e));
+        ErrorDTO error = new ErrorDTO(getErrorMessage(e), 400, "Bad Request", "/users/batch");
+        return Response.status(Response.Status.BAD_REQUEST)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(error).build();
+      } else {
+        LOG.severe("EJB error getting users by IDs: " + e.getMessage());
+        ErrorDTO error = new ErrorDTO("Internal server error", 500, "Internal Server Error", "/users/batch");
+        return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(error).build();
+      }
+    }
+  }
+
   @GET
   @Path("/email/{email}")
   public Response getUserByEmail(@PathParam("email") String email) {
@@ -197,6 +247,7 @@ public class UserResource {
       }
 
       User user = userService.updateUser(id, request.getName(), request.getEmail(), request.getPassword());
+      userCacheInvalidator.invalidate(id);
       UserDTO userDTO = new UserDTO(user);
 
       return Response.ok(userDTO)
@@ -224,6 +275,7 @@ public class UserResource {
   public Response deleteUser(@PathParam("id") Integer id) {
     try {
       userService.deleteUser(id);
+      userCacheInvalidator.invalidate(id);
       return Response.noContent().build();
     } catch (EJBException e) {
       if (isClientError(e)) {
@@ -0,0 +1,35 @@
+package mg.razherana.banking.interfaces.application.userServices;
+
+import jakarta.ejb.Local;
+
+/**
+ * Local EJB interface notifying downstream services that a user changed.
+ * 
+ * <p>
+ * banking-courant and banking-pret keep a local cache of the users they
+ * resolve through this application. When a user is updated or deleted, their
+ * cache entry is dropped by calling {@code DELETE /users-cache/{userId}} on
+ * every service listed in the {@code banking.user-cache.invalidation-urls}
+ * system property (comma separated base URLs, default
+ * {@code http://127.0.0.1:8080/api,http://127.0.0.3:8080/api}).
+ * </p>
+ * 
+ * <p>
+ * Notifications are best effort: a service that cannot be reached keeps its
+ * entry until the cache TTL expires.
+ * </p>
+ * 
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ */
+@Local
+public interface UserCacheInvalidator {
+
+  /**
+   * Asynchronously drop a user from the downstream caches.
+   * 
+   * @param userId the ID of the updated or deleted user
+   */
+  void invalidate(Integer userId);
+}
@@ -0,0 +1,93 @@
+package mg.razherana.banking.interfaces.application.userServices;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.ejb.Asynchronous;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Local EJB implementation of {@link UserCacheInvalidator}.
+ * 
+ * <p>
+ * One JAX-RS client is shared for all notifications, with short timeouts so
+ * an unreachable service does not hold the asynchronous pool. Calls run after
+ * the REST response is built, so updates and deletes are not slowed down by
+ * downstream services.
+ * </p>
+ * 
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class UserCacheInvalidatorImpl implements UserCacheInvalidator {
+
+  private static final Logger LOG = Logger.getLogger(UserCacheInvalidatorImpl.class.getName());
+
+  private static final String DEFAULT_URLS = "http://127.0.0.1:8080/api,http://127.0.0.3:8080/api";
+
+  private Client client;
+  private final List<WebTarget> cacheTargets = new ArrayList<>();
+
+  @PostConstruct
+  public void init() {
+    client = ClientBuilder.newBuilder()
+        .connectTimeout(1000, TimeUnit.MILLISECONDS)
+        .readTimeout(2000, TimeUnit.MILLISECONDS)
+        .build();
+
+    String urls = System.getProperty("banking.user-cache.invalidation-urls", DEFAULT_URLS);
+    for (String url : urls.split(",")) {
+      if (!url.trim().isEmpty()) {
+        cacheTargets.add(client.target(url.trim()).path("users-cache"));
+      }
+    }
+    LOG.info("User cache invalidation targets: " + urls);
+  }
+
+  @PreDestroy
+  public void close() {
+    if (client != null) {
+      client.close();
+    }
+  }
+
+  @Override
+  @Asynchronous
+  public void invalidate(Integer userId) {
+    if (userId == null) {
+      return;
+    }
+
+    for (WebTarget target : cacheTargets) {
+      try {
+        Response response = target.path(String.valueOf(userId)).request().delete();
+        try {
+          if (response.getStatus() >= 300) {
+            LOG.warning("Cache invalidation of user " + userId + " at " + target.getUri()
+                + " answered " + response.getStatus());
+          }
+        } finally {
+          response.close();
+        }
+      } catch (Exception e) {
+        LOG.warning("Cache invalidation of user " + userId + " at " + target.getUri()
+            + " failed: " + e.getMessage());
+      }
+    }
+  }
+}
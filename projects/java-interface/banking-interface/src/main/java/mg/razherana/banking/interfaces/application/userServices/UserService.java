@@ -2,7 +2,9 @@ package mg.razherana.banking.interfaces.application.userServices;
 
 import mg.razherana.banking.interfaces.entities.User;
 import jakarta.ejb.Local;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Local EJB interface for User management services.
@@ -33,6 +35,17 @@ public interface UserService {
    */
   User findUserById(Integer userId);
 
+  /**
+   * Find several users by ID with a single query.
+   * 
+   * @param userIds the user IDs (duplicates are ignored)
+   * @return map of user ID to User entity, in request order; unknown IDs are
+   *         absent from the map
+   * @throws IllegalArgumentException if userIds is null, contains null or has
+   *                                  more than 1000 IDs
+   */
+  Map<Integer, User> findUsersByIds(Collection<Integer> userIds);
+
   /**
    * Find a user by email address.
    * 
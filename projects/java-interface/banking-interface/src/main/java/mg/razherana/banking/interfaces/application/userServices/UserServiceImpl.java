@@ -9,7 +9,12 @@ import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.NoResultException;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 
 /**
@@ -36,6 +41,9 @@ public class UserServiceImpl implements UserService {
 
   private static final Logger LOG = Logger.getLogger(UserServiceImpl.class.getName());
 
+  /** Maximum number of IDs accepted by findUsersByIds */
+  public static final int MAX_BATCH_SIZE = 1000;
+
   @PersistenceContext(unitName = "userPU")
   private EntityManager entityManager;
 
@@ -48,6 +56,49 @@ public class UserServiceImpl implements UserService {
     return entityManager.find(User.class, userId);
   }
 
+  @Override
+  public Map<Integer, User> findUsersByIds(Collection<Integer> userIds) {
+    if (userIds == null) {
+      throw new IllegalArgumentException("User IDs cannot be null");
+    }
+
+    Set<Integer> ids = new LinkedHashSet<>();
+    for (Integer userId : userIds) {
+      if (userId == null) {
+        throw new IllegalArgumentException("User ID cannot be null");
+      }
+      ids.add(userId);
+    }
+    if (ids.size() > MAX_BATCH_SIZE) {
+      throw new IllegalArgumentException("Cannot look up more than " + MAX_BATCH_SIZE + " users at once");
+    }
+    LOG.info("Finding " + ids.size() + " users by ID");
+
+    Map<Integer, User> users = new LinkedHashMap<>();
+    if (ids.isEmpty()) {
+      return users;
+    }
+
+    TypedQuery<User> query = entityManager.createQuery(
+        "SELECT u FROM User u WHERE u.id IN :ids", User.class);
+    query.setParameter("ids", ids);
+
+    Map<Integer, User> byId = new LinkedHashMap<>();
+    for (User user : query.getResultList()) {
+      byId.put(user.getId(), user);
+    }
+    // Keep the order of the request
+    for (Integer id : ids) {
+      User user = byId.get(id);
+      if (user != null) {
+        users.put(id, user);
+      }
+    }
+
+    LOG.info("Found " + users.size() + " of " + ids.size() + " users");
+    return users;
+  }
+
   @Override
   public User findUserByEmail(String email) {
     LOG.info("Finding user by email: " + email);
@@ -0,0 +1,29 @@
+package mg.razherana.banking.interfaces.dto.requests;
+
+import java.util.List;
+
+/**
+ * Request DTO for resolving several users at once.
+ */
+public class UserBatchRequest {
+
+  private List<Integer> ids;
+
+  // Default constructor
+  public UserBatchRequest() {
+  }
+
+  // Constructor with parameters
+  public UserBatchRequest(List<Integer> ids) {
+    this.ids = ids;
+  }
+
+  // Getters and setters
+  public List<Integer> getIds() {
+    return ids;
+  }
+
+  public void setIds(List<Integer> ids) {
+    this.ids = ids;
+  }
+}
@@ -5,16 +5,20 @@ import jakarta.ejb.EJBException;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import mg.razherana.banking.pret.application.asyncExecutorService.AsyncExecutorService;
 import mg.razherana.banking.pret.application.comptePretService.ComptePretService;
 import mg.razherana.banking.pret.dto.*;
 import mg.razherana.banking.pret.dto.requests.CreateComptePretRequest;
 import mg.razherana.banking.pret.dto.requests.MakePaymentRequest;
+import mg.razherana.banking.pret.entities.Amortissement;
 import mg.razherana.banking.pret.entities.ComptePret;
 import mg.razherana.banking.pret.entities.TypeComptePret;
 import mg.razherana.banking.pret.entities.Echeance;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -24,6 +28,9 @@ import java.util.stream.Collectors;
 public class ComptePretResource {
   private static final Logger LOG = Logger.getLogger(ComptePretResource.class.getName());
 
+  @EJB
+  private AsyncExecutorService asyncExecutorService;
+
   @EJB
   private ComptePretService comptePretService;
 
@@ -49,59 +56,63 @@ public class ComptePretResource {
   }
 
   @GET
-  public Response getAllLoans() {
-    try {
-      List<ComptePret> loans = comptePretService.findAllLoans();
-      List<ComptePretDTO> loanDTOs = loans.stream()
-          .map(ComptePretDTO::new)
-          .collect(Collectors.toList());
-      return Response.ok(loanDTOs).build();
-
-    } catch (EJBException e) {
-      if (isClientError(e)) {
-        LOG.warning("Client error getting all loans: " + getErrorMessage(e));
-        ErrorDTO error = new ErrorDTO(getErrorMessage(e), 400, "Bad Request", "/comptes-pret");
-        return Response.status(400).entity(error).build();
-      } else {
-        LOG.severe("Unexpected error getting all loans: " + e.getMessage());
-        ErrorDTO error = new ErrorDTO("Internal server error", 500, "Internal Server Error", "/comptes-pret");
-        return Response.status(500).entity(error).build();
+  public CompletionStage<Response> getAllLoans() {
+    return asyncExecutorService.submit(() -> {
+      try {
+        List<ComptePret> loans = comptePretService.findAllLoans();
+        List<ComptePretDTO> loanDTOs = loans.stream()
+            .map(ComptePretDTO::new)
+            .collect(Collectors.toList());
+        return Response.ok(loanDTOs).build();
+
+      } catch (EJBException e) {
+        if (isClientError(e)) {
+          LOG.warning("Client error getting all loans: " + getErrorMessage(e));
+          ErrorDTO error = new ErrorDTO(getErrorMessage(e), 400, "Bad Request", "/comptes-pret");
+          return Response.status(400).entity(error).build();
+        } else {
+          LOG.severe("Unexpected error getting all loans: " + e.getMessage());
+          ErrorDTO error = new ErrorDTO("Internal server error", 500, "Internal Server Error", "/comptes-pret");
+          return Response.status(500).entity(error).build();
+        }
       }
-    }
+    });
   }
 
   /**
    * Creates a new loan account.
    */
   @POST
-  public Response createLoan(CreateComptePretRequest request) {
-    try {
-      if (request == null) {
-        ErrorDTO error = new ErrorDTO("Request body cannot be null", 400, "Bad Request", "/comptes-pret");
-        return Response.status(400).entity(error).build();
-      }
+  public CompletionStage<Response> createLoan(CreateComptePretRequest request) {
+    return asyncExecutorService.submit(() -> {
+      try {
+        if (request == null) {
+          ErrorDTO error = new ErrorDTO("Request body cannot be null", 400, "Bad Request", "/comptes-pret");
+          return Response.status(400).entity(error).build();
+        }
+
+        ComptePret loan = comptePretService.createLoan(
+            request.getUserId(),
+            request.getTypeComptePretId(),
+            request.getMontant(),
+            request.getDateDebut(),
+            request.getDateFin());
 
-      ComptePret loan = comptePretService.createLoan(
-          request.getUserId(),
-          request.getTypeComptePretId(),
-          request.getMontant(),
-          request.getDateDebut(),
-          request.getDateFin());
-
-      ComptePretDTO loanDTO = new ComptePretDTO(loan);
-      return Response.status(201).entity(loanDTO).build();
-
-    } catch (EJBException e) {
-      if (isClientError(e)) {
-        LOG.warning("Client error creating loan: " + getErrorMessage(e));
-        ErrorDTO error = new ErrorDTO(getErrorMessage(e), 400, "Bad Request", "/comptes-pret");
-        return Response.status(400).entity(error).build();
-      } else {
-        LOG.severe("EJB error creating loan: " + e.getMessage());
-        ErrorDTO error = new ErrorDTO("Internal server error", 500, "Internal Server Error", "/comptes-pret");
-        return Response.status(500).entity(error).build();
+        ComptePretDTO loanDTO = new ComptePretDTO(loan);
+        return Response.status(201).entity(loanDTO).build();
+
+      } catch (EJBException e) {
+        if (isClientError(e)) {
+          LOG.warning("Client error creating loan: " + getErrorMessage(e));
+          ErrorDTO error = new ErrorDTO(getErrorMessage(e), 400, "Bad Request", "/comptes-pret");
+          return Response.status(400).entity(error).build();
+        } else {
+          LOG.severe("EJB error creating loan: " + e.getMessage());
+          ErrorDTO error = new ErrorDTO("Internal server error", 500, "Internal Server Error", "/comptes-pret");
+          return Response.status(500).entity(error).build();
+        }
       }
-    }
+    });
   }
 
   /**
@@ -109,28 +120,30 @@ public class ComptePretResource {
    */
   @GET
   @Path("/{id}")
-  public Response getLoanById(@PathParam("id") Integer id) {
-    try {
-      ComptePret loan = comptePretService.findById(id);
-      if (loan == null) {
-        ErrorDTO error = new ErrorDTO("Loan account not found", 404, "Not Found", "/comptes-pret/" + id);
-        return Response.status(404).entity(error).build();
-      }
+  public CompletionStage<Response> getLoanById(@PathParam("id") Integer id) {
+    return asyncExecutorService.submit(() -> {
+      try {
+        ComptePret loan = comptePretService.findById(id);
+        if (loan == null) {
+          ErrorDTO error = new ErrorDTO("Loan account not found", 404, "Not Found", "/comptes-pret/" + id);
+          return Response.status(404).entity(error).build();
+        }
+
+        ComptePretDTO loanDTO = new ComptePretDTO(loan);
+        return Response.ok(loanDTO).build();
 
-      ComptePretDTO loanDTO = new ComptePretDTO(loan);
-      return Response.ok(loanDTO).build();
-
-    } catch (EJBException e) {
-      if (isClientError(e)) {
-        LOG.warning("Client error getting loan: " + getErrorMessage(e));
-        ErrorDTO error = new ErrorDTO(getErrorMessage(e), 400, "Bad Request", "/comptes-pret/" + id);
-        return Response.status(400).entity(error).build();
-      } else {
-        LOG.severe("Unexpected error getting loan: " + e.getMessage());
-        ErrorDTO error = new ErrorDTO("Internal server error", 500, "Internal Server Error", "/comptes-pret/" + id);
-        return Response.status(500).entity(error).build();
+      } catch (EJBException e) {
+        if (isClientError(e)) {
+          LOG.warning("Client error getting loan: " + getErrorMessage(e));
+          ErrorDTO error = new ErrorDTO(getErrorMessage(e), 400, "Bad Request", "/comptes-pret/" + id);
+          return Response.status(400).entity(error).build();
+        } else {
+          LOG.severe("Unexpected error getting loan: " + e.getMessage());
+          ErrorDTO error = new ErrorDTO("Internal server error", 500, "Internal Server Error", "/comptes-pret/" + id);
+          return Response.status(500).entity(error).build();
+        }
       }
-    }
+    });
   }
 
   /**
@@ -138,62 +151,103 @@ public class ComptePretResource {
    */
   @GET
   @Path("/user/{userId}")
-  public Response getLoansByUserId(@PathParam("userId") Integer userId) {
-    try {
-      List<ComptePret> loans = comptePretService.getLoansByUserId(userId);
-      List<ComptePretDTO> loanDTOs = loans.stream()
-          .map(ComptePretDTO::new)
-          .collect(Collectors.toList());
-      return Response.ok(loanDTOs).build();
-
-    } catch (EJBException e) {
-      if (isClientError(e)) {
-        LOG.warning("Client error getting user loans: " + getErrorMessage(e));
-        ErrorDTO error = new ErrorDTO(getErrorMessage(e), 400, "Bad Request", "/comptes-pret/user/" + userId);
-        return Response.status(400).entity(error).build();
-      } else {
-        LOG.severe("Unexpected error getting user loans: " + e.getMessage());
-        ErrorDTO error = new ErrorDTO("Internal server error", 500, "Internal Server Error",
-            "/comptes-pret/user/" + userId);
-        return Response.status(500).entity(error).build();
+  public CompletionStage<Response> getLoansByUserId(@PathParam("userId") Integer userId) {
+    return asyncExecutorService.submit(() -> {
+      try {
+        List<ComptePret> loans = comptePretService.getLoansByUserId(userId);
+        List<ComptePretDTO> loanDTOs = loans.stream()
+            .map(ComptePretDTO::new)
+            .collect(Collectors.toList());
+        return Response.ok(loanDTOs).build();
+
+      } catch (EJBException e) {
+        if (isClientError(e)) {
+          LOG.warning("Client error getting user loans: " + getErrorMessage(e));
+          ErrorDTO error = new ErrorDTO(getErrorMessage(e), 400, "Bad Request", "/comptes-pret/user/" + userId);
+          return Response.status(400).entity(error).build();
+        } else {
+          LOG.severe("Unexpected error getting user loans: " + e.getMessage());
+          ErrorDTO error = new ErrorDTO("Internal server error", 500, "Internal Server Error",
+              "/comptes-pret/user/" + userId);
+          return Response.status(500).entity(error).build();
+        }
       }
-    }
+    });
   }
 
   /**
-   * Gets payment status for a loan account.
+   * Streams the payment status of every loan as NDJSON, optionally for one
+   * user or one page of loans (keyset pagination on the loan ID).
    */
   @GET
-  @Path("/{id}/payment-status")
-  public Response getPaymentStatus(@PathParam("id") Integer id,
-      @QueryParam("actionDateTime") String actionDateTimeStr) {
-    try {
-      LocalDateTime actionDateTime = null;
-      if (actionDateTimeStr != null && !actionDateTimeStr.trim().isEmpty()) {
+  @Path("/payment-status")
+  @Produces({ "application/x-ndjson", MediaType.APPLICATION_JSON })
+  public CompletionStage<Response> exportPaymentStatuses(@QueryParam("asOf") String asOfStr,
+      @QueryParam("userId") Integer userId,
+      @QueryParam("afterId") Integer afterId,
+      @QueryParam("limit") Integer limit) {
+    return asyncExecutorService.submit(() -> {
+      LocalDateTime asOf = null;
+      if (asOfStr != null && !asOfStr.trim().isEmpty()) {
         try {
-          actionDateTime = LocalDateTime.parse(actionDateTimeStr);
+          asOf = LocalDateTime.parse(asOfStr);
         } catch (Exception e) {
-          ErrorDTO error = new ErrorDTO("Invalid actionDateTime format. Use ISO format: yyyy-MM-ddTHH:mm:ss",
-              400, "Bad Request", "/comptes-pret/" + id + "/payment-status");
-          return Response.status(400).entity(error).build();
+          ErrorDTO error = new ErrorDTO("Invalid asOf format. Use ISO format: yyyy-MM-ddTHH:mm:ss",
+              400, "Bad Request", "/comptes-pret/payment-status");
+          return Response.status(400).type(MediaType.APPLICATION_JSON).entity(error).build();
         }
       }
+      if (limit != null && limit <= 0) {
+        ErrorDTO error = new ErrorDTO("limit must be positive", 400, "Bad Request", "/comptes-pret/payment-status");
+        return Response.status(400).type(MediaType.APPLICATION_JSON).entity(error).build();
+      }
+
+      // Failures while streaming can only cut the response short
+      LocalDateTime reportDate = asOf != null ? asOf : LocalDateTime.now();
+      StreamingOutput stream = output -> comptePretService.exportPaymentStatuses(
+          reportDate, userId, afterId, limit, output);
+      return Response.ok(stream)
+          .type("application/x-ndjson")
+          .build();
+    });
+  }
+
+  /**
+   * Gets payment status for a loan account.
+   */
+  @GET
+  @Path("/{id}/payment-status")
+  public CompletionStage<Response> getPaymentStatus(@PathParam("id") Integer id,
+      @QueryParam("actionDateTime") String actionDateTimeStr) {
+    return asyncExecutorService.submit(() -> {
+      try {
+        LocalDateTime actionDateTime = null;
+        if (actionDateTimeStr != null && !actionDateTimeStr.trim().isEmpty()) {
+          try {
+            actionDateTime = LocalDateTime.parse(actionDateTimeStr);
+          } catch (Exception e) {
+            ErrorDTO error = new ErrorDTO("Invalid actionDateTime format. Use ISO format: yyyy-MM-ddTHH:mm:ss",
+                400, "Bad Request", "/comptes-pret/" + id + "/payment-status");
+            return Response.status(400).entity(error).build();
+          }
+        }
 
-      PaymentStatusDTO status = comptePretService.getPaymentStatus(id, actionDateTime);
-      return Response.ok(status).build();
-
-    } catch (EJBException e) {
-      if (isClientError(e)) {
-        LOG.warning("Client error getting payment status: " + getErrorMessage(e));
-        ErrorDTO error = new ErrorDTO(getErrorMessage(e), 400, "Bad Request", "/comptes-pret/" + id + "/payment-status");
-        return Response.status(400).entity(error).build();
-      } else {
-        LOG.severe("Unexpected error getting payment status: " + e.getMessage());
-        ErrorDTO error = new ErrorDTO("Internal server error", 500, "Internal Server Error",
-            "/comptes-pret/" + id + "/payment-status");
-        return Response.status(500).entity(error).build();
+        PaymentStatusDTO status = comptePretService.getPaymentStatus(id, actionDateTime);
+        return Response.ok(status).build();
+
+      } catch (EJBException e) {
+        if (isClientError(e)) {
+          LOG.warning("Client error getting payment status: " + getErrorMessage(e));
+          ErrorDTO error = new ErrorDTO(getErrorMessage(e), 400, "Bad Request", "/comptes-pret/" + id + "/payment-status");
+          return Response.status(400).entity(error).build();
+        } else {
+          LOG.severe("Unexpected error getting payment status: " + e.getMessage());
+          ErrorDTO error = new ErrorDTO("Internal server error", 500, "Internal Server Error",
+              "/comptes-pret/" + id + "/payment-status");
+          return Response.status(500).entity(error).build();
+        }
       }
-    }
+    });
   }
 
   /**
@@ -201,30 +255,89 @@ public class ComptePretResource {
    */
   @GET
   @Path("/{id}/payment-history")
-  public Response getPaymentHistory(@PathParam("id") Integer id) {
-    try {
-      List<Echeance> payments = comptePretService.getPaymentHistory(id);
-      List<EcheanceDTO> paymentDTOs = payments.stream()
-          .map(payment -> new EcheanceDTO(
-              payment.getId(),
-              payment.getCompteId(),
-              payment.getMontant(),
-              payment.getDateEcheance()))
-          .collect(Collectors.toList());
-      return Response.ok(paymentDTOs).build();
-
-    } catch (EJBException e) {
-      if (isClientError(e)) {
-        LOG.warning("Client error getting payment history: " + getErrorMessage(e));
-        ErrorDTO error = new ErrorDTO(getErrorMessage(e), 400, "Bad Request", "/comptes-pret/" + id + "/payment-history");
-        return Response.status(400).entity(error).build();
-      } else {
-        LOG.severe("Unexpected error getting payment history: " + e.getMessage());
-        ErrorDTO error = new ErrorDTO("Internal server error", 500, "Internal Server Error",
-            "/comptes-pret/" + id + "/payment-history");
-        return Response.status(500).entity(error).build();
+  public CompletionStage<Response> getPaymentHistory(@PathParam("id") Integer id) {
+    return asyncExecutorService.submit(() -> {
+      try {
+        List<Echeance> payments = comptePretService.getPaymentHistory(id);
+        List<EcheanceDTO> paymentDTOs = payments.stream()
+            .map(payment -> new EcheanceDTO(
+                payment.getId(),
+                payment.getCompteId(),
+                payment.getMontant(),
+                payment.getDateEcheance()))
+            .collect(Collectors.toList());
+        return Response.ok(paymentDTOs).build();
+
+      } catch (EJBException e) {
+        if (isClientError(e)) {
+          LOG.warning("Client error getting payment history: " + getErrorMessage(e));
+          ErrorDTO error = new ErrorDTO(getErrorMessage(e), 400, "Bad Request", "/comptes-pret/" + id + "/payment-history");
+          return Response.status(400).entity(error).build();
+        } else {
+          LOG.severe("Unexpected error getting payment history: " + e.getMessage());
+          ErrorDTO error = new ErrorDTO("Internal server error", 500, "Internal Server Error",
+              "/comptes-pret/" + id + "/payment-history");
+          return Response.status(500).entity(error).build();
+        }
       }
-    }
+    });
+  }
+
+  /**
+   * Gets the amortization schedule of a loan account.
+   */
+  @GET
+  @Path("/{id}/schedule")
+  public CompletionStage<Response> getAmortizationSchedule(@PathParam("id") Integer id) {
+    return asyncExecutorService.submit(() -> {
+      try {
+        List<Amortissement> schedule = comptePretService.getAmortizationSchedule(id);
+        List<AmortissementDTO> scheduleDTOs = schedule.stream()
+            .map(AmortissementDTO::new)
+            .collect(Collectors.toList());
+        return Response.ok(scheduleDTOs).build();
+
+      } catch (EJBException e) {
+        if (isClientError(e)) {
+          LOG.warning("Client error getting amortization schedule: " + getErrorMessage(e));
+          ErrorDTO error = new ErrorDTO(getErrorMessage(e), 400, "Bad Request", "/comptes-pret/" + id + "/schedule");
+          return Response.status(400).entity(error).build();
+        } else {
+          LOG.severe("Unexpected error getting amortization schedule: " + e.getMessage());
+          ErrorDTO error = new ErrorDTO("Internal server error", 500, "Internal Server Error",
+              "/comptes-pret/" + id + "/schedule");
+          return Response.status(500).entity(error).build();
+        }
+      }
+    });
+  }
+
+  /**
+   * Recomputes the monthly payment of a loan account with the intermediate
+   * values of the formula, for debugging.
+   */
+  @GET
+  @Path("/{id}/monthly-payment-trace")
+  public CompletionStage<Response> traceMonthlyPayment(@PathParam("id") Integer id) {
+    return asyncExecutorService.submit(() -> {
+      try {
+        MonthlyPaymentTraceDTO trace = comptePretService.traceMonthlyPayment(id);
+        return Response.ok(trace).build();
+
+      } catch (EJBException e) {
+        if (isClientError(e)) {
+          LOG.warning("Client error tracing monthly payment: " + getErrorMessage(e));
+          ErrorDTO error = new ErrorDTO(getErrorMessage(e), 400, "Bad Request",
+              "/comptes-pret/" + id + "/monthly-payment-trace");
+          return Response.status(400).entity(error).build();
+        } else {
+          LOG.severe("Unexpected error tracing monthly payment: " + e.getMessage());
+          ErrorDTO error = new ErrorDTO("Internal server error", 500, "Internal Server Error",
+              "/comptes-pret/" + id + "/monthly-payment-trace");
+          return Response.status(500).entity(error).build();
+        }
+      }
+    });
   }
 
   /**
@@ -232,37 +345,39 @@ public class ComptePretResource {
    */
   @POST
   @Path("/make-payment")
-  public Response makePayment(MakePaymentRequest request) {
-    try {
-      if (request == null) {
-        ErrorDTO error = new ErrorDTO("Request body cannot be null", 400, "Bad Request", "/comptes-pret/make-payment");
-        return Response.status(400).entity(error).build();
-      }
+  public CompletionStage<Response> makePayment(MakePaymentRequest request) {
+    return asyncExecutorService.submit(() -> {
+      try {
+        if (request == null) {
+          ErrorDTO error = new ErrorDTO("Request body cannot be null", 400, "Bad Request", "/comptes-pret/make-payment");
+          return Response.status(400).entity(error).build();
+        }
 
-      Echeance payment = comptePretService.makePayment(
-          request.getCompteId(),
-          request.getMontant(),
-          request.getActionDateTime());
-
-      EcheanceDTO paymentDTO = new EcheanceDTO(
-          payment.getId(),
-          payment.getCompteId(),
-          payment.getMontant(),
-          payment.getDateEcheance());
-      return Response.status(201).entity(paymentDTO).build();
-
-    } catch (EJBException e) {
-      if (isClientError(e)) {
-        LOG.warning("Client error making payment: " + getErrorMessage(e));
-        ErrorDTO error = new ErrorDTO(getErrorMessage(e), 400, "Bad Request", "/comptes-pret/make-payment");
-        return Response.status(400).entity(error).build();
-      } else {
-        LOG.severe("EJB error making payment: " + e.getMessage());
-        ErrorDTO error = new ErrorDTO("Internal server error", 500, "Internal Server Error",
-            "/comptes-pret/make-payment");
-        return Response.status(500).entity(error).build();
+        Echeance payment = comptePretService.makePayment(
+            request.getCompteId(),
+            request.getMontant(),
+            request.getActionDateTime());
+
+        EcheanceDTO paymentDTO = new EcheanceDTO(
+            payment.getId(),
+            payment.getCompteId(),
+            payment.getMontant(),
+            payment.getDateEcheance());
+        return Response.status(201).entity(paymentDTO).build();
+
+      } catch (EJBException e) {
+        if (isClientError(e)) {
+          LOG.warning("Client error making payment: " + getErrorMessage(e));
+          ErrorDTO error = new ErrorDTO(getErrorMessage(e), 400, "Bad Request", "/comptes-pret/make-payment");
+          return Response.status(400).entity(error).build();
+        } else {
+          LOG.severe("EJB error making payment: " + e.getMessage());
+          ErrorDTO error = new ErrorDTO("Internal server error", 500, "Internal Server Error",
+              "/comptes-pret/make-payment");
+          return Response.status(500).entity(error).build();
+        }
       }
-    }
+    });
   }
 
   /**
@@ -270,21 +385,23 @@ public class ComptePretResource {
    */
   @GET
   @Path("/types")
-  public Response getAllLoanTypes() {
-    try {
-      List<TypeComptePret> loanTypes = comptePretService.getAllLoanTypes();
-      return Response.ok(loanTypes).build();
-
-    } catch (EJBException e) {
-      if (isClientError(e)) {
-        LOG.warning("Client error getting loan types: " + getErrorMessage(e));
-        ErrorDTO error = new ErrorDTO(getErrorMessage(e), 400, "Bad Request", "/comptes-pret/types");
-        return Response.status(400).entity(error).build();
-      } else {
-        LOG.severe("Unexpected error getting loan types: " + e.getMessage());
-        ErrorDTO error = new ErrorDTO("Internal server error", 500, "Internal Server Error", "/comptes-pret/types");
-        return Response.status(500).entity(error).build();
+  public CompletionStage<Response> getAllLoanTypes() {
+    return asyncExecutorService.submit(() -> {
+      try {
+        List<TypeComptePret> loanTypes = comptePretService.getAllLoanTypes();
+        return Response.ok(loanTypes).build();
+
+      } catch (EJBException e) {
+        if (isClientError(e)) {
+          LOG.warning("Client error getting loan types: " + getErrorMessage(e));
+          ErrorDTO error = new ErrorDTO(getErrorMessage(e), 400, "Bad Request", "/comptes-pret/types");
+          return Response.status(400).entity(error).build();
+        } else {
+          LOG.severe("Unexpected error getting loan types: " + e.getMessage());
+          ErrorDTO error = new ErrorDTO("Internal server error", 500, "Internal Server Error", "/comptes-pret/types");
+          return Response.status(500).entity(error).build();
+        }
       }
-    }
+    });
   }
 }
\ No newline at end of file
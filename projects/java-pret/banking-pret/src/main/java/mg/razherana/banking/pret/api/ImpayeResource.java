@@ -0,0 +1,142 @@
+package mg.razherana.banking.pret.api;
+
+import jakarta.ejb.EJB;
+import jakarta.ejb.EJBException;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import mg.razherana.banking.pret.application.asyncExecutorService.AsyncExecutorService;
+import mg.razherana.banking.pret.application.impayeScanService.ImpayeScanService;
+import mg.razherana.banking.pret.dto.ErrorDTO;
+import mg.razherana.banking.pret.dto.ImpayeDTO;
+import mg.razherana.banking.pret.dto.ImpayeScanReportDTO;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.logging.Logger;
+
+/**
+ * REST API Resource for delinquent loans and the delinquency scan.
+ *
+ * <p>
+ * Starting a scan returns {@code 202 Accepted} with the run report
+ * immediately; the scan executes in the background and its duration and rows
+ * touched are read from {@code GET /impayes/scans/{runId}}.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.pret.application.impayeScanService.ImpayeScanService
+ */
+@Path("/impayes")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class ImpayeResource {
+  private static final Logger LOG = Logger.getLogger(ImpayeResource.class.getName());
+
+  @EJB
+  private AsyncExecutorService asyncExecutorService;
+
+  @EJB
+  private ImpayeScanService impayeScanService;
+
+  /**
+   * Helper method to handle EJBException and extract the underlying cause.
+   * Returns true if the exception should be treated as a 400 Bad Request,
+   * false if it should be treated as a 500 Internal Server Error.
+   */
+  private boolean isClientError(EJBException ejbException) {
+    Throwable cause = ejbException.getCause();
+    return cause instanceof IllegalArgumentException;
+  }
+
+  /**
+   * Helper method to build the error response of an EJBException.
+   */
+  private Response errorResponse(EJBException e, String action, String path) {
+    if (isClientError(e)) {
+      LOG.warning("Client error " + action + ": " + e.getCause().getMessage());
+      ErrorDTO error = new ErrorDTO(e.getCause().getMessage(), 400, "Bad Request", path);
+      return Response.status(400).entity(error).build();
+    }
+    LOG.severe("Unexpected error " + action + ": " + e.getMessage());
+    ErrorDTO error = new ErrorDTO("Internal server error", 500, "Internal Server Error", path);
+    return Response.status(500).entity(error).build();
+  }
+
+  /**
+   * Lists the delinquent loans found by the last scans, ordered by loan
+   * account ID.
+   */
+  @GET
+  public CompletionStage<Response> getImpayes(@QueryParam("tranche") String tranche,
+      @QueryParam("afterCompteId") Integer afterCompteId,
+      @QueryParam("limit") Integer limit) {
+    return asyncExecutorService.submit(() -> {
+      try {
+        List<ImpayeDTO> impayes = impayeScanService.getImpayes(tranche, afterCompteId, limit);
+        return Response.ok(impayes).build();
+      } catch (EJBException e) {
+        return errorResponse(e, "getting delinquent loans", "/impayes");
+      }
+    });
+  }
+
+  /**
+   * Starts a delinquency scan in the background.
+   */
+  @POST
+  @Path("/scans")
+  public CompletionStage<Response> startScan() {
+    return asyncExecutorService.submit(() -> {
+      try {
+        ImpayeScanReportDTO report = impayeScanService.start();
+        impayeScanService.executeAsync(report.getRunId());
+        return Response.status(Response.Status.ACCEPTED).entity(report).build();
+      } catch (EJBException e) {
+        return errorResponse(e, "starting delinquency scan", "/impayes/scans");
+      }
+    });
+  }
+
+  /**
+   * Gets the report of the most recent delinquency scan.
+   */
+  @GET
+  @Path("/scans/latest")
+  public CompletionStage<Response> getLatestScan() {
+    return asyncExecutorService.submit(() -> {
+      try {
+        ImpayeScanReportDTO report = impayeScanService.getLatestReport();
+        if (report == null) {
+          ErrorDTO error = new ErrorDTO("No delinquency scan yet", 404, "Not Found", "/impayes/scans/latest");
+          return Response.status(404).entity(error).build();
+        }
+        return Response.ok(report).build();
+      } catch (EJBException e) {
+        return errorResponse(e, "getting delinquency scan", "/impayes/scans/latest");
+      }
+    });
+  }
+
+  /**
+   * Gets the report of a delinquency scan.
+   */
+  @GET
+  @Path("/scans/{runId}")
+  public CompletionStage<Response> getScan(@PathParam("runId") Integer runId) {
+    return asyncExecutorService.submit(() -> {
+      try {
+        ImpayeScanReportDTO report = impayeScanService.getReport(runId);
+        if (report == null) {
+          ErrorDTO error = new ErrorDTO("Delinquency scan not found", 404, "Not Found", "/impayes/scans/" + runId);
+          return Response.status(404).entity(error).build();
+        }
+        return Response.ok(report).build();
+      } catch (EJBException e) {
+        return errorResponse(e, "getting delinquency scan", "/impayes/scans/" + runId);
+      }
+    });
+  }
+}
@@ -0,0 +1,34 @@
+package mg.razherana.banking.pret.api;
+
+import jakarta.ejb.EJB;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import mg.razherana.banking.pret.application.typeComptePretService.TypeComptePretService;
+
+/**
+ * Refresh hook for the loan type catalogue.
+ *
+ * <p>
+ * Called after {@code type_compte_prets} is edited so loan creation and
+ * payment status computations pick up the new loan types and rates.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.pret.application.typeComptePretService.TypeComptePretService
+ */
+@Path("/loan-types-cache")
+@Produces(MediaType.APPLICATION_JSON)
+public class LoanTypeCacheResource {
+  @EJB
+  private TypeComptePretService typeComptePretService;
+
+  @POST
+  @Path("/refresh")
+  public Response refresh() {
+    typeComptePretService.refresh();
+    return Response.noContent().build();
+  }
+}
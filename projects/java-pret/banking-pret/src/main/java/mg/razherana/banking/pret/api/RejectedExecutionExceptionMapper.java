@@ -0,0 +1,39 @@
+package mg.razherana.banking.pret.api;
+
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+import mg.razherana.banking.pret.dto.ErrorDTO;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Answers requests refused by a saturated asynchronous executor with a 503,
+ * so clients back off instead of piling up an unbounded backlog.
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.pret.application.asyncExecutorService.AsyncExecutorService
+ */
+@Provider
+public class RejectedExecutionExceptionMapper implements ExceptionMapper<RejectedExecutionException> {
+  private static final int RETRY_AFTER_SECONDS = 1;
+
+  @Context
+  private UriInfo uriInfo;
+
+  @Override
+  public Response toResponse(RejectedExecutionException exception) {
+    ErrorDTO error = new ErrorDTO("Server busy, retry later", 503, "Service Unavailable",
+        "/" + uriInfo.getPath());
+    return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+        .header("Retry-After", RETRY_AFTER_SECONDS)
+        .type(MediaType.APPLICATION_JSON)
+        .entity(error)
+        .build();
+  }
+}
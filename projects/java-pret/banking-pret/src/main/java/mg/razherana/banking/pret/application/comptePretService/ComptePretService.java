@@ -1,14 +1,19 @@
 package mg.razherana.banking.pret.application.comptePretService;
 
+import mg.razherana.banking.pret.entities.Amortissement;
 import mg.razherana.banking.pret.entities.ComptePret;
 import mg.razherana.banking.pret.entities.TypeComptePret;
 import mg.razherana.banking.pret.entities.Echeance;
 import mg.razherana.banking.pret.entities.User;
+import mg.razherana.banking.pret.dto.MonthlyPaymentTraceDTO;
 import mg.razherana.banking.pret.dto.PaymentStatusDTO;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service interface for managing loan account (Compte Pret) operations.
@@ -85,7 +90,8 @@ public interface ComptePretService {
   List<ComptePret> getLoansByUserId(Integer userId);
 
   /**
-   * Calculates the monthly payment for a loan using amortization formula.
+   * Gets the monthly payment of a loan, computed with its amortization schedule
+   * at creation time.
    * Formula: M = [C × i] / [1 - (1 + i)^(-n)]
    * 
    * @param loan the loan account
@@ -93,6 +99,38 @@ public interface ComptePretService {
    */
   BigDecimal calculateMonthlyPayment(ComptePret loan);
 
+  /**
+   * Recomputes the monthly payment of a loan with every intermediate value of
+   * the formula, for diagnostics. Nothing is computed for this outside of
+   * explicit requests.
+   * 
+   * @param compteId the loan account ID
+   * @return the trace of the computation
+   * @throws IllegalArgumentException if the loan does not exist
+   */
+  MonthlyPaymentTraceDTO traceMonthlyPayment(Integer compteId);
+
+  /**
+   * Gets the amortization schedule of a loan, one row per month. The schedule
+   * of a loan created before schedules were stored and not backfilled yet is
+   * computed without being stored.
+   * 
+   * @param compteId the loan account ID
+   * @return the schedule ordered by installment number
+   * @throws IllegalArgumentException if the loan does not exist
+   */
+  List<Amortissement> getAmortizationSchedule(Integer compteId);
+
+  /**
+   * Stores the amortization schedule and monthly payment of the next loans
+   * created before schedules were stored, in one transaction.
+   * 
+   * @param afterId only loans with a greater ID are processed (null for all)
+   * @param limit maximum number of loans processed
+   * @return the ID of the last loan processed, or null when none is left
+   */
+  Integer backfillSchedules(Integer afterId, int limit);
+
   /**
    * Gets all payments for a loan account.
    * 
@@ -127,13 +165,49 @@ public interface ComptePretService {
    */
   PaymentStatusDTO getPaymentStatus(Integer compteId, LocalDateTime actionDateTime);
 
+  /**
+   * Gets the payment status of several loans at a specific date, summing
+   * their payments with one grouped query. Nothing is written, even for loans
+   * whose schedule is not stored yet.
+   * 
+   * @param loans          the loan accounts
+   * @param actionDateTime the date to check status (null for current date)
+   * @return the payment status by loan account ID; loans whose monthly payment
+   *         cannot be computed are left out
+   */
+  Map<Integer, PaymentStatusDTO> getPaymentStatuses(List<ComptePret> loans, LocalDateTime actionDateTime);
+
+  /**
+   * Streams the payment status of every loan, or of one page of loans, as of a
+   * date to {@code output} as NDJSON, one line per loan ordered by ID.
+   * 
+   * <p>
+   * Payments are summed for all loans of the page in one grouped query read
+   * through a forward-only cursor, so memory use does not depend on the number
+   * of loans. Each line carries the {@link PaymentStatusDTO} fields plus
+   * {@code compteId} and {@code userId}; the next page starts after the last
+   * {@code compteId} received.
+   * </p>
+   * 
+   * @param asOf    the date to check status (null for current date)
+   * @param userId  only the loans of this user when not null
+   * @param afterId only the loans with a greater ID when not null
+   * @param limit   maximum number of loans when not null
+   * @param output  the stream to write to
+   * @return the number of loans written
+   * @throws IllegalArgumentException if limit is not positive
+   * @throws IOException              if writing to output fails
+   */
+  long exportPaymentStatuses(LocalDateTime asOf, Integer userId, Integer afterId, Integer limit,
+      OutputStream output) throws IOException;
+
   /**
    * Makes a payment for a loan.
    * 
    * @param compteId the loan account ID
    * @param amount the payment amount
    * @param actionDateTime the payment date (null for current date)
-   * @return the created payment record
+   * @return the created payment record, capped to the remaining principal
    */
   Echeance makePayment(Integer compteId, BigDecimal amount, LocalDateTime actionDateTime);
 }
\ No newline at end of file
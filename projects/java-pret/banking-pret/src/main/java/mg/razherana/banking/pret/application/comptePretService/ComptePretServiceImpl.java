@@ -1,32 +1,47 @@
 package mg.razherana.banking.pret.application.comptePretService;
 
+import jakarta.annotation.Resource;
+import jakarta.ejb.EJB;
+import jakarta.ejb.EJBException;
 import jakarta.ejb.Stateless;
 import jakarta.ejb.TransactionAttribute;
 import jakarta.ejb.TransactionAttributeType;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
-import jakarta.ws.rs.client.Client;
-import jakarta.ws.rs.client.ClientBuilder;
-import jakarta.ws.rs.client.WebTarget;
-import jakarta.ws.rs.core.MediaType;
-import jakarta.ws.rs.core.Response;
-import jakarta.json.Json;
-import jakarta.json.JsonObject;
-import jakarta.json.JsonReader;
-import java.io.StringReader;
+import mg.razherana.banking.pret.application.typeComptePretService.TypeComptePretService;
+import mg.razherana.banking.pret.application.userService.UserService;
+import mg.razherana.banking.pret.entities.Amortissement;
 import mg.razherana.banking.pret.entities.ComptePret;
 import mg.razherana.banking.pret.entities.TypeComptePret;
 import mg.razherana.banking.pret.entities.Echeance;
 import mg.razherana.banking.pret.entities.User;
+import mg.razherana.banking.pret.dto.MonthlyPaymentTraceDTO;
 import mg.razherana.banking.pret.dto.PaymentStatusDTO;
 
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the ComptePretService interface.
@@ -36,6 +51,12 @@ import java.util.logging.Logger;
  * creation, retrieval, payment processing, and amortization calculations.
  * </p>
  * 
+ * <p>
+ * The amortization schedule of a loan is computed once, when the loan is
+ * created, and stored in {@code amortissements}; payment status reads look the
+ * expected amounts up instead of evaluating the amortization formula.
+ * </p>
+ * 
  * @author Banking System
  * @version 1.0
  * @since 1.0
@@ -44,14 +65,20 @@ import java.util.logging.Logger;
 public class ComptePretServiceImpl implements ComptePretService {
   private static final Logger LOG = Logger.getLogger(ComptePretServiceImpl.class.getName());
 
-  // Hardcoded URL for java-interface REST API
-  private static final String USER_SERVICE_BASE_URL = "http://127.0.0.2:8080/api";
-
   @PersistenceContext(unitName = "pretPU")
   private EntityManager entityManager;
 
+  @Resource(name = "pretDatabase")
+  private DataSource dataSource;
+
+  @EJB
+  private UserService userService;
+
+  @EJB
+  private TypeComptePretService typeComptePretService;
+
   /**
-   * Find a user by ID using REST API call to java-interface.
+   * Find a user by ID using the shared java-interface REST client.
    * 
    * @param userId the user ID
    * @return User object with the specified ID or null if not found
@@ -59,45 +86,7 @@ public class ComptePretServiceImpl implements ComptePretService {
    */
   @Override
   public User findUser(Integer userId) {
-    LOG.info("Finding user by ID: " + userId);
-    if (userId == null) {
-      throw new IllegalArgumentException("User ID cannot be null");
-    }
-
-    Client client = ClientBuilder.newClient();
-    try {
-      WebTarget target = client.target(USER_SERVICE_BASE_URL + "/users/" + userId);
-      Response response = target.request(MediaType.APPLICATION_JSON).get();
-
-      if (response.getStatus() == 200) {
-        // java-interface returns UserDTO, so we need to parse it and map to our User
-        // entity
-        String jsonResponse = response.readEntity(String.class);
-        LOG.info("Received JSON response: " + jsonResponse);
-
-        // Parse the UserDTO JSON response
-        JsonReader jsonReader = Json.createReader(new StringReader(jsonResponse));
-        JsonObject userDto = jsonReader.readObject();
-        jsonReader.close();
-
-        // Map UserDTO fields to User entity
-        User user = new User();
-        user.setId(userDto.getInt("id"));
-        user.setName(userDto.getString("name"));
-        user.setEmail(userDto.getString("email"));
-        user.setPassword(""); // Password not returned by UserDTO for security
-
-        LOG.info("Successfully retrieved and mapped user from REST API: " + user.getId());
-        return user;
-      }
-
-      return null; // User not found
-    } catch (Exception e) {
-      LOG.severe("Error calling REST UserService: " + e.getMessage());
-      throw new IllegalArgumentException(e.getMessage());
-    } finally {
-      client.close();
-    }
+    return userService.findUser(userId);
   }
 
   /**
@@ -151,29 +140,26 @@ public class ComptePretServiceImpl implements ComptePretService {
     entityManager.persist(compte);
     entityManager.flush();
 
+    buildSchedule(compte, loanType);
+
     LOG.info("Loan created successfully with ID: " + compte.getId());
     return compte;
   }
 
   /**
-   * Finds a loan type by ID.
+   * Finds a loan type by ID in the loan type catalogue.
    */
   @Override
   public TypeComptePret findLoanTypeById(Integer id) {
-    if (id == null) {
-      throw new IllegalArgumentException("Loan type ID cannot be null");
-    }
-    return entityManager.find(TypeComptePret.class, id);
+    return typeComptePretService.findById(id);
   }
 
   /**
-   * Returns all available loan types.
+   * Returns all available loan types from the loan type catalogue.
    */
   @Override
   public List<TypeComptePret> getAllLoanTypes() {
-    TypedQuery<TypeComptePret> query = entityManager.createQuery(
-        "SELECT t FROM TypeComptePret t", TypeComptePret.class);
-    return query.getResultList();
+    return typeComptePretService.findAll();
   }
 
   /**
@@ -220,76 +206,237 @@ public class ComptePretServiceImpl implements ComptePretService {
     return query.getResultList();
   }
 
+  /**
+   * Gets the monthly payment of a loan, stored with its amortization schedule.
+   * Loans without a stored schedule fall back to the amortization formula.
+   */
+  @Override
+  public BigDecimal calculateMonthlyPayment(ComptePret loan) {
+    if (loan == null) {
+      throw new IllegalArgumentException("Loan cannot be null");
+    }
+    if (loan.getMensualite() != null) {
+      return loan.getMensualite();
+    }
+
+    TypeComptePret loanType = findLoanTypeById(loan.getTypeComptePretId());
+    if (loanType == null) {
+      throw new IllegalArgumentException("Loan type not found");
+    }
+    return computeMonthlyPayment(loan, loanType, null);
+  }
+
   /**
    * Calculates the monthly payment for a loan using the standard amortization
    * formula.
    * Formula: M = [C × i] / [1 - (1 + i)^(-n)]
    * Where: M = monthly payment, C = capital (amount), i = monthly interest rate,
    * n = number of months
+   *
+   * @param trace receives the intermediate values when not null
+   */
+  private BigDecimal computeMonthlyPayment(ComptePret loan, TypeComptePret loanType, MonthlyPaymentTraceDTO trace) {
+    BigDecimal principal = loan.getMontant(); // C
+    long totalMonths = totalMonths(loan);
+    BigDecimal monthlyRate = monthlyRate(loanType);
+
+    if (trace != null) {
+      trace.setCompteId(loan.getId());
+      trace.setPrincipal(principal);
+      trace.setAnnualRate(loanType.getInteret());
+      trace.setMonthlyRate(monthlyRate);
+      trace.setTotalMonths(totalMonths);
+      trace.setDateDebut(loan.getDateDebut());
+      trace.setDateFin(loan.getDateFin());
+    }
+
+    BigDecimal monthlyPayment;
+    if (monthlyRate.compareTo(BigDecimal.ZERO) == 0) {
+      // If interest rate is 0, simple division
+      monthlyPayment = principal.divide(BigDecimal.valueOf(totalMonths), 2, RoundingMode.HALF_UP);
+    } else {
+      // Calculate (1 + i)^(-n)
+      BigDecimal onePlusRate = BigDecimal.ONE.add(monthlyRate);
+      BigDecimal powerTerm = BigDecimal.ONE.divide(
+          onePlusRate.pow((int) totalMonths), 10, RoundingMode.HALF_UP);
+
+      // Calculate denominator: [1 - (1 + i)^(-n)]
+      BigDecimal denominator = BigDecimal.ONE.subtract(powerTerm);
+
+      // Calculate numerator: [C × i]
+      BigDecimal numerator = principal.multiply(monthlyRate);
+
+      // Final calculation: M = numerator / denominator
+      monthlyPayment = numerator.divide(denominator, 6, RoundingMode.HALF_UP);
+
+      if (trace != null) {
+        trace.setNumerator(numerator);
+        trace.setOnePlusRate(onePlusRate);
+        trace.setPowerTerm(powerTerm);
+        trace.setDenominator(denominator);
+      }
+    }
+
+    if (trace != null) {
+      trace.setMonthlyPayment(monthlyPayment);
+    }
+    final BigDecimal result = monthlyPayment;
+    LOG.finest(() -> "Monthly payment of loan " + loan.getId() + ": C=" + principal + ", i=" + monthlyRate
+        + ", n=" + totalMonths + ", M=" + result);
+    return monthlyPayment;
+  }
+
+  /**
+   * Recomputes the monthly payment of a loan and returns every intermediate
+   * value of the formula.
    */
   @Override
-  public BigDecimal calculateMonthlyPayment(ComptePret loan) {
-    if (loan == null) {
-      throw new IllegalArgumentException("Loan cannot be null");
+  public MonthlyPaymentTraceDTO traceMonthlyPayment(Integer compteId) {
+    if (compteId == null) {
+      throw new IllegalArgumentException("Loan account ID cannot be null");
     }
 
+    ComptePret loan = findById(compteId);
+    if (loan == null) {
+      throw new IllegalArgumentException("Loan account not found: " + compteId);
+    }
     TypeComptePret loanType = findLoanTypeById(loan.getTypeComptePretId());
     if (loanType == null) {
       throw new IllegalArgumentException("Loan type not found");
     }
 
-    BigDecimal principal = loan.getMontant(); // C
-    BigDecimal annualRate = loanType.getInteret(); // Annual interest rate
+    MonthlyPaymentTraceDTO trace = new MonthlyPaymentTraceDTO();
+    computeMonthlyPayment(loan, loanType, trace);
+    trace.setStoredMonthlyPayment(loan.getMensualite());
+    return trace;
+  }
 
+  /**
+   * Number of monthly installments of a loan.
+   */
+  private static long totalMonths(ComptePret loan) {
     // Calculate number of months between start and end date
     // Add 1 to include the starting month
     long totalMonths = loan.getDateDebut().until(loan.getDateFin(), ChronoUnit.MONTHS) + 1;
     if (totalMonths <= 0) {
       throw new IllegalArgumentException("Invalid loan duration");
     }
+    return totalMonths;
+  }
 
+  /**
+   * Monthly interest rate of a loan type.
+   */
+  private static BigDecimal monthlyRate(TypeComptePret loanType) {
     // Convert annual rate to monthly rate: i = annual/12
-    BigDecimal monthlyRate = annualRate.divide(BigDecimal.valueOf(12), 10, RoundingMode.HALF_UP);
-
-    // If interest rate is 0, simple division
-    if (monthlyRate.compareTo(BigDecimal.ZERO) == 0) {
-      return principal.divide(BigDecimal.valueOf(totalMonths), 2, RoundingMode.HALF_UP);
-    }
-
-    // Calculate (1 + i)^(-n)
-    BigDecimal onePlusRate = BigDecimal.ONE.add(monthlyRate);
-    BigDecimal powerTerm = BigDecimal.ONE.divide(
-        onePlusRate.pow((int) totalMonths), 10, RoundingMode.HALF_UP);
-
-    // Calculate denominator: [1 - (1 + i)^(-n)]
-    BigDecimal denominator = BigDecimal.ONE.subtract(powerTerm);
-
-    // Calculate numerator: [C × i]
-    BigDecimal numerator = principal.multiply(monthlyRate);
+    return loanType.getInteret().divide(BigDecimal.valueOf(12), 10, RoundingMode.HALF_UP);
+  }
 
-    System.out.println("-------------- Variables calculateMonthlyPayment: -----------------------");
-    
-    System.out.println("Principal (C): " + principal);
-    System.out.println("Annual Rate: " + annualRate);
-    System.out.println("Monthly Rate (i): " + monthlyRate);
-    System.out.println("Total Months (n): " + totalMonths);
+  /**
+   * Computes the amortization schedule of a loan without storing it. Each
+   * installment pays the interest on the remaining principal, the rest of the
+   * monthly payment goes to the principal and the last installment settles
+   * what is left.
+   */
+  private List<Amortissement> computeSchedule(ComptePret loan, TypeComptePret loanType,
+      BigDecimal monthlyPayment) {
+    BigDecimal monthlyRate = monthlyRate(loanType);
+    long totalMonths = totalMonths(loan);
+
+    List<Amortissement> schedule = new ArrayList<>();
+    BigDecimal payment = monthlyPayment.setScale(2, RoundingMode.HALF_UP);
+    BigDecimal remaining = loan.getMontant();
+    for (int numero = 1; numero <= totalMonths; numero++) {
+      BigDecimal interet = remaining.multiply(monthlyRate).setScale(2, RoundingMode.HALF_UP);
+      BigDecimal capital = numero == totalMonths ? remaining : payment.subtract(interet).min(remaining);
+      remaining = remaining.subtract(capital);
+      schedule.add(new Amortissement(loan.getId(), numero, loan.getDateDebut().plusMonths(numero),
+          monthlyPayment, interet, capital, remaining, monthlyPayment.multiply(BigDecimal.valueOf(numero))));
+    }
+    return schedule;
+  }
 
-    System.out.println("Date debut: " + loan.getDateDebut());
-    System.out.println("Date fin: " + loan.getDateFin());
+  /**
+   * Stores the amortization schedule of a loan and records the monthly
+   * payment on the loan.
+   */
+  private void buildSchedule(ComptePret loan, TypeComptePret loanType) {
+    BigDecimal monthlyPayment = computeMonthlyPayment(loan, loanType, null);
+    List<Amortissement> schedule = computeSchedule(loan, loanType, monthlyPayment);
+    for (Amortissement amortissement : schedule) {
+      entityManager.persist(amortissement);
+    }
 
-    System.out.println("C * i: " + numerator);
-    System.out.println("1 + i: " + onePlusRate);
+    loan.setMensualite(monthlyPayment);
+    entityManager.flush();
+    LOG.info("Amortization schedule of " + schedule.size() + " months stored for loan " + loan.getId());
+  }
 
-    System.out.println("(1 + i) ^ -n: " + powerTerm);
+  /**
+   * Stores the schedules of the next loans created before schedules were
+   * stored.
+   */
+  @Override
+  @TransactionAttribute(TransactionAttributeType.REQUIRED)
+  public Integer backfillSchedules(Integer afterId, int limit) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("limit must be positive");
+    }
+
+    // Locked so that instances starting together do not build the same
+    // schedule twice
+    List<ComptePret> loans = entityManager.createQuery(
+        "SELECT c FROM ComptePret c WHERE c.mensualite IS NULL AND c.id > :afterId ORDER BY c.id",
+        ComptePret.class)
+        .setParameter("afterId", afterId != null ? afterId : 0)
+        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+        .setMaxResults(limit)
+        .getResultList();
+
+    Integer lastId = null;
+    for (ComptePret loan : loans) {
+      lastId = loan.getId();
+      TypeComptePret loanType = findLoanTypeById(loan.getTypeComptePretId());
+      if (loanType == null) {
+        LOG.warning("Schedule of loan " + loan.getId() + " not built: loan type not found");
+        continue;
+      }
+      try {
+        buildSchedule(loan, loanType);
+      } catch (IllegalArgumentException e) {
+        LOG.warning("Schedule of loan " + loan.getId() + " not built: " + e.getMessage());
+      }
+    }
+    return lastId;
+  }
 
-    System.out.println("1 - (1 + i) ^ -n: " + denominator);
+  /**
+   * Gets the amortization schedule of a loan.
+   */
+  @Override
+  public List<Amortissement> getAmortizationSchedule(Integer compteId) {
+    if (compteId == null) {
+      throw new IllegalArgumentException("Loan account ID cannot be null");
+    }
 
-    System.out.println("M = C * i / [1 - (1 + i) ^ -n] : " + numerator.divide(denominator, 6, RoundingMode.HALF_UP));
+    ComptePret loan = findById(compteId);
+    if (loan == null) {
+      throw new IllegalArgumentException("Loan account not found: " + compteId);
+    }
 
-    System.out.println("---------------- End Variables -----------------------");
+    if (loan.getMensualite() == null) {
+      // Not backfilled yet: computed without writing
+      TypeComptePret loanType = findLoanTypeById(loan.getTypeComptePretId());
+      if (loanType == null) {
+        throw new IllegalArgumentException("Loan type not found");
+      }
+      return computeSchedule(loan, loanType, computeMonthlyPayment(loan, loanType, null));
+    }
 
-    // Final calculation: M = numerator / denominator
-    return numerator.divide(denominator, 6, RoundingMode.HALF_UP);
+    return entityManager.createQuery(
+        "SELECT a FROM Amortissement a WHERE a.compteId = :compteId ORDER BY a.numero", Amortissement.class)
+        .setParameter("compteId", compteId)
+        .getResultList();
   }
 
   /**
@@ -347,12 +494,18 @@ public class ComptePretServiceImpl implements ComptePretService {
 
     // Calculate months elapsed since loan start
     long monthsElapsed = ChronoUnit.MONTHS.between(loan.getDateDebut(), actionDateTime);
-    if (monthsElapsed < 0) {
-      monthsElapsed = 0;
+    if (monthsElapsed <= 0) {
+      return BigDecimal.ZERO;
     }
 
-    BigDecimal monthlyPayment = calculateMonthlyPayment(loan);
-    return monthlyPayment.multiply(BigDecimal.valueOf(monthsElapsed));
+    if (loan.getMensualite() == null) {
+      // Not backfilled yet: computed without writing
+      return calculateMonthlyPayment(loan).multiply(BigDecimal.valueOf(monthsElapsed));
+    }
+
+    // Total of the installments due so far: the cumulMensualites of the
+    // schedule row, without reading it
+    return loan.getMensualite().multiply(BigDecimal.valueOf(monthsElapsed));
   }
 
   /**
@@ -374,8 +527,14 @@ public class ComptePretServiceImpl implements ComptePretService {
 
     BigDecimal totalPaid = calculateTotalPaid(compteId);
     BigDecimal totalExpected = calculateExpectedPaidByDate(loan, actionDateTime);
-    BigDecimal monthlyPayment = calculateMonthlyPayment(loan);
+    return paymentStatus(loan, calculateMonthlyPayment(loan), totalPaid, totalExpected);
+  }
 
+  /**
+   * Builds the payment status of a loan from its totals.
+   */
+  private static PaymentStatusDTO paymentStatus(ComptePret loan, BigDecimal monthlyPayment, BigDecimal totalPaid,
+      BigDecimal totalExpected) {
     // Amount due is the difference between expected and paid
     BigDecimal amountDue = totalExpected.subtract(totalPaid);
     if (amountDue.compareTo(BigDecimal.ZERO) < 0) {
@@ -388,8 +547,182 @@ public class ComptePretServiceImpl implements ComptePretService {
     return new PaymentStatusDTO(totalPaid, totalExpected, amountDue, isFullyPaid, monthlyPayment);
   }
 
+  /**
+   * Streams the payment status of a page of loans.
+   */
+  @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+  @Override
+  public long exportPaymentStatuses(LocalDateTime asOf, Integer userId, Integer afterId, Integer limit,
+      OutputStream output) throws IOException {
+    if (limit != null && limit <= 0) {
+      throw new IllegalArgumentException("limit must be positive");
+    }
+    if (asOf == null) {
+      asOf = LocalDateTime.now();
+    }
+
+    LOG.info("Exporting payment statuses as of " + asOf + " (userId " + userId + ", afterId " + afterId
+        + ", limit " + limit + ")");
+
+    List<String> conditions = new ArrayList<>();
+    if (userId != null) {
+      conditions.add("c.user_id = ?");
+    }
+    if (afterId != null) {
+      conditions.add("c.id > ?");
+    }
+    String sql = "SELECT c.id, c.user_id, c.montant, c.date_debut, c.date_fin, c.mensualite, t.interet,"
+        + " COALESCE(SUM(e.montant), 0)"
+        + " FROM compte_prets c"
+        + " JOIN type_compte_prets t ON t.id = c.type_compte_pret_id"
+        + " LEFT JOIN echeances e ON e.compte_id = c.id"
+        + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+        + " GROUP BY c.id, c.user_id, c.montant, c.date_debut, c.date_fin, c.mensualite, t.interet"
+        + " ORDER BY c.id"
+        + (limit != null ? " LIMIT ?" : "");
+
+    // Runs outside of any JTA transaction: a report over every loan must not
+    // hit the transaction timeout
+    long rows = 0;
+    Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement(sql,
+            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+      // MySQL Connector/J streams rows one by one instead of buffering the
+      // whole result set
+      statement.setFetchSize(Integer.MIN_VALUE);
+
+      int position = 1;
+      if (userId != null) {
+        statement.setInt(position++, userId);
+      }
+      if (afterId != null) {
+        statement.setInt(position++, afterId);
+      }
+      if (limit != null) {
+        statement.setInt(position++, limit);
+      }
+
+      try (ResultSet resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          ComptePret loan = new ComptePret();
+          loan.setId(resultSet.getInt(1));
+          loan.setUserId(resultSet.getInt(2));
+          loan.setMontant(resultSet.getBigDecimal(3));
+          loan.setDateDebut(resultSet.getTimestamp(4).toLocalDateTime());
+          loan.setDateFin(resultSet.getTimestamp(5).toLocalDateTime());
+          loan.setMensualite(resultSet.getBigDecimal(6));
+          BigDecimal totalPaid = resultSet.getBigDecimal(8);
+
+          if (loan.getMensualite() == null) {
+            // Loan created before schedules were stored and not backfilled
+            // yet: computed in memory, the report only reads
+            TypeComptePret loanType = new TypeComptePret(null, resultSet.getBigDecimal(7));
+            try {
+              loan.setMensualite(computeMonthlyPayment(loan, loanType, null));
+            } catch (IllegalArgumentException e) {
+              LOG.warning("Loan " + loan.getId() + " skipped from payment status export: " + e.getMessage());
+              continue;
+            }
+          }
+
+          PaymentStatusDTO status = paymentStatus(loan, loan.getMensualite(), totalPaid,
+              expectedPaidByDate(loan, loan.getMensualite(), asOf));
+          writer.write("{\"compteId\":" + loan.getId() + ",\"userId\":" + loan.getUserId()
+              + ",\"totalPaid\":" + status.getTotalPaid().toPlainString()
+              + ",\"totalExpected\":" + status.getTotalExpected().toPlainString()
+              + ",\"amountDue\":" + status.getAmountDue().toPlainString()
+              + ",\"fullyPaid\":" + status.isFullyPaid()
+              + ",\"monthlyPayment\":" + status.getMonthlyPayment().toPlainString() + "}\n");
+          rows++;
+        }
+      }
+    } catch (SQLException e) {
+      throw new EJBException("Failed to export payment statuses", e);
+    }
+    writer.flush();
+
+    LOG.info("Exported the payment status of " + rows + " loans");
+    return rows;
+  }
+
+  /**
+   * Expected amount paid by a date, without reading the schedule: the
+   * cumulative monthly payments stored for installment k are the monthly
+   * payment times k, as in {@link #calculateExpectedPaidByDate}.
+   */
+  private static BigDecimal expectedPaidByDate(ComptePret loan, BigDecimal monthlyPayment,
+      LocalDateTime actionDateTime) {
+    if (actionDateTime.isBefore(loan.getDateDebut())) {
+      return BigDecimal.ZERO;
+    }
+    if (actionDateTime.isAfter(loan.getDateFin())) {
+      return loan.getMontant();
+    }
+    long monthsElapsed = ChronoUnit.MONTHS.between(loan.getDateDebut(), actionDateTime);
+    if (monthsElapsed <= 0) {
+      return BigDecimal.ZERO;
+    }
+    return monthlyPayment.multiply(BigDecimal.valueOf(monthsElapsed));
+  }
+
+  /**
+   * Gets the payment status of several loans with one grouped query over
+   * their payments.
+   */
+  @Override
+  public Map<Integer, PaymentStatusDTO> getPaymentStatuses(List<ComptePret> loans, LocalDateTime actionDateTime) {
+    Map<Integer, PaymentStatusDTO> statuses = new HashMap<>();
+    if (loans == null || loans.isEmpty()) {
+      return statuses;
+    }
+    if (actionDateTime == null) {
+      actionDateTime = LocalDateTime.now();
+    }
+
+    List<Integer> compteIds = loans.stream().map(ComptePret::getId).collect(Collectors.toList());
+    Map<Integer, BigDecimal> totalsPaid = new HashMap<>();
+    for (Object[] row : entityManager.createQuery(
+        "SELECT e.compteId, SUM(e.montant) FROM Echeance e WHERE e.compteId IN :compteIds GROUP BY e.compteId",
+        Object[].class)
+        .setParameter("compteIds", compteIds)
+        .getResultList()) {
+      totalsPaid.put((Integer) row[0], (BigDecimal) row[1]);
+    }
+
+    for (ComptePret loan : loans) {
+      BigDecimal monthlyPayment = loan.getMensualite();
+      if (monthlyPayment == null) {
+        // Loan created before schedules were stored and not backfilled yet:
+        // computed without writing
+        TypeComptePret loanType = findLoanTypeById(loan.getTypeComptePretId());
+        if (loanType == null) {
+          LOG.warning("Loan " + loan.getId() + " skipped from payment statuses: loan type not found");
+          continue;
+        }
+        try {
+          monthlyPayment = computeMonthlyPayment(loan, loanType, null);
+        } catch (IllegalArgumentException e) {
+          LOG.warning("Loan " + loan.getId() + " skipped from payment statuses: " + e.getMessage());
+          continue;
+        }
+      }
+
+      BigDecimal totalPaid = totalsPaid.getOrDefault(loan.getId(), BigDecimal.ZERO);
+      statuses.put(loan.getId(), paymentStatus(loan, monthlyPayment, totalPaid,
+          expectedPaidByDate(loan, monthlyPayment, actionDateTime)));
+    }
+    return statuses;
+  }
+
   /**
    * Makes a payment for a loan.
+   *
+   * <p>
+   * The loan row is locked for the rest of the transaction, so payments of the
+   * same loan run one after the other while payments of other loans do not
+   * wait. A payment larger than the remaining principal is capped to it.
+   * </p>
    */
   @Override
   @TransactionAttribute(TransactionAttributeType.REQUIRED)
@@ -404,23 +737,33 @@ public class ComptePretServiceImpl implements ComptePretService {
       actionDateTime = LocalDateTime.now();
     }
 
-    ComptePret loan = findById(compteId);
+    ComptePret loan = entityManager.find(ComptePret.class, compteId, LockModeType.PESSIMISTIC_WRITE);
     if (loan == null) {
       throw new IllegalArgumentException("Loan account not found: " + compteId);
     }
 
-    // Check if loan is already fully paid
-    PaymentStatusDTO status = getPaymentStatus(compteId, actionDateTime);
-    if (status.isFullyPaid()) {
+    // Read under the lock: no other payment of this loan can be in between
+    BigDecimal remaining = loan.getCapitalRestant();
+    if (remaining.compareTo(BigDecimal.ZERO) <= 0) {
       throw new IllegalArgumentException("Loan is already fully paid");
     }
 
+    BigDecimal paid = amount.setScale(2, RoundingMode.HALF_UP).min(remaining);
+    if (paid.compareTo(BigDecimal.ZERO) <= 0) {
+      throw new IllegalArgumentException("Payment amount must be positive");
+    }
+    if (paid.compareTo(amount) < 0) {
+      LOG.info("Payment of " + amount + " for loan " + compteId + " capped to the remaining principal " + paid);
+    }
+
     // Create payment record
-    Echeance payment = new Echeance(compteId, amount, actionDateTime);
+    Echeance payment = new Echeance(compteId, paid, actionDateTime);
     entityManager.persist(payment);
+    loan.setCapitalRestant(remaining.subtract(paid));
     entityManager.flush();
 
-    LOG.info("Payment of " + amount + " made for loan " + compteId);
+    LOG.info("Payment of " + paid + " made for loan " + compteId + ", remaining principal "
+        + loan.getCapitalRestant());
     return payment;
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,115 @@
+package mg.razherana.banking.pret.application.impayeScanService;
+
+import mg.razherana.banking.pret.dto.ImpayeDTO;
+import mg.razherana.banking.pret.dto.ImpayeScanReportDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Delinquency scan keeping {@code impayes} up to date with the loans that
+ * have an amount due.
+ *
+ * <p>
+ * The first run recomputes every loan. Later runs only recompute the loans
+ * with a payment recorded since the last completed run, or with an
+ * installment or their end date falling due since then; the days past due of
+ * the other delinquent loans are aged with one update. Candidates are
+ * processed by chunks, one transaction per chunk, with one grouped query over
+ * their payments.
+ * </p>
+ *
+ * <p>
+ * A timer starts a run every morning at 05:00 unless the
+ * {@code banking.delinquency-scan.scheduled} system property is false; runs
+ * can also be started through {@code POST /impayes/scans}. A run left RUNNING
+ * for more than {@code banking.delinquency-scan.stale-hours} hours (default 6)
+ * is considered interrupted and no longer blocks new runs.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.pret.entities.Impaye
+ * @see mg.razherana.banking.pret.entities.ImpayeScanRun
+ */
+public interface ImpayeScanService {
+  /**
+   * Creates a new run computing amounts due at the current date.
+   *
+   * @return the report of the new run
+   * @throws IllegalArgumentException if another run is in progress
+   */
+  ImpayeScanReportDTO start();
+
+  /**
+   * Executes a run in the background.
+   *
+   * @param runId the run ID
+   */
+  void executeAsync(Integer runId);
+
+  /**
+   * Executes a run until every candidate loan is processed or a chunk fails.
+   *
+   * @param runId the run ID
+   * @return the final report of the run
+   */
+  ImpayeScanReportDTO execute(Integer runId);
+
+  /**
+   * Recomputes the given loans in a single transaction, writing or removing
+   * their impayes rows.
+   *
+   * @param compteIds the loan account IDs
+   * @param asOf      the date amounts due are computed at
+   * @return the number of impayes rows inserted, updated or deleted
+   */
+  int scanChunk(List<Integer> compteIds, LocalDateTime asOf);
+
+  /**
+   * Recomputes the days past due of the impayes rows not written by a run.
+   *
+   * @param asOf the date of the run
+   * @return the number of rows updated
+   */
+  int age(LocalDateTime asOf);
+
+  /**
+   * Records the end of a run.
+   *
+   * @param runId       the run ID
+   * @param status      COMPLETED or FAILED
+   * @param error       the error of a failed run, or null
+   * @param candidates  the number of loans recomputed
+   * @param rowsTouched the number of impayes rows written
+   * @param elapsedMs   the duration of the run
+   */
+  void finish(Integer runId, String status, String error, int candidates, int rowsTouched, long elapsedMs);
+
+  /**
+   * Gets the report of a run.
+   *
+   * @param runId the run ID
+   * @return the report, or null if the run does not exist
+   */
+  ImpayeScanReportDTO getReport(Integer runId);
+
+  /**
+   * Gets the report of the most recent run.
+   *
+   * @return the report, or null if no run was started yet
+   */
+  ImpayeScanReportDTO getLatestReport();
+
+  /**
+   * Lists the delinquent loans ordered by loan account ID.
+   *
+   * @param tranche       only loans of this days past due bucket, or null
+   * @param afterCompteId only loans with a greater ID, or null
+   * @param limit         maximum number of loans (default 100, max 1000)
+   * @return the delinquent loans
+   * @throws IllegalArgumentException if the bucket or the limit is invalid
+   */
+  List<ImpayeDTO> getImpayes(String tranche, Integer afterCompteId, Integer limit);
+}
@@ -0,0 +1,393 @@
+package mg.razherana.banking.pret.application.impayeScanService;
+
+import jakarta.annotation.Resource;
+import jakarta.ejb.Asynchronous;
+import jakarta.ejb.EJB;
+import jakarta.ejb.EJBException;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.SessionContext;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import mg.razherana.banking.pret.application.comptePretService.ComptePretService;
+import mg.razherana.banking.pret.dto.ImpayeDTO;
+import mg.razherana.banking.pret.dto.ImpayeScanReportDTO;
+import mg.razherana.banking.pret.dto.PaymentStatusDTO;
+import mg.razherana.banking.pret.entities.ComptePret;
+import mg.razherana.banking.pret.entities.Impaye;
+import mg.razherana.banking.pret.entities.ImpayeScanRun;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of {@link ImpayeScanService} with per-chunk commits.
+ *
+ * <p>
+ * The oldest unpaid installment of a delinquent loan is the first one whose
+ * cumulative monthly payments exceed the total paid; its due date gives the
+ * days past due. Aging the rows of loans that were not recomputed only needs
+ * that stored date, so it runs as a single UPDATE.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.pret.entities.ImpayeScanRun
+ */
+@Stateless
+public class ImpayeScanServiceImpl implements ImpayeScanService {
+  private static final Logger LOG = Logger.getLogger(ImpayeScanServiceImpl.class.getName());
+
+  // Number of loans recomputed per transaction (and per JDBC batch)
+  private static final int CHUNK_SIZE = 1000;
+
+  private static final int DEFAULT_LIMIT = 100;
+  private static final int MAX_LIMIT = 1000;
+
+  private static final Set<String> TRANCHES = Set.of(Impaye.TRANCHE_0_30, Impaye.TRANCHE_31_60,
+      Impaye.TRANCHE_61_90, Impaye.TRANCHE_90_PLUS);
+
+  @PersistenceContext(unitName = "pretPU")
+  private EntityManager entityManager;
+
+  @EJB
+  private ComptePretService comptePretService;
+
+  @Resource
+  private SessionContext sessionContext;
+
+  @Resource(name = "pretDatabase")
+  private DataSource dataSource;
+
+  /**
+   * Morning scan, disabled with {@code -Dbanking.delinquency-scan.scheduled=false}.
+   */
+  @Schedule(hour = "5", minute = "0", persistent = false)
+  @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+  public void scheduledScan() {
+    if (!Boolean.parseBoolean(System.getProperty("banking.delinquency-scan.scheduled", "true"))) {
+      return;
+    }
+    try {
+      ImpayeScanService self = sessionContext.getBusinessObject(ImpayeScanService.class);
+      self.execute(self.start().getRunId());
+    } catch (Exception e) {
+      LOG.severe("Scheduled delinquency scan failed: " + e.getMessage());
+    }
+  }
+
+  @TransactionAttribute(TransactionAttributeType.REQUIRED)
+  @Override
+  public ImpayeScanReportDTO start() {
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime staleBefore = now.minusHours(Long.getLong("banking.delinquency-scan.stale-hours", 6));
+    List<ImpayeScanRun> running = entityManager.createQuery(
+        "SELECT r FROM ImpayeScanRun r WHERE r.status = :status", ImpayeScanRun.class)
+        .setParameter("status", ImpayeScanRun.RUNNING)
+        .getResultList();
+    for (ImpayeScanRun run : running) {
+      if (run.getStartedAt().isAfter(staleBefore)) {
+        throw new IllegalArgumentException("A delinquency scan is already in progress");
+      }
+      run.setStatus(ImpayeScanRun.FAILED);
+      run.setError("Interrupted");
+      run.setFinishedAt(now);
+      LOG.warning("Delinquency scan " + run.getId() + " marked as interrupted");
+    }
+
+    boolean fullScan = findLastCompleted(null) == null;
+    Integer lastEcheanceId = entityManager.createQuery(
+        "SELECT COALESCE(MAX(e.id), 0) FROM Echeance e", Integer.class)
+        .getSingleResult();
+
+    ImpayeScanRun run = new ImpayeScanRun(now, fullScan, lastEcheanceId);
+    entityManager.persist(run);
+    entityManager.flush();
+    LOG.info("Delinquency scan " + run.getId() + " started at " + now + (fullScan ? " (full scan)" : ""));
+    return new ImpayeScanReportDTO(run);
+  }
+
+  @Asynchronous
+  @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+  @Override
+  public void executeAsync(Integer runId) {
+    try {
+      execute(runId);
+    } catch (Exception e) {
+      LOG.severe("Delinquency scan " + runId + " failed: " + e.getMessage());
+    }
+  }
+
+  @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+  @Override
+  public ImpayeScanReportDTO execute(Integer runId) {
+    ImpayeScanRun run = findRun(runId);
+    if (!ImpayeScanRun.RUNNING.equals(run.getStatus())) {
+      throw new IllegalArgumentException("Delinquency scan " + runId + " is not running");
+    }
+
+    long start = System.nanoTime();
+    ImpayeScanService self = sessionContext.getBusinessObject(ImpayeScanService.class);
+    LocalDateTime asOf = run.getAsOf();
+    int candidates = 0;
+    int rowsTouched = 0;
+    try {
+      List<Integer> compteIds = findCandidates(findLastCompleted(runId), run);
+      for (int from = 0; from < compteIds.size(); from += CHUNK_SIZE) {
+        List<Integer> chunk = compteIds.subList(from, Math.min(from + CHUNK_SIZE, compteIds.size()));
+        rowsTouched += self.scanChunk(chunk, asOf);
+        candidates += chunk.size();
+      }
+      rowsTouched += self.age(asOf);
+    } catch (Exception e) {
+      LOG.severe("Delinquency scan " + runId + " failed after " + candidates + " loans: " + e.getMessage());
+      self.finish(runId, ImpayeScanRun.FAILED, e.getMessage(), candidates, rowsTouched,
+          (System.nanoTime() - start) / 1_000_000);
+      return getReport(runId);
+    }
+
+    self.finish(runId, ImpayeScanRun.COMPLETED, null, candidates, rowsTouched,
+        (System.nanoTime() - start) / 1_000_000);
+    ImpayeScanReportDTO report = getReport(runId);
+    LOG.info("Delinquency scan " + runId + " completed: " + report.getCandidates() + " loans recomputed, "
+        + report.getRowsTouched() + " rows touched, " + report.getDelinquent() + " delinquent, "
+        + report.getElapsedMs() + " ms");
+    return report;
+  }
+
+  /**
+   * Loans to recompute: every loan on the first run, otherwise the loans with
+   * a payment recorded since the previous run or with a month (or their end
+   * date) falling due since then.
+   */
+  private List<Integer> findCandidates(ImpayeScanRun previous, ImpayeScanRun run) {
+    if (previous == null) {
+      return entityManager.createQuery("SELECT c.id FROM ComptePret c ORDER BY c.id", Integer.class)
+          .getResultList();
+    }
+
+    Timestamp since = Timestamp.valueOf(previous.getAsOf());
+    Timestamp asOf = Timestamp.valueOf(run.getAsOf());
+    List<?> rows = entityManager.createNativeQuery(
+        "SELECT id FROM ("
+            + " SELECT c.id AS id FROM compte_prets c"
+            + " WHERE c.date_debut < ?1"
+            + " AND (TIMESTAMPDIFF(MONTH, c.date_debut, ?1) > TIMESTAMPDIFF(MONTH, c.date_debut, ?2)"
+            + " OR (c.date_fin > ?2 AND c.date_fin <= ?1))"
+            + " UNION"
+            + " SELECT e.compte_id AS id FROM echeances e WHERE e.id > ?3 AND e.id <= ?4"
+            + ") candidates ORDER BY id")
+        .setParameter(1, asOf)
+        .setParameter(2, since)
+        .setParameter(3, previous.getLastEcheanceId())
+        .setParameter(4, run.getLastEcheanceId())
+        .getResultList();
+    return rows.stream().map(row -> ((Number) row).intValue()).collect(Collectors.toList());
+  }
+
+  @TransactionAttribute(TransactionAttributeType.REQUIRED)
+  @Override
+  public int scanChunk(List<Integer> compteIds, LocalDateTime asOf) {
+    if (compteIds == null || compteIds.isEmpty()) {
+      return 0;
+    }
+
+    List<ComptePret> loans = entityManager.createQuery(
+        "SELECT c FROM ComptePret c WHERE c.id IN :ids ORDER BY c.id", ComptePret.class)
+        .setParameter("ids", compteIds)
+        .getResultList();
+    Map<Integer, PaymentStatusDTO> statuses = comptePretService.getPaymentStatuses(loans, asOf);
+    Set<Integer> existing = new HashSet<>(entityManager.createQuery(
+        "SELECT i.compteId FROM Impaye i WHERE i.compteId IN :ids", Integer.class)
+        .setParameter("ids", compteIds)
+        .getResultList());
+
+    Timestamp updatedAt = Timestamp.valueOf(asOf);
+    int upserts = 0;
+    int deletes = 0;
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement upsert = connection.prepareStatement(
+            "INSERT INTO impayes (compte_id, user_id, montant_du, total_paye, total_attendu,"
+                + " premiere_echeance_impayee, jours_retard, tranche, updated_at)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)"
+                + " ON DUPLICATE KEY UPDATE user_id = VALUES(user_id), montant_du = VALUES(montant_du),"
+                + " total_paye = VALUES(total_paye), total_attendu = VALUES(total_attendu),"
+                + " premiere_echeance_impayee = VALUES(premiere_echeance_impayee),"
+                + " jours_retard = VALUES(jours_retard), tranche = VALUES(tranche), updated_at = VALUES(updated_at)");
+        PreparedStatement delete = connection.prepareStatement(
+            "DELETE FROM impayes WHERE compte_id = ?")) {
+      for (ComptePret loan : loans) {
+        PaymentStatusDTO status = statuses.get(loan.getId());
+        if (status == null) {
+          continue;
+        }
+
+        if (status.getAmountDue().signum() <= 0) {
+          if (existing.contains(loan.getId())) {
+            delete.setInt(1, loan.getId());
+            delete.addBatch();
+            deletes++;
+          }
+          continue;
+        }
+
+        LocalDateTime premiereEcheanceImpayee = oldestUnpaidDueDate(loan, status);
+        long joursRetard = Math.max(0,
+            ChronoUnit.DAYS.between(premiereEcheanceImpayee.toLocalDate(), asOf.toLocalDate()));
+        upsert.setInt(1, loan.getId());
+        upsert.setInt(2, loan.getUserId());
+        upsert.setBigDecimal(3, status.getAmountDue());
+        upsert.setBigDecimal(4, status.getTotalPaid());
+        upsert.setBigDecimal(5, status.getTotalExpected());
+        upsert.setTimestamp(6, Timestamp.valueOf(premiereEcheanceImpayee));
+        upsert.setInt(7, (int) joursRetard);
+        upsert.setString(8, Impaye.trancheOf(joursRetard));
+        upsert.setTimestamp(9, updatedAt);
+        upsert.addBatch();
+        upserts++;
+      }
+
+      if (upserts > 0) {
+        upsert.executeBatch();
+      }
+      if (deletes > 0) {
+        delete.executeBatch();
+      }
+    } catch (SQLException e) {
+      throw new EJBException("Failed to write delinquency chunk", e);
+    }
+
+    entityManager.clear();
+    return upserts + deletes;
+  }
+
+  /**
+   * Due date of the first installment the payments do not cover.
+   */
+  private static LocalDateTime oldestUnpaidDueDate(ComptePret loan, PaymentStatusDTO status) {
+    long totalMonths = Math.max(1, ChronoUnit.MONTHS.between(loan.getDateDebut(), loan.getDateFin()));
+    long covered = status.getMonthlyPayment().signum() > 0
+        ? status.getTotalPaid().divide(status.getMonthlyPayment(), 0, RoundingMode.DOWN).longValue()
+        : 0;
+    return loan.getDateDebut().plusMonths(Math.min(covered + 1, totalMonths));
+  }
+
+  @TransactionAttribute(TransactionAttributeType.REQUIRED)
+  @Override
+  public int age(LocalDateTime asOf) {
+    Timestamp date = Timestamp.valueOf(asOf);
+    // Same bounds as Impaye.trancheOf
+    return entityManager.createNativeQuery(
+        "UPDATE impayes SET"
+            + " jours_retard = GREATEST(DATEDIFF(?1, premiere_echeance_impayee), 0),"
+            + " tranche = CASE"
+            + " WHEN DATEDIFF(?1, premiere_echeance_impayee) <= 30 THEN '" + Impaye.TRANCHE_0_30 + "'"
+            + " WHEN DATEDIFF(?1, premiere_echeance_impayee) <= 60 THEN '" + Impaye.TRANCHE_31_60 + "'"
+            + " WHEN DATEDIFF(?1, premiere_echeance_impayee) <= 90 THEN '" + Impaye.TRANCHE_61_90 + "'"
+            + " ELSE '" + Impaye.TRANCHE_90_PLUS + "' END,"
+            + " updated_at = ?1"
+            + " WHERE updated_at < ?1")
+        .setParameter(1, date)
+        .executeUpdate();
+  }
+
+  @TransactionAttribute(TransactionAttributeType.REQUIRED)
+  @Override
+  public void finish(Integer runId, String status, String error, int candidates, int rowsTouched,
+      long elapsedMs) {
+    ImpayeScanRun run = findRun(runId);
+    run.setStatus(status);
+    run.setError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+    run.setCandidates(candidates);
+    run.setRowsTouched(rowsTouched);
+    run.setDelinquent(entityManager.createQuery("SELECT COUNT(i) FROM Impaye i", Long.class)
+        .getSingleResult().intValue());
+    run.setElapsedMs(elapsedMs);
+    run.setFinishedAt(LocalDateTime.now());
+  }
+
+  @Override
+  public ImpayeScanReportDTO getReport(Integer runId) {
+    if (runId == null) {
+      throw new IllegalArgumentException("Run ID cannot be null");
+    }
+    ImpayeScanRun run = entityManager.find(ImpayeScanRun.class, runId);
+    return run != null ? new ImpayeScanReportDTO(run) : null;
+  }
+
+  @Override
+  public ImpayeScanReportDTO getLatestReport() {
+    List<ImpayeScanRun> runs = entityManager.createQuery(
+        "SELECT r FROM ImpayeScanRun r ORDER BY r.id DESC", ImpayeScanRun.class)
+        .setMaxResults(1)
+        .getResultList();
+    return runs.isEmpty() ? null : new ImpayeScanReportDTO(runs.get(0));
+  }
+
+  @Override
+  public List<ImpayeDTO> getImpayes(String tranche, Integer afterCompteId, Integer limit) {
+    if (tranche != null && !TRANCHES.contains(tranche)) {
+      throw new IllegalArgumentException("Unknown tranche: " + tranche + " (expected 0-30, 31-60, 61-90 or 90+)");
+    }
+    int pageSize = limit != null ? limit : DEFAULT_LIMIT;
+    if (pageSize < 1 || pageSize > MAX_LIMIT) {
+      throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+    }
+
+    TypedQuery<Impaye> query = entityManager.createQuery(
+        "SELECT i FROM Impaye i WHERE i.compteId > :afterCompteId"
+            + (tranche != null ? " AND i.tranche = :tranche" : "")
+            + " ORDER BY i.compteId",
+        Impaye.class)
+        .setParameter("afterCompteId", afterCompteId != null ? afterCompteId : 0)
+        .setMaxResults(pageSize);
+    if (tranche != null) {
+      query.setParameter("tranche", tranche);
+    }
+    return query.getResultList().stream()
+        .map(ImpayeDTO::new)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Last completed run before the given one (or before any run when null).
+   */
+  private ImpayeScanRun findLastCompleted(Integer beforeRunId) {
+    List<ImpayeScanRun> runs = entityManager.createQuery(
+        "SELECT r FROM ImpayeScanRun r WHERE r.status = :status AND r.id < :beforeRunId ORDER BY r.id DESC",
+        ImpayeScanRun.class)
+        .setParameter("status", ImpayeScanRun.COMPLETED)
+        .setParameter("beforeRunId", beforeRunId != null ? beforeRunId : Integer.MAX_VALUE)
+        .setMaxResults(1)
+        .getResultList();
+    return runs.isEmpty() ? null : runs.get(0);
+  }
+
+  private ImpayeScanRun findRun(Integer runId) {
+    if (runId == null) {
+      throw new IllegalArgumentException("Run ID cannot be null");
+    }
+    ImpayeScanRun run = entityManager.find(ImpayeScanRun.class, runId);
+    if (run == null) {
+      throw new IllegalArgumentException("Delinquency scan not found: " + runId);
+    }
+    return run;
+  }
+}
@@ -0,0 +1,29 @@
+package mg.razherana.banking.pret.application.scheduleBackfillService;
+
+/**
+ * One-off backfill of the amortization schedules of loans created before
+ * schedules were stored.
+ *
+ * <p>
+ * Runs once at startup, after the schema migrations, by batches of
+ * {@code banking.schedule-backfill.batch-size} loans (default 500), one
+ * transaction per batch. Once every loan has a schedule it finds nothing to
+ * do. Read paths never write: a loan not backfilled yet has its monthly
+ * payment and schedule computed in memory. Set the
+ * {@code banking.schedule-backfill.enabled} system property to false to skip
+ * it.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.pret.entities.Amortissement
+ */
+public interface ScheduleBackfillService {
+  /**
+   * Stores the schedule of every loan that has none.
+   *
+   * @return the number of batches processed
+   */
+  int backfill();
+}
@@ -0,0 +1,63 @@
+package mg.razherana.banking.pret.application.scheduleBackfillService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.DependsOn;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import mg.razherana.banking.pret.application.comptePretService.ComptePretService;
+
+import java.util.logging.Logger;
+
+/**
+ * Startup implementation of {@link ScheduleBackfillService}.
+ *
+ * <p>
+ * Each batch locks its loans, so instances starting together never build the
+ * same schedule twice. Loans are walked by ID, so a loan whose schedule
+ * cannot be built (unknown loan type, invalid duration) is logged and skipped
+ * instead of being retried forever.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ */
+@Singleton
+@Startup
+@DependsOn("SchemaMigrationServiceImpl")
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class ScheduleBackfillServiceImpl implements ScheduleBackfillService {
+  private static final Logger LOG = Logger.getLogger(ScheduleBackfillService.class.getName());
+
+  @EJB
+  private ComptePretService comptePretService;
+
+  @PostConstruct
+  public void init() {
+    if (!Boolean.parseBoolean(System.getProperty("banking.schedule-backfill.enabled", "true"))) {
+      LOG.info("Schedule backfill disabled");
+      return;
+    }
+    backfill();
+  }
+
+  @Override
+  public int backfill() {
+    int batchSize = Integer.getInteger("banking.schedule-backfill.batch-size", 500);
+    long start = System.nanoTime();
+    int batches = 0;
+
+    // One transaction per batch
+    Integer lastId = comptePretService.backfillSchedules(null, batchSize);
+    while (lastId != null) {
+      batches++;
+      lastId = comptePretService.backfillSchedules(lastId, batchSize);
+    }
+
+    LOG.info("Schedule backfill done, " + batches + " batches in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    return batches;
+  }
+}
@@ -0,0 +1,52 @@
+package mg.razherana.banking.pret.application.typeComptePretService;
+
+import mg.razherana.banking.pret.entities.TypeComptePret;
+
+import java.util.List;
+
+/**
+ * Application-wide catalogue of loan types.
+ *
+ * <p>
+ * Loan types are read by every loan creation and payment status computation
+ * but almost never change, so {@code type_compte_prets} is loaded once into an
+ * immutable snapshot that readers use without locking or database access.
+ * {@link #refresh()} reloads the table and swaps the snapshot in one step; it
+ * must be called (through {@code POST /loan-types-cache/refresh}) after the
+ * table is edited.
+ * </p>
+ *
+ * <p>
+ * The returned loan types are detached copies shared by every caller and must
+ * be treated as read-only.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.pret.entities.TypeComptePret
+ */
+public interface TypeComptePretService {
+  /**
+   * Finds a loan type by ID in the snapshot.
+   *
+   * @param id the loan type ID
+   * @return the loan type, or null if it is not in the snapshot
+   * @throws IllegalArgumentException if id is null
+   */
+  TypeComptePret findById(Integer id);
+
+  /**
+   * Gets every loan type of the snapshot.
+   *
+   * @return an unmodifiable list of the loan types, ordered by ID
+   */
+  List<TypeComptePret> findAll();
+
+  /**
+   * Reloads the loan types from the database and replaces the snapshot.
+   *
+   * @return the number of loan types loaded
+   */
+  int refresh();
+}
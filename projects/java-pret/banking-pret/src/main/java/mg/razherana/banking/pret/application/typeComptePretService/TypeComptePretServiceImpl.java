@@ -0,0 +1,106 @@
+package mg.razherana.banking.pret.application.typeComptePretService;
+
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import mg.razherana.banking.pret.entities.TypeComptePret;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Implementation of {@link TypeComptePretService} holding a copy-on-write
+ * snapshot.
+ *
+ * <p>
+ * The snapshot is built on first use and held in a volatile field, so readers
+ * only pay for a volatile read and a map lookup. Loads are serialized on the
+ * bean monitor; readers keep using the previous snapshot while a refresh
+ * runs.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class TypeComptePretServiceImpl implements TypeComptePretService {
+  private static final Logger LOG = Logger.getLogger(TypeComptePretServiceImpl.class.getName());
+
+  @PersistenceContext(unitName = "pretPU")
+  private EntityManager entityManager;
+
+  private volatile Snapshot snapshot;
+
+  @Override
+  public TypeComptePret findById(Integer id) {
+    if (id == null) {
+      throw new IllegalArgumentException("Loan type ID cannot be null");
+    }
+    return snapshot().byId.get(id);
+  }
+
+  @Override
+  public List<TypeComptePret> findAll() {
+    return snapshot().all;
+  }
+
+  @Override
+  public synchronized int refresh() {
+    snapshot = load();
+    return snapshot.all.size();
+  }
+
+  private Snapshot snapshot() {
+    Snapshot current = snapshot;
+    if (current == null) {
+      synchronized (this) {
+        current = snapshot;
+        if (current == null) {
+          current = load();
+          snapshot = current;
+        }
+      }
+    }
+    return current;
+  }
+
+  private Snapshot load() {
+    List<TypeComptePret> loanTypes = entityManager.createQuery(
+        "SELECT t FROM TypeComptePret t ORDER BY t.id", TypeComptePret.class)
+        .getResultList();
+
+    // Copies, so the snapshot is not tied to any persistence context
+    List<TypeComptePret> all = new ArrayList<>(loanTypes.size());
+    Map<Integer, TypeComptePret> byId = new HashMap<>();
+    for (TypeComptePret loanType : loanTypes) {
+      TypeComptePret copy = new TypeComptePret(loanType.getNom(), loanType.getInteret());
+      copy.setId(loanType.getId());
+      all.add(copy);
+      byId.put(copy.getId(), copy);
+    }
+
+    LOG.info("Loan type catalogue loaded: " + all.size() + " types");
+    return new Snapshot(Collections.unmodifiableList(all), Collections.unmodifiableMap(byId));
+  }
+
+  private static final class Snapshot {
+    private final List<TypeComptePret> all;
+    private final Map<Integer, TypeComptePret> byId;
+
+    private Snapshot(List<TypeComptePret> all, Map<Integer, TypeComptePret> byId) {
+      this.all = all;
+      this.byId = byId;
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package mg.razherana.banking.pret.dto;
+
+import mg.razherana.banking.pret.entities.Amortissement;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one month of a loan's amortization schedule.
+ */
+public class AmortissementDTO {
+
+  private Integer numero;
+  private LocalDateTime dateEcheance;
+  private BigDecimal mensualite;
+  private BigDecimal interet;
+  private BigDecimal capital;
+  private BigDecimal capitalRestant;
+
+  // Default constructor
+  public AmortissementDTO() {
+  }
+
+  // Constructor from Amortissement entity
+  public AmortissementDTO(Amortissement amortissement) {
+    this.numero = amortissement.getNumero();
+    this.dateEcheance = amortissement.getDateEcheance();
+    this.mensualite = amortissement.getMensualite();
+    this.interet = amortissement.getInteret();
+    this.capital = amortissement.getCapital();
+    this.capitalRestant = amortissement.getCapitalRestant();
+  }
+
+  // Getters and setters
+  public Integer getNumero() {
+    return numero;
+  }
+
+  public void setNumero(Integer numero) {
+    this.numero = numero;
+  }
+
+  public LocalDateTime getDateEcheance() {
+    return dateEcheance;
+  }
+
+  public void setDateEcheance(LocalDateTime dateEcheance) {
+    this.dateEcheance = dateEcheance;
+  }
+
+  public BigDecimal getMensualite() {
+    return mensualite;
+  }
+
+  public void setMensualite(BigDecimal mensualite) {
+    this.mensualite = mensualite;
+  }
+
+  public BigDecimal getInteret() {
+    return interet;
+  }
+
+  public void setInteret(BigDecimal interet) {
+    this.interet = interet;
+  }
+
+  public BigDecimal getCapital() {
+    return capital;
+  }
+
+  public void setCapital(BigDecimal capital) {
+    this.capital = capital;
+  }
+
+  public BigDecimal getCapitalRestant() {
+    return capitalRestant;
+  }
+
+  public void setCapitalRestant(BigDecimal capitalRestant) {
+    this.capitalRestant = capitalRestant;
+  }
+
+  @Override
+  public String toString() {
+    return "AmortissementDTO{" +
+        "numero=" + numero +
+        ", dateEcheance=" + dateEcheance +
+        ", mensualite=" + mensualite +
+        ", interet=" + interet +
+        ", capital=" + capital +
+        ", capitalRestant=" + capitalRestant +
+        '}';
+  }
+}
@@ -20,6 +20,7 @@ public class ComptePretDTO {
   private BigDecimal montant;
   private LocalDateTime dateDebut;
   private LocalDateTime dateFin;
+  private BigDecimal capitalRestant;
 
   // Default constructor
   public ComptePretDTO() {
@@ -33,6 +34,7 @@ public class ComptePretDTO {
     this.montant = compte.getMontant();
     this.dateDebut = compte.getDateDebut();
     this.dateFin = compte.getDateFin();
+    this.capitalRestant = compte.getCapitalRestant();
   }
 
   // Getters and setters
@@ -84,6 +86,14 @@ public class ComptePretDTO {
     this.dateFin = dateFin;
   }
 
+  public BigDecimal getCapitalRestant() {
+    return capitalRestant;
+  }
+
+  public void setCapitalRestant(BigDecimal capitalRestant) {
+    this.capitalRestant = capitalRestant;
+  }
+
   @Override
   public String toString() {
     return "ComptePretDTO{" +
@@ -93,6 +103,7 @@ public class ComptePretDTO {
         ", montant=" + montant +
         ", dateDebut=" + dateDebut +
         ", dateFin=" + dateFin +
+        ", capitalRestant=" + capitalRestant +
         '}';
   }
 }
\ No newline at end of file
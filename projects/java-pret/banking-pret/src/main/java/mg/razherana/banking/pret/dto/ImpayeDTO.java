@@ -0,0 +1,126 @@
+package mg.razherana.banking.pret.dto;
+
+import mg.razherana.banking.pret.entities.Impaye;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a delinquent loan found by the delinquency scan.
+ */
+public class ImpayeDTO {
+
+  private Integer compteId;
+  private Integer userId;
+  private BigDecimal montantDu;
+  private BigDecimal totalPaye;
+  private BigDecimal totalAttendu;
+  private LocalDateTime premiereEcheanceImpayee;
+  private int joursRetard;
+  private String tranche;
+  private LocalDateTime updatedAt;
+
+  // Default constructor
+  public ImpayeDTO() {
+  }
+
+  // Constructor from Impaye entity
+  public ImpayeDTO(Impaye impaye) {
+    this.compteId = impaye.getCompteId();
+    this.userId = impaye.getUserId();
+    this.montantDu = impaye.getMontantDu();
+    this.totalPaye = impaye.getTotalPaye();
+    this.totalAttendu = impaye.getTotalAttendu();
+    this.premiereEcheanceImpayee = impaye.getPremiereEcheanceImpayee();
+    this.joursRetard = impaye.getJoursRetard();
+    this.tranche = impaye.getTranche();
+    this.updatedAt = impaye.getUpdatedAt();
+  }
+
+  // Getters and setters
+  public Integer getCompteId() {
+    return compteId;
+  }
+
+  public void setCompteId(Integer compteId) {
+    this.compteId = compteId;
+  }
+
+  public Integer getUserId() {
+    return userId;
+  }
+
+  public void setUserId(Integer userId) {
+    this.userId = userId;
+  }
+
+  public BigDecimal getMontantDu() {
+    return montantDu;
+  }
+
+  public void setMontantDu(BigDecimal montantDu) {
+    this.montantDu = montantDu;
+  }
+
+  public BigDecimal getTotalPaye() {
+    return totalPaye;
+  }
+
+  public void setTotalPaye(BigDecimal totalPaye) {
+    this.totalPaye = totalPaye;
+  }
+
+  public BigDecimal getTotalAttendu() {
+    return totalAttendu;
+  }
+
+  public void setTotalAttendu(BigDecimal totalAttendu) {
+    this.totalAttendu = totalAttendu;
+  }
+
+  public LocalDateTime getPremiereEcheanceImpayee() {
+    return premiereEcheanceImpayee;
+  }
+
+  public void setPremiereEcheanceImpayee(LocalDateTime premiereEcheanceImpayee) {
+    this.premiereEcheanceImpayee = premiereEcheanceImpayee;
+  }
+
+  public int getJoursRetard() {
+    return joursRetard;
+  }
+
+  public void setJoursRetard(int joursRetard) {
+    this.joursRetard = joursRetard;
+  }
+
+  public String getTranche() {
+    return tranche;
+  }
+
+  public void setTranche(String tranche) {
+    this.tranche = tranche;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  @Override
+  public String toString() {
+    return "ImpayeDTO{" +
+        "compteId=" + compteId +
+        ", userId=" + userId +
+        ", montantDu=" + montantDu +
+        ", totalPaye=" + totalPaye +
+        ", totalAttendu=" + totalAttendu +
+        ", premiereEcheanceImpayee=" + premiereEcheanceImpayee +
+        ", joursRetard=" + joursRetard +
+        ", tranche='" + tranche + '\'' +
+        ", updatedAt=" + updatedAt +
+        '}';
+  }
+}
@@ -0,0 +1,158 @@
+package mg.razherana.banking.pret.dto;
+
+import mg.razherana.banking.pret.entities.ImpayeScanRun;
+import java.time.LocalDateTime;
+
+/**
+ * DTO reporting the duration and rows touched of a delinquency scan run.
+ */
+public class ImpayeScanReportDTO {
+
+  private Integer runId;
+  private String status;
+  private LocalDateTime asOf;
+  private boolean fullScan;
+  private Integer lastEcheanceId;
+  private int candidates;
+  private int rowsTouched;
+  private int delinquent;
+  private long elapsedMs;
+  private String error;
+  private LocalDateTime startedAt;
+  private LocalDateTime finishedAt;
+
+  // Default constructor
+  public ImpayeScanReportDTO() {
+  }
+
+  // Constructor from ImpayeScanRun entity
+  public ImpayeScanReportDTO(ImpayeScanRun impayeScanRun) {
+    this.runId = impayeScanRun.getId();
+    this.status = impayeScanRun.getStatus();
+    this.asOf = impayeScanRun.getAsOf();
+    this.fullScan = impayeScanRun.isFullScan();
+    this.lastEcheanceId = impayeScanRun.getLastEcheanceId();
+    this.candidates = impayeScanRun.getCandidates();
+    this.rowsTouched = impayeScanRun.getRowsTouched();
+    this.delinquent = impayeScanRun.getDelinquent();
+    this.elapsedMs = impayeScanRun.getElapsedMs();
+    this.error = impayeScanRun.getError();
+    this.startedAt = impayeScanRun.getStartedAt();
+    this.finishedAt = impayeScanRun.getFinishedAt();
+  }
+
+  // Getters and setters
+  public Integer getRunId() {
+    return runId;
+  }
+
+  public void setRunId(Integer runId) {
+    this.runId = runId;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public LocalDateTime getAsOf() {
+    return asOf;
+  }
+
+  public void setAsOf(LocalDateTime asOf) {
+    this.asOf = asOf;
+  }
+
+  public boolean isFullScan() {
+    return fullScan;
+  }
+
+  public void setFullScan(boolean fullScan) {
+    this.fullScan = fullScan;
+  }
+
+  public Integer getLastEcheanceId() {
+    return lastEcheanceId;
+  }
+
+  public void setLastEcheanceId(Integer lastEcheanceId) {
+    this.lastEcheanceId = lastEcheanceId;
+  }
+
+  public int getCandidates() {
+    return candidates;
+  }
+
+  public void setCandidates(int candidates) {
+    this.candidates = candidates;
+  }
+
+  public int getRowsTouched() {
+    return rowsTouched;
+  }
+
+  public void setRowsTouched(int rowsTouched) {
+    this.rowsTouched = rowsTouched;
+  }
+
+  public int getDelinquent() {
+    return delinquent;
+  }
+
+  public void setDelinquent(int delinquent) {
+    this.delinquent = delinquent;
+  }
+
+  public long getElapsedMs() {
+    return elapsedMs;
+  }
+
+  public void setElapsedMs(long elapsedMs) {
+    this.elapsedMs = elapsedMs;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public void setError(String error) {
+    this.error = error;
+  }
+
+  public LocalDateTime getStartedAt() {
+    return startedAt;
+  }
+
+  public void setStartedAt(LocalDateTime startedAt) {
+    this.startedAt = startedAt;
+  }
+
+  public LocalDateTime getFinishedAt() {
+    return finishedAt;
+  }
+
+  public void setFinishedAt(LocalDateTime finishedAt) {
+    this.finishedAt = finishedAt;
+  }
+
+  @Override
+  public String toString() {
+    return "ImpayeScanReportDTO{" +
+        "runId=" + runId +
+        ", status='" + status + '\'' +
+        ", asOf=" + asOf +
+        ", fullScan=" + fullScan +
+        ", lastEcheanceId=" + lastEcheanceId +
+        ", candidates=" + candidates +
+        ", rowsTouched=" + rowsTouched +
+        ", delinquent=" + delinquent +
+        ", elapsedMs=" + elapsedMs +
+        ", error='" + error + '\'' +
+        ", startedAt=" + startedAt +
+        ", finishedAt=" + finishedAt +
+        '}';
+  }
+}
@@ -0,0 +1,153 @@
+package mg.razherana.banking.pret.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the intermediate values of the monthly payment formula
+ * M = [C × i] / [1 - (1 + i)^(-n)] of a loan.
+ *
+ * <p>
+ * Only built on demand by the trace endpoint. numerator, onePlusRate,
+ * powerTerm and denominator are null for interest-free loans, whose monthly
+ * payment is C / n. storedMonthlyPayment is the payment recorded with the
+ * amortization schedule.
+ * </p>
+ */
+public class MonthlyPaymentTraceDTO {
+
+  private Integer compteId;
+  private BigDecimal principal;
+  private BigDecimal annualRate;
+  private BigDecimal monthlyRate;
+  private Long totalMonths;
+  private LocalDateTime dateDebut;
+  private LocalDateTime dateFin;
+  private BigDecimal numerator;
+  private BigDecimal onePlusRate;
+  private BigDecimal powerTerm;
+  private BigDecimal denominator;
+  private BigDecimal monthlyPayment;
+  private BigDecimal storedMonthlyPayment;
+
+  // Default constructor
+  public MonthlyPaymentTraceDTO() {
+  }
+
+  // Getters and setters
+  public Integer getCompteId() {
+    return compteId;
+  }
+
+  public void setCompteId(Integer compteId) {
+    this.compteId = compteId;
+  }
+
+  public BigDecimal getPrincipal() {
+    return principal;
+  }
+
+  public void setPrincipal(BigDecimal principal) {
+    this.principal = principal;
+  }
+
+  public BigDecimal getAnnualRate() {
+    return annualRate;
+  }
+
+  public void setAnnualRate(BigDecimal annualRate) {
+    this.annualRate = annualRate;
+  }
+
+  public BigDecimal getMonthlyRate() {
+    return monthlyRate;
+  }
+
+  public void setMonthlyRate(BigDecimal monthlyRate) {
+    this.monthlyRate = monthlyRate;
+  }
+
+  public Long getTotalMonths() {
+    return totalMonths;
+  }
+
+  public void setTotalMonths(Long totalMonths) {
+    this.totalMonths = totalMonths;
+  }
+
+  public LocalDateTime getDateDebut() {
+    return dateDebut;
+  }
+
+  public void setDateDebut(LocalDateTime dateDebut) {
+    this.dateDebut = dateDebut;
+  }
+
+  public LocalDateTime getDateFin() {
+    return dateFin;
+  }
+
+  public void setDateFin(LocalDateTime dateFin) {
+    this.dateFin = dateFin;
+  }
+
+  public BigDecimal getNumerator() {
+    return numerator;
+  }
+
+  public void setNumerator(BigDecimal numerator) {
+    this.numerator = numerator;
+  }
+
+  public BigDecimal getOnePlusRate() {
+    return onePlusRate;
+  }
+
+  public void setOnePlusRate(BigDecimal onePlusRate) {
+    this.onePlusRate = onePlusRate;
+  }
+
+  public BigDecimal getPowerTerm() {
+    return powerTerm;
+  }
+
+  public void setPowerTerm(BigDecimal powerTerm) {
+    this.powerTerm = powerTerm;
+  }
+
+  public BigDecimal getDenominator() {
+    return denominator;
+  }
+
+  public void setDenominator(BigDecimal denominator) {
+    this.denominator = denominator;
+  }
+
+  public BigDecimal getMonthlyPayment() {
+    return monthlyPayment;
+  }
+
+  public void setMonthlyPayment(BigDecimal monthlyPayment) {
+    this.monthlyPayment = monthlyPayment;
+  }
+
+  public BigDecimal getStoredMonthlyPayment() {
+    return storedMonthlyPayment;
+  }
+
+  public void setStoredMonthlyPayment(BigDecimal storedMonthlyPayment) {
+    this.storedMonthlyPayment = storedMonthlyPayment;
+  }
+
+  @Override
+  public String toString() {
+    return "MonthlyPaymentTraceDTO{" +
+        "compteId=" + compteId +
+        ", principal=" + principal +
+        ", monthlyRate=" + monthlyRate +
+        ", totalMonths=" + totalMonths +
+        ", monthlyPayment=" + monthlyPayment +
+        ", storedMonthlyPayment=" + storedMonthlyPayment +
+        '}';
+  }
+}
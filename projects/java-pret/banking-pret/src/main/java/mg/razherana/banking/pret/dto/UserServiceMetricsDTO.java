@@ -0,0 +1,139 @@
+package mg.razherana.banking.pret.dto;
+
+/**
+ * DTO for the metrics of the remote user service client.
+ */
+public class UserServiceMetricsDTO {
+
+  private String baseUrl;
+  private long connectTimeoutMs;
+  private long readTimeoutMs;
+  private long calls;
+  private long found;
+  private long notFound;
+  private long failures;
+  private double averageLatencyMs;
+  private double maxLatencyMs;
+  private long cacheHits;
+  private long cacheMisses;
+  private int cacheSize;
+
+  // Default constructor
+  public UserServiceMetricsDTO() {
+  }
+
+  // Constructor
+  public UserServiceMetricsDTO(String baseUrl, long connectTimeoutMs, long readTimeoutMs, long calls, long found,
+      long notFound, long failures, double averageLatencyMs, double maxLatencyMs, long cacheHits, long cacheMisses,
+      int cacheSize) {
+    this.baseUrl = baseUrl;
+    this.connectTimeoutMs = connectTimeoutMs;
+    this.readTimeoutMs = readTimeoutMs;
+    this.calls = calls;
+    this.found = found;
+    this.notFound = notFound;
+    this.failures = failures;
+    this.averageLatencyMs = averageLatencyMs;
+    this.maxLatencyMs = maxLatencyMs;
+    this.cacheHits = cacheHits;
+    this.cacheMisses = cacheMisses;
+    this.cacheSize = cacheSize;
+  }
+
+  // Getters and setters
+  public String getBaseUrl() {
+    return baseUrl;
+  }
+
+  public void setBaseUrl(String baseUrl) {
+    this.baseUrl = baseUrl;
+  }
+
+  public long getConnectTimeoutMs() {
+    return connectTimeoutMs;
+  }
+
+  public void setConnectTimeoutMs(long connectTimeoutMs) {
+    this.connectTimeoutMs = connectTimeoutMs;
+  }
+
+  public long getReadTimeoutMs() {
+    return readTimeoutMs;
+  }
+
+  public void setReadTimeoutMs(long readTimeoutMs) {
+    this.readTimeoutMs = readTimeoutMs;
+  }
+
+  public long getCalls() {
+    return calls;
+  }
+
+  public void setCalls(long calls) {
+    this.calls = calls;
+  }
+
+  public long getFound() {
+    return found;
+  }
+
+  public void setFound(long found) {
+    this.found = found;
+  }
+
+  public long getNotFound() {
+    return notFound;
+  }
+
+  public void setNotFound(long notFound) {
+    this.notFound = notFound;
+  }
+
+  public long getFailures() {
+    return failures;
+  }
+
+  public void setFailures(long failures) {
+    this.failures = failures;
+  }
+
+  public double getAverageLatencyMs() {
+    return averageLatencyMs;
+  }
+
+  public void setAverageLatencyMs(double averageLatencyMs) {
+    this.averageLatencyMs = averageLatencyMs;
+  }
+
+  public double getMaxLatencyMs() {
+    return maxLatencyMs;
+  }
+
+  public void setMaxLatencyMs(double maxLatencyMs) {
+    this.maxLatencyMs = maxLatencyMs;
+  }
+
+  public long getCacheHits() {
+    return cacheHits;
+  }
+
+  public void setCacheHits(long cacheHits) {
+    this.cacheHits = cacheHits;
+  }
+
+  public long getCacheMisses() {
+    return cacheMisses;
+  }
+
+  public void setCacheMisses(long cacheMisses) {
+    this.cacheMisses = cacheMisses;
+  }
+
+  public int getCacheSize() {
+    return cacheSize;
+  }
+
+  public void setCacheSize(int cacheSize) {
+    this.cacheSize = cacheSize;
+  }
+}
@@ -0,0 +1,292 @@
+package mg.razherana.banking.pret.entities;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Amortissement entity representing one month of a loan's amortization
+ * schedule.
+ *
+ * <p>
+ * The whole schedule is computed once when the loan is created, so payment
+ * status checks read the expected amounts instead of recomputing the
+ * amortization formula. Installment {@code numero} is due {@code numero}
+ * months after the loan start date.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ */
+@Entity
+@Table(name = "amortissements", uniqueConstraints = @UniqueConstraint(columnNames = { "compte_id", "numero" }))
+public class Amortissement {
+
+  /**
+   * Unique identifier for the schedule row.
+   * Auto-generated using database identity strategy.
+   */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Integer id;
+
+  /**
+   * Reference to the loan account.
+   */
+  @Column(name = "compte_id", nullable = false)
+  private Integer compteId;
+
+  /**
+   * Installment number, from 1 to the number of months of the loan.
+   */
+  @Column(name = "numero", nullable = false)
+  private Integer numero;
+
+  /**
+   * Date the installment is due.
+   */
+  @Column(name = "date_echeance", nullable = false)
+  private LocalDateTime dateEcheance;
+
+  /**
+   * Monthly payment (same for every installment).
+   */
+  @Column(name = "mensualite", nullable = false, precision = 20, scale = 6)
+  private BigDecimal mensualite;
+
+  /**
+   * Interest part of the installment.
+   */
+  @Column(name = "interet", nullable = false, precision = 15, scale = 2)
+  private BigDecimal interet;
+
+  /**
+   * Principal part of the installment.
+   */
+  @Column(name = "capital", nullable = false, precision = 15, scale = 2)
+  private BigDecimal capital;
+
+  /**
+   * Principal still owed once the installment is paid.
+   */
+  @Column(name = "capital_restant", nullable = false, precision = 15, scale = 2)
+  private BigDecimal capitalRestant;
+
+  /**
+   * Total of the monthly payments up to and including this installment.
+   */
+  @Column(name = "cumul_mensualites", nullable = false, precision = 20, scale = 6)
+  private BigDecimal cumulMensualites;
+
+  /**
+   * Default constructor for JPA.
+   */
+  public Amortissement() {
+  }
+
+  /**
+   * Constructor with schedule information.
+   *
+   * @param compteId         the loan account ID
+   * @param numero           the installment number
+   * @param dateEcheance     the due date
+   * @param mensualite       the monthly payment
+   * @param interet          the interest part
+   * @param capital          the principal part
+   * @param capitalRestant   the principal still owed after this installment
+   * @param cumulMensualites the total of the monthly payments so far
+   */
+  public Amortissement(Integer compteId, Integer numero, LocalDateTime dateEcheance, BigDecimal mensualite,
+      BigDecimal interet, BigDecimal capital, BigDecimal capitalRestant, BigDecimal cumulMensualites) {
+    this.compteId = compteId;
+    this.numero = numero;
+    this.dateEcheance = dateEcheance;
+    this.mensualite = mensualite;
+    this.interet = interet;
+    this.capital = capital;
+    this.capitalRestant = capitalRestant;
+    this.cumulMensualites = cumulMensualites;
+  }
+
+  /**
+   * Gets the unique identifier of the schedule row.
+   *
+   * @return the row ID, or null if not yet persisted
+   */
+  public Integer getId() {
+    return id;
+  }
+
+  /**
+   * Sets the unique identifier of the schedule row.
+   *
+   * @param id the row ID to set
+   */
+  public void setId(Integer id) {
+    this.id = id;
+  }
+
+  /**
+   * Gets the loan account ID.
+   *
+   * @return the loan account ID
+   */
+  public Integer getCompteId() {
+    return compteId;
+  }
+
+  /**
+   * Sets the loan account ID.
+   *
+   * @param compteId the loan account ID to set
+   */
+  public void setCompteId(Integer compteId) {
+    this.compteId = compteId;
+  }
+
+  /**
+   * Gets the installment number.
+   *
+   * @return the installment number
+   */
+  public Integer getNumero() {
+    return numero;
+  }
+
+  /**
+   * Sets the installment number.
+   *
+   * @param numero the installment number to set
+   */
+  public void setNumero(Integer numero) {
+    this.numero = numero;
+  }
+
+  /**
+   * Gets the due date.
+   *
+   * @return the due date
+   */
+  public LocalDateTime getDateEcheance() {
+    return dateEcheance;
+  }
+
+  /**
+   * Sets the due date.
+   *
+   * @param dateEcheance the due date to set
+   */
+  public void setDateEcheance(LocalDateTime dateEcheance) {
+    this.dateEcheance = dateEcheance;
+  }
+
+  /**
+   * Gets the monthly payment.
+   *
+   * @return the monthly payment
+   */
+  public BigDecimal getMensualite() {
+    return mensualite;
+  }
+
+  /**
+   * Sets the monthly payment.
+   *
+   * @param mensualite the monthly payment to set
+   */
+  public void setMensualite(BigDecimal mensualite) {
+    this.mensualite = mensualite;
+  }
+
+  /**
+   * Gets the interest part.
+   *
+   * @return the interest part
+   */
+  public BigDecimal getInteret() {
+    return interet;
+  }
+
+  /**
+   * Sets the interest part.
+   *
+   * @param interet the interest part to set
+   */
+  public void setInteret(BigDecimal interet) {
+    this.interet = interet;
+  }
+
+  /**
+   * Gets the principal part.
+   *
+   * @return the principal part
+   */
+  public BigDecimal getCapital() {
+    return capital;
+  }
+
+  /**
+   * Sets the principal part.
+   *
+   * @param capital the principal part to set
+   */
+  public void setCapital(BigDecimal capital) {
+    this.capital = capital;
+  }
+
+  /**
+   * Gets the principal still owed after this installment.
+   *
+   * @return the remaining principal
+   */
+  public BigDecimal getCapitalRestant() {
+    return capitalRestant;
+  }
+
+  /**
+   * Sets the principal still owed after this installment.
+   *
+   * @param capitalRestant the remaining principal to set
+   */
+  public void setCapitalRestant(BigDecimal capitalRestant) {
+    this.capitalRestant = capitalRestant;
+  }
+
+  /**
+   * Gets the total of the monthly payments up to this installment.
+   *
+   * @return the cumulative monthly payments
+   */
+  public BigDecimal getCumulMensualites() {
+    return cumulMensualites;
+  }
+
+  /**
+   * Sets the total of the monthly payments up to this installment.
+   *
+   * @param cumulMensualites the cumulative monthly payments to set
+   */
+  public void setCumulMensualites(BigDecimal cumulMensualites) {
+    this.cumulMensualites = cumulMensualites;
+  }
+
+  /**
+   * Returns a string representation of the schedule row.
+   *
+   * @return a string representation containing the row details
+   */
+  @Override
+  public String toString() {
+    return "Amortissement{" +
+        "id=" + id +
+        ", compteId=" + compteId +
+        ", numero=" + numero +
+        ", dateEcheance=" + dateEcheance +
+        ", mensualite=" + mensualite +
+        ", interet=" + interet +
+        ", capital=" + capital +
+        ", capitalRestant=" + capitalRestant +
+        '}';
+  }
+}
@@ -60,6 +60,20 @@ public class ComptePret {
   @Column(name = "date_fin", nullable = false)
   private LocalDateTime dateFin;
 
+  /**
+   * Monthly payment, computed with the amortization schedule when the loan is
+   * created. Null for loans created before schedules were stored.
+   */
+  @Column(name = "mensualite", nullable = true, precision = 20, scale = 6)
+  private BigDecimal mensualite;
+
+  /**
+   * Part of the principal not paid yet. Updated with every payment while the
+   * loan row is locked.
+   */
+  @Column(name = "capital_restant", nullable = false, precision = 15, scale = 2)
+  private BigDecimal capitalRestant;
+
   /**
    * Default constructor for JPA.
    */
@@ -82,6 +96,7 @@ public class ComptePret {
     this.montant = montant;
     this.dateDebut = dateDebut;
     this.dateFin = dateFin;
+    this.capitalRestant = montant;
   }
 
   /**
@@ -192,6 +207,42 @@ public class ComptePret {
     this.dateFin = dateFin;
   }
 
+  /**
+   * Gets the monthly payment.
+   * 
+   * @return the monthly payment, or null if the schedule is not built yet
+   */
+  public BigDecimal getMensualite() {
+    return mensualite;
+  }
+
+  /**
+   * Sets the monthly payment.
+   * 
+   * @param mensualite the monthly payment to set
+   */
+  public void setMensualite(BigDecimal mensualite) {
+    this.mensualite = mensualite;
+  }
+
+  /**
+   * Gets the part of the principal not paid yet.
+   * 
+   * @return the remaining principal
+   */
+  public BigDecimal getCapitalRestant() {
+    return capitalRestant;
+  }
+
+  /**
+   * Sets the part of the principal not paid yet.
+   * 
+   * @param capitalRestant the remaining principal to set
+   */
+  public void setCapitalRestant(BigDecimal capitalRestant) {
+    this.capitalRestant = capitalRestant;
+  }
+
   /**
    * Returns a string representation of the loan account.
    * 
@@ -206,6 +257,8 @@ public class ComptePret {
         ", montant=" + montant +
         ", dateDebut=" + dateDebut +
         ", dateFin=" + dateFin +
+        ", mensualite=" + mensualite +
+        ", capitalRestant=" + capitalRestant +
         '}';
   }
 }
\ No newline at end of file
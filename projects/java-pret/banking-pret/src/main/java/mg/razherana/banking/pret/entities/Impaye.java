@@ -0,0 +1,294 @@
+package mg.razherana.banking.pret.entities;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Impaye entity representing a delinquent loan: a loan with an amount due
+ * greater than zero at the date of the last delinquency scan.
+ *
+ * <p>
+ * Rows are written by the delinquency scan, one per delinquent loan, and
+ * removed once the loan is up to date. Days past due are counted from the due
+ * date of the oldest installment not covered by the payments.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.pret.application.impayeScanService.ImpayeScanService
+ */
+@Entity
+@Table(name = "impayes")
+public class Impaye {
+  /** Up to 30 days past due */
+  public static final String TRANCHE_0_30 = "0-30";
+
+  /** 31 to 60 days past due */
+  public static final String TRANCHE_31_60 = "31-60";
+
+  /** 61 to 90 days past due */
+  public static final String TRANCHE_61_90 = "61-90";
+
+  /** More than 90 days past due */
+  public static final String TRANCHE_90_PLUS = "90+";
+
+  /**
+   * Loan account ID (one row per loan).
+   */
+  @Id
+  @Column(name = "compte_id")
+  private Integer compteId;
+
+  /**
+   * Reference to the user owning the loan.
+   */
+  @Column(name = "user_id", nullable = false)
+  private Integer userId;
+
+  /**
+   * Amount expected but not paid.
+   */
+  @Column(name = "montant_du", nullable = false, precision = 20, scale = 6)
+  private BigDecimal montantDu;
+
+  /**
+   * Total paid on the loan.
+   */
+  @Column(name = "total_paye", nullable = false, precision = 15, scale = 2)
+  private BigDecimal totalPaye;
+
+  /**
+   * Total expected at the scan date.
+   */
+  @Column(name = "total_attendu", nullable = false, precision = 20, scale = 6)
+  private BigDecimal totalAttendu;
+
+  /**
+   * Due date of the oldest installment not covered by the payments.
+   */
+  @Column(name = "premiere_echeance_impayee", nullable = false)
+  private LocalDateTime premiereEcheanceImpayee;
+
+  /**
+   * Days between the oldest unpaid due date and the scan date.
+   */
+  @Column(name = "jours_retard", nullable = false)
+  private int joursRetard;
+
+  /**
+   * Days past due bucket (0-30, 31-60, 61-90 or 90+).
+   */
+  @Column(name = "tranche", nullable = false, length = 10)
+  private String tranche;
+
+  /**
+   * Date of the scan that last wrote the row.
+   */
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+
+  /**
+   * Default constructor for JPA.
+   */
+  public Impaye() {
+  }
+
+  /**
+   * Gets the bucket of a number of days past due.
+   *
+   * @param joursRetard the days past due
+   * @return the bucket
+   */
+  public static String trancheOf(long joursRetard) {
+    if (joursRetard <= 30) {
+      return TRANCHE_0_30;
+    }
+    if (joursRetard <= 60) {
+      return TRANCHE_31_60;
+    }
+    if (joursRetard <= 90) {
+      return TRANCHE_61_90;
+    }
+    return TRANCHE_90_PLUS;
+  }
+
+  /**
+   * Gets the loan account ID.
+   *
+   * @return the loan account ID
+   */
+  public Integer getCompteId() {
+    return compteId;
+  }
+
+  /**
+   * Sets the loan account ID.
+   *
+   * @param compteId the loan account ID to set
+   */
+  public void setCompteId(Integer compteId) {
+    this.compteId = compteId;
+  }
+
+  /**
+   * Gets the user ID.
+   *
+   * @return the user ID
+   */
+  public Integer getUserId() {
+    return userId;
+  }
+
+  /**
+   * Sets the user ID.
+   *
+   * @param userId the user ID to set
+   */
+  public void setUserId(Integer userId) {
+    this.userId = userId;
+  }
+
+  /**
+   * Gets the amount due.
+   *
+   * @return the amount due
+   */
+  public BigDecimal getMontantDu() {
+    return montantDu;
+  }
+
+  /**
+   * Sets the amount due.
+   *
+   * @param montantDu the amount due to set
+   */
+  public void setMontantDu(BigDecimal montantDu) {
+    this.montantDu = montantDu;
+  }
+
+  /**
+   * Gets the total paid.
+   *
+   * @return the total paid
+   */
+  public BigDecimal getTotalPaye() {
+    return totalPaye;
+  }
+
+  /**
+   * Sets the total paid.
+   *
+   * @param totalPaye the total paid to set
+   */
+  public void setTotalPaye(BigDecimal totalPaye) {
+    this.totalPaye = totalPaye;
+  }
+
+  /**
+   * Gets the total expected.
+   *
+   * @return the total expected
+   */
+  public BigDecimal getTotalAttendu() {
+    return totalAttendu;
+  }
+
+  /**
+   * Sets the total expected.
+   *
+   * @param totalAttendu the total expected to set
+   */
+  public void setTotalAttendu(BigDecimal totalAttendu) {
+    this.totalAttendu = totalAttendu;
+  }
+
+  /**
+   * Gets the due date of the oldest unpaid installment.
+   *
+   * @return the oldest unpaid due date
+   */
+  public LocalDateTime getPremiereEcheanceImpayee() {
+    return premiereEcheanceImpayee;
+  }
+
+  /**
+   * Sets the due date of the oldest unpaid installment.
+   *
+   * @param premiereEcheanceImpayee the oldest unpaid due date to set
+   */
+  public void setPremiereEcheanceImpayee(LocalDateTime premiereEcheanceImpayee) {
+    this.premiereEcheanceImpayee = premiereEcheanceImpayee;
+  }
+
+  /**
+   * Gets the days past due.
+   *
+   * @return the days past due
+   */
+  public int getJoursRetard() {
+    return joursRetard;
+  }
+
+  /**
+   * Sets the days past due.
+   *
+   * @param joursRetard the days past due to set
+   */
+  public void setJoursRetard(int joursRetard) {
+    this.joursRetard = joursRetard;
+  }
+
+  /**
+   * Gets the days past due bucket.
+   *
+   * @return the bucket
+   */
+  public String getTranche() {
+    return tranche;
+  }
+
+  /**
+   * Sets the days past due bucket.
+   *
+   * @param tranche the bucket to set
+   */
+  public void setTranche(String tranche) {
+    this.tranche = tranche;
+  }
+
+  /**
+   * Gets the date of the scan that last wrote the row.
+   *
+   * @return the scan date
+   */
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  /**
+   * Sets the date of the scan that last wrote the row.
+   *
+   * @param updatedAt the scan date to set
+   */
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  /**
+   * Returns a string representation of the delinquent loan.
+   *
+   * @return a string representation containing the delinquency details
+   */
+  @Override
+  public String toString() {
+    return "Impaye{" +
+        "compteId=" + compteId +
+        ", userId=" + userId +
+        ", montantDu=" + montantDu +
+        ", joursRetard=" + joursRetard +
+        ", tranche='" + tranche + '\'' +
+        '}';
+  }
+}
@@ -0,0 +1,361 @@
+package mg.razherana.banking.pret.entities;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Run of the delinquency scan.
+ *
+ * <p>
+ * A completed run is the starting point of the next one: only loans with a
+ * payment recorded after {@code lastEcheanceId}, or with an installment (or
+ * their end date) falling due after {@code asOf}, are recomputed. The other
+ * delinquent loans only get their days past due aged.
+ * </p>
+ *
+ * @author Banking System
+ * @version 1.0
+ * @since 1.0
+ * @see mg.razherana.banking.pret.entities.Impaye
+ * @see mg.razherana.banking.pret.application.impayeScanService.ImpayeScanService
+ */
+@Entity
+@Table(name = "impaye_scan_runs")
+public class ImpayeScanRun {
+  /** Run is in progress (or was interrupted by a shutdown) */
+  public static final String RUNNING = "RUNNING";
+
+  /** Every candidate loan has been processed */
+  public static final String COMPLETED = "COMPLETED";
+
+  /** The run failed; the next run starts again from the last completed one */
+  public static final String FAILED = "FAILED";
+
+  /**
+   * Unique identifier for the run.
+   * Auto-generated using database identity strategy.
+   */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Integer id;
+
+  /**
+   * Date the amounts due are computed at (the start of the run).
+   */
+  @Column(name = "as_of", nullable = false)
+  private LocalDateTime asOf;
+
+  /**
+   * RUNNING, COMPLETED or FAILED.
+   */
+  @Column(name = "status", nullable = false, length = 20)
+  private String status;
+
+  /**
+   * Whether every loan was recomputed (no completed run before this one).
+   */
+  @Column(name = "full_scan", nullable = false)
+  private boolean fullScan;
+
+  /**
+   * Highest payment ID taken into account by the run.
+   */
+  @Column(name = "last_echeance_id", nullable = false)
+  private Integer lastEcheanceId = 0;
+
+  /**
+   * Number of loans recomputed.
+   */
+  @Column(name = "candidates", nullable = false)
+  private int candidates;
+
+  /**
+   * Number of impayes rows inserted, updated or deleted.
+   */
+  @Column(name = "rows_touched", nullable = false)
+  private int rowsTouched;
+
+  /**
+   * Number of delinquent loans at the end of the run.
+   */
+  @Column(name = "delinquent", nullable = false)
+  private int delinquent;
+
+  /**
+   * Duration of the run in milliseconds.
+   */
+  @Column(name = "elapsed_ms", nullable = false)
+  private long elapsedMs;
+
+  /**
+   * Error of a failed run.
+   */
+  @Column(name = "error", length = 1000)
+  private String error;
+
+  /**
+   * Start of the run.
+   */
+  @Column(name = "started_at", nullable = false)
+  private LocalDateTime startedAt;
+
+  /**
+   * End of the run, or null while it runs.
+   */
+  @Column(name = "finished_at")
+  private LocalDateTime finishedAt;
+
+  /**
+   * Default constructor for JPA.
+   */
+  public ImpayeScanRun() {
+  }
+
+  /**
+   * Constructor for a new running scan.
+   *
+   * @param asOf           the date the amounts due are computed at
+   * @param fullScan       whether every loan is recomputed
+   * @param lastEcheanceId the highest payment ID taken into account
+   */
+  public ImpayeScanRun(LocalDateTime asOf, boolean fullScan, Integer lastEcheanceId) {
+    this.asOf = asOf;
+    this.fullScan = fullScan;
+    this.lastEcheanceId = lastEcheanceId;
+    this.status = RUNNING;
+    this.startedAt = LocalDateTime.now();
+  }
+
+  /**
+   * Gets the unique identifier of the run.
+   *
+   * @return the run ID, or null if not yet persisted
+   */
+  public Integer getId() {
+    return id;
+  }
+
+  /**
+   * Sets the unique identifier of the run.
+   *
+   * @param id the run ID to set
+   */
+  public void setId(Integer id) {
+    this.id = id;
+  }
+
+  /**
+   * Gets the date the amounts due are computed at.
+   *
+   * @return the scan date
+   */
+  public LocalDateTime getAsOf() {
+    return asOf;
+  }
+
+  /**
+   * Sets the date the amounts due are computed at.
+   *
+   * @param asOf the scan date to set
+   */
+  public void setAsOf(LocalDateTime asOf) {
+    this.asOf = asOf;
+  }
+
+  /**
+   * Gets the status of the run.
+   *
+   * @return RUNNING, COMPLETED or FAILED
+   */
+  public String getStatus() {
+    return status;
+  }
+
+  /**
+   * Sets the status of the run.
+   *
+   * @param status the status to set
+   */
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  /**
+   * Tells whether every loan was recomputed.
+   *
+   * @return true for a full scan
+   */
+  public boolean isFullScan() {
+    return fullScan;
+  }
+
+  /**
+   * Sets whether every loan was recomputed.
+   *
+   * @param fullScan true for a full scan
+   */
+  public void setFullScan(boolean fullScan) {
+    this.fullScan = fullScan;
+  }
+
+  /**
+   * Gets the highest payment ID taken into account.
+   *
+   * @return the payment ID
+   */
+  public Integer getLastEcheanceId() {
+    return lastEcheanceId;
+  }
+
+  /**
+   * Sets the highest payment ID taken into account.
+   *
+   * @param lastEcheanceId the payment ID to set
+   */
+  public void setLastEcheanceId(Integer lastEcheanceId) {
+    this.lastEcheanceId = lastEcheanceId;
+  }
+
+  /**
+   * Gets the number of loans recomputed.
+   *
+   * @return the number of candidate loans
+   */
+  public int getCandidates() {
+    return candidates;
+  }
+
+  /**
+   * Sets the number of loans recomputed.
+   *
+   * @param candidates the number of candidate loans to set
+   */
+  public void setCandidates(int candidates) {
+    this.candidates = candidates;
+  }
+
+  /**
+   * Gets the number of impayes rows written.
+   *
+   * @return the number of rows inserted, updated or deleted
+   */
+  public int getRowsTouched() {
+    return rowsTouched;
+  }
+
+  /**
+   * Sets the number of impayes rows written.
+   *
+   * @param rowsTouched the number of rows to set
+   */
+  public void setRowsTouched(int rowsTouched) {
+    this.rowsTouched = rowsTouched;
+  }
+
+  /**
+   * Gets the number of delinquent loans at the end of the run.
+   *
+   * @return the number of delinquent loans
+   */
+  public int getDelinquent() {
+    return delinquent;
+  }
+
+  /**
+   * Sets the number of delinquent loans at the end of the run.
+   *
+   * @param delinquent the number of delinquent loans to set
+   */
+  public void setDelinquent(int delinquent) {
+    this.delinquent = delinquent;
+  }
+
+  /**
+   * Gets the duration of the run.
+   *
+   * @return the duration in milliseconds
+   */
+  public long getElapsedMs() {
+    return elapsedMs;
+  }
+
+  /**
+   * Sets the duration of the run.
+   *
+   * @param elapsedMs the duration in milliseconds to set
+   */
+  public void setElapsedMs(long elapsedMs) {
+    this.elapsedMs = elapsedMs;
+  }
+
+  /**
+   * Gets the error of a failed run.
+   *
+   * @return the error, or null
+   */
+  public String getError() {
+    return error;
+  }
+
+  /**
+   * Sets the error of a failed run.
+   *
+   * @param error the error to set
+   */
+  public void setError(String error) {
+    this.error = error;
+  }
+
+  /**
+   * Gets the start of the run.
+   *
+   * @return the start date
+   */
+  public LocalDateTime getStartedAt() {
+    return startedAt;
+  }
+
+  /**
+   * Sets the start of the run.
+   *
+   * @param startedAt the start date to set
+   */
+  public void setStartedAt(LocalDateTime startedAt) {
+    this.startedAt = startedAt;
+  }
+
+  /**
+   * Gets the end of the run.
+   *
+   * @return the end date, or null while the run is in progress
+   */
+  public LocalDateTime getFinishedAt() {
+    return finishedAt;
+  }
+
+  /**
+   * Sets the end of the run.
+   *
+   * @param finishedAt the end date to set
+   */
+  public void setFinishedAt(LocalDateTime finishedAt) {
+    this.finishedAt = finishedAt;
+  }
+
+  /**
+   * Returns a string representation of the run.
+   *
+   * @return a string representation containing the run details
+   */
+  @Override
+  public String toString() {
+    return "ImpayeScanRun{" +
+        "id=" + id +
+        ", asOf=" + asOf +
+        ", status='" + status + '\'' +
+        ", candidates=" + candidates +
+        ", rowsTouched=" + rowsTouched +
+        ", elapsedMs=" + elapsedMs +
+        '}';
+  }
+}
@@ -0,0 +1,82 @@
+-- Baseline schema of banking-pret (formerly src/main/db/pret.sql).
+-- Every statement is idempotent so it can run on existing databases.
+
+CREATE TABLE IF NOT EXISTS `type_compte_prets` (
+    `id` INT NOT NULL AUTO_INCREMENT,
+    `nom` VARCHAR(100) NOT NULL,
+    `interet` DECIMAL(5, 4) NOT NULL,
+    PRIMARY KEY (`id`)
+);
+
+CREATE TABLE IF NOT EXISTS `compte_prets` (
+    `id` INT NOT NULL AUTO_INCREMENT,
+    `user_id` INT NOT NULL,
+    `type_compte_pret_id` INT NOT NULL,
+    `montant` DECIMAL(15, 2) NOT NULL,
+    `date_debut` DATETIME NOT NULL,
+    `date_fin` DATETIME NOT NULL,
+    PRIMARY KEY (`id`),
+    FOREIGN KEY (`type_compte_pret_id`) REFERENCES `type_compte_prets` (`id`) ON UPDATE NO ACTION ON DELETE CASCADE
+);
+
+/* Vola tokony aloha par mois fa afaka miakatra */
+CREATE TABLE IF NOT EXISTS `echeances` (
+    `id` INT NOT NULL AUTO_INCREMENT,
+    `compte_id` INT NOT NULL,
+    `montant` DECIMAL(15, 2) NOT NULL,
+    `date_echeance` DATETIME NOT NULL,
+    PRIMARY KEY (`id`),
+    FOREIGN KEY (`compte_id`) REFERENCES `compte_prets` (`id`) ON UPDATE NO ACTION ON DELETE NO ACTION
+);
+
+-- Amortization schedule of each loan, computed once at creation: installment
+-- numero is due numero months after date_debut
+CREATE TABLE IF NOT EXISTS `amortissements` (
+    `id` INT NOT NULL AUTO_INCREMENT,
+    `compte_id` INT NOT NULL,
+    `numero` INT NOT NULL,
+    `date_echeance` DATETIME NOT NULL,
+    `mensualite` DECIMAL(20, 6) NOT NULL,
+    `interet` DECIMAL(15, 2) NOT NULL,
+    `capital` DECIMAL(15, 2) NOT NULL,
+    `capital_restant` DECIMAL(15, 2) NOT NULL,
+    `cumul_mensualites` DECIMAL(20, 6) NOT NULL,
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_amortissements_compte_numero` (`compte_id`, `numero`),
+    FOREIGN KEY (`compte_id`) REFERENCES `compte_prets` (`id`) ON UPDATE NO ACTION ON DELETE CASCADE
+);
+
+-- Delinquent loans, written by the delinquency scan: one row per loan with an
+-- amount due, removed once the loan is up to date
+CREATE TABLE IF NOT EXISTS `impayes` (
+    `compte_id` INT NOT NULL,
+    `user_id` INT NOT NULL,
+    `montant_du` DECIMAL(20, 6) NOT NULL,
+    `total_paye` DECIMAL(15, 2) NOT NULL,
+    `total_attendu` DECIMAL(20, 6) NOT NULL,
+    `premiere_echeance_impayee` DATETIME NOT NULL,
+    `jours_retard` INT NOT NULL,
+    `tranche` VARCHAR(10) NOT NULL,
+    `updated_at` DATETIME NOT NULL,
+    PRIMARY KEY (`compte_id`),
+    KEY `idx_impayes_tranche` (`tranche`, `compte_id`),
+    KEY `idx_impayes_updated_at` (`updated_at`),
+    FOREIGN KEY (`compte_id`) REFERENCES `compte_prets` (`id`) ON UPDATE NO ACTION ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS `impaye_scan_runs` (
+    `id` INT NOT NULL AUTO_INCREMENT,
+    `as_of` DATETIME NOT NULL,
+    `status` VARCHAR(20) NOT NULL,
+    `full_scan` BOOLEAN NOT NULL,
+    `last_echeance_id` INT NOT NULL,
+    `candidates` INT NOT NULL DEFAULT 0,
+    `rows_touched` INT NOT NULL DEFAULT 0,
+    `delinquent` INT NOT NULL DEFAULT 0,
+    `elapsed_ms` BIGINT NOT NULL DEFAULT 0,
+    `error` VARCHAR(1000) NULL,
+    `started_at` DATETIME NOT NULL,
+    `finished_at` DATETIME NULL,
+    PRIMARY KEY (`id`),
+    KEY `idx_impaye_scan_runs_status` (`status`)
+);
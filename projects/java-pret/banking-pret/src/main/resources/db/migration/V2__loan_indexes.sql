@@ -0,0 +1,13 @@
+-- Composite indexes for the per-loan and per-user queries. InnoDB secondary
+-- indexes carry the primary key, so (compte_id, date_echeance, montant)
+-- covers every column of echeances. The implicit foreign key index on
+-- echeances.compte_id is dropped by MySQL once this index can enforce the
+-- constraint.
+
+-- Payment history (getPaymentHistory): compte_id = ? ORDER BY date_echeance,
+-- and total paid (calculateTotalPaid, payment statuses): SUM(montant) by
+-- compte_id, both read from the index alone
+CREATE INDEX `idx_echeances_compte_date` ON `echeances` (`compte_id`, `date_echeance`, `montant`);
+
+-- Loans of a user (getLoansByUserId)
+CREATE INDEX `idx_compte_prets_user` ON `compte_prets` (`user_id`);
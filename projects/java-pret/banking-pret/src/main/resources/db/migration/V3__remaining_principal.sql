@@ -0,0 +1,11 @@
+-- Remaining principal of each loan, kept by makePayment under the row lock
+-- of the loan so concurrent payments can never take it below zero.
+
+ALTER TABLE `compte_prets` ADD COLUMN `capital_restant` DECIMAL(15, 2) NULL;
+
+-- Existing loans start from their payment history
+UPDATE `compte_prets` c
+SET c.`capital_restant` = GREATEST(c.`montant` - COALESCE(
+    (SELECT SUM(e.`montant`) FROM `echeances` e WHERE e.`compte_id` = c.`id`), 0), 0);
+
+ALTER TABLE `compte_prets` MODIFY `capital_restant` DECIMAL(15, 2) NOT NULL;
@@ -0,0 +1,5 @@
+-- Monthly payment of each loan, computed with its amortization schedule at
+-- creation. Existing loans keep NULL until the startup schedule backfill
+-- (ScheduleBackfillService) computes it.
+
+ALTER TABLE `compte_prets` ADD COLUMN `mensualite` DECIMAL(20, 6) NULL;
@@ -0,0 +1,136 @@
+#!/bin/bash
+
+# Loan Index Benchmark
+# Seeds a scratch database with synthetic loans and echeances rows and times
+# the per-loan and per-user queries before and after the V2__loan_indexes
+# migration. Runs against MySQL directly; the application does not need to be
+# running.
+#
+#   SIZES="5000000" ./loan-index-benchmark.sh
+#
+# The scratch database is dropped and recreated for every size.
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+MIGRATIONS_DIR="$SCRIPT_DIR/../../src/main/resources/db/migration"
+TEST_NAME="Loan Index Benchmark"
+
+MYSQL_HOST=${MYSQL_HOST:-localhost}
+MYSQL_PORT=${MYSQL_PORT:-3306}
+MYSQL_USER=${MYSQL_USER:-razherana}
+MYSQL_PASSWORD=${MYSQL_PASSWORD:-}
+BENCH_DB=${BENCH_DB:-s5_archlog_1_banking_pret_bench}
+
+SIZES=${SIZES:-"5000000"} # echeances sizes to benchmark
+LOANS=${LOANS:-100000}    # Number of loans the payments are spread over
+USERS=${USERS:-20000}     # Number of users the loans are spread over
+REPEAT=${REPEAT:-5}       # Runs per query, the median is reported
+
+mysql_cmd() {
+  MYSQL_PWD="$MYSQL_PASSWORD" mysql -h "$MYSQL_HOST" -P "$MYSQL_PORT" -u "$MYSQL_USER" --batch --skip-column-names "$@"
+}
+
+echo "=== $TEST_NAME ==="
+echo "Database: $BENCH_DB on $MYSQL_HOST:$MYSQL_PORT"
+echo "Sizes: $SIZES, loans: $LOANS, users: $USERS, runs per query: $REPEAT"
+echo ""
+
+# Queries issued by ComptePretServiceImpl, on a loan and a user in the middle
+# of the range
+COMPTE_ID=$((LOANS / 2))
+USER_ID=$((USERS / 2))
+declare -A QUERIES=(
+  ["payment-history"]="SELECT id, compte_id, montant, date_echeance FROM echeances WHERE compte_id = $COMPTE_ID ORDER BY date_echeance"
+  ["total-paid"]="SELECT COALESCE(SUM(montant), 0) FROM echeances WHERE compte_id = $COMPTE_ID"
+  ["loans-by-user"]="SELECT id, user_id, type_compte_pret_id, montant, date_debut, date_fin, mensualite FROM compte_prets WHERE user_id = $USER_ID"
+)
+QUERY_ORDER="payment-history total-paid loans-by-user"
+
+# Median wall time in ms of REPEAT runs of a query (after one warm-up run)
+time_query() {
+  local sql="$1"
+  local times=()
+  mysql_cmd "$BENCH_DB" -e "$sql" >/dev/null
+  for _ in $(seq 1 "$REPEAT"); do
+    local start end
+    start=$(date +%s%N)
+    mysql_cmd "$BENCH_DB" -e "$sql" >/dev/null
+    end=$(date +%s%N)
+    times+=($(((end - start) / 1000000)))
+  done
+  printf '%s\n' "${times[@]}" | sort -n | sed -n "$(((REPEAT + 1) / 2))p"
+}
+
+seed() {
+  local rows="$1"
+  echo "Seeding $rows echeances over $LOANS loans and $USERS users..."
+  mysql_cmd -e "DROP DATABASE IF EXISTS \`$BENCH_DB\`; CREATE DATABASE \`$BENCH_DB\`"
+  mysql_cmd "$BENCH_DB" <"$MIGRATIONS_DIR/V1__baseline.sql"
+  mysql_cmd "$BENCH_DB" <"$MIGRATIONS_DIR/V4__loan_mensualite.sql"
+
+  # 0..999999 helper sequence built from digits
+  mysql_cmd "$BENCH_DB" -e "
+    CREATE TABLE seq_digits (d INT PRIMARY KEY);
+    INSERT INTO seq_digits VALUES (0),(1),(2),(3),(4),(5),(6),(7),(8),(9);
+    CREATE TABLE seq (n INT PRIMARY KEY);
+    INSERT INTO seq SELECT a.d + 10*b.d + 100*c.d + 1000*d.d + 10000*e.d + 100000*f.d
+      FROM seq_digits a, seq_digits b, seq_digits c, seq_digits d, seq_digits e, seq_digits f;
+    INSERT INTO type_compte_prets (id, nom, interet) VALUES (1, 'bench', 0.0500);
+    INSERT INTO compte_prets (id, user_id, type_compte_pret_id, montant, date_debut, date_fin, mensualite)
+      SELECT n + 1, 1 + (n * 7919) % $USERS, 1, 10000.00, '2020-01-01', '2030-01-01', 106.065515
+      FROM seq WHERE n < $LOANS;"
+
+  # Monthly-ish payments spread over five years, one million rows per
+  # statement, inserted in date order as the application would
+  local offset=0
+  while [ "$offset" -lt "$rows" ]; do
+    local batch=$((rows - offset < 1000000 ? rows - offset : 1000000))
+    mysql_cmd "$BENCH_DB" -e "
+      INSERT INTO echeances (compte_id, montant, date_echeance)
+      SELECT
+        1 + (s.n * 104729 + $offset) % $LOANS,
+        50 + (s.n % 100),
+        '2020-01-01' + INTERVAL ((s.n + $offset) * 157680000 DIV $rows) SECOND
+      FROM seq s WHERE s.n < $batch;"
+    offset=$((offset + batch))
+    echo "   $offset / $rows"
+  done
+  mysql_cmd "$BENCH_DB" -e "ANALYZE TABLE echeances, compte_prets" >/dev/null
+}
+
+declare -A BEFORE AFTER
+for rows in $SIZES; do
+  seed "$rows"
+
+  echo "Timing queries without indexes (foreign key index on echeances.compte_id only)..."
+  for name in $QUERY_ORDER; do
+    BEFORE["$rows/$name"]=$(time_query "${QUERIES[$name]}")
+  done
+
+  echo "Applying V2__loan_indexes.sql..."
+  start=$(date +%s)
+  mysql_cmd "$BENCH_DB" <"$MIGRATIONS_DIR/V2__loan_indexes.sql"
+  mysql_cmd "$BENCH_DB" -e "ANALYZE TABLE echeances, compte_prets" >/dev/null
+  echo "   Index build took $(($(date +%s) - start)) s"
+
+  echo "Timing queries with indexes..."
+  for name in $QUERY_ORDER; do
+    AFTER["$rows/$name"]=$(time_query "${QUERIES[$name]}")
+  done
+
+  echo "Query plans with indexes:"
+  for name in $QUERY_ORDER; do
+    echo "   $name: $(mysql_cmd "$BENCH_DB" -e "EXPLAIN FORMAT=TREE ${QUERIES[$name]}" | head -1)"
+  done
+  echo ""
+done
+
+echo "Results (median ms over $REPEAT runs, including client round-trip):"
+echo ""
+echo "| rows | query | before | after |"
+echo "| ---- | ----- | ------ | ----- |"
+for rows in $SIZES; do
+  for name in $QUERY_ORDER; do
+    echo "| $rows | $name | ${BEFORE["$rows/$name"]} | ${AFTER["$rows/$name"]} |"
+  done
+done
+
+mysql_cmd -e "DROP DATABASE IF EXISTS \`$BENCH_DB\`"
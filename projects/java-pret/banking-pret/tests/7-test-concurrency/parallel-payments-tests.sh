@@ -0,0 +1,145 @@
+#!/bin/bash
+
+# Parallel Payments Stress Tests
+# Fires hundreds of parallel payments at the same loans and checks that no
+# loan is ever paid more than its amount and that the remaining principal
+# always matches the payment history.
+BASE_URL="http://127.0.0.3:8080/api"
+TEST_NAME="Parallel Payments Stress Tests"
+
+REQUESTS=${REQUESTS:-200}      # Parallel payments per scenario
+PARALLELISM=${PARALLELISM:-50} # Concurrent curl processes
+LOAN_AMOUNT=1000.00
+PAYMENT_AMOUNT=10.00           # 100 payments repay the loan
+UNEVEN_AMOUNT=30.00            # 33 payments, then a last one capped to 10.00
+LOANS=${LOANS:-5}              # Loans paid at the same time in scenario 3
+
+echo "=== $TEST_NAME ==="
+echo "Base URL: $BASE_URL"
+echo "Requests per scenario: $REQUESTS, parallelism: $PARALLELISM"
+echo ""
+
+FAILED=0
+RESULTS_DIR=$(mktemp -d)
+trap 'rm -rf "$RESULTS_DIR"' EXIT
+
+USER_ID=1          # Assume user ID 1 exists in central service
+TYPE_COMPTE_PRET=1 # Assume loan type 1 exists (tests/setup_test_data.sql)
+
+create_loan() {
+  curl -s -X POST "$BASE_URL/comptes-pret" \
+    -H "Content-Type: application/json" \
+    -d '{"userId": '"$USER_ID"', "typeComptePretId": '"$TYPE_COMPTE_PRET"', "montant": '"$LOAN_AMOUNT"',
+         "dateDebut": "2025-01-01T00:00:00", "dateFin": "2026-01-01T00:00:00"}' | jq -r '.id // empty'
+}
+
+# Sends $REQUESTS payments of $2 to the loans given after it, round robin,
+# and writes one HTTP status per line to $1
+pay_in_parallel() {
+  local output="$1"
+  local amount="$2"
+  shift 2
+  local loans="$*"
+  seq 1 "$REQUESTS" | xargs -P "$PARALLELISM" -I{} bash -c '
+    LOANS=('"$loans"')
+    LOAN=${LOANS[$(( {} % ${#LOANS[@]} ))]}
+    curl -s -o /dev/null -w "%{http_code}\n" -X POST "'"$BASE_URL"'/comptes-pret/make-payment" \
+      -H "Content-Type: application/json" \
+      -d "{\"compteId\": $LOAN, \"montant\": '"$amount"', \"actionDateTime\": \"2025-06-15T10:00:00\"}"
+  ' > "$output"
+}
+
+total_paid() {
+  curl -s "$BASE_URL/comptes-pret/$1/payment-history" | jq -r '[.[].montant] | add // 0'
+}
+
+payment_count() {
+  curl -s "$BASE_URL/comptes-pret/$1/payment-history" | jq -r 'length'
+}
+
+capital_restant() {
+  curl -s "$BASE_URL/comptes-pret/$1" | jq -r '.capitalRestant'
+}
+
+check() {
+  local description="$1"
+  local actual="$2"
+  local expected="$3"
+  if [ "$actual" == "$expected" ]; then
+    echo "   ✅ $description: $actual"
+  else
+    echo "   ❌ $description: expected $expected, got $actual"
+    FAILED=$((FAILED + 1))
+  fi
+}
+
+# Same decimal value, whatever the scale jq prints
+check_amount() {
+  check "$1" "$(echo "$2 == $3" | bc)" "1"
+}
+
+# Scenario 1: parallel payments on a single loan
+echo "1. $REQUESTS parallel payments of $PAYMENT_AMOUNT on a loan of $LOAN_AMOUNT..."
+LOAN_ID=$(create_loan)
+if [ -z "$LOAN_ID" ]; then
+  echo "❌ Could not create test loan"
+  exit 1
+fi
+
+pay_in_parallel "$RESULTS_DIR/payments.txt" "$PAYMENT_AMOUNT" "$LOAN_ID"
+
+SUCCESSES=$(grep -c '^201' "$RESULTS_DIR/payments.txt")
+REJECTIONS=$(grep -c '^400' "$RESULTS_DIR/payments.txt")
+ERRORS=$(grep -vc '^201\|^400' "$RESULTS_DIR/payments.txt")
+EXPECTED_SUCCESSES=$(echo "$LOAN_AMOUNT / $PAYMENT_AMOUNT" | bc)
+[ "$EXPECTED_SUCCESSES" -gt "$REQUESTS" ] && EXPECTED_SUCCESSES=$REQUESTS
+
+check "Accepted payments" "$SUCCESSES" "$EXPECTED_SUCCESSES"
+check "Rejected payments (Loan is already fully paid)" "$REJECTIONS" "$((REQUESTS - EXPECTED_SUCCESSES))"
+check "Server errors (deadlocks, timeouts)" "$ERRORS" "0"
+check "Payments recorded" "$(payment_count "$LOAN_ID")" "$EXPECTED_SUCCESSES"
+check_amount "Total paid equals the loan amount" "$(total_paid "$LOAN_ID")" \
+  "$(echo "$EXPECTED_SUCCESSES * $PAYMENT_AMOUNT" | bc)"
+check_amount "Remaining principal" "$(capital_restant "$LOAN_ID")" \
+  "$(echo "$LOAN_AMOUNT - $EXPECTED_SUCCESSES * $PAYMENT_AMOUNT" | bc)"
+echo ""
+
+# Scenario 2: the last payment is capped to what is owed
+echo "2. $REQUESTS parallel payments of $UNEVEN_AMOUNT on a loan of $LOAN_AMOUNT..."
+LOAN_ID=$(create_loan)
+pay_in_parallel "$RESULTS_DIR/uneven.txt" "$UNEVEN_AMOUNT" "$LOAN_ID"
+
+FULL_PAYMENTS=$(echo "$LOAN_AMOUNT / $UNEVEN_AMOUNT" | bc)
+LAST_PAYMENT=$(echo "$LOAN_AMOUNT - $FULL_PAYMENTS * $UNEVEN_AMOUNT" | bc)
+CAPPED=$(curl -s "$BASE_URL/comptes-pret/$LOAN_ID/payment-history" |
+  jq -r --argjson amount "$UNEVEN_AMOUNT" '[.[] | select(.montant < $amount)] | length')
+
+check "Accepted payments" "$(grep -c '^201' "$RESULTS_DIR/uneven.txt")" "$((FULL_PAYMENTS + 1))"
+check "Server errors" "$(grep -vc '^201\|^400' "$RESULTS_DIR/uneven.txt")" "0"
+check "Capped payments of $LAST_PAYMENT" "$CAPPED" "1"
+check_amount "Total paid equals the loan amount" "$(total_paid "$LOAN_ID")" "$LOAN_AMOUNT"
+check_amount "Remaining principal" "$(capital_restant "$LOAN_ID")" "0"
+echo ""
+
+# Scenario 3: payments of several loans at the same time
+echo "3. $REQUESTS parallel payments of $PAYMENT_AMOUNT spread over $LOANS loans..."
+LOAN_IDS=()
+for _ in $(seq 1 "$LOANS"); do
+  LOAN_IDS+=("$(create_loan)")
+done
+pay_in_parallel "$RESULTS_DIR/spread.txt" "$PAYMENT_AMOUNT" "${LOAN_IDS[@]}"
+
+check "Server errors" "$(grep -vc '^201\|^400' "$RESULTS_DIR/spread.txt")" "0"
+for LOAN_ID in "${LOAN_IDS[@]}"; do
+  PAID=$(total_paid "$LOAN_ID")
+  check "Loan $LOAN_ID not overpaid" "$(echo "$PAID <= $LOAN_AMOUNT" | bc)" "1"
+  check_amount "Loan $LOAN_ID remaining principal matches its payments" "$(capital_restant "$LOAN_ID")" \
+    "$(echo "$LOAN_AMOUNT - $PAID" | bc)"
+done
+echo ""
+
+echo "=== Parallel Payments Stress Tests Completed ==="
+if [ $FAILED -ne 0 ]; then
+  echo "⚠️  $FAILED check(s) failed"
+  exit 1
+fi
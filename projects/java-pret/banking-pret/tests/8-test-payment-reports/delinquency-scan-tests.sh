@@ -0,0 +1,159 @@
+#!/bin/bash
+
+# Delinquency Scan Tests
+# Creates loans whose oldest unpaid installment is 10, ~45, ~75 and ~150 days
+# old, runs the delinquency scan and checks the days-past-due buckets, the
+# keyset pagination of GET /impayes and that an incremental rerun only
+# recomputes loans with new activity.
+echo "=== Delinquency Scan Tests ==="
+
+BASE_URL="http://127.0.0.3:8080/api"
+
+# Colors for output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+NC='\033[0m' # No Color
+
+# Test counter
+TESTS_PASSED=0
+TESTS_FAILED=0
+
+USER_ID=1        # Assume user ID 1 exists in central service
+SCAN_TIMEOUT=120 # Seconds to wait for a scan to complete
+
+# Helper function to check a value
+check() {
+    local test_name="$1"
+    local actual="$2"
+    local expected="$3"
+
+    if [ "$actual" == "$expected" ]; then
+        echo -e "${GREEN}✅ PASS${NC}: $test_name ($actual)"
+        ((TESTS_PASSED++))
+    else
+        echo -e "${RED}❌ FAIL${NC}: $test_name (Expected: $expected, Got: $actual)"
+        ((TESTS_FAILED++))
+    fi
+}
+
+# Loan of one year starting at the given offset from today (GNU date syntax)
+create_loan() {
+    local debut fin
+    debut=$(date -d "$1" +%Y-%m-%dT00:00:00)
+    fin=$(date -d "$1 +1 year" +%Y-%m-%dT00:00:00)
+    curl -s -X POST "$BASE_URL/comptes-pret" \
+      -H "Content-Type: application/json" \
+      -d '{"userId": '"$USER_ID"', "typeComptePretId": 1, "montant": 12000.00,
+           "dateDebut": "'"$debut"'", "dateFin": "'"$fin"'"}' | jq -r '.id // empty'
+}
+
+pay() {
+    curl -s -o /dev/null -X POST "$BASE_URL/comptes-pret/make-payment" \
+      -H "Content-Type: application/json" \
+      -d '{"compteId": '"$1"', "montant": '"$2"'}'
+}
+
+# Starts a scan and prints its final report once it is no longer RUNNING
+run_scan() {
+    local run_id report status waited=0
+    run_id=$(curl -s -X POST "$BASE_URL/impayes/scans" | jq -r '.runId // empty')
+    if [ -z "$run_id" ]; then
+        echo "{}"
+        return
+    fi
+    while [ "$waited" -lt "$SCAN_TIMEOUT" ]; do
+        report=$(curl -s "$BASE_URL/impayes/scans/$run_id")
+        status=$(echo "$report" | jq -r '.status')
+        if [ "$status" != "RUNNING" ]; then
+            echo "$report"
+            return
+        fi
+        sleep 1
+        waited=$((waited + 1))
+    done
+    echo "$report"
+}
+
+impaye() {
+    curl -s "$BASE_URL/impayes?afterCompteId=$(($1 - 1))&limit=1" | jq -c ".[] | select(.compteId == $1)"
+}
+
+echo ""
+echo "1. Creating loans with known arrears..."
+LOAN_0_30=$(create_loan "-1 month -10 days")
+LOAN_31_60=$(create_loan "-2 months -15 days")
+LOAN_61_90=$(create_loan "-3 months -15 days")
+LOAN_90_PLUS=$(create_loan "-6 months -5 days")
+LOAN_CURRENT=$(create_loan "-3 months -15 days")
+if [ -z "$LOAN_0_30" ] || [ -z "$LOAN_31_60" ] || [ -z "$LOAN_61_90" ] || [ -z "$LOAN_90_PLUS" ] \
+    || [ -z "$LOAN_CURRENT" ]; then
+    echo -e "${RED}❌ FAIL${NC}: Could not create test loans"
+    exit 1
+fi
+MONTHLY=$(curl -s "$BASE_URL/comptes-pret/$LOAN_CURRENT/payment-status" | jq -r '.monthlyPayment')
+pay "$LOAN_CURRENT" "$(echo "scale=2; ($MONTHLY * 3 + 0.01) / 1" | bc)"
+echo "Loans: $LOAN_0_30 (0-30), $LOAN_31_60 (31-60), $LOAN_61_90 (61-90), $LOAN_90_PLUS (90+), $LOAN_CURRENT (up to date)"
+
+echo ""
+echo "2. First scan..."
+REPORT=$(run_scan)
+check "Scan status" "$(echo "$REPORT" | jq -r '.status')" "COMPLETED"
+
+for PAIR in "$LOAN_0_30:0-30" "$LOAN_31_60:31-60" "$LOAN_61_90:61-90" "$LOAN_90_PLUS:90+"; do
+    LOAN_ID=${PAIR%%:*}
+    TRANCHE=${PAIR#*:}
+    ROW=$(impaye "$LOAN_ID")
+    check "Loan $LOAN_ID bucket" "$(echo "$ROW" | jq -r '.tranche')" "$TRANCHE"
+    check "Loan $LOAN_ID amount due matches its payment status" \
+      "$(echo "$(echo "$ROW" | jq -r '.montantDu') == \
+$(curl -s "$BASE_URL/comptes-pret/$LOAN_ID/payment-status" | jq -r '.amountDue')" | bc)" "1"
+done
+check "Up-to-date loan not delinquent" "$(impaye "$LOAN_CURRENT")" ""
+
+echo ""
+echo "3. Bucket filter and pagination..."
+check "Loan in the 90+ bucket listing" \
+  "$(curl -s "$BASE_URL/impayes?tranche=90%2B&afterCompteId=$((LOAN_0_30 - 1))&limit=1000" |
+    jq -r "map(select(.compteId == $LOAN_90_PLUS)) | length")" "1"
+check "Only 90+ rows in the 90+ bucket listing" \
+  "$(curl -s "$BASE_URL/impayes?tranche=90%2B&limit=1000" | jq -r 'map(select(.tranche != "90+")) | length')" "0"
+PAGE1=$(curl -s "$BASE_URL/impayes?afterCompteId=$((LOAN_0_30 - 1))&limit=2")
+check "First page" "$(echo "$PAGE1" | jq -r 'map(.compteId) | join(",")')" "$LOAN_0_30,$LOAN_31_60"
+PAGE2=$(curl -s "$BASE_URL/impayes?afterCompteId=$(echo "$PAGE1" | jq -r 'last.compteId')&limit=2")
+check "Second page" "$(echo "$PAGE2" | jq -r 'map(.compteId) | join(",")')" "$LOAN_61_90,$LOAN_90_PLUS"
+check "Unknown bucket rejected" \
+  "$(curl -s -o /dev/null -w "%{http_code}" "$BASE_URL/impayes?tranche=unknown")" "400"
+
+echo ""
+echo "4. Incremental rerun after one payment..."
+pay "$LOAN_90_PLUS" "$MONTHLY"
+REPORT=$(run_scan)
+check "Scan status" "$(echo "$REPORT" | jq -r '.status')" "COMPLETED"
+check "Incremental scan" "$(echo "$REPORT" | jq -r '.fullScan')" "false"
+check "Only the loan with a new payment recomputed" "$(echo "$REPORT" | jq -r '.candidates')" "1"
+check "Total paid of the paid loan updated" \
+  "$(echo "$(impaye "$LOAN_90_PLUS" | jq -r '.totalPaye') == \
+$(curl -s "$BASE_URL/comptes-pret/$LOAN_90_PLUS/payment-status" | jq -r '.totalPaid')" | bc)" "1"
+check "Paid loan still in the 90+ bucket" "$(impaye "$LOAN_90_PLUS" | jq -r '.tranche')" "90+"
+
+echo ""
+echo "5. Rerun without activity..."
+REPORT=$(run_scan)
+check "No loan recomputed" "$(echo "$REPORT" | jq -r '.candidates')" "0"
+check "Delinquent loans kept" "$(impaye "$LOAN_0_30" | jq -r '.tranche')" "0-30"
+check "Latest scan report" "$(curl -s "$BASE_URL/impayes/scans/latest" | jq -r '.runId')" \
+  "$(echo "$REPORT" | jq -r '.runId')"
+
+echo ""
+echo "=== Delinquency Scan Test Summary ==="
+echo -e "Tests Passed: ${GREEN}$TESTS_PASSED${NC}"
+echo -e "Tests Failed: ${RED}$TESTS_FAILED${NC}"
+echo -e "Total Tests: $((TESTS_PASSED + TESTS_FAILED))"
+
+if [ $TESTS_FAILED -eq 0 ]; then
+    echo -e "\n${GREEN}🎉 All delinquency scan tests passed!${NC}"
+    exit 0
+else
+    echo -e "\n${RED}💥 Some tests failed!${NC}"
+    exit 1
+fi
@@ -0,0 +1,140 @@
+#!/bin/bash
+
+# Payment Status Export Tests
+# Creates loans with known arrears and checks that the NDJSON export of
+# GET /comptes-pret/payment-status agrees with the per-loan payment status,
+# and that its userId/afterId/limit pagination returns the expected pages.
+echo "=== Payment Status Export Tests ==="
+
+BASE_URL="http://127.0.0.3:8080/api"
+
+# Colors for output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+NC='\033[0m' # No Color
+
+# Test counter
+TESTS_PASSED=0
+TESTS_FAILED=0
+
+USER_ID=1                    # Assume user ID 1 exists in central service
+AS_OF="2025-07-15T00:00:00"  # Six installments due for loans starting 2025-01-01
+
+# Helper function to check a value
+check() {
+    local test_name="$1"
+    local actual="$2"
+    local expected="$3"
+
+    if [ "$actual" == "$expected" ]; then
+        echo -e "${GREEN}✅ PASS${NC}: $test_name ($actual)"
+        ((TESTS_PASSED++))
+    else
+        echo -e "${RED}❌ FAIL${NC}: $test_name (Expected: $expected, Got: $actual)"
+        ((TESTS_FAILED++))
+    fi
+}
+
+# Same decimal value, whatever the scale
+check_amount() {
+    check "$1" "$(echo "$2 == $3" | bc)" "1"
+}
+
+create_loan() {
+    curl -s -X POST "$BASE_URL/comptes-pret" \
+      -H "Content-Type: application/json" \
+      -d '{"userId": '"$USER_ID"', "typeComptePretId": 1, "montant": 12000.00,
+           "dateDebut": "2025-01-01T00:00:00", "dateFin": "2026-01-01T00:00:00"}' | jq -r '.id // empty'
+}
+
+pay() {
+    curl -s -o /dev/null -X POST "$BASE_URL/comptes-pret/make-payment" \
+      -H "Content-Type: application/json" \
+      -d '{"compteId": '"$1"', "montant": '"$2"', "actionDateTime": "2025-06-15T10:00:00"}'
+}
+
+status_field() {
+    curl -s "$BASE_URL/comptes-pret/$1/payment-status?actionDateTime=$AS_OF" | jq -r ".$2"
+}
+
+# Serialized as fullyPaid or isFullyPaid depending on the JSON-B provider
+status_fully_paid() {
+    curl -s "$BASE_URL/comptes-pret/$1/payment-status?actionDateTime=$AS_OF" |
+      jq -r 'if has("fullyPaid") then .fullyPaid else .isFullyPaid end'
+}
+
+export_page() {
+    curl -s "$BASE_URL/comptes-pret/payment-status?asOf=$AS_OF&userId=$USER_ID$1"
+}
+
+echo ""
+echo "1. Creating loans with known arrears..."
+LOAN_BEHIND=$(create_loan)   # two installments paid out of six
+LOAN_UNPAID=$(create_loan)   # nothing paid
+LOAN_CURRENT=$(create_loan)  # six installments paid
+if [ -z "$LOAN_BEHIND" ] || [ -z "$LOAN_UNPAID" ] || [ -z "$LOAN_CURRENT" ]; then
+    echo -e "${RED}❌ FAIL${NC}: Could not create test loans"
+    exit 1
+fi
+echo "Loans: $LOAN_BEHIND (behind), $LOAN_UNPAID (unpaid), $LOAN_CURRENT (up to date)"
+
+MONTHLY=$(status_field "$LOAN_BEHIND" monthlyPayment)
+pay "$LOAN_BEHIND" "$(echo "scale=2; ($MONTHLY * 2 + 0.005) / 1" | bc)"
+pay "$LOAN_CURRENT" "$(echo "scale=2; ($MONTHLY * 6 + 0.01) / 1" | bc)"
+echo "Monthly payment: $MONTHLY"
+
+echo ""
+echo "2. Export agrees with the per-loan payment status..."
+EXPORT=$(export_page "&afterId=$((LOAN_BEHIND - 1))&limit=3")
+check "Exported loans" "$(echo "$EXPORT" | jq -s -r 'map(.compteId) | join(",")')" \
+  "$LOAN_BEHIND,$LOAN_UNPAID,$LOAN_CURRENT"
+
+for LOAN_ID in "$LOAN_BEHIND" "$LOAN_UNPAID" "$LOAN_CURRENT"; do
+    LINE=$(echo "$EXPORT" | jq -c "select(.compteId == $LOAN_ID)")
+    for FIELD in totalPaid totalExpected amountDue monthlyPayment; do
+        check_amount "Loan $LOAN_ID $FIELD" "$(echo "$LINE" | jq -r ".$FIELD")" "$(status_field "$LOAN_ID" "$FIELD")"
+    done
+    check "Loan $LOAN_ID fullyPaid" "$(echo "$LINE" | jq -r '.fullyPaid')" "$(status_fully_paid "$LOAN_ID")"
+done
+
+echo ""
+echo "3. Export totals..."
+check_amount "Unpaid loan owes six installments" \
+  "$(echo "$EXPORT" | jq -r "select(.compteId == $LOAN_UNPAID) | .amountDue")" "$(echo "$MONTHLY * 6" | bc)"
+check_amount "Up-to-date loan owes nothing" \
+  "$(echo "$EXPORT" | jq -r "select(.compteId == $LOAN_CURRENT) | .amountDue")" "0"
+BEHIND_DUE=$(echo "$EXPORT" | jq -r "select(.compteId == $LOAN_BEHIND) | .amountDue")
+check "Behind loan owes about four installments" \
+  "$(echo "$BEHIND_DUE > $MONTHLY * 4 - 0.01 && $BEHIND_DUE < $MONTHLY * 4 + 0.01" | bc)" "1"
+check_amount "Total amount due of the page" "$(echo "$EXPORT" | jq -s -r 'map(.amountDue) | add')" \
+  "$(echo "$(status_field "$LOAN_BEHIND" amountDue) + $(status_field "$LOAN_UNPAID" amountDue) + $(status_field "$LOAN_CURRENT" amountDue)" | bc)"
+
+echo ""
+echo "4. Pagination..."
+PAGE1=$(export_page "&afterId=$((LOAN_BEHIND - 1))&limit=2")
+check "First page" "$(echo "$PAGE1" | jq -s -r 'map(.compteId) | join(",")')" "$LOAN_BEHIND,$LOAN_UNPAID"
+LAST_ID=$(echo "$PAGE1" | jq -s -r 'last.compteId')
+PAGE2=$(export_page "&afterId=$LAST_ID&limit=2")
+check "Second page starts after the first" "$(echo "$PAGE2" | jq -s -r 'first.compteId')" "$LOAN_CURRENT"
+check "Other users' loans filtered out" \
+  "$(export_page "" | jq -s -r "map(select(.userId != $USER_ID)) | length")" "0"
+
+echo ""
+echo "5. Invalid parameters..."
+check "limit=0 rejected" "$(curl -s -o /dev/null -w "%{http_code}" "$BASE_URL/comptes-pret/payment-status?limit=0")" "400"
+check "Invalid asOf rejected" \
+  "$(curl -s -o /dev/null -w "%{http_code}" "$BASE_URL/comptes-pret/payment-status?asOf=yesterday")" "400"
+
+echo ""
+echo "=== Payment Status Export Test Summary ==="
+echo -e "Tests Passed: ${GREEN}$TESTS_PASSED${NC}"
+echo -e "Tests Failed: ${RED}$TESTS_FAILED${NC}"
+echo -e "Total Tests: $((TESTS_PASSED + TESTS_FAILED))"
+
+if [ $TESTS_FAILED -eq 0 ]; then
+    echo -e "\n${GREEN}🎉 All payment status export tests passed!${NC}"
+    exit 0
+else
+    echo -e "\n${RED}💥 Some tests failed!${NC}"
+    exit 1
+fi
@@ -0,0 +1,151 @@
+#!/bin/bash
+
+# Loan Type Cache Tests
+# Checks that the in-memory loan type catalogue gives the same answers as
+# type_compte_prets (loan types and monthly payments of new loans), and that a
+# rate edited in the table is only seen after POST /loan-types-cache/refresh.
+#
+# Edits type_compte_prets with the mysql client (MYSQL_* and PRET_DB
+# environment variables) and restores the rate on exit.
+echo "=== Loan Type Cache Tests ==="
+
+BASE_URL="http://127.0.0.3:8080/api"
+
+MYSQL_HOST=${MYSQL_HOST:-localhost}
+MYSQL_PORT=${MYSQL_PORT:-3306}
+MYSQL_USER=${MYSQL_USER:-razherana}
+MYSQL_PASSWORD=${MYSQL_PASSWORD:-}
+PRET_DB=${PRET_DB:-s5_archlog_1_banking_pret}
+
+# Colors for output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+NC='\033[0m' # No Color
+
+# Test counter
+TESTS_PASSED=0
+TESTS_FAILED=0
+
+USER_ID=1  # Assume user ID 1 exists in central service
+MONTANT=12000.00
+MONTHS=12
+
+mysql_cmd() {
+  MYSQL_PWD="$MYSQL_PASSWORD" mysql -h "$MYSQL_HOST" -P "$MYSQL_PORT" -u "$MYSQL_USER" --batch --skip-column-names "$PRET_DB" "$@"
+}
+
+# Helper function to check a value
+check() {
+    local test_name="$1"
+    local actual="$2"
+    local expected="$3"
+
+    if [ "$actual" == "$expected" ]; then
+        echo -e "${GREEN}✅ PASS${NC}: $test_name ($actual)"
+        ((TESTS_PASSED++))
+    else
+        echo -e "${RED}❌ FAIL${NC}: $test_name (Expected: $expected, Got: $actual)"
+        ((TESTS_FAILED++))
+    fi
+}
+
+# Same amount within a cent, whatever the scale
+check_amount() {
+    check "$1" "$(echo "d = $2 - $3; d < 0.01 && d > -0.01" | bc)" "1"
+}
+
+refresh() {
+    curl -s -o /dev/null -w "%{http_code}" -X POST "$BASE_URL/loan-types-cache/refresh"
+}
+
+# id|nom|interet of every loan type, sorted by id
+db_types() {
+    mysql_cmd -e "SELECT id, nom, interet FROM type_compte_prets ORDER BY id" |
+      awk -F'\t' '{ printf "%s|%s|%s\n", $1, $2, $3 + 0 }'
+}
+
+api_types() {
+    curl -s "$BASE_URL/comptes-pret/types" | jq -r 'sort_by(.id)[] | "\(.id)|\(.nom)|\(.interet)"'
+}
+
+api_rate() {
+    curl -s "$BASE_URL/comptes-pret/types" | jq -r --argjson id "$TYPE_ID" '.[] | select(.id == $id) | .interet'
+}
+
+create_loan() {
+    curl -s -X POST "$BASE_URL/comptes-pret" \
+      -H "Content-Type: application/json" \
+      -d '{"userId": '"$USER_ID"', "typeComptePretId": '"$TYPE_ID"', "montant": '"$MONTANT"',
+           "dateDebut": "2025-01-01T00:00:00", "dateFin": "2026-01-01T00:00:00"}' | jq -r '.id // empty'
+}
+
+monthly_payment() {
+    curl -s "$BASE_URL/comptes-pret/$1/payment-status" | jq -r '.monthlyPayment'
+}
+
+# M = C × i / (1 - (1 + i)^-n), with i the monthly rate
+expected_payment() {
+    echo "scale = 10; i = $1 / 12; $MONTANT * i / (1 - 1 / (1 + i) ^ $MONTHS)" | bc
+}
+
+if ! mysql_cmd -e "SELECT 1" >/dev/null 2>&1; then
+    echo -e "${RED}❌ FAIL${NC}: Cannot connect to $PRET_DB on $MYSQL_HOST:$MYSQL_PORT"
+    exit 1
+fi
+
+TYPE_ID=$(mysql_cmd -e "SELECT MIN(id) FROM type_compte_prets")
+ORIGINAL_RATE=$(mysql_cmd -e "SELECT interet FROM type_compte_prets WHERE id = $TYPE_ID")
+NEW_RATE=$(echo "$ORIGINAL_RATE + 0.0100" | bc)
+trap 'mysql_cmd -e "UPDATE type_compte_prets SET interet = $ORIGINAL_RATE WHERE id = $TYPE_ID"; refresh >/dev/null' EXIT
+
+echo ""
+echo "1. Catalogue matches type_compte_prets..."
+check "Refresh" "$(refresh)" "204"
+check "Loan types (id|nom|interet)" "$(api_types | tr '\n' ' ')" "$(db_types | tr '\n' ' ')"
+
+echo ""
+echo "2. Monthly payment of a new loan at the table rate $ORIGINAL_RATE..."
+LOAN_BEFORE=$(create_loan)
+if [ -z "$LOAN_BEFORE" ]; then
+    echo -e "${RED}❌ FAIL${NC}: Could not create test loan"
+    exit 1
+fi
+PAYMENT_BEFORE=$(monthly_payment "$LOAN_BEFORE")
+check_amount "Monthly payment $PAYMENT_BEFORE matches the formula" "$PAYMENT_BEFORE" "$(expected_payment "$ORIGINAL_RATE")"
+
+echo ""
+echo "3. Changing the rate of type $TYPE_ID to $NEW_RATE in the table..."
+mysql_cmd -e "UPDATE type_compte_prets SET interet = $NEW_RATE WHERE id = $TYPE_ID"
+check "Rate before the refresh" "$(echo "$(api_rate) == $ORIGINAL_RATE" | bc)" "1"
+LOAN_STALE=$(create_loan)
+check_amount "New loan before the refresh still uses the old rate" "$(monthly_payment "$LOAN_STALE")" "$PAYMENT_BEFORE"
+
+echo ""
+echo "4. Refreshing the catalogue..."
+check "Refresh" "$(refresh)" "204"
+check "Rate after the refresh" "$(echo "$(api_rate) == $NEW_RATE" | bc)" "1"
+check "Loan types (id|nom|interet)" "$(api_types | tr '\n' ' ')" "$(db_types | tr '\n' ' ')"
+LOAN_AFTER=$(create_loan)
+PAYMENT_AFTER=$(monthly_payment "$LOAN_AFTER")
+check_amount "New loan uses the new rate ($PAYMENT_AFTER)" "$PAYMENT_AFTER" "$(expected_payment "$NEW_RATE")"
+check_amount "Existing loan keeps its monthly payment" "$(monthly_payment "$LOAN_BEFORE")" "$PAYMENT_BEFORE"
+
+echo ""
+echo "5. Restoring the rate..."
+mysql_cmd -e "UPDATE type_compte_prets SET interet = $ORIGINAL_RATE WHERE id = $TYPE_ID"
+check "Refresh" "$(refresh)" "204"
+check "Rate restored" "$(echo "$(api_rate) == $ORIGINAL_RATE" | bc)" "1"
+
+echo ""
+echo "=== Loan Type Cache Test Summary ==="
+echo -e "Tests Passed: ${GREEN}$TESTS_PASSED${NC}"
+echo -e "Tests Failed: ${RED}$TESTS_FAILED${NC}"
+echo -e "Total Tests: $((TESTS_PASSED + TESTS_FAILED))"
+
+if [ $TESTS_FAILED -eq 0 ]; then
+    echo -e "\n${GREEN}🎉 All loan type cache tests passed!${NC}"
+    exit 0
+else
+    echo -e "\n${RED}💥 Some tests failed!${NC}"
+    exit 1
+fi
@@ -1,3 +1,9 @@
 DELETE FROM echeances;
 
+DELETE FROM amortissements;
+
+DELETE FROM impayes;
+
+DELETE FROM impaye_scan_runs;
+
 DELETE FROM compte_prets;
\ No newline at end of file
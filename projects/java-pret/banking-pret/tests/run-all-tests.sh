@@ -130,6 +130,25 @@ main() {
     run_test_script "$TEST_DIR/4-test-integration-scenarios/full-loan-workflow-test.sh"
     echo
     
+    # 5. Parallel Payments Stress Tests
+    echo "5. PARALLEL PAYMENTS STRESS TESTS"
+    echo "================================="
+    run_test_script "$TEST_DIR/7-test-concurrency/parallel-payments-tests.sh"
+    echo
+    
+    # 6. Payment Report Tests
+    echo "6. PAYMENT REPORT TESTS"
+    echo "======================="
+    run_test_script "$TEST_DIR/8-test-payment-reports/payment-status-export-tests.sh"
+    run_test_script "$TEST_DIR/8-test-payment-reports/delinquency-scan-tests.sh"
+    echo
+    
+    # 7. Loan Type Cache Tests
+    echo "7. LOAN TYPE CACHE TESTS"
+    echo "========================"
+    run_test_script "$TEST_DIR/9-test-loan-type-cache/loan-type-cache-tests.sh"
+    echo
+    
     # Test Summary
     echo "============================================"
     echo "TEST SUITE SUMMARY"
@@ -148,6 +167,8 @@ main() {
         echo "  ✅ Loan account creation and management"
         echo "  ✅ Payment processing and amortization"
         echo "  ✅ End-to-end integration scenarios"
+        echo "  ✅ Concurrent payments on the same loan"
+        echo "  ✅ Payment status export and delinquency scan"
         exit 0
     else
         echo -e "${RED}❌ SOME TEST CATEGORIES FAILED${NC}"